@@ -225,6 +225,42 @@ public interface SimpleDeterministicAutomaton<S, I> extends SimpleAutomaton<S, I
          */
         int getSuccessor(int state, int input);
 
+        /**
+         * Retrieves the (abstracted) successor for a given (abstracted) source state and a sequence of (abstracted)
+         * inputs.
+         *
+         * @param state
+         *         the integer representing the source state
+         * @param input
+         *         the integers representing the input symbols
+         *
+         * @return the integer representing the target state, or {@link IntAbstraction#INVALID_STATE} if there is no
+         * successor state.
+         */
+        default int getSuccessor(int state, int[] input) {
+            int current = state;
+
+            for (int i = 0; i < input.length && current >= 0; i++) {
+                current = getSuccessor(current, input[i]);
+            }
+
+            return current < 0 ? INVALID_STATE : current;
+        }
+
+        /**
+         * Retrieves the (abstracted) state reached by a sequence of (abstracted) inputs from the initial state.
+         *
+         * @param input
+         *         the integers representing the input symbols
+         *
+         * @return the integer representing the reached state, or {@link IntAbstraction#INVALID_STATE} if there is no
+         * such state.
+         */
+        default int getIntState(int[] input) {
+            final int init = getIntInitialState();
+            return init < 0 ? INVALID_STATE : getSuccessor(init, input);
+        }
+
         /**
          * Retrieves the number of input symbols. This determines the valid range of input symbols, which is {@code [0,
          * numInputs() - 1]}.
@@ -44,6 +44,16 @@ final class EmptyWord extends Word<Object> {
         return 0;
     }
 
+    @Override
+    public int hashCode() {
+        return HASH_SEED;
+    }
+
+    @Override
+    protected int knownHashCode() {
+        return HASH_SEED;
+    }
+
     @Override
     public Spliterator<Object> spliterator() {
         return Spliterators.emptySpliterator();
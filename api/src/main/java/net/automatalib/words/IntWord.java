@@ -0,0 +1,209 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A word that stores its symbols by their indices w.r.t. an {@link Alphabet}. Besides the regular {@link Word}
+ * operations (which map the indices back to symbols), this representation allows one to access the index of each symbol
+ * without any lookup, e.g. for simulating the word on an automaton that operates on symbol indices.
+ * <p>
+ * Like {@link SharedWord}s, subwords of an {@link IntWord} share the same storage, and hence can be created
+ * efficiently.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class IntWord<I> extends Word<I> {
+
+    private final Alphabet<I> alphabet;
+    private final int[] storage;
+    private final int offset;
+    private final int length;
+    // lazily computed, 0 if unknown
+    private transient int hash;
+
+    private IntWord(Alphabet<I> alphabet, int[] storage, int offset, int length) {
+        this.alphabet = alphabet;
+        this.storage = storage;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates an {@link IntWord} from the given symbol indices.
+     *
+     * @param alphabet
+     *         the alphabet which induces the indices
+     * @param indices
+     *         the symbol indices
+     *
+     * @return a word containing the symbols of the given indices
+     *
+     * @throws IllegalArgumentException
+     *         if any of the indices is not a valid index of the given alphabet
+     */
+    @Nonnull
+    public static <I> IntWord<I> fromIndices(Alphabet<I> alphabet, int... indices) {
+        final int size = alphabet.size();
+        for (int idx : indices) {
+            if (idx < 0 || idx >= size) {
+                throw new IllegalArgumentException("Index " + idx + " not within its expected bounds");
+            }
+        }
+        return new IntWord<>(alphabet, indices.clone(), 0, indices.length);
+    }
+
+    /**
+     * Creates an {@link IntWord} from the given word. If the given word already is an {@link IntWord} w.r.t. the given
+     * alphabet, it is returned as-is.
+     *
+     * @param alphabet
+     *         the alphabet which induces the indices
+     * @param word
+     *         the word
+     *
+     * @return a word containing the same symbols as the given word
+     *
+     * @throws IllegalArgumentException
+     *         if the word contains a symbol that is not contained in the given alphabet
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <I> IntWord<I> fromWord(Alphabet<I> alphabet, Word<? extends I> word) {
+        if (word instanceof IntWord && ((IntWord<?>) word).alphabet == alphabet) {
+            return (IntWord<I>) word;
+        }
+        return new IntWord<>(alphabet, word.toIntArray(alphabet), 0, word.length());
+    }
+
+    /**
+     * Returns the alphabet which induces the symbol indices of this word.
+     *
+     * @return the alphabet of this word
+     */
+    @Nonnull
+    public Alphabet<I> getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the index (w.r.t. {@link #getAlphabet()}) of the symbol at the given position.
+     *
+     * @param index
+     *         the position
+     *
+     * @return the index of the symbol at the given position
+     */
+    public int getIntSymbol(int index) {
+        return storage[offset + index];
+    }
+
+    /**
+     * Returns the indices (w.r.t. {@link #getAlphabet()}) of the symbols of this word.
+     *
+     * @return a (fresh) array containing the symbol indices
+     */
+    @Nonnull
+    public int[] toIntArray() {
+        return Arrays.copyOfRange(storage, offset, offset + length);
+    }
+
+    @Override
+    public int[] toIntArray(ToIntFunction<? super I> toInt) {
+        if (toInt == alphabet) {
+            return toIntArray();
+        }
+        return super.toIntArray(toInt);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public I getSymbol(int index) {
+        return alphabet.getSymbol(storage[offset + index]);
+    }
+
+    @Override
+    protected Word<I> subWordInternal(int fromIndex, int toIndex) {
+        return new IntWord<>(alphabet, storage, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public void writeToArray(int offset, Object[] array, int tgtOffset, int length) {
+        final int base = this.offset + offset;
+        for (int i = 0; i < length; i++) {
+            array[tgtOffset + i] = alphabet.getSymbol(storage[base + i]);
+        }
+    }
+
+    @Override
+    public Word<I> flatten() {
+        return this;
+    }
+
+    @Override
+    public Word<I> trimmed() {
+        if (offset == 0 && length == storage.length) {
+            return this;
+        }
+        return new IntWord<>(alphabet, toIntArray(), 0, length);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof IntWord && ((IntWord<?>) other).alphabet == alphabet) {
+            final IntWord<?> that = (IntWord<?>) other;
+            if (that.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (storage[offset + i] != that.storage[that.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            // must be consistent with the symbol-based equality of other word implementations
+            h = super.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    protected int knownHashCode() {
+        return hash;
+    }
+}
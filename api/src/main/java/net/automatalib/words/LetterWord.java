@@ -37,6 +37,8 @@ import javax.annotation.Nonnull;
 final class LetterWord<I> extends Word<I> implements Serializable {
 
     private final I letter;
+    // lazily computed, 0 if unknown
+    private transient int hash;
 
     /**
      * Constructor.
@@ -53,6 +55,21 @@ final class LetterWord<I> extends Word<I> implements Serializable {
         return 1;
     }
 
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = appendHash(HASH_SEED, letter);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    protected int knownHashCode() {
+        return hash;
+    }
+
     @Override
     public java.util.Iterator<I> iterator() {
         return new Iterator<>(letter);
@@ -100,13 +117,13 @@ final class LetterWord<I> extends Word<I> implements Serializable {
     @Override
     public Word<I> append(I symbol) {
         Object[] array = new Object[] {letter, symbol};
-        return new SharedWord<>(array);
+        return new SharedWord<>(array, appendHash(hashCode(), symbol));
     }
 
     @Override
     public Word<I> prepend(I symbol) {
         Object[] array = new Object[] {symbol, letter};
-        return new SharedWord<>(array);
+        return new SharedWord<>(array, prependHash(hashCode(), 1, symbol));
     }
 
     @Override
@@ -23,6 +23,10 @@ import java.util.Spliterator;
 /**
  * An immutable word implementation that is based on the idea of a common array storage. This allows a very efficient
  * creation of subwords (e.g., prefixes and suffixes).
+ * <p>
+ * The hash code of a word is computed lazily and cached. Once subwords of a word have been created, all words sharing
+ * the same storage also share a (lazily computed) table of prefix hashes, from which the hash code of each of these
+ * words can be derived in logarithmic time.
  *
  * @param <I>
  *         input symbol class
@@ -35,6 +39,11 @@ final class SharedWord<I> extends Word<I> {
     private final int offset;
     private final int length;
 
+    // lazily computed, 0 if unknown
+    private transient int hash;
+    // shared among all subwords of the same storage, created upon the first subword creation
+    private transient PrefixHashes prefixHashes;
+
     /**
      * Constructor.
      */
@@ -42,11 +51,29 @@ final class SharedWord<I> extends Word<I> {
         this(storage, 0, storage.length);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Constructor.
+     *
+     * @param storage
+     *         the storage
+     * @param hash
+     *         the (already known) hash code of the word, or {@code 0} if unknown
+     */
+    SharedWord(Object[] storage, int hash) {
+        this(storage, 0, storage.length, hash, null);
+    }
+
     SharedWord(Object[] storage, int offset, int length) {
+        this(storage, offset, length, 0, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SharedWord(Object[] storage, int offset, int length, int hash, PrefixHashes prefixHashes) {
         this.storage = (I[]) storage;
         this.offset = offset;
         this.length = length;
+        this.hash = hash;
+        this.prefixHashes = prefixHashes;
     }
 
     /**
@@ -87,7 +114,29 @@ final class SharedWord<I> extends Word<I> {
         if (newOfs + newLen > storage.length) {
             return Word.epsilon();
         }
-        return new SharedWord<>(storage, newOfs, newLen);
+        PrefixHashes ph = prefixHashes;
+        if (ph == null) {
+            // benign race: concurrently created tables are equivalent
+            ph = new PrefixHashes();
+            prefixHashes = ph;
+        }
+        return new SharedWord<>(storage, newOfs, newLen, 0, ph);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            final PrefixHashes ph = prefixHashes;
+            h = ph != null ? ph.hashCode(storage, offset, length) : super.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    protected int knownHashCode() {
+        return hash;
     }
 
     @Override
@@ -122,7 +171,29 @@ final class SharedWord<I> extends Word<I> {
         }
         Object[] trimmed = new Object[length];
         System.arraycopy(storage, offset, trimmed, 0, length);
-        return new SharedWord<>(trimmed);
+        return new SharedWord<>(trimmed, hash);
+    }
+
+    /**
+     * The prefix hashes of a storage array, i.e., {@code values[k]} contains the hash code (without the seed) of the
+     * first {@code k} symbols of the storage. From these, the hash code of every subrange can be computed.
+     */
+    private static final class PrefixHashes {
+
+        private volatile int[] values;
+
+        int hashCode(Object[] storage, int offset, int length) {
+            int[] v = values;
+            if (v == null) {
+                v = new int[storage.length + 1];
+                for (int i = 0; i < storage.length; i++) {
+                    v[i + 1] = appendHash(v[i], storage[i]);
+                }
+                values = v;
+            }
+            final int end = offset + length;
+            return v[end] + (HASH_SEED - v[offset]) * hashPower(length);
+        }
     }
 
     /**
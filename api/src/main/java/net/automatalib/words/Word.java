@@ -77,6 +77,14 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
     private static final String WORD_SYMBOL_DELIM_LEFT;
     private static final String WORD_SYMBOL_DELIM_RIGHT;
 
+    /**
+     * The hash code of a word {@code w = a_1 ... a_n} is the polynomial {@code HASH_SEED * HASH_MULTIPLIER^n +
+     * sum_i hash(a_i) * HASH_MULTIPLIER^(n-i)}, which allows to derive hash codes of extended or concatenated words from
+     * the hash codes of their constituents.
+     */
+    static final int HASH_SEED = 5;
+    static final int HASH_MULTIPLIER = 89;
+
     static {
         AutomataLibSettings settings = AutomataLibSettings.getInstance();
         EMPTY_WORD_REP = settings.getProperty(AutomataLibProperty.WORD_EMPTY_REP, "ε");
@@ -249,14 +257,89 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
 
     @Override
     public int hashCode() {
-        int hash = 5;
+        int hash = HASH_SEED;
         for (I sym : this) {
-            hash *= 89;
-            hash += (sym != null) ? sym.hashCode() : 0;
+            hash = appendHash(hash, sym);
         }
         return hash;
     }
 
+    /**
+     * Returns the hash code of this word, if it can be determined in constant time (e.g., because it has already been
+     * computed). Implementations of immutable words may override this method in order to allow for a fast rejection of
+     * unequal words in {@link #equals(Object)} and for cheaply deriving the hash codes of extended words.
+     *
+     * @return the hash code of this word, or {@code 0} if it is not known
+     */
+    protected int knownHashCode() {
+        return 0;
+    }
+
+    /**
+     * Computes the hash code of the word that results from appending the given symbol to a word with the given hash
+     * code.
+     *
+     * @param hash
+     *         the hash code of the word
+     * @param symbol
+     *         the appended symbol
+     *
+     * @return the hash code of the extended word
+     */
+    protected static int appendHash(int hash, @Nullable Object symbol) {
+        return hash * HASH_MULTIPLIER + Objects.hashCode(symbol);
+    }
+
+    /**
+     * Computes the hash code of the word that results from prepending the given symbol to a word with the given hash
+     * code and length.
+     *
+     * @param hash
+     *         the hash code of the word
+     * @param length
+     *         the length of the word
+     * @param symbol
+     *         the prepended symbol
+     *
+     * @return the hash code of the extended word
+     */
+    protected static int prependHash(int hash, int length, @Nullable Object symbol) {
+        return hash + hashPower(length) * (HASH_SEED * (HASH_MULTIPLIER - 1) + Objects.hashCode(symbol));
+    }
+
+    /**
+     * Computes the hash code of the concatenation of two words with the given hash codes.
+     *
+     * @param hash1
+     *         the hash code of the first word
+     * @param hash2
+     *         the hash code of the second word
+     * @param length2
+     *         the length of the second word
+     *
+     * @return the hash code of the concatenated word
+     */
+    protected static int concatHash(int hash1, int hash2, int length2) {
+        return (hash1 - HASH_SEED) * hashPower(length2) + hash2;
+    }
+
+    /**
+     * Computes {@code HASH_MULTIPLIER^exponent} (with the usual {@code int} overflow semantics).
+     */
+    static int hashPower(int exponent) {
+        int result = 1;
+        int base = HASH_MULTIPLIER;
+        int exp = exponent;
+        while (exp > 0) {
+            if ((exp & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+            exp >>>= 1;
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
@@ -273,6 +356,13 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         if (len != length()) {
             return false;
         }
+        int thisHash = knownHashCode();
+        if (thisHash != 0) {
+            int otherHash = otherWord.knownHashCode();
+            if (otherHash != 0 && otherHash != thisHash) {
+                return false;
+            }
+        }
         java.util.Iterator<I> thisIt = iterator();
         java.util.Iterator<?> otherIt = otherWord.iterator();
         while (thisIt.hasNext()) {
@@ -541,7 +631,8 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         Object[] array = new Object[len + 1];
         writeToArray(0, array, 0, len);
         array[len] = symbol;
-        return new SharedWord<>(array);
+        int hash = knownHashCode();
+        return new SharedWord<>(array, hash != 0 ? appendHash(hash, symbol) : 0);
     }
 
     /**
@@ -558,8 +649,9 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         Object[] array = new Object[len + 1];
         array[0] = symbol;
         writeToArray(0, array, 1, len);
+        int hash = knownHashCode();
 
-        return new SharedWord<>(array);
+        return new SharedWord<>(array, hash != 0 ? prependHash(hash, len, symbol) : 0);
     }
 
     /**
@@ -606,13 +698,18 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         Object[] array = new Object[totalSize];
         writeToArray(0, array, 0, len);
         int currOfs = len;
+        int hash = knownHashCode();
         for (Word<? extends I> w : words) {
             int wLen = w.length();
             w.writeToArray(0, array, currOfs, wLen);
             currOfs += wLen;
+            if (hash != 0) {
+                int wHash = w.knownHashCode();
+                hash = wHash != 0 ? concatHash(hash, wHash, wLen) : 0;
+            }
         }
 
-        return new SharedWord<>(array);
+        return new SharedWord<>(array, hash);
     }
 
     /**
@@ -0,0 +1,128 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+@Test
+public class IntWordTest extends AbstractNonemptyWordTest {
+
+    private static final Alphabet<Object> ALPHABET = new ListBasedAlphabet(1, 2, 3, 7, 9);
+    // corresponds to the symbols 2, 1, 3, 3, 7, 9
+    private static final int[] DATA = {1, 0, 2, 2, 3, 4};
+
+    @Override
+    protected Word<Object> testWord() {
+        return IntWord.fromIndices(ALPHABET, DATA).subWord(1, 5);
+    }
+
+    @Override
+    protected List<Word<Object>> equalWords() {
+        return Arrays.asList(Word.fromSymbols(1, 3, 3, 7),
+                             IntWord.fromIndices(ALPHABET, 0, 2, 2, 3),
+                             IntWord.fromWord(ALPHABET, Word.fromSymbols(1, 3, 3, 7)));
+    }
+
+    @Override
+    protected List<Word<Object>> unequalWords() {
+        return Arrays.asList(IntWord.fromIndices(ALPHABET, DATA),
+                             Word.epsilon(),
+                             IntWord.fromIndices(ALPHABET, 0, 2, 2),
+                             IntWord.fromIndices(new ListBasedAlphabet(1, 2, 3, 7, 9), 0, 2, 2, 3, 4));
+    }
+
+    @Override
+    protected List<Word<Object>> realPrefixes() {
+        return Arrays.asList(Word.epsilon(),
+                             IntWord.fromIndices(ALPHABET, 0, 2),
+                             Word.fromSymbols(1, 3, 3),
+                             Word.fromLetter(1));
+    }
+
+    @Override
+    protected List<Word<Object>> realSuffixes() {
+        return Arrays.asList(Word.epsilon(),
+                             IntWord.fromIndices(ALPHABET, 2, 3),
+                             Word.fromSymbols(3, 3, 7),
+                             Word.fromLetter(7));
+    }
+
+    @Test
+    public void testIntSymbols() {
+        final IntWord<Object> word = (IntWord<Object>) testWord;
+
+        Assert.assertSame(word.getAlphabet(), ALPHABET);
+        Assert.assertEquals(word.toIntArray(), new int[] {0, 2, 2, 3});
+        Assert.assertEquals(word.toIntArray(ALPHABET), new int[] {0, 2, 2, 3});
+        Assert.assertEquals(Word.fromSymbols(1, 3, 3, 7).toIntArray(ALPHABET), word.toIntArray());
+
+        for (int i = 0; i < word.length(); i++) {
+            Assert.assertEquals(word.getIntSymbol(i), ALPHABET.getSymbolIndex(word.getSymbol(i)));
+        }
+
+        Assert.assertSame(IntWord.fromWord(ALPHABET, word), word);
+        Assert.assertEquals(word.hashCode(), Word.fromSymbols(1, 3, 3, 7).hashCode());
+    }
+
+    @Test
+    public void testInvalidIndices() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntWord.fromIndices(ALPHABET, 0, 5));
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntWord.fromIndices(ALPHABET, -1));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> IntWord.fromWord(ALPHABET, Word.fromSymbols(1, 4)));
+    }
+
+    private static final class ListBasedAlphabet extends AbstractList<Object> implements Alphabet<Object> {
+
+        private final List<Object> symbols;
+
+        ListBasedAlphabet(Object... symbols) {
+            this.symbols = Arrays.asList(symbols);
+        }
+
+        @Override
+        public Object get(int index) {
+            return symbols.get(index);
+        }
+
+        @Override
+        public Object getSymbol(int index) {
+            return symbols.get(index);
+        }
+
+        @Override
+        public int getSymbolIndex(Object symbol) {
+            final int idx = symbols.indexOf(symbol);
+            if (idx < 0) {
+                throw new IllegalArgumentException();
+            }
+            return idx;
+        }
+
+        @Override
+        public int size() {
+            return symbols.size();
+        }
+    }
+}
@@ -101,4 +101,60 @@ public class WordTest {
         Assert.assertEquals(abc, abc.subWord(0));
         Assert.assertEquals(b, abc.subWord(1, 2));
     }
+
+    @Test
+    public void hashCodeTest() {
+        final Word<Character> abc = Word.fromCharSequence("abcabc");
+        final WordBuilder<Character> wb = new WordBuilder<>();
+        wb.append('x');
+        final Word<Character> fromBuilder = wb.append(abc).toWord();
+
+        final Word<Character> letter = Word.fromLetter('a');
+        final Word<Character> eps = Word.epsilon();
+
+        final Word<?>[] words = {eps,
+                                 letter,
+                                 letter.append('b'),
+                                 letter.prepend('b'),
+                                 eps.append('a'),
+                                 abc,
+                                 abc.append('d'),
+                                 abc.prepend('d'),
+                                 abc.subWord(1, 4),
+                                 abc.subWord(2),
+                                 abc.prefix(3).append('d'),
+                                 abc.suffix(2).prepend('d'),
+                                 abc.subWord(1, 4).concat(abc.subWord(2), letter, eps),
+                                 fromBuilder,
+                                 fromBuilder.subWord(1, 4),
+                                 abc.subWord(1, 4).trimmed(),
+                                 Word.fromSymbols('a', null, 'b').append(null)};
+
+        for (Word<?> w : words) {
+            // compute hash codes twice (with and without cache) and compare them to the reference value
+            Assert.assertEquals(w.hashCode(), referenceHashCode(w), w.toString());
+            Assert.assertEquals(w.hashCode(), referenceHashCode(w), w.toString());
+        }
+
+        // derived hash codes of extended words
+        for (Word<?> w : words) {
+            final Word<Object> upcast = Word.upcast(w);
+            Assert.assertEquals(upcast.append('z').hashCode(), referenceHashCode(upcast.append('z')));
+            Assert.assertEquals(upcast.prepend('z').hashCode(), referenceHashCode(upcast.prepend('z')));
+            Assert.assertEquals(upcast.concat(abc).hashCode(), referenceHashCode(upcast.concat(abc)));
+        }
+
+        Assert.assertEquals(abc.subWord(0, 3), abc.subWord(3, 6));
+        Assert.assertEquals(abc.subWord(0, 3).hashCode(), abc.subWord(3, 6).hashCode());
+        Assert.assertNotEquals(abc.subWord(0, 3), abc.subWord(1, 4));
+    }
+
+    private static int referenceHashCode(Word<?> word) {
+        int hash = 5;
+        for (int i = 0; i < word.length(); i++) {
+            final Object sym = word.getSymbol(i);
+            hash = hash * 89 + (sym == null ? 0 : sym.hashCode());
+        }
+        return hash;
+    }
 }
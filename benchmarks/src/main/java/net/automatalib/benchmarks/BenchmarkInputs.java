@@ -0,0 +1,128 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Utility class for generating the (reproducible) inputs of the benchmarks. All inputs are derived from a {@link
+ * Random} instance seeded with {@link #SEED}, so that consecutive benchmark runs operate on identical data.
+ *
+ * @author frohme
+ */
+public final class BenchmarkInputs {
+
+    /**
+     * The seed used for generating all benchmark inputs.
+     */
+    public static final long SEED = 42L;
+
+    /**
+     * The output alphabet used for generated Mealy machines.
+     */
+    public static final List<String> OUTPUTS = Arrays.asList("o1", "o2", "o3", "o4");
+
+    /**
+     * The number of nondeterministic "hub" states of NFAs generated by {@link #randomNFA(Random, int, Alphabet)}.
+     */
+    private static final int NUM_HUB_STATES = 3;
+
+    private BenchmarkInputs() {
+        // prevent instantiation
+    }
+
+    public static Random newRandom() {
+        return new Random(SEED);
+    }
+
+    public static Alphabet<Integer> alphabet(int size) {
+        return Alphabets.integers(0, size - 1);
+    }
+
+    public static CompactDFA<Integer> randomDFA(Random random, int size, Alphabet<Integer> alphabet) {
+        return RandomAutomata.randomDFA(random, size, alphabet, false);
+    }
+
+    public static CompactMealy<Integer, String> randomMealy(Random random, int size, Alphabet<Integer> alphabet) {
+        return RandomAutomata.randomMealy(random, size, alphabet, OUTPUTS, false);
+    }
+
+    /**
+     * Generates a random NFA whose determinization is guaranteed to be of bounded size. Each state has one
+     * (deterministic) random successor per input symbol, plus an additional successor in a small set of hub states,
+     * whose transitions never leave this set. As a result, the number of reachable subsets is bounded by {@code size *
+     * 2^NUM_HUB_STATES}, which allows to measure the overhead of the subset construction without running into an
+     * exponential blow-up.
+     *
+     * @param random
+     *         the randomness source
+     * @param size
+     *         the number of states of the generated NFA
+     * @param alphabet
+     *         the input alphabet
+     *
+     * @return the generated NFA
+     */
+    public static CompactNFA<Integer> randomNFA(Random random, int size, Alphabet<Integer> alphabet) {
+        final int hubs = Math.min(NUM_HUB_STATES, size);
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            nfa.addState(random.nextBoolean());
+        }
+
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                if (s < hubs) {
+                    nfa.addTransition(s, i, random.nextInt(hubs));
+                } else {
+                    nfa.addTransition(s, i, random.nextInt(size));
+                    nfa.addTransition(s, i, random.nextInt(hubs));
+                }
+            }
+        }
+
+        nfa.setInitial(size - 1, true);
+        return nfa;
+    }
+
+    public static <I> Word<I> randomWord(Random random, Alphabet<I> alphabet, int length) {
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+        }
+        return wb.toWord();
+    }
+
+    public static int[] randomIntWord(Random random, int alphabetSize, int length) {
+        final int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = random.nextInt(alphabetSize);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark artifact. Accepts the same command line arguments as the default JMH main class, but
+ * writes the benchmark results in a machine-readable (JSON) format by default, so that results can be tracked across
+ * releases. The result format and location can still be overridden via the {@code -rf} and {@code -rff} options.
+ *
+ * @author frohme
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * The default location of the result file, if not specified otherwise.
+     */
+    public static final String DEFAULT_RESULT_FILE = "automatalib-benchmarks.json";
+
+    private BenchmarkRunner() {
+        // prevent instantiation
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+            if (!cmdOptions.getResult().hasValue()) {
+                builder.result(DEFAULT_RESULT_FILE);
+            }
+        }
+
+        new Runner(builder.build()).run();
+    }
+}
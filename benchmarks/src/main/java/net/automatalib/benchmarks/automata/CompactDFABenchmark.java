@@ -0,0 +1,114 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.automata;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the transition lookup of {@link CompactDFA}s. All benchmarks simulate a random word of length {@link
+ * #WORD_LENGTH}, hence the reported scores correspond to the average time <i>per symbol</i>.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompactDFABenchmark {
+
+    public static final int WORD_LENGTH = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    private CompactDFA<Integer> dfa;
+    private Word<Integer> word;
+    private int[] intWord;
+    private Word<Integer> indexedWord;
+
+    @Setup
+    public void setUp() {
+        final Random random = BenchmarkInputs.newRandom();
+        final Alphabet<Integer> alphabet = BenchmarkInputs.alphabet(alphabetSize);
+
+        this.dfa = BenchmarkInputs.randomDFA(random, size, alphabet);
+        this.word = BenchmarkInputs.randomWord(random, alphabet, WORD_LENGTH);
+        this.intWord = BenchmarkInputs.randomIntWord(random, alphabetSize, WORD_LENGTH);
+        this.indexedWord = IntWord.fromWord(dfa.getInputAlphabet(), word);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public Integer successorBySymbol() {
+        Integer state = dfa.getInitialState();
+        for (Integer sym : word) {
+            state = dfa.getSuccessor(state, sym);
+        }
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public int successorByIndex() {
+        int state = dfa.getIntInitialState();
+        for (int sym : intWord) {
+            state = dfa.getSuccessor(state, sym);
+        }
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public boolean accepts() {
+        return dfa.accepts(word);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public boolean acceptsIntWord() {
+        return dfa.accepts(indexedWord);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public boolean acceptsByIndex() {
+        return dfa.accepts(intWord);
+    }
+}
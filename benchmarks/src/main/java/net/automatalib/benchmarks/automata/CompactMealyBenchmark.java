@@ -0,0 +1,153 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.automata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.automata.transout.impl.compact.CompactMealyTransition;
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the transition lookup and output computation of {@link CompactMealy} machines. All benchmarks
+ * simulate a random word of length {@link #WORD_LENGTH}, hence the reported scores correspond to the average time
+ * <i>per symbol</i>.
+ * <p>
+ * When run with JMH's GC profiler ({@code -prof gc}), the {@code gc.alloc.rate.norm} metric shows the number of bytes
+ * allocated per invocation. For {@link #intSuccessorAndOutput(Blackhole)}, {@link #computeOutputByIndex()} and the
+ * trace benchmarks (which re-use their output buffer) this value is expected to be (close to) zero, whereas {@link
+ * #transitionAndOutput(Blackhole)} allocates a transition object in every step. {@link #traceIntWord()} additionally
+ * avoids the symbol index lookups of {@link #trace()}.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompactMealyBenchmark {
+
+    public static final int WORD_LENGTH = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    private CompactMealy<Integer, String> mealy;
+    private Word<Integer> word;
+    private int[] intWord;
+    private List<String> outputBuffer;
+    private Word<Integer> indexedWord;
+    private Object[] outputArray;
+
+    @Setup
+    public void setUp() {
+        final Random random = BenchmarkInputs.newRandom();
+        final Alphabet<Integer> alphabet = BenchmarkInputs.alphabet(alphabetSize);
+
+        this.mealy = BenchmarkInputs.randomMealy(random, size, alphabet);
+        this.word = BenchmarkInputs.randomWord(random, alphabet, WORD_LENGTH);
+        this.intWord = BenchmarkInputs.randomIntWord(random, alphabetSize, WORD_LENGTH);
+        this.outputBuffer = new ArrayList<>(WORD_LENGTH);
+        this.indexedWord = IntWord.fromWord(mealy.getInputAlphabet(), word);
+        this.outputArray = new Object[WORD_LENGTH];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public Integer successor() {
+        Integer state = mealy.getInitialState();
+        for (Integer sym : word) {
+            state = mealy.getSuccessor(state, sym);
+        }
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public Integer transitionAndOutput(Blackhole blackhole) {
+        Integer state = mealy.getInitialState();
+        for (Integer sym : word) {
+            final CompactMealyTransition<String> trans = mealy.getTransition(state, sym);
+            blackhole.consume(mealy.getTransitionOutput(trans));
+            state = mealy.getSuccessor(trans);
+        }
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public Word<String> computeOutput() {
+        return mealy.computeOutput(word);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public int intSuccessorAndOutput(Blackhole blackhole) {
+        int state = mealy.getIntInitialState();
+        for (int sym : intWord) {
+            blackhole.consume(mealy.getOutput(state, sym));
+            state = mealy.getIntSuccessor(state, sym);
+        }
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public List<String> trace() {
+        outputBuffer.clear();
+        mealy.trace(word, outputBuffer);
+        return outputBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public List<String> traceIntWord() {
+        outputBuffer.clear();
+        mealy.trace(indexedWord, outputBuffer);
+        return outputBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORD_LENGTH)
+    public Object[] computeOutputByIndex() {
+        mealy.computeOutput(intWord, outputArray);
+        return outputArray;
+    }
+}
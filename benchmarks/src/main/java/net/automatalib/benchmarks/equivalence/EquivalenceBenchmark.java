@@ -0,0 +1,97 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.equivalence;
+
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
+import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the computation of separating words. The compared automata are equivalent (but distinct) instances,
+ * so that every benchmark needs to explore the complete reachable product before concluding that no separating word
+ * exists.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EquivalenceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> reference;
+    private CompactDFA<Integer> other;
+
+    @Setup
+    public void setUp() {
+        this.alphabet = BenchmarkInputs.alphabet(alphabetSize);
+        this.reference = BenchmarkInputs.randomDFA(BenchmarkInputs.newRandom(), size, alphabet);
+        this.other = new CompactDFA<>(reference);
+    }
+
+    @Benchmark
+    public Word<Integer> nearLinear() {
+        return NearLinearEquivalenceTest.findSeparatingWord(reference, other, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> nearLinearParallel() {
+        return NearLinearEquivalenceTest.findSeparatingWordParallel(reference, other, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> deterministic() {
+        return DeterministicEquivalenceTest.findSeparatingWord(reference, other, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> deterministicParallel() {
+        return DeterministicEquivalenceTest.findSeparatingWordParallel(reference, other, alphabet);
+    }
+
+    /**
+     * The object-based product search, which {@link #deterministic()} bypasses for integer-abstracted automata.
+     */
+    @Benchmark
+    public Word<Integer> deterministicGeneric() {
+        return DeterministicEquivalenceTest.findSeparatingWordLarge(reference, other, alphabet);
+    }
+}
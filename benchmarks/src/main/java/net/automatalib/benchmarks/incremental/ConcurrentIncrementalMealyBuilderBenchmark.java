@@ -0,0 +1,179 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.incremental;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.incremental.mealy.tree.ConcurrentIncrementalMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Multi-threaded throughput benchmarks for incremental Mealy builders that are used as a shared query cache. The
+ * {@code locked} implementation guards an {@link IncrementalMealyTreeBuilder} by a global lock, whereas the {@code
+ * concurrent} implementation uses the {@link ConcurrentIncrementalMealyTreeBuilder}.
+ * <p>
+ * The queries are random words whose outputs are computed by a random (target) Mealy machine, so that insertions never
+ * conflict. The number of threads can be adjusted via JMH's {@code -t} option.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentIncrementalMealyBuilderBenchmark {
+
+    @Param({"locked", "concurrent"})
+    public String implementation;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    @Param({"10000"})
+    public int numQueries;
+
+    @Param({"20"})
+    public int queryLength;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<String>> outputs;
+    private IncrementalMealyBuilder<Integer, String> filledBuilder;
+    private IncrementalMealyBuilder<Integer, String> emptyBuilder;
+
+    @Setup
+    public void setUp() {
+        final Random random = BenchmarkInputs.newRandom();
+
+        this.alphabet = BenchmarkInputs.alphabet(alphabetSize);
+        final CompactMealy<Integer, String> target = BenchmarkInputs.randomMealy(random, size, alphabet);
+
+        this.inputs = new ArrayList<>(numQueries);
+        this.outputs = new ArrayList<>(numQueries);
+
+        for (int i = 0; i < numQueries; i++) {
+            final Word<Integer> input = BenchmarkInputs.randomWord(random, alphabet, queryLength);
+            inputs.add(input);
+            outputs.add(target.computeOutput(input));
+        }
+
+        this.filledBuilder = createBuilder();
+        for (int i = 0; i < numQueries; i++) {
+            filledBuilder.insert(inputs.get(i), outputs.get(i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        this.emptyBuilder = createBuilder();
+    }
+
+    /**
+     * Looks up a query in a builder that contains all queries.
+     */
+    @Benchmark
+    public Word<String> lookup(Cursor cursor) {
+        return filledBuilder.lookup(inputs.get(cursor.next(numQueries)));
+    }
+
+    /**
+     * Inserts a query into a builder that is emptied in every iteration, i.e., a mix of actual insertions (of new
+     * queries) and look-ups (of already inserted queries).
+     */
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, String> insert(Cursor cursor) {
+        final int idx = cursor.next(numQueries);
+        emptyBuilder.insert(inputs.get(idx), outputs.get(idx));
+        return emptyBuilder;
+    }
+
+    private IncrementalMealyBuilder<Integer, String> createBuilder() {
+        switch (implementation) {
+            case "locked":
+                return new LockedIncrementalMealyTreeBuilder<>(alphabet);
+            case "concurrent":
+                return new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * A per-thread position in the list of queries. Each thread starts at a random position.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        @Setup
+        public void setUp() {
+            this.position = new Random().nextInt(Integer.MAX_VALUE);
+        }
+
+        int next(int bound) {
+            position = (position + 1) % bound;
+            return position;
+        }
+    }
+
+    /**
+     * The baseline: an {@link IncrementalMealyTreeBuilder} whose accesses are serialized by a global lock.
+     */
+    private static final class LockedIncrementalMealyTreeBuilder<I, O> extends IncrementalMealyTreeBuilder<I, O> {
+
+        LockedIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+            super(inputAlphabet);
+        }
+
+        @Override
+        public synchronized boolean lookup(Word<? extends I> word, List<? super O> output) {
+            return super.lookup(word, output);
+        }
+
+        @Override
+        public synchronized void insert(Word<? extends I> input, Word<? extends O> outputWord) {
+            super.insert(input, outputWord);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.incremental;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the {@link IncrementalMealyDAGBuilder}. The inserted queries are random words whose outputs are
+ * computed by a random (target) Mealy machine of the given size, so that insertions never conflict.
+ * <p>
+ * The {@link #insertBatch()} benchmark inserts the same queries as a single batch via {@link
+ * IncrementalMealyDAGBuilder#insertAll(java.util.Collection)}.
+ * <p>
+ * The snapshot benchmarks measure writing the filled builder to a snapshot file and restoring it from the snapshot
+ * file, which can be compared to re-inserting all queries (see {@link #insert()}).
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncrementalMealyDAGBuilderBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    @Param({"10000"})
+    public int numQueries;
+
+    @Param({"50"})
+    public int queryLength;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<String>> outputs;
+    private List<Pair<Word<Integer>, Word<String>>> queries;
+    private IncrementalMealyDAGBuilder<Integer, String> filledBuilder;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = BenchmarkInputs.newRandom();
+
+        this.alphabet = BenchmarkInputs.alphabet(alphabetSize);
+        final CompactMealy<Integer, String> target = BenchmarkInputs.randomMealy(random, size, alphabet);
+
+        this.inputs = new ArrayList<>(numQueries);
+        this.outputs = new ArrayList<>(numQueries);
+        this.queries = new ArrayList<>(numQueries);
+
+        for (int i = 0; i < numQueries; i++) {
+            final Word<Integer> input = BenchmarkInputs.randomWord(random, alphabet, queryLength);
+            inputs.add(input);
+            outputs.add(target.computeOutput(input));
+            queries.add(Pair.of(input, outputs.get(i)));
+        }
+
+        this.filledBuilder = insertAll();
+        this.snapshot = Files.createTempFile("automatalib-snapshot", ".bin");
+        writeSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(snapshot);
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, String> insert() {
+        return insertAll();
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, String> insertBatch() {
+        final IncrementalMealyDAGBuilder<Integer, String> builder = new IncrementalMealyDAGBuilder<>(alphabet);
+        builder.insertAll(queries);
+        return builder;
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (Word<Integer> input : inputs) {
+            blackhole.consume(filledBuilder.lookup(input));
+        }
+    }
+
+    @Benchmark
+    public void writeSnapshot() throws IOException {
+        try (OutputStream out = Files.newOutputStream(snapshot)) {
+            filledBuilder.writeSnapshot(out);
+        }
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, String> loadSnapshot() throws IOException {
+        final IncrementalMealyDAGBuilder<Integer, String> builder = new IncrementalMealyDAGBuilder<>(alphabet);
+        builder.loadSnapshot(snapshot);
+        return builder;
+    }
+
+    private IncrementalMealyDAGBuilder<Integer, String> insertAll() {
+        final IncrementalMealyDAGBuilder<Integer, String> builder = new IncrementalMealyDAGBuilder<>(alphabet);
+
+        for (int i = 0; i < numQueries; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        return builder;
+    }
+}
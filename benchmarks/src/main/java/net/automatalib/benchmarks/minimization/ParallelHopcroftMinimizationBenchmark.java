@@ -0,0 +1,99 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.minimization;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.RefinementMode;
+import net.automatalib.words.Alphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the scaling of the {@link RefinementMode#PARALLEL parallel} {@link HopcroftMinimization} of
+ * (non-minimized) random DFAs and Mealy machines w.r.t. the number of available threads. The sequential baseline is
+ * measured by {@link HopcroftMinimizationBenchmark}.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelHopcroftMinimizationBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa;
+    private CompactMealy<Integer, String> mealy;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        this.alphabet = BenchmarkInputs.alphabet(alphabetSize);
+        this.dfa = BenchmarkInputs.randomDFA(BenchmarkInputs.newRandom(), size, alphabet);
+        this.mealy = BenchmarkInputs.randomMealy(BenchmarkInputs.newRandom(), size, alphabet);
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> minimizeDFA() {
+        // parallel streams use the pool of the task that invokes them
+        return pool.submit(() -> HopcroftMinimization.minimizeDFA(dfa,
+                                                                  alphabet,
+                                                                  PruningMode.PRUNE_AFTER,
+                                                                  RefinementMode.PARALLEL)).join();
+    }
+
+    @Benchmark
+    public CompactMealy<Integer, String> minimizeMealy() {
+        return pool.submit(() -> HopcroftMinimization.minimizeMealy(mealy,
+                                                                    alphabet,
+                                                                    PruningMode.PRUNE_AFTER,
+                                                                    RefinementMode.PARALLEL)).join();
+    }
+}
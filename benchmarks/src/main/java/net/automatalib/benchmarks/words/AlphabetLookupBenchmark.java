@@ -0,0 +1,137 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.words;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.ArrayAlphabet;
+import net.automatalib.words.impl.DefaultVPDAlphabet;
+import net.automatalib.words.impl.ListAlphabet;
+import net.automatalib.words.impl.SimpleAlphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the symbol index lookup of the different {@link Alphabet} implementations. The {@link #linearScan()}
+ * benchmark measures a {@link List#indexOf(Object)} on the symbols, which corresponds to the lookup of the list- and
+ * array-based alphabets prior to their hash-based index. All benchmarks look up {@link #NUM_LOOKUPS} random symbols
+ * (which are equal, but not identical to the alphabet symbols), hence the reported scores correspond to the average
+ * time <i>per symbol</i>.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlphabetLookupBenchmark {
+
+    public static final int NUM_LOOKUPS = 1000;
+
+    @Param({"2", "10", "100", "400", "1000"})
+    public int alphabetSize;
+
+    private List<String> symbols;
+    private Alphabet<String> arrayAlphabet;
+    private Alphabet<String> listAlphabet;
+    private Alphabet<String> simpleAlphabet;
+    private Alphabet<String> vpdAlphabet;
+    private String[] lookups;
+
+    @Setup
+    public void setUp() {
+        final Random random = BenchmarkInputs.newRandom();
+
+        this.symbols = new ArrayList<>(alphabetSize);
+        for (int i = 0; i < alphabetSize; i++) {
+            symbols.add("symbol" + i);
+        }
+
+        final int third = alphabetSize / 3;
+
+        this.arrayAlphabet = new ArrayAlphabet<>(symbols.toArray(new String[alphabetSize]));
+        this.listAlphabet = new ListAlphabet<>(symbols);
+        this.simpleAlphabet = new SimpleAlphabet<>(symbols);
+        this.vpdAlphabet = new DefaultVPDAlphabet<>(symbols.subList(0, third),
+                                                    symbols.subList(third, 2 * third),
+                                                    symbols.subList(2 * third, alphabetSize));
+
+        this.lookups = new String[NUM_LOOKUPS];
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            // use copies, so that lookups cannot short-cut via identity
+            lookups[i] = new String(symbols.get(random.nextInt(alphabetSize)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int linearScan() {
+        int result = 0;
+        for (String sym : lookups) {
+            result += symbols.indexOf(sym);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int arrayAlphabet() {
+        return lookupAll(arrayAlphabet);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int listAlphabet() {
+        return lookupAll(listAlphabet);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int simpleAlphabet() {
+        return lookupAll(simpleAlphabet);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int vpdAlphabet() {
+        return lookupAll(vpdAlphabet);
+    }
+
+    private int lookupAll(Alphabet<String> alphabet) {
+        int result = 0;
+        for (String sym : lookups) {
+            result += alphabet.getSymbolIndex(sym);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.words;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.benchmarks.BenchmarkInputs;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the hash code computation of words, as it occurs when words (and their prefixes or extensions) are
+ * used as keys of hash-based collections. Each invocation creates a fresh word, so that no hash codes are cached across
+ * invocations.
+ *
+ * @author frohme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordHashBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int length;
+
+    private Integer[] symbols;
+
+    @Setup
+    public void setUp() {
+        final Random random = BenchmarkInputs.newRandom();
+
+        this.symbols = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            symbols[i] = random.nextInt(10);
+        }
+    }
+
+    /**
+     * Hashes all prefixes of a word (twice), which re-uses the prefix hashes shared among the subwords.
+     */
+    @Benchmark
+    public int hashPrefixes() {
+        final Word<Integer> word = Word.fromSymbols(symbols);
+
+        int result = 0;
+        for (int i = 0; i <= length; i++) {
+            result += word.prefix(i).hashCode();
+        }
+        for (int i = 0; i <= length; i++) {
+            result += word.prefix(i).hashCode();
+        }
+        return result;
+    }
+
+    /**
+     * Hashes a word and all of its one-letter extensions, which derive their hash codes from the cached hash code of the
+     * word.
+     */
+    @Benchmark
+    public int hashExtensions() {
+        final Word<Integer> word = Word.fromSymbols(symbols);
+
+        int result = word.hashCode();
+        for (int i = 0; i < 10; i++) {
+            result += word.append(i).hashCode();
+            result += word.prepend(i).hashCode();
+        }
+        return result;
+    }
+}
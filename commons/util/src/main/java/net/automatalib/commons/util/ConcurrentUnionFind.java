@@ -0,0 +1,167 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free, thread-safe implementation of a disjoint set (union-find) data structure for integers, following the
+ * approach of <a href="https://doi.org/10.1145/103418.103458"><i>Wait-free Parallel Algorithms for the Union-Find
+ * Problem</i> (R. Anderson, H. Woll; Proc. STOC 1991)</a>.
+ * <p>
+ * The parent pointers are stored in an {@link AtomicIntegerArray}. Similar to {@link UnionFindRemSP}, sets are always
+ * linked according to the order of their representatives (the smaller one becomes a child of the larger one), which
+ * ensures that concurrent links cannot introduce cycles. A link is a single CAS operation on the parent pointer of a
+ * representative, which only succeeds if the element is still a representative. {@link #find(int)} shortens the
+ * traversed paths via (CAS-based) path splitting.
+ * <p>
+ * All operations may be invoked concurrently and are linearizable. In particular, {@link #union(int, int)} returns
+ * {@code true} for exactly one of several concurrent invocations that unite the same two sets.
+ *
+ * @author frohme
+ */
+public class ConcurrentUnionFind implements IntDisjointSets {
+
+    private final AtomicIntegerArray p;
+
+    /**
+     * Initializes the disjoint-set data structure.
+     *
+     * @param n
+     *         the overall size of the domain
+     */
+    public ConcurrentUnionFind(int n) {
+        final int[] init = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            init[i] = i;
+        }
+
+        // the array-based constructor guarantees the visibility of the initial values
+        p = new AtomicIntegerArray(init);
+    }
+
+    @Override
+    public int size() {
+        return p.length();
+    }
+
+    @Override
+    public boolean equivalent(int x, int y) {
+        int rx = x;
+        int ry = y;
+
+        while (true) {
+            rx = find(rx);
+            ry = find(ry);
+            if (rx == ry) {
+                return true;
+            }
+            // if rx is (still) a representative, x and y were in different sets after the second find
+            if (p.get(rx) == rx) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Finds the set of a given element, and splits the traversed path (i.e., makes every traversed element point to
+     * its grandparent).
+     *
+     * @param x
+     *         the element
+     *
+     * @return the identifier of the set which contains the given element
+     */
+    @Override
+    public int find(int x) {
+        int curr = x;
+        int currp = p.get(curr);
+
+        while (curr != currp) {
+            final int currpp = p.get(currp);
+            if (currp != currpp) {
+                p.compareAndSet(curr, currp, currpp);
+            }
+            curr = currp;
+            currp = currpp;
+        }
+
+        return curr;
+    }
+
+    /**
+     * Unites the sets containing the two given elements.
+     *
+     * @param x
+     *         the first element
+     * @param y
+     *         the second element
+     *
+     * @return {@code true} if two disjoint sets have been united by this invocation, {@code false} otherwise
+     */
+    @Override
+    public boolean union(int x, int y) {
+        int rx = x;
+        int ry = y;
+
+        while (true) {
+            rx = find(rx);
+            ry = find(ry);
+
+            if (rx == ry) {
+                return false;
+            } else if (rx < ry) {
+                if (p.compareAndSet(rx, rx, ry)) {
+                    return true;
+                }
+            } else if (p.compareAndSet(ry, ry, rx)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Unites two given sets. If one of the given elements is no (longer a) set identifier, e.g., due to a concurrent
+     * modification, the sets containing the given elements are united.
+     *
+     * @param x
+     *         the first set
+     * @param y
+     *         the second set
+     *
+     * @return the identifier of the resulting set
+     */
+    @Override
+    public int link(int x, int y) {
+        int rx = x;
+        int ry = y;
+
+        while (true) {
+            if (rx == ry) {
+                return rx;
+            } else if (rx < ry) {
+                if (p.compareAndSet(rx, rx, ry)) {
+                    return ry;
+                }
+            } else if (p.compareAndSet(ry, ry, rx)) {
+                return rx;
+            }
+            rx = find(rx);
+            ry = find(ry);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.array;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Utility methods for managing sets of non-negative integers, which are encoded in a single {@code int[]} array. This
+ * allows to store large numbers of (typically small) sets, e.g. successor sets of nondeterministic automata, without
+ * the overhead of boxed {@link Integer}s and {@link java.util.HashSet} entries.
+ * <p>
+ * The first cell of an encoded set stores its size. Sets with a capacity of at most {@link #SORTED_CAPACITY} store
+ * their elements in ascending order in the subsequent cells. Larger sets use the remaining cells as an open-addressing
+ * (linear probing) hash table whose capacity is a power of two. A {@code null} reference represents the empty set.
+ * <p>
+ * Methods that modify a set may need to re-allocate the underlying array. Hence, their return value must always be
+ * used as the new reference of the set.
+ *
+ * @author frohme
+ */
+public final class IntArraySets {
+
+    /**
+     * The maximum capacity of sets that store their elements as a sorted array.
+     */
+    public static final int SORTED_CAPACITY = 16;
+
+    private static final int INITIAL_CAPACITY = 2;
+    private static final int INITIAL_HASH_CAPACITY = 4 * SORTED_CAPACITY;
+    private static final int EMPTY = -1;
+
+    private IntArraySets() {
+        throw new AssertionError("Should not be instantiated");
+    }
+
+    /**
+     * Returns the number of elements of the given set.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     *
+     * @return the number of elements of the given set
+     */
+    public static int size(@Nullable int[] set) {
+        return set == null ? 0 : set[0];
+    }
+
+    /**
+     * Checks whether the given set contains the given element.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     * @param elem
+     *         the element to check
+     *
+     * @return {@code true} if the set contains the element, {@code false} otherwise
+     */
+    public static boolean contains(@Nullable int[] set, int elem) {
+        if (set == null || elem < 0) {
+            return false;
+        }
+        if (isSorted(set)) {
+            return Arrays.binarySearch(set, 1, set[0] + 1, elem) >= 0;
+        }
+        return set[probe(set, elem)] == elem;
+    }
+
+    /**
+     * Adds an element to the given set.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     * @param elem
+     *         the (non-negative) element to add
+     *
+     * @return the (possibly re-allocated) encoded set containing the element
+     */
+    public static int[] add(@Nullable int[] set, int elem) {
+        if (elem < 0) {
+            throw new IllegalArgumentException("Only non-negative elements are supported, got " + elem);
+        }
+
+        if (set == null) {
+            final int[] result = new int[INITIAL_CAPACITY + 1];
+            result[0] = 1;
+            result[1] = elem;
+            return result;
+        }
+
+        if (isSorted(set)) {
+            return addSorted(set, elem);
+        }
+
+        return addHashed(set, elem);
+    }
+
+    /**
+     * Removes an element from the given set.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     * @param elem
+     *         the element to remove
+     *
+     * @return the encoded set without the element, or {@code null} if the resulting set is empty
+     */
+    @Nullable
+    public static int[] remove(@Nullable int[] set, int elem) {
+        if (set == null || elem < 0) {
+            return set;
+        }
+
+        final int size = set[0];
+
+        if (isSorted(set)) {
+            final int pos = Arrays.binarySearch(set, 1, size + 1, elem);
+            if (pos < 0) {
+                return set;
+            }
+            System.arraycopy(set, pos + 1, set, pos, size - pos);
+        } else {
+            final int pos = probe(set, elem);
+            if (set[pos] != elem) {
+                return set;
+            }
+            deleteHashed(set, pos - 1);
+        }
+
+        set[0] = size - 1;
+        return size == 1 ? null : set;
+    }
+
+    /**
+     * Returns a (deep) copy of the given set.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     *
+     * @return a copy of the given set
+     */
+    @Nullable
+    public static int[] copy(@Nullable int[] set) {
+        return set == null ? null : set.clone();
+    }
+
+    /**
+     * Performs the given action for each element of the given set, without boxing the elements.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     * @param action
+     *         the action to perform
+     */
+    public static void forEach(@Nullable int[] set, IntConsumer action) {
+        if (set == null) {
+            return;
+        }
+
+        if (isSorted(set)) {
+            final int end = set[0] + 1;
+            for (int i = 1; i < end; i++) {
+                action.accept(set[i]);
+            }
+        } else {
+            for (int i = 1; i < set.length; i++) {
+                final int elem = set[i];
+                if (elem != EMPTY) {
+                    action.accept(elem);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements of the given set. The iterator does not support removal and its behavior is
+     * undefined, if the set is modified during iteration.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     *
+     * @return an iterator over the elements of the given set
+     */
+    public static PrimitiveIterator.OfInt iterator(@Nullable int[] set) {
+        return new SetIterator(set);
+    }
+
+    /**
+     * Returns the elements of the given set as a sorted array.
+     *
+     * @param set
+     *         the encoded set, may be {@code null}
+     *
+     * @return the elements of the given set in ascending order
+     */
+    public static int[] toSortedArray(@Nullable int[] set) {
+        if (set == null) {
+            return new int[0];
+        }
+
+        final int size = set[0];
+
+        if (isSorted(set)) {
+            return Arrays.copyOfRange(set, 1, size + 1);
+        }
+
+        final int[] result = new int[size];
+        int idx = 0;
+        for (int i = 1; i < set.length; i++) {
+            final int elem = set[i];
+            if (elem != EMPTY) {
+                result[idx++] = elem;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static boolean isSorted(int[] set) {
+        return set.length - 1 <= SORTED_CAPACITY;
+    }
+
+    private static int[] addSorted(int[] set, int elem) {
+        final int size = set[0];
+        int pos = Arrays.binarySearch(set, 1, size + 1, elem);
+
+        if (pos >= 0) {
+            return set;
+        }
+
+        pos = -pos - 1;
+        final int capacity = set.length - 1;
+
+        if (size < capacity) {
+            System.arraycopy(set, pos, set, pos + 1, size + 1 - pos);
+            set[pos] = elem;
+            set[0] = size + 1;
+            return set;
+        }
+
+        if (capacity < SORTED_CAPACITY) {
+            final int[] result = new int[Math.min(2 * capacity, SORTED_CAPACITY) + 1];
+            System.arraycopy(set, 0, result, 0, pos);
+            result[pos] = elem;
+            System.arraycopy(set, pos, result, pos + 1, size + 1 - pos);
+            result[0] = size + 1;
+            return result;
+        }
+
+        // switch to hashed representation
+        final int[] result = newHashTable(INITIAL_HASH_CAPACITY);
+        for (int i = 1; i <= size; i++) {
+            result[probe(result, set[i])] = set[i];
+        }
+        result[probe(result, elem)] = elem;
+        result[0] = size + 1;
+        return result;
+    }
+
+    private static int[] addHashed(int[] set, int elem) {
+        final int pos = probe(set, elem);
+
+        if (set[pos] == elem) {
+            return set;
+        }
+
+        final int size = set[0];
+        final int capacity = set.length - 1;
+
+        // keep load factor <= 0.5
+        if (2 * (size + 1) <= capacity) {
+            set[pos] = elem;
+            set[0] = size + 1;
+            return set;
+        }
+
+        final int[] result = newHashTable(2 * capacity);
+        for (int i = 1; i < set.length; i++) {
+            final int e = set[i];
+            if (e != EMPTY) {
+                result[probe(result, e)] = e;
+            }
+        }
+        result[probe(result, elem)] = elem;
+        result[0] = size + 1;
+        return result;
+    }
+
+    private static int[] newHashTable(int capacity) {
+        final int[] result = new int[capacity + 1];
+        Arrays.fill(result, 1, result.length, EMPTY);
+        return result;
+    }
+
+    /**
+     * Returns the array index at which the given element is stored in the hash table, or (if not contained) the array
+     * index of the empty cell at which it would be inserted.
+     */
+    private static int probe(int[] set, int elem) {
+        final int mask = set.length - 2;
+        int idx = hash(elem) & mask;
+
+        while (true) {
+            final int value = set[idx + 1];
+            if (value == EMPTY || value == elem) {
+                return idx + 1;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes the element at the given (table) index via backward-shift deletion, so that no tombstones are required.
+     */
+    private static void deleteHashed(int[] set, int tableIdx) {
+        final int mask = set.length - 2;
+        int hole = tableIdx;
+        int curr = tableIdx;
+
+        while (true) {
+            curr = (curr + 1) & mask;
+            final int value = set[curr + 1];
+
+            if (value == EMPTY) {
+                break;
+            }
+
+            final int home = hash(value) & mask;
+            // move the value into the hole, if its home position is not located cyclically in (hole, curr]
+            final boolean inRange = hole <= curr ? (hole < home && home <= curr) : (hole < home || home <= curr);
+
+            if (!inRange) {
+                set[hole + 1] = value;
+                hole = curr;
+            }
+        }
+
+        set[hole + 1] = EMPTY;
+    }
+
+    private static int hash(int elem) {
+        final int h = elem * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class SetIterator implements PrimitiveIterator.OfInt {
+
+        private final int[] set;
+        private final int end;
+        private int next;
+
+        SetIterator(@Nullable int[] set) {
+            this.set = set;
+            if (set == null) {
+                this.end = 0;
+                this.next = 0;
+            } else {
+                this.end = isSorted(set) ? set[0] + 1 : set.length;
+                this.next = advance(1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final int result = set[next];
+            next = advance(next + 1);
+            return result;
+        }
+
+        private int advance(int from) {
+            int idx = from;
+            while (idx < end && set[idx] == EMPTY) {
+                idx++;
+            }
+            return idx;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ConcurrentUnionFindTest {
+
+    private static final int SIZE = 10_000;
+
+    @Test
+    public void testSequential() {
+        final Random random = new Random(42);
+        final ConcurrentUnionFind uf = new ConcurrentUnionFind(SIZE);
+        final UnionFindRemSP reference = new UnionFindRemSP(SIZE);
+
+        Assert.assertEquals(uf.size(), SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            final int x = random.nextInt(SIZE);
+            final int y = random.nextInt(SIZE);
+
+            if (i % 3 == 0) {
+                final int rx = uf.find(x);
+                final int ry = uf.find(y);
+                final int r = uf.link(rx, ry);
+                reference.union(x, y);
+                Assert.assertTrue(r == rx || r == ry);
+                Assert.assertEquals(uf.find(x), r);
+                Assert.assertEquals(uf.find(y), r);
+            } else {
+                Assert.assertEquals(uf.union(x, y), reference.union(x, y));
+            }
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            final int x = random.nextInt(SIZE);
+            final int y = random.nextInt(SIZE);
+            Assert.assertEquals(uf.equivalent(x, y), reference.equivalent(x, y));
+        }
+    }
+
+    @Test
+    public void testConcurrent() {
+        final ConcurrentUnionFind uf = new ConcurrentUnionFind(SIZE);
+        final AtomicInteger successfulUnions = new AtomicInteger();
+
+        // unite all even and all odd elements, with overlapping (conflicting) unions of several threads
+        IntStream.range(0, 4 * SIZE).parallel().forEach(i -> {
+            final int x = (i * 7919) % SIZE;
+            final int y = (x + 2) % SIZE;
+            if (uf.union(x, y)) {
+                successfulUnions.incrementAndGet();
+            }
+        });
+
+        // each successful union reduces the number of sets by exactly one
+        Assert.assertEquals(successfulUnions.get(), SIZE - 2);
+
+        final int even = uf.find(0);
+        final int odd = uf.find(1);
+        Assert.assertNotEquals(even, odd);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(uf.find(i), i % 2 == 0 ? even : odd);
+        }
+    }
+}
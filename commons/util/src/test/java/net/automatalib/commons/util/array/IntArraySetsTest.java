@@ -0,0 +1,120 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.array;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class IntArraySetsTest {
+
+    @Test
+    public void testEmptySet() {
+        Assert.assertEquals(IntArraySets.size(null), 0);
+        Assert.assertFalse(IntArraySets.contains(null, 0));
+        Assert.assertFalse(IntArraySets.iterator(null).hasNext());
+        Assert.assertEquals(IntArraySets.toSortedArray(null).length, 0);
+        Assert.assertNull(IntArraySets.remove(null, 0));
+        Assert.assertNull(IntArraySets.remove(IntArraySets.add(null, 5), 5));
+    }
+
+    @Test
+    public void testSmallSet() {
+        checkRandomOperations(IntArraySets.SORTED_CAPACITY, 100, 0);
+    }
+
+    @Test
+    public void testLargeSet() {
+        checkRandomOperations(1000, 100_000, 1);
+    }
+
+    @Test
+    public void testSparseLargeSet() {
+        checkRandomOperations(Integer.MAX_VALUE, 500, 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeElement() {
+        IntArraySets.add(null, -1);
+    }
+
+    private static void checkRandomOperations(int bound, int numOperations, long seed) {
+        final Random random = new Random(seed);
+        final TreeSet<Integer> reference = new TreeSet<>();
+        int[] set = null;
+
+        for (int i = 0; i < numOperations; i++) {
+            final int elem = random.nextInt(bound);
+            // bias towards insertions, so that the set actually grows
+            if (random.nextInt(3) == 0) {
+                reference.remove(elem);
+                set = IntArraySets.remove(set, elem);
+            } else {
+                reference.add(elem);
+                set = IntArraySets.add(set, elem);
+            }
+
+            Assert.assertEquals(IntArraySets.size(set), reference.size());
+            Assert.assertTrue(reference.isEmpty() || IntArraySets.contains(set, reference.first()));
+            Assert.assertTrue(reference.isEmpty() || IntArraySets.contains(set, reference.last()));
+        }
+
+        checkContents(set, reference);
+        checkContents(IntArraySets.copy(set), reference);
+
+        // remove all elements again
+        final List<Integer> elements = new ArrayList<>(reference);
+        Collections.shuffle(elements, random);
+        for (Integer elem : elements) {
+            Assert.assertTrue(IntArraySets.contains(set, elem));
+            set = IntArraySets.remove(set, elem);
+            Assert.assertFalse(IntArraySets.contains(set, elem));
+        }
+
+        Assert.assertNull(set);
+    }
+
+    private static void checkContents(int[] set, TreeSet<Integer> reference) {
+        final int[] sorted = IntArraySets.toSortedArray(set);
+        Assert.assertEquals(sorted.length, reference.size());
+
+        int idx = 0;
+        for (Integer elem : reference) {
+            Assert.assertEquals(sorted[idx++], elem.intValue());
+            Assert.assertTrue(IntArraySets.contains(set, elem));
+        }
+
+        final TreeSet<Integer> iterated = new TreeSet<>();
+        final PrimitiveIterator.OfInt iter = IntArraySets.iterator(set);
+        while (iter.hasNext()) {
+            Assert.assertTrue(iterated.add(iter.nextInt()));
+        }
+        Assert.assertEquals(iterated, reference);
+
+        final TreeSet<Integer> consumed = new TreeSet<>();
+        IntArraySets.forEach(set, consumed::add);
+        Assert.assertEquals(consumed, reference);
+    }
+}
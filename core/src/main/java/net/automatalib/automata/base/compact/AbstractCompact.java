@@ -29,6 +29,7 @@ import net.automatalib.automata.UniversalFiniteAlphabetAutomaton;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
 import net.automatalib.words.impl.Alphabets;
 
 /**
@@ -65,17 +66,20 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
     private Alphabet<I> alphabet;
     private final float resizeFactor;
     private int alphabetSize;
+    private int alphabetCapacity;
     private int stateCapacity;
     private int numStates;
 
     public AbstractCompact(Alphabet<I> alphabet, AbstractCompact<?, ?, ?, ?> other) {
         this(alphabet, other.stateCapacity, other.resizeFactor);
+        this.alphabetCapacity = other.alphabetCapacity;
         this.numStates = other.numStates;
     }
 
     public AbstractCompact(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
         this.alphabet = alphabet;
         this.alphabetSize = alphabet.size();
+        this.alphabetCapacity = this.alphabetSize;
         this.resizeFactor = resizeFactor;
         this.stateCapacity = stateCapacity;
     }
@@ -129,7 +133,11 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
 
         final int newCap = Math.max((int) (stateCapacity * resizeFactor), newCapacity);
 
-        updateStorage(Payload.of(this.stateCapacity, newCap, numStates, alphabetSize, UpdateOperation.NEW_STATE));
+        updateStorage(Payload.of(this.stateCapacity,
+                                 newCap,
+                                 this.stateCapacity,
+                                 this.alphabetCapacity,
+                                 UpdateOperation.NEW_STATE));
 
         this.stateCapacity = newCap;
     }
@@ -146,11 +154,19 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
             return;
         }
 
-        updateStorage(Payload.of(this.alphabetSize,
-                                 this.alphabetSize + 1,
-                                 numStates,
-                                 alphabetSize,
-                                 UpdateOperation.NEW_ALPHABET_SYMBOL));
+        // only re-arrange the memory layout if the slack capacity of the state-local blocks is exhausted. The capacity
+        // grows geometrically, so that adding symbols one after another causes only amortized constant overhead
+        if (this.alphabetSize == this.alphabetCapacity) {
+            final int newCap = Math.max((int) (this.alphabetCapacity * resizeFactor), this.alphabetCapacity + 1);
+
+            updateStorage(Payload.of(this.alphabetCapacity,
+                                     newCap,
+                                     this.stateCapacity,
+                                     this.alphabetCapacity,
+                                     UpdateOperation.NEW_ALPHABET_SYMBOL));
+
+            this.alphabetCapacity = newCap;
+        }
 
         this.alphabet = Alphabets.withNewSymbol(this.alphabet, symbol);
         this.alphabetSize++;
@@ -232,6 +248,22 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
         return payload.type.updateStorage(oldStorage, payload, arrayConstructor, (arr, idx) -> arr[idx] = defaultValue);
     }
 
+    /**
+     * Updates the memory layout of the given segmented storage. In contrast to the array-based methods, the storage is
+     * updated in place: adding states only allocates new segments and adding alphabet symbols only re-arranges each
+     * segment individually.
+     *
+     * @param storage
+     *         the storage to update
+     * @param payload
+     *         the payload object
+     *
+     * @see #updateStorage(int[], int, Payload)
+     */
+    protected final void updateStorage(SegmentedIntStorage storage, Payload payload) {
+        payload.type.updateStorage(storage, payload);
+    }
+
     protected static Integer toState(int id) {
         return (id != INVALID_STATE) ? id : null;
     }
@@ -253,13 +285,31 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
      * @see #getSymbolIndex(Object)
      */
     protected final int toMemoryIndex(int stateId, int inputId) {
-        return stateId * alphabetSize + inputId;
+        return stateId * alphabetCapacity + inputId;
     }
 
     protected final int getSymbolIndex(@Nullable I input) {
         return alphabet.getSymbolIndex(input);
     }
 
+    /**
+     * Returns the given input as an {@link IntWord}, if its symbol indices coincide with the ones of this automaton
+     * (i.e., if it is an {@link IntWord} over the input alphabet of this automaton). In this case, the symbol indices
+     * can be used directly without looking up the individual symbols.
+     *
+     * @param input
+     *         the input
+     *
+     * @return the input as an {@link IntWord}, or {@code null} if its indices cannot be used directly
+     */
+    @Nullable
+    protected final IntWord<?> asIntWord(Iterable<?> input) {
+        if (input instanceof IntWord && ((IntWord<?>) input).getAlphabet() == alphabet) {
+            return (IntWord<?>) input;
+        }
+        return null;
+    }
+
     public final int numInputs() {
         return alphabetSize;
     }
@@ -280,14 +330,19 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
                                 IntFunction<T> arrayConstructor,
                                 ArrayInitializer<T> initializer) {
 
-                final T newStorage = arrayConstructor.apply(p.newSizeHint * p.alphabetSize);
-                System.arraycopy(oldStorage, 0, newStorage, 0, p.oldSizeHint * p.alphabetSize);
+                final T newStorage = arrayConstructor.apply(p.newSizeHint * p.alphabetCapacity);
+                System.arraycopy(oldStorage, 0, newStorage, 0, p.oldSizeHint * p.alphabetCapacity);
 
-                for (int i = p.oldSizeHint * p.alphabetSize; i < p.newSizeHint * p.alphabetSize; i++) {
+                for (int i = p.oldSizeHint * p.alphabetCapacity; i < p.newSizeHint * p.alphabetCapacity; i++) {
                     initializer.setDefaultValue(newStorage, i);
                 }
                 return newStorage;
             }
+
+            @Override
+            void updateStorage(SegmentedIntStorage storage, Payload p) {
+                storage.ensureStateCapacity(p.newSizeHint);
+            }
         },
         /**
          * A new symbol is added to the automaton. As a result, new space must be allocated in between the state-local
@@ -300,9 +355,9 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
                                 IntFunction<T> arrayConstructor,
                                 ArrayInitializer<T> initializer) {
 
-                final T newStorage = arrayConstructor.apply(p.newSizeHint * p.numStates);
+                final T newStorage = arrayConstructor.apply(p.newSizeHint * p.stateCapacity);
 
-                for (int i = 0; i < p.numStates; i++) {
+                for (int i = 0; i < p.stateCapacity; i++) {
                     System.arraycopy(oldStorage, i * p.oldSizeHint, newStorage, i * p.newSizeHint, p.oldSizeHint);
 
                     for (int j = i * p.newSizeHint + p.oldSizeHint; j < (i + 1) * p.newSizeHint; j++) {
@@ -311,6 +366,11 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
                 }
                 return newStorage;
             }
+
+            @Override
+            void updateStorage(SegmentedIntStorage storage, Payload p) {
+                storage.updateStride(p.newSizeHint);
+            }
         };
 
         /**
@@ -333,6 +393,16 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
                                      Payload payload,
                                      IntFunction<T> arrayConstructor,
                                      ArrayInitializer<T> initializer);
+
+        /**
+         * Perform the update operation on a segmented storage.
+         *
+         * @param storage
+         *         the storage to update (in place)
+         * @param payload
+         *         the payload containing the necessary information for performing the update operation
+         */
+        abstract void updateStorage(SegmentedIntStorage storage, Payload payload);
     }
 
     /**
@@ -353,24 +423,28 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
 
         private final int oldSizeHint;
         private final int newSizeHint;
-        private final int alphabetSize;
-        private final int numStates;
+        private final int alphabetCapacity;
+        private final int stateCapacity;
         private final UpdateOperation type;
 
-        private Payload(int oldSizeHint, int newSizeHint, int numStates, int alphabetSize, UpdateOperation type) {
+        private Payload(int oldSizeHint,
+                        int newSizeHint,
+                        int stateCapacity,
+                        int alphabetCapacity,
+                        UpdateOperation type) {
             this.oldSizeHint = oldSizeHint;
             this.newSizeHint = newSizeHint;
-            this.alphabetSize = alphabetSize;
-            this.numStates = numStates;
+            this.alphabetCapacity = alphabetCapacity;
+            this.stateCapacity = stateCapacity;
             this.type = type;
         }
 
         private static Payload of(int oldSizeHint,
                                   int newSizeHint,
-                                  int numStates,
-                                  int alphabetSize,
+                                  int stateCapacity,
+                                  int alphabetCapacity,
                                   UpdateOperation type) {
-            return new Payload(oldSizeHint, newSizeHint, numStates, alphabetSize, type);
+            return new Payload(oldSizeHint, newSizeHint, stateCapacity, alphabetCapacity, type);
         }
     }
 
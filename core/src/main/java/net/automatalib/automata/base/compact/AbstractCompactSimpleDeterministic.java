@@ -22,6 +22,7 @@ import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
 
 /**
  * Abstract super class that refines {@link AbstractCompactDeterministic} for transition-property-less automata. As a
@@ -45,7 +46,7 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
 
     public AbstractCompactSimpleDeterministic(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
         super(alphabet, stateCapacity, resizeFactor);
-        this.transitions = new int[stateCapacity * numInputs()];
+        this.transitions = new int[toMemoryIndex(stateCapacity, 0)];
         Arrays.fill(this.transitions, 0, this.transitions.length, AbstractCompact.INVALID_STATE);
     }
 
@@ -71,6 +72,18 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
         return toState(getIntSuccessor(state.intValue(), input));
     }
 
+    @Override
+    // Overridden for performance reasons (to prevent indirection of default implementation)
+    public int getSuccessor(int state, int[] input) {
+        int current = state;
+
+        for (int i = 0; i < input.length && current >= 0; i++) {
+            current = transitions[toMemoryIndex(current, input[i])];
+        }
+
+        return current;
+    }
+
     @Override
     public Integer getTransition(int state, int input) {
         return toState(transitions[toMemoryIndex(state, input)]);
@@ -86,7 +99,7 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
 
     @Override
     public void removeAllTransitions(Integer state) {
-        final int lower = state * numInputs();
+        final int lower = toMemoryIndex(state, 0);
         final int upper = lower + numInputs();
         Arrays.fill(transitions, lower, upper, AbstractCompact.INVALID_STATE);
     }
@@ -113,7 +126,7 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
 
     @Override
     public void clear() {
-        Arrays.fill(transitions, 0, size() * numInputs(), AbstractCompact.INVALID_STATE);
+        Arrays.fill(transitions, 0, toMemoryIndex(size(), 0), AbstractCompact.INVALID_STATE);
         super.clear();
     }
 
@@ -125,6 +138,15 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
     private int getIntSuccessor(int state, Iterable<? extends I> input) {
         int current = state;
 
+        final IntWord<?> intWord = asIntWord(input);
+        if (intWord != null) {
+            final int length = intWord.length();
+            for (int i = 0; i < length && current >= 0; i++) {
+                current = transitions[toMemoryIndex(current, intWord.getIntSymbol(i))];
+            }
+            return current;
+        }
+
         Iterator<? extends I> inputIt = input.iterator();
 
         while (current >= 0 && inputIt.hasNext()) {
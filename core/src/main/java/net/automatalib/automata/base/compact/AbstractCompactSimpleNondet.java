@@ -15,21 +15,31 @@
  */
 package net.automatalib.automata.base.compact;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import net.automatalib.commons.util.array.IntArraySets;
 import net.automatalib.words.Alphabet;
 
 /**
  * Abstract super class that refines {@link AbstractCompact} for transition-property-less automata. As a result,
  * transitions may be represented as integers (where a transition object effectively <i>is</i> the successor).
+ * <p>
+ * Successor sets (and the set of initial states) are stored as primitive integer sets (see {@link IntArraySets}), i.e.
+ * as sorted arrays for small fan-outs and as open-addressing hash tables for large fan-outs. The collections returned by
+ * {@link #getTransitions(int, int)} (and hence {@link #getSuccessors(Integer, Object)}) and {@link
+ * #getInitialStates()} are unmodifiable views of this data, i.e., any attempt to modify them throws an {@link
+ * UnsupportedOperationException}. Note that previous versions returned the (modifiable) sets of the internal storage
+ * instead. Callers that need a modifiable set, or that keep the result while modifying the automaton, have to copy the
+ * returned collection, since a view does not necessarily reflect later modifications of the automaton. For iterating
+ * over successors without boxing, see {@link #getIntSuccessors(int, int)} and {@link #forEachSuccessor(int, int,
+ * IntConsumer)}.
  *
  * @param <I>
  *         input symbol type
@@ -42,42 +52,29 @@ import net.automatalib.words.Alphabet;
 @ParametersAreNonnullByDefault
 public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact<I, Integer, SP, Void> {
 
-    //protected final TIntSet initial;
-    protected final Set<Integer> initial; // TODO: replace by primitive specialization
-    //protected TIntSet[] transitions;
-    protected Set<Integer>[] transitions; // TODO: replace by primitive specialization
+    @Nullable
+    protected int[] initial;
+    protected int[][] transitions;
 
-    @SuppressWarnings("unchecked")
     public AbstractCompactSimpleNondet(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
         super(alphabet, stateCapacity, resizeFactor);
 
-        //this.transitions = new TIntSet[stateCapacity * alphabetSize];
-        this.transitions = new Set[stateCapacity * numInputs()]; // TODO: replace by primitive specialization
-
-        //this.initial = new TIntHashSet();
-        this.initial = new HashSet<>(); // TODO: replace by primitive specialization
+        this.transitions = new int[toMemoryIndex(stateCapacity, 0)][];
     }
 
     protected AbstractCompactSimpleNondet(Alphabet<I> alphabet, AbstractCompactSimpleNondet<?, ?> other) {
         super(alphabet, other);
         this.transitions = other.transitions.clone();
         for (int i = 0; i < transitions.length; i++) {
-            //TIntSet tgts = transitions[i];
-            Set<Integer> tgts = transitions[i]; // TODO: replace by primitive specialization
-            if (tgts != null) {
-                //transitions[i] = new TIntHashSet(tgts);
-                transitions[i] = new HashSet<>(tgts); // TODO: replace by primitive specialization
-            }
+            transitions[i] = IntArraySets.copy(transitions[i]);
         }
 
-        //this.initial = new TIntHashSet(other.initial);
-        this.initial = new HashSet<>(other.initial); // TODO: replace by primitive specialization
+        this.initial = IntArraySets.copy(other.initial);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected void updateStorage(Payload payload) {
-        this.transitions = (Set<Integer>[]) updateStorage(this.transitions, Set[]::new, null, payload);
+        this.transitions = updateStorage(this.transitions, int[][]::new, null, payload);
     }
 
     @Override
@@ -92,16 +89,16 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
 
     public void setInitial(int state, boolean initial) {
         if (initial) {
-            this.initial.add(state);
+            this.initial = IntArraySets.add(this.initial, state);
         } else {
-            this.initial.remove(state);
+            this.initial = IntArraySets.remove(this.initial, state);
         }
     }
 
     @Override
     public void clear() {
-        Arrays.fill(transitions, 0, size() * numInputs(), null);
-        this.initial.clear();
+        Arrays.fill(transitions, 0, toMemoryIndex(size(), 0), null);
+        this.initial = null;
 
         super.clear();
     }
@@ -120,12 +117,8 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
     }
 
     public void removeTransition(int stateId, int inputIdx, int successorId) {
-        //TIntCollection successors = transitions[transIdx];
-        Collection<Integer> successors =
-                transitions[toMemoryIndex(stateId, inputIdx)]; // TODO: replace by primitive specialization
-        if (successors != null) {
-            successors.remove(successorId);
-        }
+        final int transIdx = toMemoryIndex(stateId, inputIdx);
+        transitions[transIdx] = IntArraySets.remove(transitions[transIdx], successorId);
     }
 
     @Override
@@ -147,7 +140,7 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
     }
 
     public void removeAllTransitions(int state) {
-        final int lower = state * numInputs();
+        final int lower = toMemoryIndex(state, 0);
         final int upper = lower + numInputs();
 
         Arrays.fill(transitions, lower, upper, null);
@@ -163,15 +156,8 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
     }
 
     public void addTransition(int stateId, int inputIdx, int succId) {
-        int transIdx = toMemoryIndex(stateId, inputIdx);
-        //TIntSet successors = transitions[transIdx];
-        Set<Integer> successors = transitions[transIdx]; // TODO: replace by primitive specialization
-        if (successors == null) {
-            //successors = new TIntHashSet();
-            successors = new HashSet<>(); // TODO: replace by primitive specialization
-            transitions[transIdx] = successors;
-        }
-        successors.add(succId);
+        final int transIdx = toMemoryIndex(stateId, inputIdx);
+        transitions[transIdx] = IntArraySets.add(transitions[transIdx], succId);
     }
 
     @Override
@@ -186,34 +172,19 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
 
     @Override
     public void setTransitions(Integer state, I input, Collection<? extends Integer> transitions) {
-        //TIntList successors = new TIntArrayList(transitions.size());
-        List<Integer> successors = new ArrayList<>(transitions.size()); // TODO: replace by primitive specialization
-        successors.addAll(transitions);
-        setTransitions(state.intValue(), input, successors);
+        setTransitions(state.intValue(), input, transitions);
     }
 
-    //public void setTransitions(int state, I input, TIntCollection successors) {
-    public void setTransitions(int state,
-                               I input,
-                               Collection<? extends Integer> successors) { // TODO: replace by primitive specialization
+    public void setTransitions(int state, I input, Collection<? extends Integer> successors) {
         setTransitions(state, getSymbolIndex(input), successors);
     }
 
-    //public void setTransitions(int state, int inputIdx, TIntCollection successors) {
-    public void setTransitions(int state,
-                               int inputIdx,
-                               Collection<? extends Integer> successors) { // TODO: replace by primitive specialization
-        int transIdx = toMemoryIndex(state, inputIdx);
-        //TIntSet succs = transitions[transIdx];
-        Set<Integer> succs = transitions[transIdx]; // TODO: replace by primitive specialization
-        if (succs == null) {
-            //succs = new TIntHashSet(successors);
-            succs = new HashSet<>(); // TODO: replace by primitive specialization
-            transitions[transIdx] = succs;
-        } else {
-            succs.clear();
+    public void setTransitions(int state, int inputIdx, Collection<? extends Integer> successors) {
+        int[] succs = null;
+        for (Integer succ : successors) {
+            succs = IntArraySets.add(succs, succ);
         }
-        succs.addAll(successors);
+        transitions[toMemoryIndex(state, inputIdx)] = succs;
     }
 
     @Override
@@ -221,27 +192,77 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
         return transition;
     }
 
+    @Override
+    public Set<Integer> getSuccessors(Integer state, @Nullable I input) {
+        // Overridden for performance reasons (transitions are successors, no need to copy them)
+        return getTransitions(state.intValue(), input);
+    }
+
     @Override
     public Collection<Integer> getTransitions(Integer state, I input) {
-        //return new TIntSetDecorator(getTransitions(state.intValue(), input));
-        return getTransitions(state.intValue(), input); // TODO: replace by primitive specialization
+        return getTransitions(state.intValue(), input);
     }
 
-    //public TIntSet getTransitions(int state, I input) {
-    public Set<Integer> getTransitions(int state, I input) { // TODO: replace by primitive specialization
+    public Set<Integer> getTransitions(int state, I input) {
         return getTransitions(state, getSymbolIndex(input));
     }
 
-    //public TIntSet getTransitions(int state, int inputIdx) {
-    public Set<Integer> getTransitions(int state, int inputIdx) { // TODO: replace by primitive specialization
-        Set<Integer> transition = transitions[toMemoryIndex(state, inputIdx)];
+    /**
+     * Returns an unmodifiable view of the successors of the given state and input. The view does not necessarily
+     * reflect later modifications of this automaton (see the class documentation).
+     *
+     * @param state
+     *         the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return an unmodifiable view of the successors
+     */
+    public Set<Integer> getTransitions(int state, int inputIdx) {
+        return new IntArraySetView(transitions[toMemoryIndex(state, inputIdx)]);
+    }
+
+    /**
+     * Returns an iterator over the successors of the given state and input, which allows to iterate over the
+     * successors without boxing.
+     *
+     * @param state
+     *         the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return an iterator over the successors
+     */
+    public PrimitiveIterator.OfInt getIntSuccessors(int state, int inputIdx) {
+        return IntArraySets.iterator(transitions[toMemoryIndex(state, inputIdx)]);
+    }
+
+    /**
+     * Performs the given action for each successor of the given state and input, without boxing the successors.
+     *
+     * @param state
+     *         the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     * @param action
+     *         the action to perform
+     */
+    public void forEachSuccessor(int state, int inputIdx, IntConsumer action) {
+        IntArraySets.forEach(transitions[toMemoryIndex(state, inputIdx)], action);
+    }
 
-        return transition == null ? Collections.emptySet() : transition;
+    /**
+     * Performs the given action for each initial state, without boxing the states.
+     *
+     * @param action
+     *         the action to perform
+     */
+    public void forEachInitialState(IntConsumer action) {
+        IntArraySets.forEach(initial, action);
     }
 
     @Override
     public Set<Integer> getInitialStates() {
-        //return new TIntSetDecorator(initial);
-        return initial; // TODO: replace by primitive specialization
+        return new IntArraySetView(initial);
     }
 }
@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A strategy for allocating the {@link IntBuffer}s that back the segments of a {@link SegmentedIntStorage}, as used by
+ * buffer-based compact automata such as {@link net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA} or {@link
+ * net.automatalib.automata.transout.impl.compact.OffHeapCompactMealy}.
+ * <p>
+ * Each buffer is identified by a name, which consists of the name of the column (e.g. {@code transitions}) and the index
+ * of the segment. Whenever the layout of a segment changes (e.g. due to a new input symbol), a new buffer is requested
+ * from the allocator and the contents of the previous buffer are transferred to the new one. Allocators may return a
+ * buffer that shares its contents with the previous one (e.g. a larger mapping of the same file), as the transfer is
+ * performed in an order that is safe for such in-place updates.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+@FunctionalInterface
+public interface BufferAllocator {
+
+    /**
+     * Allocates a buffer with the given name.
+     *
+     * @param name
+     *         the name of the buffer
+     * @param capacity
+     *         the number of {@code int}s the buffer needs to hold
+     * @param previous
+     *         the buffer previously allocated for this name, or {@code null} if this is the first allocation
+     *
+     * @return a buffer with (at least) the given capacity
+     */
+    IntBuffer allocate(String name, int capacity, @Nullable IntBuffer previous);
+
+    /**
+     * Returns an allocator that allocates regular (non-direct) buffers on the Java heap. This is mainly useful for
+     * testing purposes.
+     *
+     * @return an allocator for heap buffers
+     */
+    static BufferAllocator heap() {
+        return (name, capacity, previous) -> IntBuffer.allocate(capacity);
+    }
+
+    /**
+     * Returns an allocator that allocates direct buffers outside of the Java heap. The data stored in these buffers
+     * does not need to be traversed by the garbage collector and does not count towards the maximum heap size.
+     *
+     * @return an allocator for direct buffers
+     */
+    static BufferAllocator direct() {
+        return (name, capacity, previous) -> {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Integer.BYTES));
+            return buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+        };
+    }
+
+    /**
+     * Returns an allocator that maps each buffer to a file (named after the buffer) in the given directory. Growing a
+     * buffer re-maps a larger region of the same file, so the operating system can page the data in and out as
+     * needed.
+     * <p>
+     * Note that the files are neither truncated nor deleted by the automaton. Existing files are overwritten.
+     *
+     * @param directory
+     *         the directory in which the files are stored
+     *
+     * @return an allocator for memory-mapped buffers
+     */
+    static BufferAllocator mapped(Path directory) {
+        return (name, capacity, previous) -> {
+            try {
+                Files.createDirectories(directory);
+                try (FileChannel channel = FileChannel.open(directory.resolve(name),
+                                                            StandardOpenOption.CREATE,
+                                                            StandardOpenOption.READ,
+                                                            StandardOpenOption.WRITE)) {
+                    return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * Integer.BYTES)
+                                  .order(ByteOrder.nativeOrder())
+                                  .asIntBuffer();
+                }
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        };
+    }
+
+}
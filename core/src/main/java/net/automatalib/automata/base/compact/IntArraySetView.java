@@ -0,0 +1,68 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.util.AbstractSet;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import net.automatalib.commons.util.array.IntArraySets;
+
+/**
+ * An unmodifiable {@link java.util.Set} view on a set of integers encoded via {@link IntArraySets}. The view is backed
+ * by the given array and does not copy it. Since {@link IntArraySets} modifies sets in place as long as their capacity
+ * suffices, but re-allocates them otherwise, modifications of the underlying set after the creation of the view may or
+ * may not be reflected by the view. Hence, a view must not be used after its underlying set has been modified. Its
+ * iterator additionally implements {@link PrimitiveIterator.OfInt}, so that clients may iterate over the elements
+ * without boxing.
+ *
+ * @author frohme
+ */
+final class IntArraySetView extends AbstractSet<Integer> {
+
+    private final int[] set;
+
+    IntArraySetView(@Nullable int[] set) {
+        this.set = set;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return IntArraySets.iterator(set);
+    }
+
+    @Override
+    public int size() {
+        return IntArraySets.size(set);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return IntArraySets.size(set) == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && IntArraySets.contains(set, (Integer) o);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Integer> action) {
+        IntArraySets.forEach(set, action::accept);
+    }
+}
@@ -0,0 +1,183 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A segmented storage for {@code int}-valued, state-local automaton data (such as successors), where the data of each
+ * state occupies a block of {@code stride} consecutive entries. States are grouped into segments of a fixed
+ * (power-of-two) number of states, each of which is backed by an individual {@link IntBuffer} obtained from a {@link
+ * BufferAllocator}.
+ * <p>
+ * This layout has the following properties:
+ * <ul>
+ * <li>Adding states only allocates new segments and never copies existing data.</li>
+ * <li>Adding input symbols (i.e. increasing the stride) re-arranges every segment on its own, so no second copy of the
+ * complete data is required. Since {@link AbstractCompact} reserves slack capacity when growing the stride, this
+ * happens only rarely.</li>
+ * <li>The overall size of the data is not limited by the maximum size of a single buffer.</li>
+ * </ul>
+ * The memory layout is updated by {@link AbstractCompact#updateStorage(SegmentedIntStorage, AbstractCompact.Payload)}.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class SegmentedIntStorage {
+
+    /**
+     * The default number of states per segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 12;
+
+    private final String column;
+    private final BufferAllocator allocator;
+    private final int defaultValue;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    private IntBuffer[] segments;
+    private int numSegments;
+    private int stride;
+
+    /**
+     * Constructor.
+     *
+     * @param column
+     *         the name of the column, which is passed (together with the segment index) to the allocator
+     * @param allocator
+     *         the allocator for the segments
+     * @param defaultValue
+     *         the value of unset entries
+     * @param segmentSize
+     *         the number of states per segment, must be a power of two
+     * @param stateCapacity
+     *         the initial number of states for which storage should be allocated
+     * @param stride
+     *         the initial number of entries per state
+     */
+    public SegmentedIntStorage(String column,
+                               BufferAllocator allocator,
+                               int defaultValue,
+                               int segmentSize,
+                               int stateCapacity,
+                               int stride) {
+        if (segmentSize <= 0 || Integer.bitCount(segmentSize) != 1) {
+            throw new IllegalArgumentException("Segment size must be a positive power of two: " + segmentSize);
+        }
+
+        this.column = column;
+        this.allocator = allocator;
+        this.defaultValue = defaultValue;
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+        this.segments = new IntBuffer[0];
+        this.stride = stride;
+
+        ensureStateCapacity(stateCapacity);
+    }
+
+    public int get(int state, int input) {
+        return segments[state >>> segmentShift].get((state & segmentMask) * stride + input);
+    }
+
+    public void set(int state, int input, int value) {
+        segments[state >>> segmentShift].put((state & segmentMask) * stride + input, value);
+    }
+
+    /**
+     * Resets all entries of the given state to the default value.
+     *
+     * @param state
+     *         the state whose entries should be reset
+     */
+    public void reset(int state) {
+        final IntBuffer segment = segments[state >>> segmentShift];
+        final int lower = (state & segmentMask) * stride;
+        fill(segment, lower, lower + stride, defaultValue);
+    }
+
+    /**
+     * Resets all entries of the states {@code 0} (inclusive) to {@code numStates} (exclusive) to the default value.
+     *
+     * @param numStates
+     *         the number of states whose entries should be reset
+     */
+    public void clear(int numStates) {
+        final int segmentSize = segmentMask + 1;
+        for (int i = 0; i < numSegments && i * segmentSize < numStates; i++) {
+            final int states = Math.min(segmentSize, numStates - i * segmentSize);
+            fill(segments[i], 0, states * stride, defaultValue);
+        }
+    }
+
+    void ensureStateCapacity(int stateCapacity) {
+        final int requiredSegments = (int) (((long) stateCapacity + segmentMask) >>> segmentShift);
+
+        if (requiredSegments <= numSegments) {
+            return;
+        }
+
+        if (requiredSegments > segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(requiredSegments, segments.length * 2));
+        }
+
+        final int capacity = (segmentMask + 1) * stride;
+        for (int i = numSegments; i < requiredSegments; i++) {
+            final IntBuffer segment = allocator.allocate(segmentName(i), capacity, null);
+            fill(segment, 0, capacity, defaultValue);
+            segments[i] = segment;
+        }
+
+        numSegments = requiredSegments;
+    }
+
+    void updateStride(int newStride) {
+        final int segmentSize = segmentMask + 1;
+        final int oldStride = this.stride;
+
+        for (int i = 0; i < numSegments; i++) {
+            final IntBuffer oldSegment = segments[i];
+            final IntBuffer newSegment = allocator.allocate(segmentName(i), segmentSize * newStride, oldSegment);
+
+            // state-local blocks only move towards higher positions, so processing them back to front is safe even if
+            // both buffers share their contents (e.g. a larger mapping of the same file)
+            for (int s = segmentSize - 1; s >= 0; s--) {
+                fill(newSegment, s * newStride + oldStride, (s + 1) * newStride, defaultValue);
+                for (int j = oldStride - 1; j >= 0; j--) {
+                    newSegment.put(s * newStride + j, oldSegment.get(s * oldStride + j));
+                }
+            }
+
+            segments[i] = newSegment;
+        }
+
+        this.stride = newStride;
+    }
+
+    private String segmentName(int index) {
+        return column + '.' + index;
+    }
+
+    private static void fill(IntBuffer buffer, int fromIndex, int toIndex, int value) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            buffer.put(i, value);
+        }
+    }
+}
@@ -106,6 +106,19 @@ public class CompactDFA<I> extends AbstractCompactSimpleDeterministic<I, Boolean
         return isAccepting(state.intValue());
     }
 
+    /**
+     * Checks whether the given sequence of input symbol indices is accepted by this DFA.
+     *
+     * @param input
+     *         the indices (w.r.t. the input alphabet of this DFA) of the input symbols
+     *
+     * @return {@code true} if the input is accepted, {@code false} otherwise
+     */
+    public boolean accepts(int[] input) {
+        final int state = getIntState(input);
+        return state >= 0 && isAccepting(state);
+    }
+
     public static final class Creator<I> implements AutomatonCreator<CompactDFA<I>, I> {
 
         @Override
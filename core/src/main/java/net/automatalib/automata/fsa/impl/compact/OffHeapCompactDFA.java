@@ -0,0 +1,219 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.util.BitSet;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.base.compact.AbstractCompactDeterministic;
+import net.automatalib.automata.base.compact.BufferAllocator;
+import net.automatalib.automata.base.compact.SegmentedIntStorage;
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.commons.util.WrapperUtil;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A variant of {@link CompactDFA} that stores its transition table in a {@link SegmentedIntStorage}, whose segments are
+ * obtained from a {@link BufferAllocator}, instead of an {@code int[]} array. Using {@link BufferAllocator#direct()
+ * direct} or {@link BufferAllocator#mapped(java.nio.file.Path) memory-mapped} buffers, the transition table of very
+ * large automata lives outside of the Java heap and therefore neither needs to fit into the maximum heap size nor needs
+ * to be traversed by the garbage collector. Due to the segmented layout, adding states never copies existing
+ * transitions.
+ * <p>
+ * The acceptance information (one bit per state) is still stored on the heap.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public class OffHeapCompactDFA<I> extends AbstractCompactDeterministic<I, Integer, Boolean, Void>
+        implements MutableDFA<Integer, I> {
+
+    private static final String TRANSITIONS = "transitions";
+
+    private final BitSet acceptance;
+    private final SegmentedIntStorage transitions;
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet) {
+        this(alphabet, BufferAllocator.direct());
+    }
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet, BufferAllocator allocator) {
+        this(alphabet, DEFAULT_INIT_CAPACITY, DEFAULT_RESIZE_FACTOR, allocator);
+    }
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet, int stateCapacity, float resizeFactor, BufferAllocator allocator) {
+        this(alphabet, stateCapacity, resizeFactor, allocator, SegmentedIntStorage.DEFAULT_SEGMENT_SIZE);
+    }
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet,
+                             int stateCapacity,
+                             float resizeFactor,
+                             BufferAllocator allocator,
+                             int segmentSize) {
+        super(alphabet, stateCapacity, resizeFactor);
+        this.acceptance = new BitSet();
+        this.transitions = new SegmentedIntStorage(TRANSITIONS,
+                                                   allocator,
+                                                   AbstractCompact.INVALID_STATE,
+                                                   segmentSize,
+                                                   stateCapacity,
+                                                   numInputs());
+    }
+
+    @Override
+    protected void updateStorage(Payload payload) {
+        updateStorage(this.transitions, payload);
+    }
+
+    @Override
+    public void flipAcceptance() {
+        acceptance.flip(0, size());
+    }
+
+    @Override
+    public void setAccepting(Integer state, boolean accepting) {
+        setAccepting(state.intValue(), accepting);
+    }
+
+    public void setAccepting(int state, boolean accepting) {
+        acceptance.set(state, accepting);
+    }
+
+    @Override
+    public Integer addState(boolean accepting) {
+        return addState(Boolean.valueOf(accepting));
+    }
+
+    @Override
+    public void setStateProperty(int stateId, Boolean property) {
+        setAccepting(stateId, WrapperUtil.booleanValue(property));
+    }
+
+    @Override
+    public Boolean getStateProperty(int stateId) {
+        return isAccepting(stateId);
+    }
+
+    public boolean isAccepting(int stateId) {
+        return acceptance.get(stateId);
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    @Override
+    public Integer createTransition(int successor, Void property) {
+        return successor;
+    }
+
+    @Override
+    public Integer getTransition(int state, int input) {
+        return toState(getIntSuccessor(state, input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent autoboxing of default implementation)
+    public int getSuccessor(int state, int input) {
+        return getIntSuccessor(state, input);
+    }
+
+    /**
+     * Returns the successor (id) of the given state (id) for the given input symbol (index).
+     *
+     * @param state
+     *         the source state id
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the id of the successor, or a negative value if the transition is undefined
+     */
+    public int getIntSuccessor(int state, int input) {
+        return transitions.get(state, input);
+    }
+
+    @Override
+    public int getIntSuccessor(Integer transition) {
+        return toId(transition);
+    }
+
+    @Override
+    public void setTransition(int state, int input, @Nullable Integer transition) {
+        setTransition(state, input, toId(transition));
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, @Nullable Void property) {
+        setTransition(state, input, successor);
+    }
+
+    public void setTransition(int state, int input, int successor) {
+        transitions.set(state, input, successor);
+    }
+
+    @Override
+    public void setTransitionProperty(Integer transition, @Nullable Void property) {}
+
+    @Nullable
+    @Override
+    public Void getTransitionProperty(Integer transition) {
+        return null;
+    }
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        transitions.reset(state);
+    }
+
+    @Override
+    public void clear() {
+        transitions.clear(size());
+        acceptance.clear();
+        super.clear();
+    }
+
+    public static final class Creator<I> implements AutomatonCreator<OffHeapCompactDFA<I>, I> {
+
+        private final BufferAllocator allocator;
+
+        public Creator() {
+            this(BufferAllocator.direct());
+        }
+
+        public Creator(BufferAllocator allocator) {
+            this.allocator = allocator;
+        }
+
+        @Override
+        public OffHeapCompactDFA<I> createAutomaton(Alphabet<I> alphabet, int numStates) {
+            return new OffHeapCompactDFA<>(alphabet, numStates, DEFAULT_RESIZE_FACTOR, allocator);
+        }
+
+        @Override
+        public OffHeapCompactDFA<I> createAutomaton(Alphabet<I> alphabet) {
+            return new OffHeapCompactDFA<>(alphabet, allocator);
+        }
+    }
+
+}
@@ -16,6 +16,8 @@
 package net.automatalib.automata.transout.impl.compact;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -23,8 +25,10 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.base.compact.AbstractCompact;
 import net.automatalib.automata.base.compact.AbstractCompactDeterministic;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
 import net.automatalib.automata.transout.MutableMealyMachine;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
 
 @ParametersAreNonnullByDefault
 public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactMealyTransition<O>, Void, O>
@@ -36,7 +40,7 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactM
     public CompactMealy(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
         super(alphabet, stateCapacity, resizeFactor);
 
-        final int size = stateCapacity * numInputs();
+        final int size = toMemoryIndex(stateCapacity, 0);
 
         this.transitions = new int[size];
         this.outputs = new Object[size];
@@ -84,7 +88,7 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactM
 
     @Override
     public void removeAllTransitions(Integer state) {
-        final int lower = state * numInputs();
+        final int lower = toMemoryIndex(state, 0);
         final int upper = lower + numInputs();
         Arrays.fill(transitions, lower, upper, AbstractCompact.INVALID_STATE);
         Arrays.fill(outputs, lower, upper, null);
@@ -127,7 +131,7 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactM
 
     @Override
     public void clear() {
-        int endIdx = size() * numInputs();
+        int endIdx = toMemoryIndex(size(), 0);
         Arrays.fill(transitions, 0, endIdx, AbstractCompact.INVALID_STATE);
         Arrays.fill(outputs, 0, endIdx, null);
 
@@ -149,6 +153,184 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactM
         return new CompactMealyTransition<>(idx, succ, output);
     }
 
+    /**
+     * Returns the successor (id) of the given state (id) for the given input symbol (index). In contrast to {@link
+     * #getTransition(int, int)}, this method does not need to allocate a transition object.
+     *
+     * @param state
+     *         the source state id
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the id of the successor, or {@link SimpleDeterministicAutomaton.FullIntAbstraction#INVALID_STATE} if the
+     * transition is undefined
+     */
+    public int getIntSuccessor(int state, int input) {
+        return transitions[toMemoryIndex(state, input)];
+    }
+
+    /**
+     * Returns the output of the given state (id) for the given input symbol (index). In contrast to {@link
+     * #getTransition(int, int)}, this method does not need to allocate a transition object.
+     *
+     * @param state
+     *         the source state id
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the output of the transition, or {@code null} if the transition is undefined
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public O getOutput(int state, int input) {
+        return (O) outputs[toMemoryIndex(state, input)];
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public int getSuccessor(int state, int input) {
+        return getIntSuccessor(state, input);
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public int getSuccessor(int state, int[] input) {
+        int current = state;
+
+        for (int i = 0; i < input.length && current >= 0; i++) {
+            current = transitions[toMemoryIndex(current, input[i])];
+        }
+
+        return current;
+    }
+
+    /**
+     * Computes the outputs of the given sequence of input symbol indices, starting from the initial state. In contrast
+     * to {@link #trace(Iterable, List)}, this method neither needs to look up the input symbols nor to allocate any
+     * objects.
+     *
+     * @param input
+     *         the indices (w.r.t. the input alphabet of this machine) of the input symbols
+     * @param output
+     *         the array to which the outputs are written, must be of at least the same length as {@code input}
+     *
+     * @return {@code true} if the transitions of all inputs are defined (and hence all outputs have been written),
+     * {@code false} otherwise. In the latter case, only the outputs of the defined transitions preceding the first
+     * undefined one have been written
+     */
+    public boolean computeOutput(int[] input, Object[] output) {
+        int current = getIntInitialState();
+
+        if (current < 0) {
+            return false;
+        }
+
+        for (int i = 0; i < input.length; i++) {
+            final int idx = toMemoryIndex(current, input[i]);
+            current = transitions[idx];
+            if (current < 0) {
+                return false;
+            }
+            output[i] = outputs[idx];
+        }
+
+        return true;
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public O getTransitionProperty(int state, int input) {
+        return getOutput(state, input);
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public Integer getSuccessor(Integer state, @Nullable I input) {
+        return toState(getIntSuccessor(state.intValue(), getSymbolIndex(input)));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public O getOutput(Integer state, @Nullable I input) {
+        return getOutput(state.intValue(), getSymbolIndex(input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public Integer getState(Iterable<? extends I> input) {
+        return toState(getIntSuccessor(getIntInitialState(), input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public Integer getSuccessor(Integer state, Iterable<? extends I> input) {
+        return toState(getIntSuccessor(state.intValue(), input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public boolean trace(Iterable<? extends I> input, List<? super O> output) {
+        final int init = getIntInitialState();
+        return init != AbstractCompact.INVALID_STATE && trace(init, input, output);
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public boolean trace(Integer state, Iterable<? extends I> input, List<? super O> output) {
+        return trace(state.intValue(), input, output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean trace(int state, Iterable<? extends I> input, List<? super O> output) {
+        int current = state;
+
+        final IntWord<?> intWord = asIntWord(input);
+        if (intWord != null) {
+            final int length = intWord.length();
+            for (int i = 0; i < length; i++) {
+                final int idx = toMemoryIndex(current, intWord.getIntSymbol(i));
+                current = transitions[idx];
+                if (current == AbstractCompact.INVALID_STATE) {
+                    return false;
+                }
+                output.add((O) outputs[idx]);
+            }
+            return true;
+        }
+
+        for (I sym : input) {
+            final int idx = toMemoryIndex(current, getSymbolIndex(sym));
+            current = transitions[idx];
+            if (current == AbstractCompact.INVALID_STATE) {
+                return false;
+            }
+            output.add((O) outputs[idx]);
+        }
+
+        return true;
+    }
+
+    private int getIntSuccessor(int state, Iterable<? extends I> input) {
+        int current = state;
+
+        final IntWord<?> intWord = asIntWord(input);
+        if (intWord != null) {
+            final int length = intWord.length();
+            for (int i = 0; i < length && current >= 0; i++) {
+                current = transitions[toMemoryIndex(current, intWord.getIntSymbol(i))];
+            }
+            return current;
+        }
+
+        Iterator<? extends I> inputIt = input.iterator();
+
+        while (current >= 0 && inputIt.hasNext()) {
+            current = transitions[toMemoryIndex(current, getSymbolIndex(inputIt.next()))];
+        }
+
+        return current;
+    }
+
     public static final class Creator<I, O> implements AutomatonCreator<CompactMealy<I, O>, I> {
 
         @Override
@@ -0,0 +1,277 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transout.impl.compact;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.base.compact.AbstractCompactDeterministic;
+import net.automatalib.automata.base.compact.BufferAllocator;
+import net.automatalib.automata.base.compact.SegmentedIntStorage;
+import net.automatalib.automata.transout.MutableMealyMachine;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A variant of {@link CompactMealy} that stores its transition table in {@link SegmentedIntStorage}s, whose segments
+ * are obtained from a {@link BufferAllocator}, instead of arrays. Using {@link BufferAllocator#direct() direct} or
+ * {@link BufferAllocator#mapped(java.nio.file.Path) memory-mapped} buffers, the transition table of very large automata
+ * lives outside of the Java heap. Due to the segmented layout, adding states never copies existing transitions.
+ * <p>
+ * Transition outputs are dictionary-encoded: each distinct output is stored once (on the heap) and the transition
+ * table only stores the {@code int} code of the respective output. This works well for the usual case of Mealy
+ * machines with a small output alphabet, but requires outputs to provide proper {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} implementations.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public class OffHeapCompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactMealyTransition<O>, Void, O>
+        implements MutableMealyMachine<Integer, I, CompactMealyTransition<O>, O> {
+
+    private static final String TRANSITIONS = "transitions";
+    private static final String OUTPUTS = "outputs";
+
+    /**
+     * The code of the {@code null} output (which is also used for undefined transitions).
+     */
+    private static final int NULL_OUTPUT = 0;
+
+    private final List<O> outputDictionary;
+    private final Map<O, Integer> outputCodes;
+    private final SegmentedIntStorage transitions;
+    private final SegmentedIntStorage outputs;
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet) {
+        this(alphabet, BufferAllocator.direct());
+    }
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet, BufferAllocator allocator) {
+        this(alphabet, DEFAULT_INIT_CAPACITY, DEFAULT_RESIZE_FACTOR, allocator);
+    }
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet,
+                               int stateCapacity,
+                               float resizeFactor,
+                               BufferAllocator allocator) {
+        this(alphabet, stateCapacity, resizeFactor, allocator, SegmentedIntStorage.DEFAULT_SEGMENT_SIZE);
+    }
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet,
+                               int stateCapacity,
+                               float resizeFactor,
+                               BufferAllocator allocator,
+                               int segmentSize) {
+        super(alphabet, stateCapacity, resizeFactor);
+        this.outputDictionary = new ArrayList<>();
+        this.outputCodes = new HashMap<>();
+        this.transitions = new SegmentedIntStorage(TRANSITIONS,
+                                                   allocator,
+                                                   AbstractCompact.INVALID_STATE,
+                                                   segmentSize,
+                                                   stateCapacity,
+                                                   numInputs());
+        this.outputs =
+                new SegmentedIntStorage(OUTPUTS, allocator, NULL_OUTPUT, segmentSize, stateCapacity, numInputs());
+    }
+
+    @Override
+    protected void updateStorage(Payload payload) {
+        updateStorage(this.transitions, payload);
+        updateStorage(this.outputs, payload);
+    }
+
+    /**
+     * Returns the successor (id) of the given state (id) for the given input symbol (index).
+     *
+     * @param state
+     *         the source state id
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the id of the successor, or a negative value if the transition is undefined
+     */
+    public int getIntSuccessor(int state, int input) {
+        return transitions.get(state, input);
+    }
+
+    /**
+     * Returns the output of the given state (id) for the given input symbol (index).
+     *
+     * @param state
+     *         the source state id
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the output of the transition, or {@code null} if the transition is undefined
+     */
+    @Nullable
+    public O getOutput(int state, int input) {
+        return decode(outputs.get(state, input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public int getSuccessor(int state, int input) {
+        return getIntSuccessor(state, input);
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent object allocation of default implementation)
+    public O getTransitionProperty(int state, int input) {
+        return getOutput(state, input);
+    }
+
+    @Override
+    public O getTransitionOutput(CompactMealyTransition<O> transition) {
+        return transition.getOutput();
+    }
+
+    @Override
+    public O getTransitionProperty(CompactMealyTransition<O> transition) {
+        return transition.getOutput();
+    }
+
+    @Override
+    public void setTransitionProperty(CompactMealyTransition<O> transition, O property) {
+        transition.setOutput(property);
+
+        if (transition.isAutomatonTransition()) {
+            final int memoryIdx = transition.getMemoryIdx();
+            outputs.set(memoryIdx / numInputs(), memoryIdx % numInputs(), encode(property));
+        }
+    }
+
+    @Override
+    public void setTransitionOutput(CompactMealyTransition<O> transition, O output) {
+        setTransitionProperty(transition, output);
+    }
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        transitions.reset(state);
+        outputs.reset(state);
+    }
+
+    @Override
+    public int getIntSuccessor(CompactMealyTransition<O> transition) {
+        return transition.getSuccId();
+    }
+
+    @Override
+    public CompactMealyTransition<O> createTransition(int succId, O property) {
+        return new CompactMealyTransition<>(succId, property);
+    }
+
+    @Override
+    public void setStateProperty(int state, Void property) {}
+
+    @Override
+    public Void getStateProperty(int stateId) {
+        return null;
+    }
+
+    @Override
+    public void setTransition(int state, int input, CompactMealyTransition<O> transition) {
+        if (transition == null) {
+            setTransition(state, input, AbstractCompact.INVALID_STATE, null);
+        } else {
+            setTransition(state, input, transition.getSuccId(), transition.getOutput());
+            transition.setMemoryIdx(state * numInputs() + input);
+        }
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, @Nullable O property) {
+        transitions.set(state, input, successor);
+        outputs.set(state, input, encode(property));
+    }
+
+    @Override
+    public void clear() {
+        transitions.clear(size());
+        outputs.clear(size());
+        outputDictionary.clear();
+        outputCodes.clear();
+
+        super.clear();
+    }
+
+    @Override
+    public CompactMealyTransition<O> getTransition(int state, int input) {
+        final int succ = transitions.get(state, input);
+
+        if (succ == AbstractCompact.INVALID_STATE) {
+            return null;
+        }
+
+        return new CompactMealyTransition<>(state * numInputs() + input, succ, decode(outputs.get(state, input)));
+    }
+
+    private int encode(@Nullable O output) {
+        if (output == null) {
+            return NULL_OUTPUT;
+        }
+
+        Integer code = outputCodes.get(output);
+        if (code == null) {
+            outputDictionary.add(output);
+            code = outputDictionary.size();
+            outputCodes.put(output, code);
+        }
+        return code;
+    }
+
+    @Nullable
+    private O decode(int code) {
+        return code == NULL_OUTPUT ? null : outputDictionary.get(code - 1);
+    }
+
+    public static final class Creator<I, O> implements AutomatonCreator<OffHeapCompactMealy<I, O>, I> {
+
+        private final BufferAllocator allocator;
+
+        public Creator() {
+            this(BufferAllocator.direct());
+        }
+
+        public Creator(BufferAllocator allocator) {
+            this.allocator = allocator;
+        }
+
+        @Override
+        public OffHeapCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet, int sizeHint) {
+            return new OffHeapCompactMealy<>(alphabet, sizeHint, DEFAULT_RESIZE_FACTOR, allocator);
+        }
+
+        @Override
+        public OffHeapCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet) {
+            return new OffHeapCompactMealy<>(alphabet, allocator);
+        }
+    }
+
+}
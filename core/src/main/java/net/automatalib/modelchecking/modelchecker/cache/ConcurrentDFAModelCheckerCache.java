@@ -0,0 +1,48 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.modelchecking.ModelCheckerCache.DFAModelCheckerCache;
+
+/**
+ * A thread-safe DFAModelCheckerCache that caches counterexamples per (reachable) structure of the given DFA, and
+ * evicts the least recently used counterexamples once the maximum size is reached. Concurrent calls with identical
+ * arguments invoke the model checker only once.
+ * <p>
+ * In contrast to {@link SizeDFAModelCheckerCache}, this cache can be used by multiple threads that check (several)
+ * properties on the same hypothesis in parallel.
+ *
+ * @param <I>
+ *         the input type
+ * @param <P>
+ *         the property type
+ * @param <R>
+ *         the type of a counterexample
+ *
+ * @author frohme
+ */
+public class ConcurrentDFAModelCheckerCache<I, P, R> extends ConcurrentModelCheckerCache<I, DFA<?, I>, P, R>
+        implements DFAModelCheckerCache<I, P, R> {
+
+    public ConcurrentDFAModelCheckerCache(DFAModelChecker<I, P, R> modelChecker) {
+        this(modelChecker, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ConcurrentDFAModelCheckerCache(DFAModelChecker<I, P, R> modelChecker, long maximumSize) {
+        super(modelChecker, maximumSize, false);
+    }
+}
@@ -0,0 +1,347 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.ModelCheckerCache;
+
+/**
+ * A thread-safe implementation of a cache for model checkers. Based on a canonical encoding of the structure of the
+ * automaton.
+ * <p>
+ * In contrast to {@link SizeModelCheckerCache}, cached counterexamples are not invalidated when the automaton changes.
+ * Instead, the results are cached per structure of the automaton (i.e., the part reachable via the given inputs,
+ * including state and transition properties), so that results for an automaton remain available as long as the
+ * automaton does not change, even when properties are checked against several automata in an alternating fashion. The
+ * number of cached results is bounded, and the least recently used results are evicted first.
+ * <p>
+ * The structure of an automaton is computed once and shared by all results for this automaton object, as long as
+ * neither its size nor the inputs change. Like {@link SizeModelCheckerCache}, this cache therefore assumes that an
+ * automaton is only modified by adding states (as is the case for hypotheses during active learning). If an automaton
+ * is modified otherwise, {@link #clear()} needs to be called.
+ * <p>
+ * If results refer to the automaton they have been computed for (such as {@link net.automatalib.modelchecking.Lasso
+ * lassos}), they can be bound to the automaton object, in which case they are not shared with structurally identical,
+ * but different automata.
+ * <p>
+ * Concurrent calls for the same automaton, inputs and property are coalesced, i.e., the model checker is invoked only
+ * once and all callers receive its result. Concurrent calls for different keys are delegated to the model checker in
+ * parallel, hence the model checker itself needs to be thread-safe.
+ *
+ * @param <I>
+ *         the input type
+ * @param <A>
+ *         the automaton type
+ * @param <P>
+ *         the property type
+ * @param <R>
+ *         the result type of a call to {@link #findCounterExample(UniversalDeterministicAutomaton, Collection,
+ *         Object)}.
+ *
+ * @author frohme
+ */
+class ConcurrentModelCheckerCache<I, A extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>, P, R>
+        implements ModelCheckerCache<I, A, P, R> {
+
+    /**
+     * The default maximum number of cached results.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * The maximum number of automata whose structure is retained.
+     */
+    private static final int MAXIMUM_STRUCTURES = 16;
+
+    /**
+     * The actual cache. Results are wrapped in {@link Optional}s, because the cache does not accept {@code null}
+     * values.
+     */
+    private final Cache<Key<I, P>, Optional<R>> counterExamples;
+
+    /**
+     * The structures of the most recently checked automata. Keys are compared by identity and only weakly referenced.
+     */
+    private final Cache<A, StructureEntry<I>> structures;
+
+    private final ModelChecker<I, A, P, R> modelChecker;
+    private final boolean bindToAutomaton;
+
+    /**
+     * Constructs a new {@link ConcurrentModelCheckerCache}.
+     *
+     * @param modelChecker
+     *         the (thread-safe) model checker to delegate to
+     * @param maximumSize
+     *         the maximum number of cached results
+     * @param bindToAutomaton
+     *         whether results are only returned for the automaton object they have been computed for
+     */
+    ConcurrentModelCheckerCache(ModelChecker<I, A, P, R> modelChecker, long maximumSize, boolean bindToAutomaton) {
+        this.modelChecker = modelChecker;
+        this.bindToAutomaton = bindToAutomaton;
+        this.counterExamples = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.structures = CacheBuilder.newBuilder().weakKeys().maximumSize(MAXIMUM_STRUCTURES).build();
+    }
+
+    /**
+     * The cached implementation for finding counter examples.
+     *
+     * @see ModelChecker#findCounterExample(Object, Collection, Object)
+     */
+    @Nullable
+    @Override
+    public R findCounterExample(A automaton, Collection<? extends I> inputs, P property) {
+        final Key<I, P> key = new Key<>(bindToAutomaton ? automaton : null,
+                                        getStructure(automaton, inputs),
+                                        automaton.size(),
+                                        inputs,
+                                        property);
+
+        try {
+            return counterExamples.get(key,
+                                       () -> Optional.ofNullable(modelChecker.findCounterExample(automaton,
+                                                                                                 inputs,
+                                                                                                 property)))
+                                  .orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            // rethrow the original exception of the model checker
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void clear() {
+        counterExamples.invalidateAll();
+        structures.invalidateAll();
+    }
+
+    /**
+     * Returns statistics about this cache, such as the number of hits and misses. Calls that waited for a concurrent,
+     * identical call to complete are counted as hits.
+     *
+     * @return the statistics of this cache
+     */
+    public CacheStats getStatistics() {
+        return counterExamples.stats();
+    }
+
+    /**
+     * Returns the structure of the given automaton, which is only computed if the automaton has not been checked
+     * before or if its size or the inputs have changed since.
+     */
+    Structure getStructure(A automaton, Collection<? extends I> inputs) {
+        final int size = automaton.size();
+        final StructureEntry<I> entry = structures.getIfPresent(automaton);
+
+        if (entry != null && entry.size == size && (entry.inputs == inputs || entry.inputs.equals(inputs))) {
+            return entry.structure;
+        }
+
+        // concurrent calls for a new automaton may compute its structure redundantly, but do not interfere
+        final Structure structure = structure(automaton, inputs);
+        structures.put(automaton, new StructureEntry<>(size, inputs, structure));
+        return structure;
+    }
+
+    /**
+     * Computes a canonical encoding of the structure of the part of the given automaton that is reachable via the
+     * given inputs. States are numbered in breadth-first order, so that the encoding does not depend on the identity of
+     * the state objects, and the encoding includes all state and transition properties. Two automata have equal
+     * encodings iff their reachable parts are isomorphic (with respect to the given inputs and the {@link
+     * Object#equals(Object) equality} of their properties).
+     */
+    static <I> Structure structure(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                   Collection<? extends I> inputs) {
+        return computeStructure(automaton, inputs);
+    }
+
+    private static <S, I, T> Structure computeStructure(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                                        Collection<? extends I> inputs) {
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            return new Structure(new int[0], new Object[0], new Object[0]);
+        }
+
+        final int numInputs = inputs.size();
+        final StateIDs<S> stateIds = automaton.stateIDs();
+        final int[] ids = new int[automaton.size()];
+        final List<S> states = new ArrayList<>();
+        Arrays.fill(ids, -1);
+        ids[stateIds.getStateId(init)] = 0;
+        states.add(init);
+
+        int[] successors = new int[numInputs];
+        final List<Object> transitionProperties = new ArrayList<>();
+        int numTransitions = 0;
+
+        // the list of states grows while it is traversed, which results in a breadth-first numbering
+        for (int i = 0; i < states.size(); i++) {
+            final S state = states.get(i);
+
+            if (successors.length < numTransitions + numInputs) {
+                successors = Arrays.copyOf(successors, Math.max(2 * successors.length, numTransitions + numInputs));
+            }
+
+            for (I input : inputs) {
+                final T trans = automaton.getTransition(state, input);
+                if (trans == null) {
+                    successors[numTransitions++] = -1;
+                    transitionProperties.add(null);
+                    continue;
+                }
+
+                final S succ = automaton.getSuccessor(trans);
+                final int succId = stateIds.getStateId(succ);
+                int id = ids[succId];
+                if (id < 0) {
+                    id = states.size();
+                    ids[succId] = id;
+                    states.add(succ);
+                }
+
+                successors[numTransitions++] = id;
+                transitionProperties.add(automaton.getTransitionProperty(trans));
+            }
+        }
+
+        final Object[] stateProperties = new Object[states.size()];
+        for (int i = 0; i < stateProperties.length; i++) {
+            stateProperties[i] = automaton.getStateProperty(states.get(i));
+        }
+
+        return new Structure(Arrays.copyOf(successors, numTransitions),
+                             stateProperties,
+                             transitionProperties.toArray());
+    }
+
+    /**
+     * The canonical encoding of the (reachable) structure of an automaton, see {@link #structure(
+     * UniversalDeterministicAutomaton, Collection)}.
+     */
+    static final class Structure {
+
+        private final int[] successors;
+        private final Object[] stateProperties;
+        private final Object[] transitionProperties;
+        private final int hashCode;
+
+        Structure(int[] successors, Object[] stateProperties, Object[] transitionProperties) {
+            this.successors = successors;
+            this.stateProperties = stateProperties;
+            this.transitionProperties = transitionProperties;
+
+            int result = Arrays.hashCode(successors);
+            result = 31 * result + Arrays.hashCode(stateProperties);
+            result = 31 * result + Arrays.hashCode(transitionProperties);
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Structure)) {
+                return false;
+            }
+            final Structure other = (Structure) obj;
+            return hashCode == other.hashCode && Arrays.equals(successors, other.successors) &&
+                   Arrays.equals(stateProperties, other.stateProperties) &&
+                   Arrays.equals(transitionProperties, other.transitionProperties);
+        }
+    }
+
+    private static final class StructureEntry<I> {
+
+        private final int size;
+        private final Collection<? extends I> inputs;
+        private final Structure structure;
+
+        StructureEntry(int size, Collection<? extends I> inputs, Structure structure) {
+            this.size = size;
+            this.inputs = inputs;
+            this.structure = structure;
+        }
+    }
+
+    private static final class Key<I, P> {
+
+        /**
+         * The automaton the result is bound to (compared by identity), or {@code null} if the result is shared.
+         */
+        @Nullable
+        private final Object automaton;
+        private final Structure structure;
+        private final int size;
+        private final Collection<? extends I> inputs;
+        private final P property;
+        private final int hashCode;
+
+        Key(@Nullable Object automaton, Structure structure, int size, Collection<? extends I> inputs, P property) {
+            this.automaton = automaton;
+            this.structure = structure;
+            this.size = size;
+            this.inputs = inputs;
+            this.property = property;
+            this.hashCode = 31 * System.identityHashCode(automaton) + Objects.hash(structure, size, inputs, property);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key<?, ?> other = (Key<?, ?>) obj;
+            return hashCode == other.hashCode && automaton == other.automaton && size == other.size &&
+                   inputs.equals(other.inputs) && Objects.equals(property, other.property) &&
+                   structure.equals(other.structure);
+        }
+    }
+}
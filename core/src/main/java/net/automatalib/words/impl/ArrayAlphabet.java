@@ -15,17 +15,42 @@
  */
 package net.automatalib.words.impl;
 
-import java.util.Objects;
+import javax.annotation.Nullable;
 
 import net.automatalib.words.abstractimpl.AbstractAlphabet;
 
+/**
+ * An alphabet whose symbols are given by an array. The symbols are copied upon construction, so that subsequent
+ * modifications of the given array do not affect this alphabet.
+ *
+ * @param <I>
+ *         input symbol type
+ */
 public class ArrayAlphabet<I> extends AbstractAlphabet<I> {
 
     protected final I[] symbols;
+    @Nullable
+    private final SymbolIndex<I> index;
 
     @SafeVarargs
     public ArrayAlphabet(I... symbols) {
+        // the symbol index is a snapshot of the array, hence the array itself must not change either
+        this(symbols.clone(), true);
+    }
+
+    /**
+     * Constructor for subclasses that take ownership of the given array and that may provide their own symbol
+     * lookup.
+     *
+     * @param symbols
+     *         the symbols, which are not copied
+     * @param buildIndex
+     *         whether to build the index used by {@link #getSymbolIndex(Object)} and {@link #containsSymbol(Object)}.
+     *         Subclasses that pass {@code false} must override both methods
+     */
+    ArrayAlphabet(I[] symbols, boolean buildIndex) {
         this.symbols = symbols;
+        this.index = buildIndex ? SymbolIndex.of(symbols) : null;
     }
 
     @Override
@@ -38,25 +63,15 @@ public class ArrayAlphabet<I> extends AbstractAlphabet<I> {
 
     @Override
     public int getSymbolIndex(I symbol) throws IllegalArgumentException {
-        final int idx = getSymbolIndexInternal(symbol);
+        final int idx = index.get(symbol);
 
-        if (idx >= 0) {
+        if (idx != SymbolIndex.NOT_FOUND) {
             return idx;
         }
 
         throw new IllegalArgumentException("Alphabet does not contain the queried symbol");
     }
 
-    private int getSymbolIndexInternal(I symbol) {
-        for (int i = 0; i < symbols.length; i++) {
-            if (Objects.equals(symbols[i], symbol)) {
-                return i;
-            }
-        }
-
-        return -1;
-    }
-
     @Override
     public void writeToArray(int offset, Object[] array, int tgtOfs, int num) {
         System.arraycopy(symbols, offset, array, tgtOfs, num);
@@ -64,7 +79,7 @@ public class ArrayAlphabet<I> extends AbstractAlphabet<I> {
 
     @Override
     public boolean containsSymbol(I symbol) {
-        return getSymbolIndexInternal(symbol) != -1;
+        return index.get(symbol) != SymbolIndex.NOT_FOUND;
     }
 
     @Override
@@ -39,6 +39,7 @@ public class DefaultVPDAlphabet<I> extends AbstractVPDAlphabet<I> {
     private final int returnStart, returnEnd;
 
     private final List<I> symbols;
+    private final SymbolIndex<I> index;
 
     public DefaultVPDAlphabet(final Collection<I> internalSymbols,
                               final Collection<I> callSymbols,
@@ -62,6 +63,7 @@ public class DefaultVPDAlphabet<I> extends AbstractVPDAlphabet<I> {
         tmp.addAll(returnSymbols);
 
         this.symbols = Collections.unmodifiableList(tmp);
+        this.index = SymbolIndex.of(tmp, returnEnd);
     }
 
     @Override
@@ -170,15 +172,20 @@ public class DefaultVPDAlphabet<I> extends AbstractVPDAlphabet<I> {
 
     @Override
     public int getSymbolIndex(@Nullable final I symbol) throws IllegalArgumentException {
-        final int localIdx = this.symbols.indexOf(symbol);
+        final int localIdx = this.index.get(symbol);
 
-        if (localIdx < 0) {
+        if (localIdx == SymbolIndex.NOT_FOUND) {
             throw new IllegalArgumentException("Alphabet does not contain the queried symbol");
         }
 
         return localIdx;
     }
 
+    @Override
+    public boolean containsSymbol(@Nullable I symbol) {
+        return this.index.get(symbol) != SymbolIndex.NOT_FOUND;
+    }
+
     @Override
     public int size() {
         return this.symbols.size();
@@ -20,7 +20,8 @@ import java.util.Arrays;
 public class EnumAlphabet<E extends Enum<E>> extends ArrayAlphabet<E> {
 
     public EnumAlphabet(Class<E> enumClazz, boolean withNull) {
-        super(extractEnumValues(enumClazz, withNull));
+        // symbols are looked up by their ordinal, hence there is no need for a symbol index
+        super(extractEnumValues(enumClazz, withNull), false);
     }
 
     private static <E> E[] extractEnumValues(Class<E> enumClazz, boolean withNull) {
@@ -24,6 +24,8 @@ public class ExtensionWord<I> extends Word<I> {
 
     private final Word<I> word;
     private final I letter;
+    // lazily computed, 0 if unknown
+    private transient int hash;
 
     public ExtensionWord(Word<I> word, I letter) {
         this.word = word;
@@ -35,6 +37,22 @@ public class ExtensionWord<I> extends Word<I> {
         return word.length() + 1;
     }
 
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            // constant time, if the hash code of the extended word is cached
+            h = appendHash(word.hashCode(), letter);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    protected int knownHashCode() {
+        return hash;
+    }
+
     @Override
     public java.util.Iterator<I> iterator() {
         return new Iterator<>(word.iterator(), letter);
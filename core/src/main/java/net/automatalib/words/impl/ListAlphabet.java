@@ -15,6 +15,7 @@
  */
 package net.automatalib.words.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -22,14 +23,25 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.automatalib.words.abstractimpl.AbstractAlphabet;
 
+/**
+ * An alphabet whose symbols are given by a list. The symbols are copied upon construction, so that subsequent
+ * modifications of the given list do not affect this alphabet.
+ *
+ * @param <I>
+ *         input symbol type
+ */
 @ParametersAreNonnullByDefault
 public class ListAlphabet<I> extends AbstractAlphabet<I> {
 
     @Nonnull
     private final List<? extends I> list;
+    @Nonnull
+    private final SymbolIndex<I> index;
 
     public ListAlphabet(List<? extends I> list) {
-        this.list = list;
+        // the symbol index is a snapshot of the list, hence the list itself must not change either
+        this.list = new ArrayList<>(list);
+        this.index = SymbolIndex.of(this.list, this.list.size());
     }
 
     @Override
@@ -39,8 +51,8 @@ public class ListAlphabet<I> extends AbstractAlphabet<I> {
 
     @Override
     public int getSymbolIndex(I symbol) throws IllegalArgumentException {
-        int idx = list.indexOf(symbol);
-        if (idx == -1) {
+        int idx = index.get(symbol);
+        if (idx == SymbolIndex.NOT_FOUND) {
             throw new IllegalArgumentException("Symbol " + symbol + " is not contained in the alphabet");
         }
         return idx;
@@ -48,7 +60,7 @@ public class ListAlphabet<I> extends AbstractAlphabet<I> {
 
     @Override
     public boolean containsSymbol(I symbol) {
-        return list.contains(symbol);
+        return index.get(symbol) != SymbolIndex.NOT_FOUND;
     }
 
     @Override
@@ -19,12 +19,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import javax.annotation.Nonnull;
 
 import com.google.common.collect.Iterators;
-import com.google.common.collect.Maps;
 import net.automatalib.words.GrowingAlphabet;
 import net.automatalib.words.abstractimpl.AbstractAlphabet;
 
@@ -43,8 +41,7 @@ public class SimpleAlphabet<I> extends AbstractAlphabet<I> implements GrowingAlp
     private final List<I> symbols;
 
     @Nonnull
-    //private final TObjectIntMap<I> indexMap = new TObjectIntHashMap<I>(10, 0.75f, -1);
-    private final Map<I, Integer> indexMap; // TODO: replace by primitive specialization
+    private final SymbolIndex<I> indexMap;
 
     public SimpleAlphabet() {
         this(new ArrayList<>());
@@ -52,11 +49,7 @@ public class SimpleAlphabet<I> extends AbstractAlphabet<I> implements GrowingAlp
 
     public SimpleAlphabet(Collection<? extends I> symbols) {
         this.symbols = new ArrayList<>(symbols);
-        this.indexMap = Maps.newHashMapWithExpectedSize(symbols.size()); // TODO: replace by primitive specialization
-        int i = 0;
-        for (I sym : this.symbols) {
-            indexMap.put(sym, i++);
-        }
+        this.indexMap = SymbolIndex.of(this.symbols, this.symbols.size());
     }
 
     @Override
@@ -78,15 +71,12 @@ public class SimpleAlphabet<I> extends AbstractAlphabet<I> implements GrowingAlp
 
     @Override
     public int addSymbol(I a) {
-        //int idx = indexMap.get(a);
-        //if(idx != -1)
-        Integer idx = indexMap.get(a); // TODO: replace by primitive specialization
-        if (idx != null) {
-            return idx;
+        final int idx = size();
+        final int oldIdx = indexMap.putIfAbsent(a, idx);
+        if (oldIdx != SymbolIndex.NOT_FOUND) {
+            return oldIdx;
         }
-        idx = size();
         symbols.add(a);
-        indexMap.put(a, idx);
         return idx;
     }
 
@@ -102,17 +92,22 @@ public class SimpleAlphabet<I> extends AbstractAlphabet<I> implements GrowingAlp
 
     @Override
     public int getSymbolIndex(I symbol) {
-        return indexMap.get(symbol);
+        final int idx = indexMap.get(symbol);
+        if (idx == SymbolIndex.NOT_FOUND) {
+            // retain the behavior of the previous (boxed) map-based lookup
+            throw new NullPointerException("Alphabet does not contain the queried symbol");
+        }
+        return idx;
     }
 
     @Override
     public int compare(I o1, I o2) {
-        return indexMap.get(o1) - indexMap.get(o2);
+        return getSymbolIndex(o1) - getSymbolIndex(o2);
     }
 
     @Override
     public boolean containsSymbol(I symbol) {
-        return indexMap.containsKey(symbol);
+        return indexMap.get(symbol) != SymbolIndex.NOT_FOUND;
     }
 
 }
@@ -0,0 +1,172 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hash-based mapping from alphabet symbols to their indices, which is used by the alphabet implementations of this
+ * package to look up symbol indices in constant (expected) time.
+ * <p>
+ * The mapping uses open addressing with linear probing on a pair of arrays, so that lookups do not allocate and do not
+ * box the indices. Symbols are compared by {@link Objects#equals(Object, Object)}, and {@code null} is a valid symbol.
+ * If a symbol is added multiple times, the first index is retained (consistent with {@link
+ * java.util.List#indexOf(Object)}).
+ *
+ * @param <I>
+ *         symbol type
+ *
+ * @author frohme
+ */
+final class SymbolIndex<I> {
+
+    static final int NOT_FOUND = -1;
+
+    private static final Object NULL_KEY = new Object();
+    private static final int MIN_CAPACITY = 4;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    SymbolIndex(int expectedSize) {
+        final int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, MIN_CAPACITY) - 1) << 1;
+        this.keys = new Object[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Creates an index that maps each of the given symbols to its position.
+     *
+     * @param symbols
+     *         the symbols
+     * @param size
+     *         the (expected) number of symbols, used for sizing the index
+     *
+     * @return the index
+     */
+    static <I> SymbolIndex<I> of(Iterable<? extends I> symbols, int size) {
+        final SymbolIndex<I> result = new SymbolIndex<>(size);
+        int idx = 0;
+        for (I sym : symbols) {
+            result.putIfAbsent(sym, idx++);
+        }
+        return result;
+    }
+
+    /**
+     * Creates an index that maps each of the given symbols to its position.
+     *
+     * @param symbols
+     *         the symbols
+     *
+     * @return the index
+     */
+    static <I> SymbolIndex<I> of(I[] symbols) {
+        return of(Arrays.asList(symbols), symbols.length);
+    }
+
+    /**
+     * Retrieves the index of the given symbol.
+     *
+     * @param symbol
+     *         the symbol
+     *
+     * @return the index of the symbol, or {@link #NOT_FOUND} if the symbol is not contained
+     */
+    int get(@Nullable Object symbol) {
+        final Object key = symbol == null ? NULL_KEY : symbol;
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int slot = hash(key) & mask;
+        Object curr;
+        while ((curr = keys[slot]) != null) {
+            if (curr == key || curr.equals(key)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Associates the given symbol with the given index, unless the symbol is already contained.
+     *
+     * @param symbol
+     *         the symbol
+     * @param index
+     *         the index
+     *
+     * @return the previous index of the symbol, or {@link #NOT_FOUND} if the symbol has been added
+     */
+    int putIfAbsent(@Nullable I symbol, int index) {
+        final Object key = symbol == null ? NULL_KEY : symbol;
+        final int mask = keys.length - 1;
+
+        int slot = hash(key) & mask;
+        Object curr;
+        while ((curr = keys[slot]) != null) {
+            if (curr == key || curr.equals(key)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = index;
+
+        // keep the load factor at most 1/2
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        return NOT_FOUND;
+    }
+
+    private void rehash(int capacity) {
+        final Object[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        final Object[] newKeys = new Object[capacity];
+        final int[] newValues = new int[capacity];
+        final int mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object key = oldKeys[i];
+            if (key != null) {
+                int slot = hash(key) & mask;
+                while (newKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = key;
+                newValues[slot] = oldValues[i];
+            }
+        }
+
+        this.keys = newKeys;
+        this.values = newValues;
+    }
+
+    private static int hash(Object key) {
+        final int h = key.hashCode();
+        // spread the higher bits, as the slot is computed by masking
+        return h ^ (h >>> 16);
+    }
+}
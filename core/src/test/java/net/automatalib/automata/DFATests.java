@@ -15,10 +15,15 @@
  */
 package net.automatalib.automata;
 
+import java.util.Arrays;
+
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 /**
@@ -41,4 +46,33 @@ public class DFATests {
         SharedTestUtils.checkOutput(dfa, Word.fromCharSequence("aabb"), false);
         SharedTestUtils.checkOutput(dfa, Word.fromCharSequence("baba"), false);
     }
+
+    @Test
+    public void testIntInputs() {
+        final Alphabet<Character> sigma = Alphabets.characters('a', 'b');
+        final CompactDFA<Character> dfa = new CompactDFA<>(sigma);
+
+        final int q0 = dfa.addIntInitialState(true);
+        final int q1 = dfa.addIntState(false);
+
+        dfa.setTransition(q0, 0, q1);
+        dfa.setTransition(q1, 1, q0);
+
+        Assert.assertTrue(dfa.accepts(new int[0]));
+        Assert.assertTrue(dfa.accepts(new int[] {0, 1, 0, 1}));
+        Assert.assertFalse(dfa.accepts(new int[] {0, 1, 0}));
+        Assert.assertFalse(dfa.accepts(new int[] {1, 0}));
+
+        Assert.assertEquals(dfa.getIntState(new int[] {0, 1, 0}), q1);
+        Assert.assertEquals(dfa.getSuccessor(q1, new int[] {1, 1}), SimpleDeterministicAutomaton.FullIntAbstraction.INVALID_STATE);
+
+        // IntWords over the input alphabet and over an equal, but different alphabet
+        for (Alphabet<Character> alphabet : Arrays.asList(sigma, Alphabets.characters('a', 'b'))) {
+            Assert.assertTrue(dfa.accepts(IntWord.fromWord(alphabet, Word.fromCharSequence("abab"))));
+            Assert.assertFalse(dfa.accepts(IntWord.fromWord(alphabet, Word.fromCharSequence("aba"))));
+            Assert.assertNull(dfa.getState(IntWord.fromWord(alphabet, Word.fromCharSequence("ba"))));
+            Assert.assertEquals(dfa.getState(IntWord.fromWord(alphabet, Word.fromCharSequence("aba"))),
+                                Integer.valueOf(q1));
+        }
+    }
 }
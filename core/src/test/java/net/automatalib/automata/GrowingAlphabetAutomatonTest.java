@@ -22,10 +22,12 @@ import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
 import net.automatalib.automata.transout.impl.FastMealy;
 import net.automatalib.automata.transout.impl.FastMoore;
 import net.automatalib.automata.transout.impl.FastProbMealy;
 import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.automata.transout.impl.compact.OffHeapCompactMealy;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
@@ -144,6 +146,16 @@ public class GrowingAlphabetAutomatonTest {
         this.testGrowableOutputAutomaton(new CompactMealy<>(ALPHABET));
     }
 
+    @Test
+    public void testOffHeapCompactDFA() throws Exception {
+        this.testGrowableOutputAutomaton(new OffHeapCompactDFA<>(ALPHABET));
+    }
+
+    @Test
+    public void testOffHeapCompactMealy() throws Exception {
+        this.testGrowableOutputAutomaton(new OffHeapCompactMealy<>(ALPHABET));
+    }
+
     @Test
     public void testFastMealy() throws Exception {
         this.testGrowableOutputAutomaton(new FastMealy<>(ALPHABET));
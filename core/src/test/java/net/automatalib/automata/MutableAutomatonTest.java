@@ -27,10 +27,12 @@ import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
 import net.automatalib.automata.transout.impl.FastMealy;
 import net.automatalib.automata.transout.impl.FastMoore;
 import net.automatalib.automata.transout.impl.FastProbMealy;
 import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.automata.transout.impl.compact.OffHeapCompactMealy;
 import net.automatalib.automata.transout.probabilistic.ProbabilisticOutput;
 import net.automatalib.commons.util.random.RandomUtil;
 import net.automatalib.words.Alphabet;
@@ -77,6 +79,16 @@ public class MutableAutomatonTest {
         this.checkAutomaton(new CompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
     }
 
+    @Test
+    public void testOffHeapCompactDFA() {
+        this.checkAutomaton(new OffHeapCompactDFA.Creator<>(), ALPHABET, STATE_PROPS, EMPTY_PROPS);
+    }
+
+    @Test
+    public void testOffHeapCompactMealy() {
+        this.checkAutomaton(new OffHeapCompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
+    }
+
     @Test
     public void testFastMealy() {
         this.checkAutomaton(FastMealy::new, ALPHABET, EMPTY_PROPS, TRANS_PROPS);
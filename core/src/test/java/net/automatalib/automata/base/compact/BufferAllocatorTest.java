@@ -0,0 +1,228 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.automata.transout.impl.compact.CompactMealyTransition;
+import net.automatalib.automata.transout.impl.compact.OffHeapCompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the buffer-based compact automata for the different {@link BufferAllocator}s by comparing them with their
+ * array-based counterparts.
+ *
+ * @author frohme
+ */
+public class BufferAllocatorTest {
+
+    private static final int SIZE = 100;
+    private static final int INITIAL_CAPACITY = 2;
+    private static final List<String> OUTPUTS = Arrays.asList("a", "b", "c", null);
+
+    private Path tmpDir;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("automatalib-buffer-test");
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(tmpDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @DataProvider
+    public Object[][] allocators() {
+        return new Object[][] {{BufferAllocator.heap()},
+                               {BufferAllocator.direct()},
+                               {BufferAllocator.mapped(tmpDir.resolve("dfa"))},
+                               {BufferAllocator.mapped(tmpDir.resolve("mealy"))}};
+    }
+
+    @Test(dataProvider = "allocators")
+    public void testDFA(BufferAllocator allocator) {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> expected = new CompactDFA<>(alphabet, INITIAL_CAPACITY);
+        final OffHeapCompactDFA<Integer> actual =
+                new OffHeapCompactDFA<>(alphabet, INITIAL_CAPACITY, AbstractCompact.DEFAULT_RESIZE_FACTOR, allocator);
+
+        for (int i = 0; i < SIZE; i++) {
+            final boolean accepting = random.nextBoolean();
+            Assert.assertEquals(actual.addIntState(accepting), expected.addIntState(accepting));
+        }
+        expected.setInitialState(0);
+        actual.setInitialState(0);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                final int succ = random.nextInt(SIZE + 1) - 1;
+                expected.setTransition(s, i, succ);
+                actual.setTransition(s, i, succ);
+            }
+        }
+
+        checkDFA(expected, actual);
+
+        expected.addAlphabetSymbol(4);
+        actual.addAlphabetSymbol(4);
+
+        for (int s = 0; s < SIZE; s += 2) {
+            expected.setTransition(s, 4, s);
+            actual.setTransition(s, 4, s);
+        }
+
+        checkDFA(expected, actual);
+
+        expected.removeAllTransitions(0);
+        actual.removeAllTransitions(0);
+
+        checkDFA(expected, actual);
+    }
+
+    @Test(dataProvider = "allocators")
+    public void testMealy(BufferAllocator allocator) {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final Random random = new Random(42);
+
+        final CompactMealy<Integer, String> expected = new CompactMealy<>(alphabet, INITIAL_CAPACITY);
+        final OffHeapCompactMealy<Integer, String> actual =
+                new OffHeapCompactMealy<>(alphabet, INITIAL_CAPACITY, AbstractCompact.DEFAULT_RESIZE_FACTOR, allocator);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(actual.addIntState(), expected.addIntState());
+        }
+        expected.setInitialState(0);
+        actual.setInitialState(0);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                final int succ = random.nextInt(SIZE + 1) - 1;
+                final String output = succ < 0 ? null : OUTPUTS.get(random.nextInt(OUTPUTS.size()));
+                expected.setTransition(s, i, succ, output);
+                actual.setTransition(s, i, succ, output);
+            }
+        }
+
+        checkMealy(expected, actual);
+
+        expected.addAlphabetSymbol(4);
+        actual.addAlphabetSymbol(4);
+
+        for (int s = 0; s < SIZE; s += 2) {
+            expected.setTransition(s, 4, s, "d");
+            actual.setTransition(s, 4, s, "d");
+        }
+
+        checkMealy(expected, actual);
+
+        actual.setTransitionOutput(actual.getTransition(0, 4), "e");
+        Assert.assertEquals(actual.getOutput(0, 4), "e");
+
+        actual.clear();
+        Assert.assertEquals(actual.size(), 0);
+    }
+
+    @Test(dataProvider = "allocators")
+    public void testInterleavedGrowth(BufferAllocator allocator) {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 0);
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> expected = new CompactDFA<>(alphabet, INITIAL_CAPACITY);
+        // use a tiny segment size so that the storage spans many segments
+        final OffHeapCompactDFA<Integer> actual = new OffHeapCompactDFA<>(alphabet,
+                                                                          INITIAL_CAPACITY,
+                                                                          AbstractCompact.DEFAULT_RESIZE_FACTOR,
+                                                                          allocator,
+                                                                          4);
+
+        for (int round = 1; round < 10; round++) {
+            for (int i = 0; i < SIZE / 10; i++) {
+                final boolean accepting = random.nextBoolean();
+                Assert.assertEquals(actual.addIntState(accepting), expected.addIntState(accepting));
+            }
+
+            for (int s = 0; s < expected.size(); s++) {
+                final int succ = random.nextInt(expected.size());
+                final int input = random.nextInt(expected.numInputs());
+                expected.setTransition(s, input, succ);
+                actual.setTransition(s, input, succ);
+            }
+
+            checkDFA(expected, actual);
+
+            expected.addAlphabetSymbol(round);
+            actual.addAlphabetSymbol(round);
+
+            checkDFA(expected, actual);
+        }
+    }
+
+    private static void checkDFA(CompactDFA<Integer> expected, OffHeapCompactDFA<Integer> actual) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.numInputs(), expected.numInputs());
+
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.isAccepting(s), expected.isAccepting(s));
+            for (int i = 0; i < expected.numInputs(); i++) {
+                Assert.assertEquals(actual.getSuccessor(s, i), expected.getSuccessor(s, i));
+                Assert.assertEquals(actual.getTransition(s, i), expected.getTransition(s, i));
+            }
+        }
+    }
+
+    private static void checkMealy(CompactMealy<Integer, String> expected, OffHeapCompactMealy<Integer, String> actual) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.numInputs(), expected.numInputs());
+
+        for (int s = 0; s < expected.size(); s++) {
+            for (int i = 0; i < expected.numInputs(); i++) {
+                Assert.assertEquals(actual.getIntSuccessor(s, i), expected.getIntSuccessor(s, i));
+                Assert.assertEquals(actual.getOutput(s, i), expected.getOutput(s, i));
+
+                final CompactMealyTransition<String> actualTrans = actual.getTransition(s, i);
+                final CompactMealyTransition<String> expectedTrans = expected.getTransition(s, i);
+                if (expectedTrans == null) {
+                    Assert.assertNull(actualTrans);
+                } else {
+                    Assert.assertNotNull(actualTrans);
+                    Assert.assertEquals(actualTrans.getSuccId(), expectedTrans.getSuccId());
+                    Assert.assertEquals(actualTrans.getOutput(), expectedTrans.getOutput());
+                }
+            }
+        }
+    }
+}
@@ -15,8 +15,13 @@
  */
 package net.automatalib.automata.transout;
 
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
 import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import java.util.ArrayList;
+import java.util.List;
+
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -53,4 +58,74 @@ public class CompactMealyTest {
 
         Assert.assertEquals(mealy.computeOutput(inputSequence), Word.fromCharSequence("1"));
     }
+
+    @Test
+    public void testIntAccess() {
+
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final CompactMealy<Character, Character> mealy = new CompactMealy<>(alphabet);
+
+        final int s0 = mealy.addIntInitialState();
+        final int s1 = mealy.addIntState();
+
+        mealy.setTransition(s0, 0, s1, (Character) '1');
+        mealy.setTransition(s1, 1, s0, (Character) '2');
+
+        Assert.assertEquals(mealy.getIntSuccessor(s0, 0), s1);
+        Assert.assertEquals(mealy.getIntSuccessor(s1, 1), s0);
+        Assert.assertEquals(mealy.getIntSuccessor(s0, 2), SimpleDeterministicAutomaton.FullIntAbstraction.INVALID_STATE);
+
+        Assert.assertEquals(mealy.getOutput(s0, 0), Character.valueOf('1'));
+        Assert.assertEquals(mealy.getOutput(s1, 1), Character.valueOf('2'));
+        Assert.assertNull(mealy.getOutput(s0, 2));
+
+        Assert.assertEquals(mealy.getSuccessor(s0, 0), s1);
+        Assert.assertEquals(mealy.getTransitionProperty(s1, 1), Character.valueOf('2'));
+
+        Assert.assertEquals(mealy.getSuccessor((Integer) s0, (Character) 'a'), Integer.valueOf(s1));
+        Assert.assertNull(mealy.getSuccessor((Integer) s0, (Character) 'c'));
+        Assert.assertEquals(mealy.getOutput((Integer) s1, (Character) 'b'), Character.valueOf('2'));
+
+        Assert.assertEquals(mealy.getState(Word.fromCharSequence("ab")), Integer.valueOf(s0));
+        Assert.assertNull(mealy.getState(Word.fromCharSequence("ac")));
+
+        Assert.assertEquals(mealy.computeOutput(Word.fromCharSequence("abab")), Word.fromCharSequence("1212"));
+        Assert.assertEquals(mealy.computeOutput(Word.fromCharSequence("abc")), Word.fromCharSequence("12"));
+        Assert.assertEquals(mealy.computeStateOutput(s1, Word.fromCharSequence("ba")),
+                            Word.fromCharSequence("21"));
+    }
+
+    @Test
+    public void testIntInputs() {
+
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final CompactMealy<Character, Character> mealy = new CompactMealy<>(alphabet);
+
+        final int s0 = mealy.addIntInitialState();
+        final int s1 = mealy.addIntState();
+
+        mealy.setTransition(s0, 0, s1, (Character) '1');
+        mealy.setTransition(s1, 1, s0, (Character) '2');
+
+        final Object[] output = new Object[4];
+        Assert.assertTrue(mealy.computeOutput(new int[] {0, 1, 0, 1}, output));
+        Assert.assertEquals(output, new Object[] {'1', '2', '1', '2'});
+        Assert.assertFalse(mealy.computeOutput(new int[] {0, 2}, output));
+        // the output of the undefined transition must not be written
+        Assert.assertEquals(output, new Object[] {'1', '2', '1', '2'});
+        Assert.assertTrue(mealy.computeOutput(new int[0], output));
+
+        Assert.assertEquals(mealy.getIntState(new int[] {0, 1, 0}), s1);
+        Assert.assertEquals(mealy.getSuccessor(s0, new int[] {0, 2, 0}),
+                            SimpleDeterministicAutomaton.FullIntAbstraction.INVALID_STATE);
+
+        final Word<Character> word = IntWord.fromWord(alphabet, Word.fromCharSequence("abab"));
+        final List<Character> traced = new ArrayList<>();
+        Assert.assertTrue(mealy.trace(word, traced));
+        Assert.assertEquals(traced, Word.fromCharSequence("1212").asList());
+        Assert.assertEquals(mealy.computeOutput(word), Word.fromCharSequence("1212"));
+        Assert.assertEquals(mealy.computeOutput(IntWord.fromWord(alphabet, Word.fromCharSequence("abc"))),
+                            Word.fromCharSequence("12"));
+        Assert.assertEquals(mealy.getState(word.prefix(3)), Integer.valueOf(s1));
+    }
 }
@@ -19,6 +19,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import net.automatalib.words.impl.ArrayAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
 
 /**
  * @author frohme
@@ -42,4 +44,16 @@ public class ArrayAlphabetTest extends AbstractAlphabetTest<Integer, ArrayAlphab
     protected ArrayAlphabet<Integer> getAlphabet() {
         return new ArrayAlphabet<>(CONTAINED_SYMBOLS);
     }
+
+    @Test
+    public void testModificationOfSymbolArray() {
+        final Integer[] symbols = CONTAINED_SYMBOLS.clone();
+        final ArrayAlphabet<Integer> alphabet = new ArrayAlphabet<>(symbols);
+
+        symbols[0] = 42;
+
+        Assert.assertEquals(alphabet.getSymbol(0), CONTAINED_SYMBOLS[0]);
+        Assert.assertEquals(alphabet.getSymbolIndex(CONTAINED_SYMBOLS[0]), 0);
+        Assert.assertFalse(alphabet.containsSymbol(42));
+    }
 }
\ No newline at end of file
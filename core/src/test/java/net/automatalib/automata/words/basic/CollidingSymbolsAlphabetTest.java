@@ -0,0 +1,127 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.words.basic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.ArrayAlphabet;
+import net.automatalib.words.impl.DefaultVPDAlphabet;
+import net.automatalib.words.impl.ListAlphabet;
+import net.automatalib.words.impl.SimpleAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Checks the hash-based symbol lookup of the alphabet implementations on a larger alphabet with many hash collisions
+ * and a {@code null} symbol.
+ *
+ * @author frohme
+ */
+public class CollidingSymbolsAlphabetTest extends AbstractAlphabetTest<Object, Alphabet<Object>> {
+
+    private static final int SIZE = 500;
+
+    @Override
+    protected List<Object> getAlphabetSymbols() {
+        final List<Object> result = new ArrayList<>(SIZE + 1);
+        for (int i = 0; i < SIZE; i++) {
+            result.add(new CollidingSymbol(i));
+        }
+        result.add(null);
+        return result;
+    }
+
+    @Override
+    protected List<Object> getNonAlphabetSymbols() {
+        return Arrays.asList(new CollidingSymbol(-1), new CollidingSymbol(SIZE), "0");
+    }
+
+    @Override
+    protected Alphabet<Object> getAlphabet() {
+        return new ArrayAlphabet<>(getAlphabetSymbols().toArray());
+    }
+
+    @Test
+    public void testImplementationsAgree() {
+        final List<Object> symbols = getAlphabetSymbols();
+        final List<Alphabet<Object>> alphabets = Arrays.asList(new ListAlphabet<>(symbols),
+                                                               new SimpleAlphabet<>(symbols),
+                                                               new DefaultVPDAlphabet<>(symbols.subList(0, 100),
+                                                                                        symbols.subList(100, 200),
+                                                                                        symbols.subList(200,
+                                                                                                        SIZE + 1)));
+
+        for (Alphabet<Object> alphabet : alphabets) {
+            for (int i = 0; i < symbols.size(); i++) {
+                Assert.assertEquals(alphabet.getSymbolIndex(symbols.get(i)), i);
+                Assert.assertTrue(alphabet.containsSymbol(symbols.get(i)));
+            }
+            for (Object o : getNonAlphabetSymbols()) {
+                Assert.assertFalse(alphabet.containsSymbol(o));
+                Assert.assertThrows(() -> alphabet.getSymbolIndex(o));
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicates() {
+        final Alphabet<String> list = new ListAlphabet<>(Arrays.asList("a", "b", "a", "c"));
+        final Alphabet<String> array = new ArrayAlphabet<>("a", "b", "a", "c");
+
+        // consistent with List#indexOf
+        Assert.assertEquals(list.getSymbolIndex("a"), 0);
+        Assert.assertEquals(list.getSymbolIndex("c"), 3);
+        Assert.assertEquals(array.getSymbolIndex("a"), 0);
+        Assert.assertEquals(array.getSymbolIndex("c"), 3);
+    }
+
+    @Test
+    public void testGrowing() {
+        final SimpleAlphabet<Object> alphabet = new SimpleAlphabet<>();
+        final List<Object> symbols = getAlphabetSymbols();
+
+        for (int i = 0; i < symbols.size(); i++) {
+            Assert.assertEquals(alphabet.addSymbol(symbols.get(i)), i);
+        }
+        for (int i = 0; i < symbols.size(); i++) {
+            Assert.assertEquals(alphabet.addSymbol(symbols.get(i)), i);
+            Assert.assertEquals(alphabet.getSymbolIndex(symbols.get(i)), i);
+        }
+        Assert.assertEquals(alphabet.size(), symbols.size());
+    }
+
+    private static final class CollidingSymbol {
+
+        private final int value;
+
+        CollidingSymbol(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingSymbol && ((CollidingSymbol) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 4;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.modelchecking.ModelChecker.DFAModelChecker;
+import net.automatalib.modelchecking.ModelChecker.MealyModelChecker;
+import net.automatalib.modelchecking.ModelCheckerLasso.DFAModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.DFALassoImpl;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+@Test
+public class ConcurrentModelCheckerCacheTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'b');
+
+    @Test
+    public void testStructuralFingerprint() {
+        final CountingModelChecker checker = new CountingModelChecker();
+        final ConcurrentDFAModelCheckerCache<Character, String, String> cache =
+                new ConcurrentDFAModelCheckerCache<>(checker);
+
+        Assert.assertEquals(cache.findCounterExample(createDFA(false), ALPHABET, "p"), "p");
+        // a structurally identical (but different) automaton hits the cache
+        Assert.assertEquals(cache.findCounterExample(createDFA(false), ALPHABET, "p"), "p");
+        Assert.assertEquals(checker.getCalls(), 1);
+
+        // a different property or a different automaton of the same size does not
+        Assert.assertEquals(cache.findCounterExample(createDFA(false), ALPHABET, "q"), "q");
+        Assert.assertEquals(cache.findCounterExample(createDFA(true), ALPHABET, "p"), "p");
+        Assert.assertEquals(checker.getCalls(), 3);
+
+        // results for previous automata remain cached
+        Assert.assertEquals(cache.findCounterExample(createDFA(false), ALPHABET, "p"), "p");
+        Assert.assertEquals(checker.getCalls(), 3);
+
+        Assert.assertEquals(cache.getStatistics().hitCount(), 2);
+        Assert.assertEquals(cache.getStatistics().missCount(), 3);
+
+        cache.clear();
+        Assert.assertEquals(cache.findCounterExample(createDFA(false), ALPHABET, "p"), "p");
+        Assert.assertEquals(checker.getCalls(), 4);
+    }
+
+    @Test
+    public void testSharedStructure() {
+        final ConcurrentDFAModelCheckerCache<Character, String, String> cache =
+                new ConcurrentDFAModelCheckerCache<>(new CountingModelChecker());
+        final CompactDFA<Character> dfa = (CompactDFA<Character>) createDFA(false);
+
+        // the structure is computed once per automaton and shared by all properties
+        final ConcurrentModelCheckerCache.Structure structure = cache.getStructure(dfa, ALPHABET);
+        Assert.assertSame(cache.getStructure(dfa, ALPHABET), structure);
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        Assert.assertSame(cache.getStructure(dfa, ALPHABET), structure);
+
+        // structurally identical automata have equal (but separately computed) structures
+        final ConcurrentModelCheckerCache.Structure copy = cache.getStructure(createDFA(false), ALPHABET);
+        Assert.assertNotSame(copy, structure);
+        Assert.assertEquals(copy, structure);
+
+        // modifications that change the size of the automaton are detected
+        final int s2 = dfa.addState(true);
+        dfa.setTransition(dfa.getIntInitialState(), ALPHABET.getSymbolIndex('b'), s2);
+        final ConcurrentModelCheckerCache.Structure extended = cache.getStructure(dfa, ALPHABET);
+        Assert.assertNotEquals(extended, structure);
+        Assert.assertSame(cache.getStructure(dfa, ALPHABET), extended);
+
+        cache.clear();
+        Assert.assertNotSame(cache.getStructure(dfa, ALPHABET), extended);
+    }
+
+    @Test
+    public void testLassosBoundToAutomaton() {
+        final LassoModelChecker checker = new LassoModelChecker();
+        final ConcurrentDFAModelCheckerLassoCache<Character, String> cache =
+                new ConcurrentDFAModelCheckerLassoCache<>(checker);
+        final DFA<?, Character> dfa1 = createDFA(false);
+        final DFA<?, Character> dfa2 = createDFA(false);
+
+        Assert.assertSame(cache.findCounterExample(dfa1, ALPHABET, "p").getAutomaton(), dfa1);
+        Assert.assertSame(cache.findCounterExample(dfa1, ALPHABET, "p").getAutomaton(), dfa1);
+        Assert.assertEquals(checker.getCalls(), 1);
+
+        // a structurally identical automaton must not receive the lasso of the other automaton
+        Assert.assertSame(cache.findCounterExample(dfa2, ALPHABET, "p").getAutomaton(), dfa2);
+        Assert.assertEquals(checker.getCalls(), 2);
+    }
+
+    @Test
+    public void testCollidingProperties() {
+        // "Aa" and "BB" have the same hash code
+        Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        final ConcurrentMealyModelCheckerCache<Character, String, String, String> cache =
+                new ConcurrentMealyModelCheckerCache<>(new OutputModelChecker());
+
+        Assert.assertEquals(cache.findCounterExample(createMealy("Aa"), ALPHABET, "p"), "Aa");
+        Assert.assertEquals(cache.findCounterExample(createMealy("BB"), ALPHABET, "p"), "BB");
+        Assert.assertEquals(cache.findCounterExample(createMealy("Aa"), ALPHABET, "p"), "Aa");
+
+        Assert.assertEquals(cache.getStatistics().hitCount(), 1);
+        Assert.assertEquals(cache.getStatistics().missCount(), 2);
+    }
+
+    @Test
+    public void testNullResultsAndExceptions() {
+        final CountingModelChecker checker = new CountingModelChecker();
+        final ConcurrentDFAModelCheckerCache<Character, String, String> cache =
+                new ConcurrentDFAModelCheckerCache<>(checker);
+        final DFA<?, Character> dfa = createDFA(false);
+
+        Assert.assertNull(cache.findCounterExample(dfa, ALPHABET, CountingModelChecker.NO_COUNTEREXAMPLE));
+        Assert.assertNull(cache.findCounterExample(dfa, ALPHABET, CountingModelChecker.NO_COUNTEREXAMPLE));
+        Assert.assertEquals(checker.getCalls(), 1);
+
+        Assert.assertThrows(ModelCheckingException.class,
+                            () -> cache.findCounterExample(dfa, ALPHABET, CountingModelChecker.FAILURE));
+    }
+
+    @Test
+    public void testEviction() {
+        final CountingModelChecker checker = new CountingModelChecker();
+        final ConcurrentDFAModelCheckerCache<Character, String, String> cache =
+                new ConcurrentDFAModelCheckerCache<>(checker, 2);
+        final DFA<?, Character> dfa = createDFA(false);
+
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        cache.findCounterExample(dfa, ALPHABET, "q");
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        cache.findCounterExample(dfa, ALPHABET, "r");
+
+        // "q" is the least recently used result
+        Assert.assertEquals(cache.getStatistics().evictionCount(), 1);
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        Assert.assertEquals(checker.getCalls(), 3);
+        cache.findCounterExample(dfa, ALPHABET, "q");
+        Assert.assertEquals(checker.getCalls(), 4);
+    }
+
+    @Test(timeOut = 10000)
+    public void testConcurrentCoalescing() throws Exception {
+        final int numThreads = 4;
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingModelChecker checker = new CountingModelChecker(release);
+        final ConcurrentDFAModelCheckerCache<Character, String, String> cache =
+                new ConcurrentDFAModelCheckerCache<>(checker);
+        final DFA<?, Character> dfa = createDFA(false);
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        try {
+            final List<Future<String>> results = new ArrayList<>(numThreads);
+            for (int i = 0; i < numThreads; i++) {
+                results.add(executor.submit(() -> cache.findCounterExample(dfa, ALPHABET, "p")));
+            }
+
+            // wait until the first call has reached the model checker, so that the remaining calls need to wait for it
+            while (checker.getCalls() == 0) {
+                Thread.yield();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), "p");
+            }
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        Assert.assertEquals(checker.getCalls(), 1);
+        Assert.assertEquals(cache.getStatistics().requestCount(), numThreads);
+    }
+
+    /**
+     * Creates a DFA with two states, which alternates between both states on 'a' and self-loops on 'b'.
+     */
+    private static DFA<?, Character> createDFA(boolean accepting) {
+        final CompactDFA<Character> result = new CompactDFA<>(ALPHABET);
+        final int s0 = result.addInitialState(accepting);
+        final int s1 = result.addState(false);
+
+        result.addTransition(s0, 'a', s1);
+        result.addTransition(s1, 'a', s0);
+        result.addTransition(s0, 'b', s0);
+        result.addTransition(s1, 'b', s1);
+
+        return result;
+    }
+
+    /**
+     * Creates a Mealy machine with a single state, whose transitions all self-loop with the given output.
+     */
+    private static MealyMachine<?, Character, ?, String> createMealy(String output) {
+        final CompactMealy<Character, String> result = new CompactMealy<>(ALPHABET);
+        final int s0 = result.addInitialState();
+
+        for (Character i : ALPHABET) {
+            result.addTransition(s0, i, s0, output);
+        }
+
+        return result;
+    }
+
+    /**
+     * A model checker that returns the output of the first transition of the initial state as a counterexample.
+     */
+    private static final class OutputModelChecker implements MealyModelChecker<Character, String, String, String> {
+
+        @Override
+        public String findCounterExample(MealyMachine<?, Character, ?, String> automaton,
+                                         Collection<? extends Character> inputs,
+                                         String property) {
+            return automaton.computeOutput(Word.fromLetter(ALPHABET.getSymbol(0))).firstSymbol();
+        }
+
+        @Override
+        public Collection<? super String> getSkipOutputs() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public void setSkipOutputs(Collection<? super String> skipOutputs) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A lasso model checker that returns a lasso of the given automaton, and counts its invocations.
+     */
+    private static final class LassoModelChecker implements DFAModelCheckerLasso<Character, String> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        int getCalls() {
+            return calls.get();
+        }
+
+        @Override
+        public DFALasso<Character> findCounterExample(DFA<?, Character> automaton,
+                                                      Collection<? extends Character> inputs,
+                                                      String property) {
+            calls.incrementAndGet();
+            return new DFALassoImpl<>(automaton, inputs, 1);
+        }
+
+        @Override
+        public double getMultiplier() {
+            return 0;
+        }
+
+        @Override
+        public void setMultiplier(double multiplier) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getMinimumUnfolds() {
+            return 1;
+        }
+
+        @Override
+        public void setMinimumUnfolds(int minimumUnfolds) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A model checker that returns the property as a counterexample, and counts its invocations.
+     */
+    private static final class CountingModelChecker implements DFAModelChecker<Character, String, String> {
+
+        static final String NO_COUNTEREXAMPLE = "none";
+        static final String FAILURE = "failure";
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release;
+
+        CountingModelChecker() {
+            this(new CountDownLatch(0));
+        }
+
+        CountingModelChecker(CountDownLatch release) {
+            this.release = release;
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+
+        @Override
+        public String findCounterExample(DFA<?, Character> automaton,
+                                         Collection<? extends Character> inputs,
+                                         String property) {
+            calls.incrementAndGet();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ModelCheckingException(e);
+            }
+
+            if (FAILURE.equals(property)) {
+                throw new ModelCheckingException("failure");
+            }
+
+            return NO_COUNTEREXAMPLE.equals(property) ? null : property;
+        }
+    }
+}
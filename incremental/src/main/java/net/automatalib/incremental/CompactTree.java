@@ -0,0 +1,403 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.Nullable;
+
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A compact, array-based storage for the trees of incremental builders.
+ * <p>
+ * Nodes are identified by consecutive integers (the root being {@link #ROOT}) and all node attributes are stored in
+ * (growable) {@code int} columns, so that no per-node objects need to be allocated. Each node stores the index of its
+ * incoming symbol, an arbitrary {@code int} data value (e.g., an encoded output or acceptance value) and a reference to
+ * its children.
+ * <p>
+ * The children of a node are stored adaptively: as long as a node has only few children, they are kept in a sparse,
+ * singly-linked sibling list. Once the number of children exceeds a threshold, the node switches to a dense
+ * representation, i.e., a block of {@code alphabetSize} child references that allows for constant-time access. Since
+ * in typical caches most nodes have only one or two children, this requires about 16 bytes per node, regardless of the
+ * size of the alphabet.
+ *
+ * @author frohme
+ */
+public final class CompactTree {
+
+    /**
+     * The identifier of the root node.
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * The value returned by {@link #getChild(int, int)} if there is no such child.
+     */
+    public static final int NO_NODE = -1;
+
+    /**
+     * The maximum number of children of a node with a sparse representation.
+     */
+    private static final int SPARSE_LIMIT = 8;
+
+    private static final int DEFAULT_INIT_CAPACITY = 16;
+
+    private final int alphabetSize;
+    private int size;
+
+    // the root can never be a child, hence 0 denotes the absence of a child/sibling in the following columns:
+    // sparse: the first child (or 0 if there is none), dense: the bitwise complement of the block offset
+    private int[] children;
+    private int[] nextSibling;
+    private int[] symbols;
+    private int[] data;
+
+    private int[] denseChildren;
+    private int denseSize;
+
+    /**
+     * Constructor. Creates a tree that only consists of the root node, whose data value is {@code 0}.
+     *
+     * @param alphabetSize
+     *         the number of input symbols
+     */
+    public CompactTree(int alphabetSize) {
+        this.alphabetSize = alphabetSize;
+        this.children = new int[DEFAULT_INIT_CAPACITY];
+        this.nextSibling = new int[DEFAULT_INIT_CAPACITY];
+        this.symbols = new int[DEFAULT_INIT_CAPACITY];
+        this.data = new int[DEFAULT_INIT_CAPACITY];
+        this.denseChildren = new int[0];
+        this.size = 1;
+    }
+
+    /**
+     * Retrieves the number of nodes in this tree.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the child of a node for a given input symbol.
+     *
+     * @param node
+     *         the node
+     * @param symbol
+     *         the index of the input symbol
+     *
+     * @return the child, or {@link #NO_NODE} if there is no such child
+     */
+    public int getChild(int node, int symbol) {
+        final int ref = children[node];
+
+        if (ref < 0) {
+            final int child = denseChildren[~ref + symbol];
+            return child == 0 ? NO_NODE : child;
+        }
+
+        for (int child = ref; child != 0; child = nextSibling[child]) {
+            if (symbols[child] == symbol) {
+                return child;
+            }
+        }
+
+        return NO_NODE;
+    }
+
+    /**
+     * Retrieves all children of a node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return an array of size {@code alphabetSize}, containing at index {@code i} the child for the {@code i}-th input
+     * symbol, or {@link #NO_NODE} if there is no such child
+     */
+    public int[] getChildren(int node) {
+        final int[] result = new int[alphabetSize];
+        final int ref = children[node];
+
+        if (ref < 0) {
+            for (int i = 0; i < alphabetSize; i++) {
+                final int child = denseChildren[~ref + i];
+                result[i] = child == 0 ? NO_NODE : child;
+            }
+        } else {
+            Arrays.fill(result, NO_NODE);
+            for (int child = ref; child != 0; child = nextSibling[child]) {
+                result[symbols[child]] = child;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds a new child to a node. The node must not have a child for the given symbol yet.
+     *
+     * @param node
+     *         the (parent) node
+     * @param symbol
+     *         the index of the input symbol
+     * @param value
+     *         the data value of the new node
+     *
+     * @return the new node
+     */
+    public int addChild(int node, int symbol, int value) {
+        ensureCapacity(size + 1);
+
+        final int child = size++;
+        symbols[child] = symbol;
+        data[child] = value;
+
+        final int ref = children[node];
+
+        if (ref < 0) {
+            denseChildren[~ref + symbol] = child;
+            return child;
+        }
+
+        if (alphabetSize > SPARSE_LIMIT && countSiblings(ref) >= SPARSE_LIMIT) {
+            final int offset = allocateDenseBlock();
+            for (int c = ref; c != 0; c = nextSibling[c]) {
+                denseChildren[offset + symbols[c]] = c;
+            }
+            denseChildren[offset + symbol] = child;
+            children[node] = ~offset;
+        } else {
+            nextSibling[child] = ref;
+            children[node] = child;
+        }
+
+        return child;
+    }
+
+    /**
+     * Retrieves the index of the input symbol of the (unique) transition leading to the given node. The result is
+     * undefined for the {@link #ROOT root}.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the index of the input symbol leading to the node
+     */
+    public int getSymbol(int node) {
+        return symbols[node];
+    }
+
+    /**
+     * Retrieves the data value of a node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the data value of the node
+     */
+    public int getData(int node) {
+        return data[node];
+    }
+
+    /**
+     * Sets the data value of a node.
+     *
+     * @param node
+     *         the node
+     * @param value
+     *         the new data value
+     */
+    public void setData(int node, int value) {
+        data[node] = value;
+    }
+
+    /**
+     * Searches for a word that leads to a node of this tree whose data value conflicts with the given target automaton.
+     * The search traverses the product of this tree and the target in a depth-first manner, starting from the {@link
+     * #ROOT root} and the given state. Note that the root itself is not checked for conflicts.
+     *
+     * @param init
+     *         the (initial) state of the target that corresponds to the root, may be {@code null} if undefined
+     * @param inputs
+     *         the input symbols to consider
+     * @param symbolIndex
+     *         the mapping from input symbols to their indices in this tree
+     * @param omitUndefined
+     *         if {@code true}, undefined transitions of the target are never considered conflicts (and are not
+     *         explored further), otherwise they are passed to {@link ComparisonTarget#conflicts(Object, int)}
+     * @param target
+     *         the target automaton
+     * @param <S>
+     *         the state type of the target
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         the transition type of the target
+     *
+     * @return a separating word, or {@code null} if no such word exists
+     */
+    @Nullable
+    public <S, I, T> Word<I> findSeparatingWord(@Nullable S init,
+                                                Collection<? extends I> inputs,
+                                                ToIntFunction<? super I> symbolIndex,
+                                                boolean omitUndefined,
+                                                ComparisonTarget<S, I, T> target) {
+        final Deque<Record<S, I>> dfsStack = new ArrayDeque<>();
+        dfsStack.push(new Record<>(init, ROOT, null, inputs.iterator()));
+
+        while (!dfsStack.isEmpty()) {
+            Record<S, I> rec = dfsStack.peek();
+            if (!rec.inputIt.hasNext()) {
+                dfsStack.pop();
+                continue;
+            }
+            final I input = rec.inputIt.next();
+
+            final int succ = getChild(rec.treeNode, symbolIndex.applyAsInt(input));
+            if (succ == NO_NODE) {
+                continue;
+            }
+
+            final T trans = rec.automatonState == null ? null : target.getTransition(rec.automatonState, input);
+            if (trans == null && omitUndefined) {
+                continue;
+            }
+
+            if (target.conflicts(trans, data[succ])) {
+                final WordBuilder<I> wb = new WordBuilder<>(dfsStack.size());
+                wb.append(input);
+
+                dfsStack.pop();
+                while (!dfsStack.isEmpty()) {
+                    wb.append(rec.incomingInput);
+                    rec = dfsStack.pop();
+                }
+                return wb.reverse().toWord();
+            }
+
+            final S automatonSucc = trans == null ? null : target.getSuccessor(trans);
+            dfsStack.push(new Record<>(automatonSucc, succ, input, inputs.iterator()));
+        }
+
+        return null;
+    }
+
+    private int countSiblings(int first) {
+        int count = 0;
+        for (int c = first; c != 0; c = nextSibling[c]) {
+            count++;
+        }
+        return count;
+    }
+
+    private int allocateDenseBlock() {
+        final int offset = denseSize;
+        denseSize += alphabetSize;
+
+        if (denseSize > denseChildren.length) {
+            final int newLength = Math.max(denseSize, denseChildren.length + (denseChildren.length >> 1));
+            denseChildren = Arrays.copyOf(denseChildren, newLength);
+        }
+
+        return offset;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= children.length) {
+            return;
+        }
+
+        final int newCapacity = Math.max(capacity, children.length + (children.length >> 1));
+        children = Arrays.copyOf(children, newCapacity);
+        nextSibling = Arrays.copyOf(nextSibling, newCapacity);
+        symbols = Arrays.copyOf(symbols, newCapacity);
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    /**
+     * The (deterministic) automaton that is compared to a tree via {@link #findSeparatingWord(Object, Collection,
+     * ToIntFunction, boolean, ComparisonTarget)}.
+     *
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     */
+    public interface ComparisonTarget<S, I, T> {
+
+        /**
+         * Retrieves the transition of the given state for the given input.
+         *
+         * @param state
+         *         the source state
+         * @param input
+         *         the input symbol
+         *
+         * @return the transition, or {@code null} if it is undefined
+         */
+        @Nullable
+        T getTransition(S state, I input);
+
+        /**
+         * Retrieves the successor state of the given transition.
+         *
+         * @param transition
+         *         the transition
+         *
+         * @return the successor state
+         */
+        S getSuccessor(T transition);
+
+        /**
+         * Checks whether the given transition (leading to a node with the given data value) conflicts with the
+         * information stored in the tree.
+         *
+         * @param transition
+         *         the transition, or {@code null} if it is undefined (or originates from an undefined state)
+         * @param data
+         *         the data value of the tree node reached by the transition
+         *
+         * @return {@code true} if the transition conflicts with the data value, {@code false} otherwise
+         */
+        boolean conflicts(@Nullable T transition, int data);
+    }
+
+    private static final class Record<S, I> {
+
+        private final S automatonState;
+        private final int treeNode;
+        private final I incomingInput;
+        private final Iterator<? extends I> inputIt;
+
+        Record(@Nullable S automatonState, int treeNode, @Nullable I incomingInput, Iterator<? extends I> inputIt) {
+            this.automatonState = automatonState;
+            this.treeNode = treeNode;
+            this.incomingInput = incomingInput;
+            this.inputIt = inputIt;
+        }
+    }
+}
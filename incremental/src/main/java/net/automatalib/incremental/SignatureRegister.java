@@ -0,0 +1,282 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hash-consing register for the states of the incremental DAG builders, i.e., a map from state signatures to the
+ * (canonical) states with these signatures.
+ * <p>
+ * In contrast to a {@link java.util.HashMap}, the register does not store its keys, but obtains them from the stored
+ * states. The register uses open addressing with linear probing and stores the states and the (cached) hash codes of
+ * their signatures in two flat arrays, so that no entry objects need to be allocated. A lookup only invokes {@link
+ * Object#equals(Object)} on signatures whose hash codes match. Removals use backward-shift deletion, so that the probe
+ * sequences never contain tombstones.
+ * <p>
+ * Since the hash codes of the signatures are cached, a signature must not be modified while its state is contained in
+ * the register.
+ *
+ * @param <K>
+ *         signature type
+ * @param <S>
+ *         state type
+ *
+ * @author frohme
+ */
+public final class SignatureRegister<K, S> {
+
+    private static final int DEFAULT_INIT_CAPACITY = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final Function<? super S, ? extends K> signatureExtractor;
+
+    private Object[] states;
+    private int[] hashes;
+    private int shift;
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param signatureExtractor
+     *         the function that yields the signature of a state
+     */
+    public SignatureRegister(Function<? super S, ? extends K> signatureExtractor) {
+        this.signatureExtractor = signatureExtractor;
+        this.states = new Object[DEFAULT_INIT_CAPACITY];
+        this.hashes = new int[DEFAULT_INIT_CAPACITY];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(DEFAULT_INIT_CAPACITY);
+    }
+
+    /**
+     * Retrieves the number of registered states.
+     *
+     * @return the number of registered states
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the registered state with the given signature.
+     *
+     * @param signature
+     *         the signature
+     *
+     * @return the state with the given signature, or {@code null} if no such state is registered
+     */
+    @Nullable
+    public S get(K signature) {
+        final int slot = find(signature, signature.hashCode());
+        return (slot < 0) ? null : getState(slot);
+    }
+
+    /**
+     * Registers the given state. If a state with an equal signature is already registered, it is replaced.
+     *
+     * @param state
+     *         the state to register
+     *
+     * @return the replaced state, or {@code null} if no state with an equal signature was registered
+     */
+    @Nullable
+    public S put(S state) {
+        final K signature = signatureExtractor.apply(state);
+        final int hash = signature.hashCode();
+        final int slot = find(signature, hash);
+
+        if (slot >= 0) {
+            final S previous = getState(slot);
+            states[slot] = state;
+            return previous;
+        }
+
+        if (4 * (size + 1) > 3 * states.length) {
+            resize(states.length * 2);
+        }
+
+        insert(state, hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the state with the given signature from this register.
+     *
+     * @param signature
+     *         the signature
+     *
+     * @return the removed state, or {@code null} if no state with the given signature was registered
+     */
+    @Nullable
+    public S remove(K signature) {
+        final int slot = find(signature, signature.hashCode());
+
+        if (slot < 0) {
+            return null;
+        }
+
+        final S result = getState(slot);
+        delete(slot);
+        return result;
+    }
+
+    /**
+     * Removes the given state from this register, if it is the registered state for the given signature.
+     *
+     * @param signature
+     *         the signature
+     * @param state
+     *         the state
+     *
+     * @return {@code true} if the state was removed, {@code false} otherwise
+     */
+    public boolean remove(K signature, S state) {
+        final int slot = find(signature, signature.hashCode());
+
+        if (slot < 0 || states[slot] != state) {
+            return false;
+        }
+
+        delete(slot);
+        return true;
+    }
+
+    /**
+     * Returns an unmodifiable view of all registered states.
+     *
+     * @return an unmodifiable view of all registered states
+     */
+    public Collection<S> values() {
+        return new AbstractCollection<S>() {
+
+            @Override
+            public Iterator<S> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int find(K signature, int hash) {
+        final int mask = states.length - 1;
+
+        for (int slot = index(hash); states[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && signature.equals(signatureExtractor.apply(getState(slot)))) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private void insert(Object state, int hash) {
+        final int mask = states.length - 1;
+
+        int slot = index(hash);
+        while (states[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+
+        states[slot] = state;
+        hashes[slot] = hash;
+    }
+
+    private void delete(int slot) {
+        final int mask = states.length - 1;
+
+        int gap = slot;
+        int curr = (slot + 1) & mask;
+
+        // move back all entries of the cluster whose probe sequences pass the gap
+        while (states[curr] != null) {
+            final int home = index(hashes[curr]);
+            if (((curr - home) & mask) >= ((curr - gap) & mask)) {
+                states[gap] = states[curr];
+                hashes[gap] = hashes[curr];
+                gap = curr;
+            }
+            curr = (curr + 1) & mask;
+        }
+
+        states[gap] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        final Object[] oldStates = states;
+        final int[] oldHashes = hashes;
+
+        this.states = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] != null) {
+                insert(oldStates[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private int index(int hash) {
+        // Fibonacci hashing, which spreads the (often poorly distributed) signature hashes over the whole table
+        return (hash * GOLDEN_RATIO) >>> shift;
+    }
+
+    @SuppressWarnings("unchecked")
+    private S getState(int slot) {
+        return (S) states[slot];
+    }
+
+    private final class ValueIterator implements Iterator<S> {
+
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return next < states.length;
+        }
+
+        @Override
+        public S next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final S result = getState(next);
+            next = advance(next + 1);
+            return result;
+        }
+
+        private int advance(int from) {
+            int result = from;
+            while (result < states.length && states[result] == null) {
+                result++;
+            }
+            return result;
+        }
+    }
+}
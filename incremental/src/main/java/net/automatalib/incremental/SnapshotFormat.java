@@ -0,0 +1,390 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Utility methods for the binary snapshot format of the incremental DAG builders.
+ * <p>
+ * A snapshot consists of a header (see {@link #writeHeader(DataOutputStream, int, int, int, int, int)}), an optional
+ * length-prefixed blob of serialized objects, and a sequence of fixed-size state records. All values are written as
+ * (big-endian) 32-bit integers, and blobs are padded to a multiple of four bytes. Hence, every integer of a snapshot is
+ * aligned, which allows {@link MappedInput} to map large snapshots in several regions without any integer crossing
+ * a region boundary.
+ * <p>
+ * Snapshots are written in a streaming fashion and read via memory-mapped files, so that even large snapshots can be
+ * loaded quickly. Note that memory-mapping only avoids buffering the file contents: the builders still restore all
+ * states of a snapshot on the heap, hence loading a snapshot requires as much memory as the original builder did.
+ * <p>
+ * Serialized objects are only deserialized if their classes pass a given allow-list (see {@link
+ * #isDefaultAllowedClass(Class)} for the default one), so that loading a snapshot from an untrusted source cannot
+ * instantiate arbitrary (serializable) classes.
+ *
+ * @author frohme
+ */
+public final class SnapshotFormat {
+
+    public static final int KIND_MEALY = 1;
+    public static final int KIND_DFA = 2;
+    public static final int KIND_PC_DFA = 3;
+
+    private static final int MAGIC = 0x414c4942; // "ALIB"
+    private static final int VERSION = 1;
+
+    private static final int MAX_REGION_SIZE = 1 << 30;
+
+    private static final Set<Class<?>> DEFAULT_ALLOWED_CLASSES = new HashSet<>(Arrays.asList(Boolean.class,
+                                                                                             Byte.class,
+                                                                                             Character.class,
+                                                                                             Short.class,
+                                                                                             Integer.class,
+                                                                                             Long.class,
+                                                                                             Float.class,
+                                                                                             Double.class,
+                                                                                             Number.class,
+                                                                                             String.class,
+                                                                                             Enum.class));
+
+    private SnapshotFormat() {
+        // prevent instantiation
+    }
+
+    /**
+     * Writes the header of a snapshot.
+     *
+     * @param out
+     *         the output stream to write to
+     * @param kind
+     *         the kind of the builder, e.g. {@link #KIND_MEALY}
+     * @param alphabetSize
+     *         the size of the input alphabet of the builder
+     * @param numStates
+     *         the number of state records contained in the snapshot
+     * @param numRegistered
+     *         the number of (leading) state records whose states are contained in the register of the builder
+     * @param sinkId
+     *         the id of the sink state, or {@code -1} if there is no sink
+     *
+     * @throws IOException
+     *         if writing to the stream fails
+     */
+    public static void writeHeader(DataOutputStream out,
+                                   int kind,
+                                   int alphabetSize,
+                                   int numStates,
+                                   int numRegistered,
+                                   int sinkId) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(kind);
+        out.writeInt(alphabetSize);
+        out.writeInt(numStates);
+        out.writeInt(numRegistered);
+        out.writeInt(sinkId);
+    }
+
+    /**
+     * The default allow-list for objects read via {@link MappedInput#readObjects(Predicate)}. Allows primitive types,
+     * their wrapper classes, {@link String}s, enums and arrays thereof, i.e., classes whose deserialization does not
+     * execute any custom code.
+     *
+     * @param clazz
+     *         the class to check
+     *
+     * @return {@code true} if instances of the given class may be deserialized, {@code false} otherwise
+     */
+    public static boolean isDefaultAllowedClass(Class<?> clazz) {
+        Class<?> component = clazz;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        return component.isPrimitive() || component.isEnum() || DEFAULT_ALLOWED_CLASSES.contains(component);
+    }
+
+    /**
+     * Writes the given objects as a length-prefixed blob, using Java serialization. The objects must be {@link
+     * java.io.Serializable serializable} (or {@code null}).
+     *
+     * @param out
+     *         the output stream to write to
+     * @param objects
+     *         the objects to write
+     *
+     * @throws IOException
+     *         if writing to the stream or the serialization fails
+     */
+    public static void writeObjects(DataOutputStream out, List<?> objects) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeInt(objects.size());
+            for (Object o : objects) {
+                oos.writeObject(o);
+            }
+        }
+
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+        for (int i = bytes.size(); i % Integer.BYTES != 0; i++) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Maps the given snapshot file into memory and validates its header.
+     *
+     * @param file
+     *         the snapshot file
+     * @param kind
+     *         the expected kind of the builder
+     * @param alphabetSize
+     *         the expected size of the input alphabet
+     *
+     * @return the mapped input, positioned directly after the header
+     *
+     * @throws IOException
+     *         if reading the file fails, or if the file is not a compatible snapshot
+     */
+    public static MappedInput openSnapshot(Path file, int kind, int alphabetSize) throws IOException {
+        final MappedInput in = new MappedInput(file);
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a snapshot file: " + file);
+        }
+        final int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        final int actualKind = in.readInt();
+        if (actualKind != kind) {
+            throw new IOException("Snapshot is of kind " + actualKind + ", expected " + kind);
+        }
+        final int actualAlphabetSize = in.readInt();
+        if (actualAlphabetSize != alphabetSize) {
+            throw new IOException(
+                    "Snapshot has alphabet size " + actualAlphabetSize + ", expected " + alphabetSize);
+        }
+
+        in.numStates = in.readInt();
+        in.numRegistered = in.readInt();
+        in.sinkId = in.readInt();
+
+        return in;
+    }
+
+    /**
+     * A read-only view of a memory-mapped snapshot file. Files larger than 1 GiB are mapped in several regions.
+     */
+    public static final class MappedInput {
+
+        private final List<ByteBuffer> regions;
+        private int regionIdx;
+        private ByteBuffer current;
+
+        private int numStates;
+        private int numRegistered;
+        private int sinkId;
+
+        MappedInput(Path file) throws IOException {
+            this.regions = new ArrayList<>();
+
+            // the mapping remains valid after the channel has been closed
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                for (long pos = 0; pos < size; pos += MAX_REGION_SIZE) {
+                    regions.add(channel.map(MapMode.READ_ONLY, pos, Math.min(MAX_REGION_SIZE, size - pos)));
+                }
+            }
+
+            this.regionIdx = -1;
+            nextRegion();
+        }
+
+        /**
+         * Returns the number of state records, as specified in the header.
+         *
+         * @return the number of state records
+         */
+        public int getNumStates() {
+            return numStates;
+        }
+
+        /**
+         * Returns the number of (leading) state records whose states are contained in the register, as specified in
+         * the header.
+         *
+         * @return the number of registered states
+         */
+        public int getNumRegistered() {
+            return numRegistered;
+        }
+
+        /**
+         * Returns the id of the sink state, as specified in the header.
+         *
+         * @return the id of the sink state, or {@code -1} if there is no sink
+         */
+        public int getSinkId() {
+            return sinkId;
+        }
+
+        /**
+         * Reads a single integer.
+         *
+         * @return the integer
+         *
+         * @throws IOException
+         *         if the end of the file has been reached
+         */
+        public int readInt() throws IOException {
+            ensureAvailable();
+            return current.getInt();
+        }
+
+        /**
+         * Fills the given array with consecutive integers.
+         *
+         * @param dst
+         *         the array to fill
+         *
+         * @throws IOException
+         *         if the end of the file has been reached
+         */
+        public void readInts(int[] dst) throws IOException {
+            int offset = 0;
+            while (offset < dst.length) {
+                ensureAvailable();
+                final IntBuffer ints = current.asIntBuffer();
+                final int length = Math.min(dst.length - offset, ints.remaining());
+                ints.get(dst, offset, length);
+                current.position(current.position() + length * Integer.BYTES);
+                offset += length;
+            }
+        }
+
+        /**
+         * Reads a blob of objects, as written by {@link SnapshotFormat#writeObjects(DataOutputStream, List)}. Only
+         * objects of the allowed classes are deserialized.
+         *
+         * @param allowedClasses
+         *         the allow-list of classes (including the super classes and the classes of the fields of the objects),
+         *         see {@link SnapshotFormat#isDefaultAllowedClass(Class)}
+         *
+         * @return the list of objects
+         *
+         * @throws IOException
+         *         if the end of the file has been reached, if the blob contains an object of a class that is not
+         *         allowed, or if the deserialization fails
+         */
+        public List<Object> readObjects(Predicate<? super Class<?>> allowedClasses) throws IOException {
+            final int length = readInt();
+            final byte[] bytes = new byte[length];
+
+            int offset = 0;
+            while (offset < length) {
+                ensureAvailable();
+                final int chunk = Math.min(length - offset, current.remaining());
+                current.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+
+            // skip the padding
+            for (int i = length; i % Integer.BYTES != 0; i++) {
+                ensureAvailable();
+                current.get();
+            }
+
+            try (ObjectInputStream ois = new FilteringObjectInputStream(new ByteArrayInputStream(bytes),
+                                                                        allowedClasses)) {
+                final int size = ois.readInt();
+                final List<Object> result = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    result.add(ois.readObject());
+                }
+                return result;
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        private void ensureAvailable() throws IOException {
+            while (!current.hasRemaining()) {
+                if (!nextRegion()) {
+                    throw new IOException("Unexpected end of snapshot");
+                }
+            }
+        }
+
+        private boolean nextRegion() {
+            if (regionIdx + 1 >= regions.size()) {
+                if (current == null) {
+                    current = ByteBuffer.allocate(0);
+                }
+                return false;
+            }
+            current = regions.get(++regionIdx);
+            return true;
+        }
+    }
+
+    /**
+     * An {@link ObjectInputStream} that rejects all classes that are not contained in a given allow-list.
+     */
+    private static final class FilteringObjectInputStream extends ObjectInputStream {
+
+        private final Predicate<? super Class<?>> allowedClasses;
+
+        FilteringObjectInputStream(InputStream in, Predicate<? super Class<?>> allowedClasses) throws IOException {
+            super(in);
+            this.allowedClasses = allowedClasses;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            // resolving does not initialize the class, hence it is safe to check the class itself
+            final Class<?> clazz = super.resolveClass(desc);
+            if (!allowedClasses.test(clazz)) {
+                throw new InvalidClassException(desc.getName(), "Class is not allowed in snapshots");
+            }
+            return clazz;
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed in snapshots");
+        }
+    }
+}
@@ -15,11 +15,14 @@
  */
 package net.automatalib.incremental.dfa;
 
+import java.util.Collection;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.automatalib.automata.fsa.DFA;
+import net.automatalib.commons.util.Pair;
 import net.automatalib.graphs.Graph;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.IncrementalConstruction;
@@ -74,6 +77,25 @@ public interface IncrementalDFABuilder<I> extends IncrementalConstruction<DFA<?,
      */
     void insert(Word<? extends I> word) throws ConflictException;
 
+    /**
+     * Inserts a batch of words into the automaton, each with a given acceptance value. By default, this method
+     * successively {@link #insert(Word, boolean) inserts} each word, however, implementations may process the batch
+     * more efficiently.
+     *
+     * @param words
+     *         the pairs of words and their acceptance values
+     *
+     * @throws ConflictException
+     *         if the newly provided information conflicts with existing information (or with other information of the
+     *         batch)
+     */
+    default void insertAll(Collection<? extends Pair<? extends Word<? extends I>, Boolean>> words)
+            throws ConflictException {
+        for (Pair<? extends Word<? extends I>, Boolean> word : words) {
+            insert(word.getFirst(), word.getSecond());
+        }
+    }
+
     @Override
     @Nonnull
     GraphView<I, ?, ?> asGraph();
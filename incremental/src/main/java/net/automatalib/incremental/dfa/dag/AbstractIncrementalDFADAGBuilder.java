@@ -15,13 +15,20 @@
  */
 package net.automatalib.incremental.dfa.dag;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Queue;
 
 import javax.annotation.Nonnull;
@@ -32,6 +39,9 @@ import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.commons.util.IntDisjointSets;
 import net.automatalib.commons.util.UnionFind;
+import net.automatalib.incremental.SignatureRegister;
+import net.automatalib.incremental.SnapshotFormat;
+import net.automatalib.incremental.SnapshotFormat.MappedInput;
 import net.automatalib.incremental.dfa.AbstractIncrementalDFABuilder;
 import net.automatalib.incremental.dfa.Acceptance;
 import net.automatalib.visualization.VisualizationHelper;
@@ -42,15 +52,16 @@ import net.automatalib.words.WordBuilder;
 
 public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrementalDFABuilder<I> {
 
-    protected final Map<StateSignature, State> register = new HashMap<>();
+    protected final SignatureRegister<StateSignature, State> register =
+            new SignatureRegister<>(State::getSignature);
     protected final State init;
     protected State sink;
+    protected int nextStateId;
 
     public AbstractIncrementalDFADAGBuilder(Alphabet<I> inputAlphabet) {
         super(inputAlphabet);
         StateSignature sig = new StateSignature(alphabetSize, Acceptance.DONT_KNOW);
-        this.init = new State(sig);
-        register.put(null, init);
+        this.init = new State(sig, nextStateId++);
     }
 
     @Override
@@ -59,7 +70,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
     }
 
     private <S> Word<I> doFindSeparatingWord(DFA<S, I> target, Collection<? extends I> inputs, boolean omitUndefined) {
-        int thisStates = register.size();
+        int thisStates = register.size() + 1;
         Map<State, Integer> stateIds = new HashMap<>();
         if (sink != null) {
             stateIds.put(sink, 0);
@@ -279,6 +290,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
         register.remove(sig);
         sig.successors[idx] = succ;
         sig.acceptance = acc;
+        sig.updateHashCode();
         return replaceOrRegister(state);
     }
 
@@ -306,7 +318,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
             return other;
         }
 
-        register.put(sig, state);
+        register.put(state);
         return state;
     }
 
@@ -324,8 +336,8 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
             return state;
         }
 
-        state = new State(sig);
-        register.put(sig, state);
+        state = new State(sig, nextStateId++);
+        register.put(state);
         for (int i = 0; i < sig.successors.length; i++) {
             State succ = sig.successors[i];
             if (succ != null) {
@@ -345,7 +357,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
                 succ.increaseIncoming();
             }
         }
-        return new State(sig);
+        return new State(sig, nextStateId++);
     }
 
     protected void hide(State state) {
@@ -448,9 +460,151 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
         sig = sig.duplicate();
         sig.successors[idx] = succ;
         sig.acceptance = acc;
+        sig.updateHashCode();
         return replaceOrRegister(sig);
     }
 
+    /**
+     * Writes a binary snapshot of this builder to the given output stream. The snapshot contains all states of the
+     * register (including their numbers of incoming transitions) as well as all states referenced by them (e.g., the
+     * sink), so that a builder restored via {@link #loadSnapshot(Path)} behaves exactly like this builder.
+     * <p>
+     * The states are written in a streaming fashion. The given stream is flushed, but not closed.
+     *
+     * @param out
+     *         the output stream to write to
+     *
+     * @throws IOException
+     *         if writing to the stream fails
+     */
+    public void writeSnapshot(OutputStream out) throws IOException {
+        final List<State> states = new ArrayList<>(register.size() + 1);
+        final Map<State, Integer> stateIds = new HashMap<>();
+
+        // the initial state always has id 0, followed by all registered states
+        states.add(init);
+        stateIds.put(init, 0);
+        for (State s : register.values()) {
+            stateIds.put(s, states.size());
+            states.add(s);
+        }
+        final int numRegistered = states.size();
+
+        // registered states may still refer to states that have been removed from the register (e.g., by purging)
+        for (int i = 0; i < states.size(); i++) {
+            StateSignature sig = states.get(i).getSignature();
+            if (sig != null) {
+                for (State succ : sig.successors) {
+                    if (succ != null && !stateIds.containsKey(succ)) {
+                        stateIds.put(succ, states.size());
+                        states.add(succ);
+                    }
+                }
+            }
+        }
+        if (sink != null && !stateIds.containsKey(sink)) {
+            stateIds.put(sink, states.size());
+            states.add(sink);
+        }
+        final int sinkId = (sink == null) ? -1 : stateIds.get(sink);
+
+        final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        SnapshotFormat.writeHeader(dos, getSnapshotKind(), alphabetSize, states.size(), numRegistered, sinkId);
+
+        for (State s : states) {
+            dos.writeInt(s.getNumIncoming());
+
+            StateSignature sig = s.getSignature();
+            if (sig == null) {
+                dos.writeInt(-1);
+                for (int i = 0; i < alphabetSize; i++) {
+                    dos.writeInt(-1);
+                }
+            } else {
+                dos.writeInt(sig.acceptance.ordinal());
+                for (State succ : sig.successors) {
+                    dos.writeInt((succ == null) ? -1 : stateIds.get(succ));
+                }
+            }
+        }
+
+        dos.flush();
+    }
+
+    /**
+     * Restores the contents of a snapshot written by {@link #writeSnapshot(OutputStream)}. The snapshot file is
+     * memory-mapped, and the states are restored directly from their records, i.e., without re-inserting any words.
+     * Note that all states are restored on the heap, i.e., the restored builder requires as much memory as the
+     * original one.
+     *
+     * @param file
+     *         the snapshot file
+     *
+     * @throws IOException
+     *         if reading the file fails, or if the file is not a snapshot of the same kind of builder for an alphabet
+     *         of the same size
+     * @throws IllegalStateException
+     *         if this builder already contains information
+     */
+    public void loadSnapshot(Path file) throws IOException {
+        StateSignature initSig = init.getSignature();
+        if (register.size() != 0 || sink != null || initSig.acceptance != Acceptance.DONT_KNOW ||
+            !Arrays.stream(initSig.successors).allMatch(Objects::isNull)) {
+            throw new IllegalStateException("Snapshots can only be loaded into an empty builder");
+        }
+
+        final MappedInput in = SnapshotFormat.openSnapshot(file, getSnapshotKind(), alphabetSize);
+        final Acceptance[] acceptances = Acceptance.values();
+        final State[] states = new State[in.getNumStates()];
+        final int sinkId = in.getSinkId();
+
+        states[0] = init;
+        for (int i = 1; i < states.length; i++) {
+            states[i] = new State((i == sinkId) ? null : new StateSignature(alphabetSize, Acceptance.DONT_KNOW), i);
+        }
+        nextStateId = states.length;
+
+        final int[] record = new int[2 + alphabetSize];
+        for (State s : states) {
+            in.readInts(record);
+            s.setNumIncoming(record[0]);
+
+            StateSignature sig = s.getSignature();
+            if (sig != null) {
+                sig.acceptance = acceptances[record[1]];
+                for (int i = 0; i < alphabetSize; i++) {
+                    int succId = record[2 + i];
+                    sig.successors[i] = (succId < 0) ? null : states[succId];
+                }
+            }
+        }
+
+        for (int i = 1; i < states.length; i++) {
+            StateSignature sig = states[i].getSignature();
+            if (sig != null) {
+                sig.updateHashCode();
+            }
+        }
+
+        // the initial state is not contained in the register
+        for (int i = 1; i < in.getNumRegistered(); i++) {
+            register.put(states[i]);
+        }
+
+        if (sinkId >= 0) {
+            sink = states[sinkId];
+        }
+    }
+
+    /**
+     * Returns the kind of this builder, as stored in its snapshots.
+     *
+     * @return the kind of this builder
+     */
+    int getSnapshotKind() {
+        return SnapshotFormat.KIND_DFA;
+    }
+
     @Override
     public GraphView asGraph() {
         return new GraphView();
@@ -491,18 +645,18 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
 
         @Override
         public int size() {
-            return register.size() + ((sink == null) ? 0 : 1);
+            return register.size() + ((sink == null) ? 1 : 2);
         }
 
         @Override
         public Collection<State> getNodes() {
-            if (sink == null) {
-                return Collections.unmodifiableCollection(register.values());
-            }
-            List<State> result = new ArrayList<>(register.size() + 1);
+            List<State> result = new ArrayList<>(register.size() + 2);
+            result.add(init);
             result.addAll(register.values());
-            result.add(sink);
-            return result;
+            if (sink != null) {
+                result.add(sink);
+            }
+            return Collections.unmodifiableList(result);
         }
 
         @Override
@@ -16,8 +16,15 @@
 package net.automatalib.incremental.dfa.dag;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Deque;
+import java.util.List;
 
+import javax.annotation.Nullable;
+
+import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.comparison.CmpUtil;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.dfa.Acceptance;
 import net.automatalib.words.Alphabet;
@@ -190,6 +197,253 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         updateInitSignature(finalIdx, last);
     }
 
+    /**
+     * Inserts a batch of words into either the set of accepted or rejected words.
+     * <p>
+     * In contrast to successive {@link #insert(Word, boolean) insertions}, the batch is sorted lexicographically, so
+     * that words sharing a common prefix are processed together. Each state affected by the batch is then re-registered
+     * only once, in a single bottom-up pass, instead of once per inserted word. States that become unreachable are
+     * removed from the register.
+     * <p>
+     * The batch is checked for conflicts before any modification takes place, i.e., if a {@link ConflictException} is
+     * thrown, the stored information remains unchanged.
+     *
+     * @param words
+     *         the pairs of words and their acceptance values
+     */
+    @Override
+    public void insertAll(Collection<? extends Pair<? extends Word<? extends I>, Boolean>> words) {
+        final List<BatchEntry> entries = new ArrayList<>(words.size());
+
+        for (Pair<? extends Word<? extends I>, Boolean> word : words) {
+            final int[] indices = new int[word.getFirst().length()];
+            int i = 0;
+            for (I sym : word.getFirst()) {
+                indices[i++] = inputAlphabet.getSymbolIndex(sym);
+            }
+            entries.add(new BatchEntry(indices, Acceptance.fromBoolean(word.getSecond())));
+        }
+
+        entries.sort((e1, e2) -> CmpUtil.lexCompare(e1.indices, e2.indices));
+
+        checkBatch(entries);
+
+        final int numEntries = entries.size();
+        int low = 0;
+
+        while (low < numEntries && entries.get(low).indices.length == 0) {
+            updateInitSignature(entries.get(low).acceptance);
+            low++;
+        }
+
+        while (low < numEntries) {
+            final int idx = entries.get(low).indices[0];
+            final int high = findGroupEnd(entries, low, numEntries, 0);
+            final State succ = init.getSuccessor(idx);
+            final State newSucc = mergeBatch(succ, entries, low, high, 1);
+
+            if (newSucc != succ) {
+                updateInitSignature(idx, newSucc);
+                if (succ != null) {
+                    release(succ);
+                }
+            }
+
+            low = high;
+        }
+    }
+
+    /**
+     * Checks the given (sorted) batch for conflicts, both with the stored information and within the batch itself.
+     * Since the batch is sorted, equal words are neighbors.
+     */
+    private void checkBatch(List<BatchEntry> entries) {
+        BatchEntry prev = null;
+
+        for (BatchEntry entry : entries) {
+            State curr = init;
+            for (int i = 0; i < entry.indices.length && curr != null; i++) {
+                curr = curr.getSuccessor(entry.indices[i]);
+            }
+
+            if (curr != null && curr.getAcceptance().conflicts(entry.acceptance == Acceptance.TRUE)) {
+                throw new ConflictException(
+                        "Incompatible acceptances: " + curr.getAcceptance() + " vs " + entry.acceptance);
+            }
+
+            if (prev != null && prev.acceptance != entry.acceptance &&
+                CmpUtil.lexCompare(prev.indices, entry.indices) == 0) {
+                throw new ConflictException("Incompatible acceptances: " + prev.acceptance + " vs " + entry.acceptance);
+            }
+
+            prev = entry;
+        }
+    }
+
+    /**
+     * Merges the batch entries in the range {@code [low, high)}, which share a common prefix of the given length, into
+     * the sub-graph of the given state. The given state is not modified, instead the canonical state for the extended
+     * signature is returned (which is the given state itself, if the entries do not add any information).
+     * <p>
+     * The sub-graph is processed in a depth-first, bottom-up fashion using an explicit stack, so that (like {@link
+     * #insert(Word, boolean)}) long words do not exhaust the call stack.
+     *
+     * @param state
+     *         the state reached by the common prefix, or {@code null} if no such state exists yet
+     * @param entries
+     *         the (sorted) batch entries
+     * @param low
+     *         the first entry to merge (inclusive)
+     * @param high
+     *         the last entry to merge (exclusive)
+     * @param depth
+     *         the length of the common prefix
+     *
+     * @return the canonical state for the extended signature
+     */
+    private State mergeBatch(@Nullable State state, List<BatchEntry> entries, int low, int high, int depth) {
+        final Deque<MergeFrame> stack = new ArrayDeque<>();
+        stack.push(new MergeFrame(state, entries, low, high, depth, alphabetSize));
+
+        // the canonical state of the most recently completed frame
+        State result = null;
+
+        while (true) {
+            final MergeFrame frame = stack.peek();
+
+            if (frame.groupLow < frame.groupHigh) {
+                // the frame of the current group has been completed
+                final int idx = entries.get(frame.groupLow).indices[frame.depth];
+                final State succ = (frame.state == null) ? null : frame.state.getSuccessor(idx);
+
+                if (result != succ) {
+                    if (frame.sig == null) {
+                        frame.sig = frame.state.getSignature().duplicate();
+                    }
+                    frame.sig.successors[idx] = result;
+                }
+
+                frame.groupLow = frame.groupHigh;
+            }
+
+            if (frame.groupLow < frame.high) {
+                final int idx = entries.get(frame.groupLow).indices[frame.depth];
+                final State succ = (frame.state == null) ? null : frame.state.getSuccessor(idx);
+
+                frame.groupHigh = findGroupEnd(entries, frame.groupLow, frame.high, frame.depth);
+                stack.push(new MergeFrame(succ,
+                                          entries,
+                                          frame.groupLow,
+                                          frame.groupHigh,
+                                          frame.depth + 1,
+                                          alphabetSize));
+                continue;
+            }
+
+            stack.pop();
+
+            if (frame.sig == null) {
+                result = frame.state;
+            } else {
+                frame.sig.updateHashCode();
+                result = replaceOrRegister(frame.sig);
+            }
+
+            if (stack.isEmpty()) {
+                return result;
+            }
+        }
+    }
+
+    private static int findGroupEnd(List<BatchEntry> entries, int low, int high, int depth) {
+        final int idx = entries.get(low).indices[depth];
+        int result = low + 1;
+        while (result < high && entries.get(result).indices[depth] == idx) {
+            result++;
+        }
+        return result;
+    }
+
+    private static final class BatchEntry {
+
+        private final int[] indices;
+        private final Acceptance acceptance;
+
+        BatchEntry(int[] indices, Acceptance acceptance) {
+            this.indices = indices;
+            this.acceptance = acceptance;
+        }
+    }
+
+    /**
+     * The state of the merge of a range of batch entries (which share a common prefix) into a sub-graph, see {@link
+     * #mergeBatch(State, List, int, int, int)}.
+     */
+    private static final class MergeFrame {
+
+        @Nullable
+        private final State state;
+        private final int high;
+        private final int depth;
+
+        // the signature of the merged state, if it differs from the one of the original state
+        @Nullable
+        private StateSignature sig;
+        // the range of the group of entries that is currently merged into a successor
+        private int groupLow;
+        private int groupHigh;
+
+        MergeFrame(@Nullable State state, List<BatchEntry> entries, int low, int high, int depth, int alphabetSize) {
+            this.state = state;
+            this.high = high;
+            this.depth = depth;
+            this.sig = (state == null) ? new StateSignature(alphabetSize, Acceptance.DONT_KNOW) : null;
+
+            int groupLow = low;
+            // words that end in this state precede all other words of the range
+            while (groupLow < high && entries.get(groupLow).indices.length == depth) {
+                final Acceptance acc = entries.get(groupLow).acceptance;
+                if (sig == null && state.getAcceptance() != acc) {
+                    sig = state.getSignature().duplicate();
+                }
+                if (sig != null) {
+                    sig.acceptance = acc;
+                }
+                groupLow++;
+            }
+            this.groupLow = groupLow;
+            this.groupHigh = groupLow;
+        }
+    }
+
+    /**
+     * Removes a state from the register if it is no longer referenced, and recursively releases its successors.
+     *
+     * @param state
+     *         the state that lost an incoming transition
+     */
+    private void release(State state) {
+        final Deque<State> stack = new ArrayDeque<>();
+        stack.push(state);
+
+        while (!stack.isEmpty()) {
+            final State curr = stack.pop();
+            if (curr.getNumIncoming() > 0) {
+                continue;
+            }
+
+            final StateSignature sig = curr.getSignature();
+            register.remove(sig, curr);
+
+            for (State succ : sig.successors) {
+                if (succ != null) {
+                    succ.decreaseIncoming();
+                    stack.push(succ);
+                }
+            }
+        }
+    }
+
     /**
      * Creates a suffix state sequence, i.e., a linear sequence of states connected by transitions labeled by the
      * letters of the given suffix word.
@@ -240,5 +494,4 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         }
         return s;
     }
-
 }
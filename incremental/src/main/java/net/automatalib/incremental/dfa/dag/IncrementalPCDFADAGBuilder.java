@@ -19,6 +19,7 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.SnapshotFormat;
 import net.automatalib.incremental.dfa.Acceptance;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -45,6 +46,11 @@ public class IncrementalPCDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuil
         super(inputAlphabet);
     }
 
+    @Override
+    int getSnapshotKind() {
+        return SnapshotFormat.KIND_PC_DFA;
+    }
+
     @Override
     public Acceptance lookup(Word<? extends I> word) {
         State s = getState(word);
@@ -253,7 +259,7 @@ public class IncrementalPCDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuil
         Acceptance intermediate;
         if (!accepting) {
             if (sink == null) {
-                sink = new State(null);
+                sink = new State(null, nextStateId++);
             }
             last = sink;
             intermediate = Acceptance.DONT_KNOW;
@@ -269,6 +275,7 @@ public class IncrementalPCDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuil
             I sym = suffix.getSymbol(i);
             int idx = inputAlphabet.getSymbolIndex(sym);
             sig.successors[idx] = last;
+            sig.updateHashCode();
             last = replaceOrRegister(sig);
         }
 
@@ -26,6 +26,7 @@ import net.automatalib.incremental.dfa.Acceptance;
 final class State {
 
     private final StateSignature signature;
+    private final int id;
     private int numIncoming;
 
     /**
@@ -33,12 +34,24 @@ final class State {
      *
      * @param signature
      *         the signature
+     * @param id
+     *         the id of the state, which is used for computing the hash codes of the signatures of its predecessors
      */
-    State(StateSignature signature) {
+    State(StateSignature signature, int id) {
         this.signature = signature;
+        this.id = id;
         this.numIncoming = 0;
     }
 
+    /**
+     * Retrieves the id of this state.
+     *
+     * @return the id of this state
+     */
+    int getId() {
+        return id;
+    }
+
     /**
      * Increases the number of incoming transitions.
      */
@@ -53,6 +66,25 @@ final class State {
         numIncoming--;
     }
 
+    /**
+     * Retrieves the number of incoming transitions.
+     *
+     * @return the number of incoming transitions
+     */
+    int getNumIncoming() {
+        return numIncoming;
+    }
+
+    /**
+     * Sets the number of incoming transitions.
+     *
+     * @param numIncoming
+     *         the number of incoming transitions
+     */
+    void setNumIncoming(int numIncoming) {
+        this.numIncoming = numIncoming;
+    }
+
     /**
      * Checks whether this node is a confluence node (i.e. has more than one incoming transitions).
      *
@@ -15,8 +15,6 @@
  */
 package net.automatalib.incremental.dfa.dag;
 
-import java.util.Arrays;
-
 import net.automatalib.incremental.dfa.Acceptance;
 
 /**
@@ -45,8 +43,10 @@ final class StateSignature {
     public void updateHashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + acceptance.hashCode();
-        result = prime * result + Arrays.hashCode(successors);
+        result = prime * result + acceptance.ordinal();
+        for (State succ : successors) {
+            result = prime * result + ((succ == null) ? -1 : succ.getId());
+        }
         hashCode = result;
     }
 
@@ -0,0 +1,249 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.incremental.CompactTree;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.dfa.AbstractIncrementalDFABuilder;
+import net.automatalib.incremental.dfa.Acceptance;
+import net.automatalib.visualization.VisualizationHelper;
+import net.automatalib.visualization.helper.DelegateVisualizationHelper;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+
+/**
+ * A memory-efficient variant of the {@link IncrementalDFATreeBuilder}, which stores the tree in a {@link CompactTree}.
+ * Nodes are represented by integers and their acceptance values are stored as the ordinals of the respective {@link
+ * Acceptance} constants.
+ * <p>
+ * Since every node of a tree has a unique incoming transition, the (integer) target node also serves as the
+ * representation of a transition in the {@link #asGraph() graph} and {@link #asTransitionSystem() transition system}
+ * views.
+ *
+ * @param <I>
+ *         input symbol class
+ *
+ * @author frohme
+ */
+public class CompactIncrementalDFATreeBuilder<I> extends AbstractIncrementalDFABuilder<I> {
+
+    private static final Acceptance[] ACCEPTANCES = Acceptance.values();
+    private static final int DONT_KNOW = Acceptance.DONT_KNOW.ordinal();
+
+    private final CompactTree tree;
+
+    public CompactIncrementalDFATreeBuilder(Alphabet<I> inputAlphabet) {
+        super(inputAlphabet);
+        this.tree = new CompactTree(alphabetSize);
+        this.tree.setData(CompactTree.ROOT, DONT_KNOW);
+    }
+
+    @Override
+    @Nullable
+    public Word<I> findSeparatingWord(DFA<?, I> target, Collection<? extends I> inputs, boolean omitUndefined) {
+        return doFindSeparatingWord(target, inputs, omitUndefined);
+    }
+
+    private <S> Word<I> doFindSeparatingWord(final DFA<S, I> target,
+                                             Collection<? extends I> inputs,
+                                             boolean omitUndefined) {
+        S automatonInit = target.getInitialState();
+        if (getAcceptance(CompactTree.ROOT).conflicts(target.isAccepting(automatonInit))) {
+            return Word.epsilon();
+        }
+
+        return tree.findSeparatingWord(automatonInit,
+                                       inputs,
+                                       inputAlphabet::getSymbolIndex,
+                                       omitUndefined,
+                                       new CompactTree.ComparisonTarget<S, I, S>() {
+
+                                           @Override
+                                           public S getTransition(S state, I input) {
+                                               return target.getTransition(state, input);
+                                           }
+
+                                           @Override
+                                           public S getSuccessor(S transition) {
+                                               return transition;
+                                           }
+
+                                           @Override
+                                           public boolean conflicts(@Nullable S transition, int data) {
+                                               final boolean acc = transition != null && target.isAccepting(transition);
+                                               return ACCEPTANCES[data].conflicts(acc);
+                                           }
+                                       });
+    }
+
+    @Override
+    public Acceptance lookup(Word<? extends I> inputWord) {
+        int curr = CompactTree.ROOT;
+
+        for (I sym : inputWord) {
+            curr = tree.getChild(curr, inputAlphabet.getSymbolIndex(sym));
+            if (curr == CompactTree.NO_NODE) {
+                return Acceptance.DONT_KNOW;
+            }
+        }
+        return getAcceptance(curr);
+    }
+
+    @Override
+    public void insert(Word<? extends I> word, boolean acceptance) {
+        int curr = CompactTree.ROOT;
+        boolean existing = true;
+
+        for (I sym : word) {
+            int inputIdx = inputAlphabet.getSymbolIndex(sym);
+            // once a new node has been created, none of its descendants can exist
+            int succ = existing ? tree.getChild(curr, inputIdx) : CompactTree.NO_NODE;
+            if (succ == CompactTree.NO_NODE) {
+                existing = false;
+                succ = tree.addChild(curr, inputIdx, DONT_KNOW);
+            }
+            curr = succ;
+        }
+
+        Acceptance acc = getAcceptance(curr);
+        Acceptance newWordAcc = Acceptance.fromBoolean(acceptance);
+        if (acc == Acceptance.DONT_KNOW) {
+            tree.setData(curr, newWordAcc.ordinal());
+        } else if (acc != newWordAcc) {
+            throw new ConflictException(
+                    "Conflicting acceptance values for word " + word + ": " + acc + " vs " + newWordAcc);
+        }
+    }
+
+    private Acceptance getAcceptance(int node) {
+        return ACCEPTANCES[tree.getData(node)];
+    }
+
+    @Override
+    public GraphView asGraph() {
+        return new GraphView();
+    }
+
+    @Override
+    public TransitionSystemView asTransitionSystem() {
+        return new TransitionSystemView();
+    }
+
+
+    @ParametersAreNonnullByDefault
+    public class GraphView extends AbstractGraphView<I, Integer, Integer> {
+
+        @Override
+        public Collection<Integer> getNodes() {
+            List<Integer> result = new ArrayList<>(tree.size());
+            for (int i = 0; i < tree.size(); i++) {
+                result.add(i);
+            }
+            return result;
+        }
+
+        @Override
+        public Collection<Integer> getOutgoingEdges(Integer node) {
+            List<Integer> result = new ArrayList<>();
+            for (int child : tree.getChildren(node)) {
+                if (child != CompactTree.NO_NODE) {
+                    result.add(child);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        @Nonnull
+        public Integer getTarget(Integer edge) {
+            return edge;
+        }
+
+        @Override
+        @Nullable
+        public I getInputSymbol(Integer edge) {
+            return inputAlphabet.getSymbol(tree.getSymbol(edge));
+        }
+
+        @Override
+        @Nonnull
+        public Acceptance getAcceptance(Integer node) {
+            return CompactIncrementalDFATreeBuilder.this.getAcceptance(node);
+        }
+
+        @Override
+        @Nonnull
+        public Integer getInitialNode() {
+            return CompactTree.ROOT;
+        }
+
+        @Override
+        @Nonnull
+        public VisualizationHelper<Integer, Integer> getVisualizationHelper() {
+            return new DelegateVisualizationHelper<Integer, Integer>(super.getVisualizationHelper()) {
+
+                @Override
+                public boolean getNodeProperties(Integer node, Map<String, String> properties) {
+                    if (!super.getNodeProperties(node, properties)) {
+                        return false;
+                    }
+                    properties.put(NodeAttrs.LABEL, "n" + node);
+                    return true;
+                }
+            };
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    public class TransitionSystemView extends AbstractTransitionSystemView<Integer, I, Integer> {
+
+        @Override
+        @Nonnull
+        public Integer getSuccessor(Integer transition) {
+            return transition;
+        }
+
+        @Override
+        @Nullable
+        public Integer getTransition(Integer state, I input) {
+            int succ = tree.getChild(state, inputAlphabet.getSymbolIndex(input));
+            return succ == CompactTree.NO_NODE ? null : succ;
+        }
+
+        @Nonnull
+        @Override
+        public Integer getInitialState() {
+            return CompactTree.ROOT;
+        }
+
+        @Override
+        @Nonnull
+        public Acceptance getAcceptance(Integer state) {
+            return CompactIncrementalDFATreeBuilder.this.getAcceptance(state);
+        }
+    }
+
+}
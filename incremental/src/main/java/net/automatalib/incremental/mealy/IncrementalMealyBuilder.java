@@ -15,12 +15,14 @@
  */
 package net.automatalib.incremental.mealy;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.commons.util.Pair;
 import net.automatalib.graphs.Graph;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.IncrementalConstruction;
@@ -58,6 +60,24 @@ public interface IncrementalMealyBuilder<I, O> extends IncrementalConstruction<M
      */
     void insert(Word<? extends I> inputWord, Word<? extends O> outputWord) throws ConflictException;
 
+    /**
+     * Incorporates a batch of pairs of input/output words into the stored information. By default, this method
+     * successively {@link #insert(Word, Word) inserts} each pair, however, implementations may process the batch more
+     * efficiently.
+     *
+     * @param queries
+     *         the pairs of input words and corresponding output words
+     *
+     * @throws ConflictException
+     *         if this information conflicts with information already stored (or with other information of the batch)
+     */
+    default void insertAll(Collection<? extends Pair<? extends Word<? extends I>, ? extends Word<? extends O>>> queries)
+            throws ConflictException {
+        for (Pair<? extends Word<? extends I>, ? extends Word<? extends O>> query : queries) {
+            insert(query.getFirst(), query.getSecond());
+        }
+    }
+
     @Override
     GraphView<I, O, ?, ?> asGraph();
 
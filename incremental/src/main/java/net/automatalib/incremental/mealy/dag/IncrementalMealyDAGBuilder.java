@@ -15,8 +15,14 @@
  */
 package net.automatalib.incremental.mealy.dag;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -26,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -33,8 +40,13 @@ import javax.annotation.Nullable;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.transout.MealyMachine;
 import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.Pair;
 import net.automatalib.commons.util.UnionFind;
+import net.automatalib.commons.util.comparison.CmpUtil;
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.SignatureRegister;
+import net.automatalib.incremental.SnapshotFormat;
+import net.automatalib.incremental.SnapshotFormat.MappedInput;
 import net.automatalib.incremental.mealy.AbstractIncrementalMealyBuilder;
 import net.automatalib.ts.transout.MealyTransitionSystem;
 import net.automatalib.visualization.VisualizationHelper;
@@ -45,6 +57,10 @@ import net.automatalib.words.WordBuilder;
 
 /**
  * Incrementally builds an (acyclic) Mealy machine, from a set of input and corresponding output words.
+ * <p>
+ * Output symbols are dictionary-encoded, i.e., each distinct output symbol is stored only once and the states only
+ * refer to its index. The dictionary only grows: an output symbol remains in the dictionary (and hence reachable) for
+ * the lifetime of the builder, even if no transition refers to it anymore.
  *
  * @param <I>
  *         input symbol class
@@ -55,9 +71,13 @@ import net.automatalib.words.WordBuilder;
  */
 public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBuilder<I, O> {
 
-    private final Map<StateSignature, State> register = new HashMap<>();
+    private final SignatureRegister<StateSignature, State> register = new SignatureRegister<>(State::getSignature);
     private final int alphabetSize;
     private final State init;
+    // the output dictionary, whose entries are never removed (see class documentation)
+    private final List<O> outputs = new ArrayList<>();
+    private final Map<O, Integer> outputIndices = new HashMap<>();
+    private int nextStateId;
 
     /**
      * Constructor.
@@ -69,8 +89,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         super(inputAlphabet);
         this.alphabetSize = inputAlphabet.size();
         StateSignature initSig = new StateSignature(alphabetSize);
-        this.init = new State(initSig);
-        register.put(null, init);
+        this.init = new State(initSig, nextStateId++, outputs);
     }
 
     /**
@@ -116,7 +135,6 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         return s;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean lookup(Word<? extends I> word, List<? super O> output) {
         State curr = init;
@@ -126,7 +144,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             if (succ == null) {
                 return false;
             }
-            output.add((O) curr.getOutput(idx));
+            output.add(outputs.get(curr.getOutputId(idx)));
             curr = succ;
         }
 
@@ -161,10 +179,11 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             // Check if this matches the provided one, otherwise there is a
             // conflict
             O outSym = outWordIterator.next();
-            if (!Objects.equals(outSym, curr.getOutput(idx))) {
+            O expected = outputs.get(curr.getOutputId(idx));
+            if (!Objects.equals(outSym, expected)) {
                 throw new ConflictException(
                         "Error inserting " + word.prefix(path.size() + 1) + " / " + outputWord.prefix(path.size() + 1) +
-                        ": Incompatible output symbols: " + outSym + " vs " + curr.getOutput(idx));
+                        ": Incompatible output symbols: " + outSym + " vs " + expected);
             }
             path.push(new PathElem(curr, idx));
             curr = succ;
@@ -267,7 +286,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
                 succ.increaseIncoming();
             }
         }
-        return new State(sig);
+        return new State(sig, nextStateId++, outputs);
     }
 
     /**
@@ -334,14 +353,15 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
     private void updateInitSignature(int idx, State succ, O out) {
         StateSignature sig = init.getSignature();
         State oldSucc = sig.successors[idx];
-        if (oldSucc == succ && Objects.equals(out, sig.outputs[idx])) {
+        int outId = encodeOutput(out);
+        if (oldSucc == succ && sig.outputs[idx] == outId) {
             return;
         }
         if (oldSucc != null) {
             oldSucc.decreaseIncoming();
         }
         sig.successors[idx] = succ;
-        sig.outputs[idx] = out;
+        sig.outputs[idx] = outId;
         succ.increaseIncoming();
     }
 
@@ -364,7 +384,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             O outsym = suffixOut.getSymbol(i);
             int idx = inputAlphabet.getSymbolIndex(sym);
             sig.successors[idx] = last;
-            sig.outputs[idx] = outsym;
+            sig.outputs[idx] = encodeOutput(outsym);
             sig.updateHashCode();
             last = replaceOrRegister(sig);
         }
@@ -382,7 +402,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         if (succ != null) {
             succ.increaseIncoming();
         }
-        sig.outputs[idx] = out;
+        sig.outputs[idx] = encodeOutput(out);
         sig.updateHashCode();
         return replaceOrRegister(state);
     }
@@ -413,7 +433,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             return other;
         }
 
-        register.put(sig, state);
+        register.put(state);
         return state;
     }
 
@@ -423,8 +443,8 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             return state;
         }
 
-        state = new State(sig);
-        register.put(sig, state);
+        state = new State(sig, nextStateId++, outputs);
+        register.put(state);
         for (int i = 0; i < sig.successors.length; i++) {
             State succ = sig.successors[i];
             if (succ != null) {
@@ -434,6 +454,428 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         return state;
     }
 
+    /**
+     * Incorporates a batch of pairs of input/output words into the stored information.
+     * <p>
+     * In contrast to successive {@link #insert(Word, Word) insertions}, the batch is sorted lexicographically, so that
+     * words sharing a common prefix are processed together. Each state affected by the batch is then re-registered
+     * only once, in a single bottom-up pass, instead of once per inserted word. States that become unreachable are
+     * removed from the register.
+     * <p>
+     * The batch is checked for conflicts before any modification takes place, i.e., if a {@link ConflictException} is
+     * thrown, the stored information remains unchanged.
+     *
+     * @param queries
+     *         the pairs of input words and corresponding output words
+     *
+     * @throws ConflictException
+     *         if this information conflicts with information already stored (or with other information of the batch)
+     */
+    @Override
+    public void insertAll(Collection<? extends Pair<? extends Word<? extends I>, ? extends Word<? extends O>>> queries)
+            throws ConflictException {
+        final List<BatchEntry<I, O>> entries = new ArrayList<>(queries.size());
+
+        for (Pair<? extends Word<? extends I>, ? extends Word<? extends O>> query : queries) {
+            final Word<? extends I> input = query.getFirst();
+            final int[] indices = new int[input.length()];
+            int i = 0;
+            for (I sym : input) {
+                indices[i++] = inputAlphabet.getSymbolIndex(sym);
+            }
+            entries.add(new BatchEntry<>(input, query.getSecond(), indices));
+        }
+
+        entries.sort((e1, e2) -> CmpUtil.lexCompare(e1.indices, e2.indices));
+
+        checkBatch(entries);
+
+        final int numEntries = entries.size();
+        int low = 0;
+
+        // the empty word does not add any information
+        while (low < numEntries && entries.get(low).indices.length == 0) {
+            low++;
+        }
+
+        while (low < numEntries) {
+            final int idx = entries.get(low).indices[0];
+            final int high = findGroupEnd(entries, low, numEntries, 0);
+            final State succ = init.getSuccessor(idx);
+            final State newSucc = mergeBatch(succ, entries, low, high, 1);
+
+            if (newSucc != succ) {
+                updateInitSignature(idx, newSucc, entries.get(low).output.getSymbol(0));
+                if (succ != null) {
+                    release(succ);
+                }
+            }
+
+            low = high;
+        }
+    }
+
+    /**
+     * Checks the given (sorted) batch for conflicts, both with the stored information and within the batch itself.
+     * Since the batch is sorted, the common prefix of any two entries is also a prefix of all entries in between, hence
+     * it suffices to compare neighboring entries.
+     */
+    private void checkBatch(List<BatchEntry<I, O>> entries) {
+        BatchEntry<I, O> prev = null;
+
+        for (BatchEntry<I, O> entry : entries) {
+            final int[] indices = entry.indices;
+            State curr = init;
+
+            for (int i = 0; i < indices.length; i++) {
+                final State succ = curr.getSuccessor(indices[i]);
+                if (succ == null) {
+                    break;
+                }
+                checkOutput(entry, i, outputs.get(curr.getOutputId(indices[i])));
+                curr = succ;
+            }
+
+            if (prev != null) {
+                final int[] prevIndices = prev.indices;
+                final int commonLength = Math.min(prevIndices.length, indices.length);
+                for (int i = 0; i < commonLength && prevIndices[i] == indices[i]; i++) {
+                    checkOutput(entry, i, prev.output.getSymbol(i));
+                }
+            }
+
+            prev = entry;
+        }
+    }
+
+    private void checkOutput(BatchEntry<I, O> entry, int pos, @Nullable Object expected) {
+        final O outSym = entry.output.getSymbol(pos);
+        if (!Objects.equals(outSym, expected)) {
+            throw new ConflictException(
+                    "Error inserting " + entry.input.prefix(pos + 1) + " / " + entry.output.prefix(pos + 1) +
+                    ": Incompatible output symbols: " + outSym + " vs " + expected);
+        }
+    }
+
+    /**
+     * Merges the batch entries in the range {@code [low, high)}, which share a common prefix of the given length, into
+     * the sub-graph of the given state. The given state is not modified, instead the canonical state for the extended
+     * signature is returned (which is the given state itself, if the entries do not add any information).
+     * <p>
+     * The sub-graph is processed in a depth-first, bottom-up fashion using an explicit stack, so that (like {@link
+     * #insert(Word, Word)}) long words do not exhaust the call stack.
+     *
+     * @param state
+     *         the state reached by the common prefix, or {@code null} if no such state exists yet
+     * @param entries
+     *         the (sorted) batch entries
+     * @param low
+     *         the first entry to merge (inclusive)
+     * @param high
+     *         the last entry to merge (exclusive)
+     * @param depth
+     *         the length of the common prefix
+     *
+     * @return the canonical state for the extended signature
+     */
+    private State mergeBatch(@Nullable State state, List<BatchEntry<I, O>> entries, int low, int high, int depth) {
+        final Deque<MergeFrame> stack = new ArrayDeque<>();
+        stack.push(new MergeFrame(state, entries, low, high, depth, alphabetSize));
+
+        // the canonical state of the most recently completed frame
+        State result = null;
+
+        while (true) {
+            final MergeFrame frame = stack.peek();
+
+            if (frame.groupLow < frame.groupHigh) {
+                // the frame of the current group has been completed
+                final BatchEntry<I, O> entry = entries.get(frame.groupLow);
+                final int idx = entry.indices[frame.depth];
+                final State succ = (frame.state == null) ? null : frame.state.getSuccessor(idx);
+
+                if (result != succ) {
+                    if (frame.sig == null) {
+                        frame.sig = frame.state.getSignature().duplicate();
+                    }
+                    frame.sig.successors[idx] = result;
+                    frame.sig.outputs[idx] = encodeOutput(entry.output.getSymbol(frame.depth));
+                }
+
+                frame.groupLow = frame.groupHigh;
+            }
+
+            if (frame.groupLow < frame.high) {
+                final int idx = entries.get(frame.groupLow).indices[frame.depth];
+                final State succ = (frame.state == null) ? null : frame.state.getSuccessor(idx);
+
+                frame.groupHigh = findGroupEnd(entries, frame.groupLow, frame.high, frame.depth);
+                stack.push(new MergeFrame(succ,
+                                          entries,
+                                          frame.groupLow,
+                                          frame.groupHigh,
+                                          frame.depth + 1,
+                                          alphabetSize));
+                continue;
+            }
+
+            stack.pop();
+
+            if (frame.sig == null) {
+                result = frame.state;
+            } else {
+                frame.sig.updateHashCode();
+                result = replaceOrRegister(frame.sig);
+            }
+
+            if (stack.isEmpty()) {
+                return result;
+            }
+        }
+    }
+
+    private static <I, O> int findGroupEnd(List<BatchEntry<I, O>> entries, int low, int high, int depth) {
+        final int idx = entries.get(low).indices[depth];
+        int result = low + 1;
+        while (result < high && entries.get(result).indices[depth] == idx) {
+            result++;
+        }
+        return result;
+    }
+
+    private static final class BatchEntry<I, O> {
+
+        private final Word<? extends I> input;
+        private final Word<? extends O> output;
+        private final int[] indices;
+
+        BatchEntry(Word<? extends I> input, Word<? extends O> output, int[] indices) {
+            this.input = input;
+            this.output = output;
+            this.indices = indices;
+        }
+    }
+
+    /**
+     * The state of the merge of a range of batch entries (which share a common prefix) into a sub-graph, see {@link
+     * #mergeBatch(State, List, int, int, int)}.
+     */
+    private static final class MergeFrame {
+
+        @Nullable
+        private final State state;
+        private final int high;
+        private final int depth;
+
+        // the signature of the merged state, if it differs from the one of the original state
+        @Nullable
+        private StateSignature sig;
+        // the range of the group of entries that is currently merged into a successor
+        private int groupLow;
+        private int groupHigh;
+
+        <I, O> MergeFrame(@Nullable State state,
+                          List<BatchEntry<I, O>> entries,
+                          int low,
+                          int high,
+                          int depth,
+                          int alphabetSize) {
+            this.state = state;
+            this.high = high;
+            this.depth = depth;
+            this.sig = (state == null) ? new StateSignature(alphabetSize) : null;
+
+            int groupLow = low;
+            // words that end in this state do not add any information (and precede all other words of the range)
+            while (groupLow < high && entries.get(groupLow).indices.length == depth) {
+                groupLow++;
+            }
+            this.groupLow = groupLow;
+            this.groupHigh = groupLow;
+        }
+    }
+
+    private int encodeOutput(O output) {
+        Integer idx = outputIndices.get(output);
+        if (idx == null) {
+            idx = outputs.size();
+            outputs.add(output);
+            outputIndices.put(output, idx);
+        }
+        return idx;
+    }
+
+    /**
+     * Removes a state from the register if it is no longer referenced, and recursively releases its successors.
+     *
+     * @param state
+     *         the state that lost an incoming transition
+     */
+    private void release(State state) {
+        final Deque<State> stack = new ArrayDeque<>();
+        stack.push(state);
+
+        while (!stack.isEmpty()) {
+            final State curr = stack.pop();
+            if (curr.getNumIncoming() > 0) {
+                continue;
+            }
+
+            final StateSignature sig = curr.getSignature();
+            register.remove(sig, curr);
+
+            for (State succ : sig.successors) {
+                if (succ != null) {
+                    succ.decreaseIncoming();
+                    stack.push(succ);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a binary snapshot of this builder to the given output stream. The snapshot contains all states of the
+     * register (including their numbers of incoming transitions) as well as all states referenced by them, so that a
+     * builder restored via {@link #loadSnapshot(Path)} behaves exactly like this builder. Output symbols are stored
+     * using Java serialization and therefore need to be {@link java.io.Serializable serializable}. Snapshots whose
+     * output symbols are not of the {@link SnapshotFormat#isDefaultAllowedClass(Class) default classes} need to be
+     * loaded via {@link #loadSnapshot(Path, Predicate)}.
+     * <p>
+     * The states are written in a streaming fashion. The given stream is flushed, but not closed.
+     *
+     * @param out
+     *         the output stream to write to
+     *
+     * @throws IOException
+     *         if writing to the stream fails
+     */
+    public void writeSnapshot(OutputStream out) throws IOException {
+        final List<State> states = new ArrayList<>(register.size() + 1);
+        final Map<State, Integer> stateIds = new HashMap<>();
+
+        // the initial state always has id 0, followed by all registered states
+        states.add(init);
+        stateIds.put(init, 0);
+        for (State s : register.values()) {
+            stateIds.put(s, states.size());
+            states.add(s);
+        }
+        final int numRegistered = states.size();
+
+        // for robustness, also include states that are referenced by, but no longer contained in, the register
+        for (int i = 0; i < states.size(); i++) {
+            for (State succ : states.get(i).getSignature().successors) {
+                if (succ != null && !stateIds.containsKey(succ)) {
+                    stateIds.put(succ, states.size());
+                    states.add(succ);
+                }
+            }
+        }
+
+        final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        SnapshotFormat.writeHeader(dos, SnapshotFormat.KIND_MEALY, alphabetSize, states.size(), numRegistered, -1);
+        SnapshotFormat.writeObjects(dos, outputs);
+
+        for (State s : states) {
+            StateSignature sig = s.getSignature();
+            dos.writeInt(s.getNumIncoming());
+            for (State succ : sig.successors) {
+                dos.writeInt((succ == null) ? -1 : stateIds.get(succ));
+            }
+            for (int o : sig.outputs) {
+                dos.writeInt(o);
+            }
+        }
+
+        dos.flush();
+    }
+
+    /**
+     * Restores the contents of a snapshot written by {@link #writeSnapshot(OutputStream)}. Only output symbols of the
+     * {@link SnapshotFormat#isDefaultAllowedClass(Class) default classes} (e.g., strings, characters or enums) are
+     * accepted, see {@link #loadSnapshot(Path, Predicate)} for other output types.
+     *
+     * @param file
+     *         the snapshot file
+     *
+     * @throws IOException
+     *         if reading the file fails, or if the file is not a snapshot of a Mealy builder for an alphabet of the
+     *         same size
+     * @throws IllegalStateException
+     *         if this builder already contains information
+     */
+    public void loadSnapshot(Path file) throws IOException {
+        loadSnapshot(file, SnapshotFormat::isDefaultAllowedClass);
+    }
+
+    /**
+     * Restores the contents of a snapshot written by {@link #writeSnapshot(OutputStream)}. The snapshot file is
+     * memory-mapped, and the states are restored directly from their records, i.e., without re-inserting any words.
+     * Note that all states are restored on the heap, i.e., the restored builder requires as much memory as the
+     * original one.
+     * <p>
+     * The output symbols are deserialized only if their classes (as well as the classes of their fields) pass the
+     * given allow-list, so that a snapshot from an untrusted source cannot instantiate arbitrary classes.
+     *
+     * @param file
+     *         the snapshot file
+     * @param allowedOutputClasses
+     *         the allow-list of classes that may be deserialized, see {@link
+     *         SnapshotFormat#isDefaultAllowedClass(Class)}
+     *
+     * @throws IOException
+     *         if reading the file fails, if the file is not a snapshot of a Mealy builder for an alphabet of the same
+     *         size, or if it contains output symbols of classes that are not allowed
+     * @throws IllegalStateException
+     *         if this builder already contains information
+     */
+    public void loadSnapshot(Path file, Predicate<? super Class<?>> allowedOutputClasses) throws IOException {
+        if (register.size() != 0 || !Arrays.stream(init.getSignature().successors).allMatch(Objects::isNull)) {
+            throw new IllegalStateException("Snapshots can only be loaded into an empty builder");
+        }
+
+        final MappedInput in = SnapshotFormat.openSnapshot(file, SnapshotFormat.KIND_MEALY, alphabetSize);
+        final List<Object> storedOutputs = in.readObjects(allowedOutputClasses);
+        final State[] states = new State[in.getNumStates()];
+
+        outputs.clear();
+        outputIndices.clear();
+        for (Object o : storedOutputs) {
+            @SuppressWarnings("unchecked")
+            final O out = (O) o;
+            encodeOutput(out);
+        }
+
+        states[0] = init;
+        for (int i = 1; i < states.length; i++) {
+            states[i] = new State(new StateSignature(alphabetSize), i, outputs);
+        }
+        nextStateId = states.length;
+
+        final int[] record = new int[1 + 2 * alphabetSize];
+        for (State s : states) {
+            in.readInts(record);
+            s.setNumIncoming(record[0]);
+
+            StateSignature sig = s.getSignature();
+            for (int i = 0; i < alphabetSize; i++) {
+                int succId = record[1 + i];
+                sig.successors[i] = (succId < 0) ? null : states[succId];
+                // outputs of undefined transitions are normalized, so that they do not affect signature equality
+                sig.outputs[i] = (succId < 0) ? 0 : record[1 + alphabetSize + i];
+            }
+        }
+
+        for (int i = 1; i < states.length; i++) {
+            states[i].getSignature().updateHashCode();
+        }
+
+        // the initial state is not contained in the register
+        for (int i = 1; i < in.getNumRegistered(); i++) {
+            register.put(states[i]);
+        }
+    }
+
     @Override
     public GraphView asGraph() {
         return new GraphView();
@@ -465,7 +907,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         Map<State, Integer> ids = new HashMap<>();
         StateIDs<S> mealyIds = mealy.stateIDs();
 
-        int thisStates = register.size();
+        int thisStates = register.size() + 1;
         int id1 = getStateId(init1, ids), id2 = mealyIds.getStateId(init2) + thisStates;
 
         IntDisjointSets uf = new UnionFind(thisStates + mealy.size());
@@ -500,8 +942,8 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
                     break explore;
                 }
 
-                Object out1 = state1.getOutput(idx);
-                Object out2 = mealy.getTransitionOutput(trans2);
+                O out1 = outputs.get(state1.getOutputId(idx));
+                O out2 = mealy.getTransitionOutput(trans2);
                 if (!Objects.equals(out1, out2)) {
                     lastSym = sym;
                     break explore;
@@ -598,7 +1040,10 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
 
         @Override
         public Collection<State> getNodes() {
-            return Collections.unmodifiableCollection(register.values());
+            final List<State> result = new ArrayList<>(register.size() + 1);
+            result.add(init);
+            result.addAll(register.values());
+            return Collections.unmodifiableList(result);
         }
 
         @Override
@@ -609,9 +1054,8 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
 
         @Override
         @Nullable
-        @SuppressWarnings("unchecked")
         public O getOutputSymbol(TransitionRecord edge) {
-            return (O) edge.source.getOutput(edge.transIdx);
+            return outputs.get(edge.source.getOutputId(edge.transIdx));
         }
 
         @Override
@@ -666,10 +1110,9 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public O getTransitionOutput(TransitionRecord transition) {
             State src = transition.source;
-            return (O) src.getOutput(transition.transIdx);
+            return outputs.get(src.getOutputId(transition.transIdx));
         }
     }
 }
@@ -15,13 +15,48 @@
  */
 package net.automatalib.incremental.mealy.dag;
 
+import java.util.List;
+
+import javax.annotation.Nullable;
+
 public final class State {
 
+    /**
+     * The id of states that have not been created by an {@link IncrementalMealyDAGBuilder}.
+     */
+    public static final int NO_ID = -1;
+
     private final StateSignature signature;
+    private final int id;
+    @Nullable
+    private final List<?> outputDictionary;
     private int numIncoming;
 
+    /**
+     * Constructor.
+     *
+     * @param signature
+     *         the signature
+     *
+     * @deprecated since 0.8.0. States are created by the {@link IncrementalMealyDAGBuilder}, which assigns them an id
+     * and associates them with its output dictionary. States created by this constructor have the id {@link #NO_ID}
+     * and {@link #getOutput(int)} returns the raw output ids of their signature.
+     */
+    @Deprecated
     public State(StateSignature signature) {
         this.signature = signature;
+        this.id = NO_ID;
+        this.outputDictionary = null;
+    }
+
+    State(StateSignature signature, int id, List<?> outputDictionary) {
+        this.signature = signature;
+        this.id = id;
+        this.outputDictionary = outputDictionary;
+    }
+
+    public int getId() {
+        return id;
     }
 
     public void increaseIncoming() {
@@ -36,6 +71,10 @@ public final class State {
         return numIncoming;
     }
 
+    void setNumIncoming(int numIncoming) {
+        this.numIncoming = numIncoming;
+    }
+
     public boolean isConfluence() {
         return (numIncoming > 1);
     }
@@ -44,7 +83,24 @@ public final class State {
         return signature.successors[idx];
     }
 
+    /**
+     * Retrieves the output of the transition with the given index.
+     *
+     * @param idx
+     *         the index of the transition
+     *
+     * @return the output of the transition
+     *
+     * @deprecated since 0.8.0. Outputs are dictionary-encoded by the {@link IncrementalMealyDAGBuilder}, use {@link
+     * #getOutputId(int)} instead.
+     */
+    @Deprecated
     public Object getOutput(int idx) {
+        final int outputId = signature.outputs[idx];
+        return outputDictionary == null ? outputId : outputDictionary.get(outputId);
+    }
+
+    public int getOutputId(int idx) {
         return signature.outputs[idx];
     }
 
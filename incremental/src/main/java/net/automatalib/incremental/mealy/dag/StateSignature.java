@@ -15,18 +15,15 @@
  */
 package net.automatalib.incremental.mealy.dag;
 
-import java.util.Arrays;
-import java.util.Objects;
-
 final class StateSignature {
 
     public final State[] successors;
-    public final Object[] outputs;
+    public final int[] outputs;
     private int hashCode;
 
     StateSignature(int numSuccs) {
         this.successors = new State[numSuccs];
-        this.outputs = new Object[numSuccs];
+        this.outputs = new int[numSuccs];
     }
 
     StateSignature(StateSignature other) {
@@ -41,8 +38,14 @@ final class StateSignature {
     public void updateHashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(outputs);
-        result = prime * result + Arrays.hashCode(successors);
+        for (int i = 0; i < successors.length; i++) {
+            final State succ = successors[i];
+            if (succ != null) {
+                result = prime * (prime * result + succ.getId()) + outputs[i];
+            } else {
+                result = prime * result - 1;
+            }
+        }
         hashCode = result;
     }
 
@@ -67,12 +70,12 @@ final class StateSignature {
             return false;
         }
         for (int i = 0; i < successors.length; i++) {
-            if (successors[i] != other.successors[i]) {
+            final State succ = successors[i];
+            if (succ != other.successors[i]) {
                 return false;
             }
-        }
-        for (int i = 0; i < outputs.length; i++) {
-            if (!Objects.equals(outputs[i], other.outputs[i])) {
+            // the output of an undefined transition is meaningless (and not considered by the hash code)
+            if (succ != null && outputs[i] != other.outputs[i]) {
                 return false;
             }
         }
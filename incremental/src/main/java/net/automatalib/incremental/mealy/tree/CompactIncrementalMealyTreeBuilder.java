@@ -0,0 +1,260 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.incremental.CompactTree;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.AbstractIncrementalMealyBuilder;
+import net.automatalib.ts.transout.MealyTransitionSystem;
+import net.automatalib.visualization.VisualizationHelper;
+import net.automatalib.visualization.helper.DelegateVisualizationHelper;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+
+/**
+ * A memory-efficient variant of the {@link IncrementalMealyTreeBuilder}, which stores the tree in a {@link
+ * CompactTree}. Nodes are represented by integers and the output symbols are dictionary-encoded, i.e., each distinct
+ * output symbol is stored only once and nodes only refer to the index of the output of their incoming transition.
+ * <p>
+ * Since every node of a tree has a unique incoming transition, the (integer) target node also serves as the
+ * representation of a transition in the {@link #asGraph() graph} and {@link #asTransitionSystem() transition system}
+ * views.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public class CompactIncrementalMealyTreeBuilder<I, O> extends AbstractIncrementalMealyBuilder<I, O> {
+
+    private final CompactTree tree;
+    private final List<O> outputs;
+    private final Map<O, Integer> outputIndices;
+
+    public CompactIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+        super(inputAlphabet);
+        this.tree = new CompactTree(inputAlphabet.size());
+        this.outputs = new ArrayList<>();
+        this.outputIndices = new HashMap<>();
+    }
+
+    @Override
+    public boolean lookup(Word<? extends I> word, List<? super O> output) {
+        int curr = CompactTree.ROOT;
+
+        for (I sym : word) {
+            curr = tree.getChild(curr, inputAlphabet.getSymbolIndex(sym));
+            if (curr == CompactTree.NO_NODE) {
+                return false;
+            }
+            output.add(outputs.get(tree.getData(curr)));
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean hasDefinitiveInformation(Word<? extends I> word) {
+        int curr = CompactTree.ROOT;
+
+        Iterator<? extends I> symIt = word.iterator();
+        while (symIt.hasNext() && curr != CompactTree.NO_NODE) {
+            curr = tree.getChild(curr, inputAlphabet.getSymbolIndex(symIt.next()));
+        }
+        return curr != CompactTree.NO_NODE;
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) throws ConflictException {
+        int curr = CompactTree.ROOT;
+        boolean existing = true;
+
+        Iterator<? extends O> outputIt = outputWord.iterator();
+        for (I sym : input) {
+            int symIdx = inputAlphabet.getSymbolIndex(sym);
+            O out = outputIt.next();
+
+            // once a new node has been created, none of its descendants can exist
+            int succ = existing ? tree.getChild(curr, symIdx) : CompactTree.NO_NODE;
+            if (succ == CompactTree.NO_NODE) {
+                existing = false;
+                curr = tree.addChild(curr, symIdx, encodeOutput(out));
+            } else {
+                if (!Objects.equals(out, outputs.get(tree.getData(succ)))) {
+                    throw new ConflictException();
+                }
+                curr = succ;
+            }
+        }
+    }
+
+    private int encodeOutput(O output) {
+        Integer idx = outputIndices.get(output);
+        if (idx == null) {
+            idx = outputs.size();
+            outputs.add(output);
+            outputIndices.put(output, idx);
+        }
+        return idx;
+    }
+
+    @Override
+    public Word<I> findSeparatingWord(MealyMachine<?, I, ?, O> target,
+                                      Collection<? extends I> inputs,
+                                      boolean omitUndefined) {
+        return doFindSeparatingWord(target, inputs, omitUndefined);
+    }
+
+    private <S, T> Word<I> doFindSeparatingWord(MealyMachine<S, I, T, O> target,
+                                                Collection<? extends I> inputs,
+                                                boolean omitUndefined) {
+        return tree.findSeparatingWord(target.getInitialState(),
+                                       inputs,
+                                       inputAlphabet::getSymbolIndex,
+                                       omitUndefined,
+                                       new CompactTree.ComparisonTarget<S, I, T>() {
+
+                                           @Override
+                                           public T getTransition(S state, I input) {
+                                               return target.getTransition(state, input);
+                                           }
+
+                                           @Override
+                                           public S getSuccessor(T transition) {
+                                               return target.getSuccessor(transition);
+                                           }
+
+                                           @Override
+                                           public boolean conflicts(@Nullable T transition, int data) {
+                                               return transition == null ||
+                                                      !Objects.equals(target.getTransitionOutput(transition),
+                                                                      outputs.get(data));
+                                           }
+                                       });
+    }
+
+    @Override
+    public GraphView asGraph() {
+        return new GraphView();
+    }
+
+    @Override
+    public TransitionSystemView asTransitionSystem() {
+        return new TransitionSystemView();
+    }
+
+    public class GraphView extends AbstractGraphView<I, O, Integer, Integer> {
+
+        @Override
+        public Collection<Integer> getNodes() {
+            List<Integer> result = new ArrayList<>(tree.size());
+            for (int i = 0; i < tree.size(); i++) {
+                result.add(i);
+            }
+            return result;
+        }
+
+        @Override
+        public Collection<Integer> getOutgoingEdges(Integer node) {
+            List<Integer> result = new ArrayList<>();
+            for (int child : tree.getChildren(node)) {
+                if (child != CompactTree.NO_NODE) {
+                    result.add(child);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Integer getTarget(Integer edge) {
+            return edge;
+        }
+
+        @Override
+        @Nullable
+        public I getInputSymbol(Integer edge) {
+            return inputAlphabet.getSymbol(tree.getSymbol(edge));
+        }
+
+        @Override
+        @Nullable
+        public O getOutputSymbol(Integer edge) {
+            return outputs.get(tree.getData(edge));
+        }
+
+        @Override
+        @Nonnull
+        public Integer getInitialNode() {
+            return CompactTree.ROOT;
+        }
+
+        @Override
+        public VisualizationHelper<Integer, Integer> getVisualizationHelper() {
+            return new DelegateVisualizationHelper<Integer, Integer>(super.getVisualizationHelper()) {
+
+                @Override
+                public boolean getNodeProperties(Integer node, Map<String, String> properties) {
+                    if (!super.getNodeProperties(node, properties)) {
+                        return false;
+                    }
+                    properties.put(NodeAttrs.LABEL, "n" + node);
+                    return true;
+                }
+            };
+        }
+    }
+
+    public class TransitionSystemView implements MealyTransitionSystem<Integer, I, Integer, O> {
+
+        @Override
+        @Nullable
+        public Integer getTransition(Integer state, I input) {
+            int succ = tree.getChild(state, inputAlphabet.getSymbolIndex(input));
+            return succ == CompactTree.NO_NODE ? null : succ;
+        }
+
+        @Override
+        public Integer getSuccessor(Integer transition) {
+            return transition;
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return CompactTree.ROOT;
+        }
+
+        @Override
+        public O getTransitionOutput(Integer transition) {
+            return outputs.get(tree.getData(transition));
+        }
+    }
+}
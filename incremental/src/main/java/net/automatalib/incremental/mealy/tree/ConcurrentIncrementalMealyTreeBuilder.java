@@ -0,0 +1,74 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+
+/**
+ * A thread-safe variant of the {@link IncrementalMealyTreeBuilder}, which allows multiple threads to concurrently look
+ * up and insert queries, e.g. when used as a cache in front of several parallel query workers.
+ * <p>
+ * Lookups are lock-free: they only traverse the (immutable) edges of the tree, which are safely published by the
+ * nodes. Insertions are lock-free as well: each missing edge is added via a compare-and-set operation, so that of
+ * several threads concurrently inserting the same transition exactly one succeeds, and the others continue on (and
+ * check their output against) the edge of the successful thread. Hence, conflicting concurrent insertions are detected
+ * just like conflicting sequential insertions.
+ * <p>
+ * The graph and transition system views (as well as {@link #findSeparatingWord(net.automatalib.automata.transout.MealyMachine,
+ * java.util.Collection, boolean) separating word} computations) are weakly consistent: they reflect all insertions
+ * that completed before their traversal, and may or may not reflect concurrent insertions.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public class ConcurrentIncrementalMealyTreeBuilder<I, O> extends IncrementalMealyTreeBuilder<I, O> {
+
+    public ConcurrentIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+        super(inputAlphabet);
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) throws ConflictException {
+        final int alphabetSize = inputAlphabet.size();
+        Node<I, O> curr = root;
+
+        Iterator<? extends O> outputIt = outputWord.iterator();
+        for (I sym : input) {
+            int symIdx = inputAlphabet.getSymbolIndex(sym);
+            O out = outputIt.next();
+            Edge<I, O> edge = curr.getEdge(symIdx);
+            if (edge == null) {
+                edge = curr.casEdge(symIdx, new Edge<>(out, new Node<>(alphabetSize)));
+            }
+            if (!Objects.equals(out, edge.getOutput())) {
+                throw new ConflictException("Output mismatch: '" + out + "' vs '" + edge.getOutput() + "'");
+            }
+            curr = edge.getTarget();
+        }
+    }
+}
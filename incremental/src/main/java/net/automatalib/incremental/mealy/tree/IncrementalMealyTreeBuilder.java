@@ -42,7 +42,7 @@ import net.automatalib.words.WordBuilder;
 
 public class IncrementalMealyTreeBuilder<I, O> extends AbstractIncrementalMealyBuilder<I, O> {
 
-    private final Node<I, O> root;
+    final Node<I, O> root;
 
     public IncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
         super(inputAlphabet);
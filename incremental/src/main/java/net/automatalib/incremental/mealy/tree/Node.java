@@ -16,32 +16,60 @@
 package net.automatalib.incremental.mealy.tree;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import net.automatalib.incremental.ConflictException;
 
+/**
+ * A node of an incremental Mealy tree. The outgoing edges are stored in an {@link AtomicReferenceArray}, so that (the
+ * immutable) edges are safely published to concurrent readers, and so that edges can be added atomically (see {@link
+ * #casEdge(int, Edge)}).
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
 final class Node<I, O> {
 
-    private final Edge<I, O>[] outEdges;
+    private final AtomicReferenceArray<Edge<I, O>> outEdges;
 
-    @SuppressWarnings("unchecked")
     Node(int alphabetSize) {
-        this.outEdges = new Edge[alphabetSize];
+        this.outEdges = new AtomicReferenceArray<>(alphabetSize);
     }
 
     public Edge<I, O> getEdge(int idx) {
-        return outEdges[idx];
+        return outEdges.get(idx);
     }
 
     public void setEdge(int idx, Edge<I, O> edge) {
-        outEdges[idx] = edge;
+        // release semantics suffice for safely publishing the (immutable) edge
+        outEdges.lazySet(idx, edge);
+    }
+
+    /**
+     * Atomically sets the edge for the given index, if no edge has been set yet.
+     *
+     * @param idx
+     *         the index of the input symbol
+     * @param edge
+     *         the edge to set
+     *
+     * @return the given edge, if it has been set, or the previously existing edge otherwise
+     */
+    public Edge<I, O> casEdge(int idx, Edge<I, O> edge) {
+        if (outEdges.compareAndSet(idx, null, edge)) {
+            return edge;
+        }
+        return outEdges.get(idx);
     }
 
     public void setSuccessor(int idx, O output, Node<I, O> succ) {
-        outEdges[idx] = new Edge<>(output, succ);
+        setEdge(idx, new Edge<>(output, succ));
     }
 
     public Node<I, O> getSuccessor(int idx) {
-        Edge<I, O> edge = outEdges[idx];
+        Edge<I, O> edge = getEdge(idx);
         if (edge != null) {
             return edge.getTarget();
         }
@@ -49,16 +77,16 @@ final class Node<I, O> {
     }
 
     public Node<I, O> successor(int idx, O output) throws ConflictException {
-        Edge<I, O> edge = outEdges[idx];
+        Edge<I, O> edge = getEdge(idx);
         if (edge != null) {
             if (!Objects.equals(output, edge.getOutput())) {
                 throw new ConflictException("Output mismatch: '" + output + "' vs '" + edge.getOutput() + "'");
             }
             return edge.getTarget();
         }
-        Node<I, O> succ = new Node<>(outEdges.length);
+        Node<I, O> succ = new Node<>(outEdges.length());
         edge = new Edge<>(output, succ);
-        outEdges[idx] = edge;
+        setEdge(idx, edge);
 
         return succ;
     }
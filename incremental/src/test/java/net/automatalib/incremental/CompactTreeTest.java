@@ -0,0 +1,76 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+@Test
+public class CompactTreeTest {
+
+    private static final int ALPHABET_SIZE = 50;
+    private static final int NUM_NODES = 5000;
+
+    @Test
+    public void testSparseAndDenseChildren() {
+        final Random random = new Random(42);
+        final CompactTree tree = new CompactTree(ALPHABET_SIZE);
+        // (parent * ALPHABET_SIZE + symbol) -> child
+        final Map<Long, Integer> expected = new HashMap<>();
+
+        while (tree.size() < NUM_NODES) {
+            // prefer nodes with small ids, so that some nodes become dense while most remain sparse
+            final int parent = Math.min(random.nextInt(tree.size()), random.nextInt(tree.size()));
+            final int symbol = random.nextInt(ALPHABET_SIZE);
+            final long key = (long) parent * ALPHABET_SIZE + symbol;
+
+            if (!expected.containsKey(key)) {
+                Assert.assertEquals(tree.getChild(parent, symbol), CompactTree.NO_NODE);
+                final int child = tree.addChild(parent, symbol, parent);
+                expected.put(key, child);
+            }
+        }
+
+        Assert.assertEquals(tree.getChildren(CompactTree.ROOT).length, ALPHABET_SIZE);
+
+        for (int node = 0; node < tree.size(); node++) {
+            final int[] children = tree.getChildren(node);
+
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                final Integer child = expected.get((long) node * ALPHABET_SIZE + symbol);
+                final int expectedChild = child == null ? CompactTree.NO_NODE : child;
+
+                Assert.assertEquals(tree.getChild(node, symbol), expectedChild);
+                Assert.assertEquals(children[symbol], expectedChild);
+
+                if (child != null) {
+                    Assert.assertEquals(tree.getSymbol(child), symbol);
+                    Assert.assertEquals(tree.getData(child), node);
+                }
+            }
+        }
+
+        tree.setData(CompactTree.ROOT, 17);
+        Assert.assertEquals(tree.getData(CompactTree.ROOT), 17);
+    }
+}
@@ -0,0 +1,104 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+@Test
+public class SignatureRegisterTest {
+
+    private static final int NUM_KEYS = 2000;
+    private static final int NUM_OPERATIONS = 50000;
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final SignatureRegister<Key, Value> register = new SignatureRegister<>(v -> v.key);
+        final Map<Key, Value> expected = new HashMap<>();
+
+        for (int i = 0; i < NUM_OPERATIONS; i++) {
+            final Key key = new Key(random.nextInt(NUM_KEYS));
+
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    final Value value = new Value(key);
+                    Assert.assertSame(register.put(value), expected.put(key, value));
+                    break;
+                case 2:
+                    Assert.assertSame(register.remove(key), expected.remove(key));
+                    break;
+                default:
+                    final Value current = expected.get(key);
+                    final Value other = new Value(key);
+                    Assert.assertFalse(register.remove(key, other));
+                    Assert.assertEquals(register.remove(key, current), current != null);
+                    expected.remove(key);
+                    break;
+            }
+
+            Assert.assertEquals(register.size(), expected.size());
+        }
+
+        for (int i = 0; i < NUM_KEYS; i++) {
+            final Key key = new Key(i);
+            Assert.assertSame(register.get(key), expected.get(key));
+        }
+
+        Assert.assertEquals(register.values().size(), expected.size());
+        Assert.assertEquals(new HashSet<>(register.values()), new HashSet<>(expected.values()));
+    }
+
+    /**
+     * A key with many hash collisions, so that long probe sequences are created and removed.
+     */
+    private static final class Key {
+
+        private final int value;
+
+        Key(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value / 8;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).value == value;
+        }
+    }
+
+    private static final class Value {
+
+        private final Key key;
+
+        Value(Key key) {
+            this.key = key;
+        }
+    }
+}
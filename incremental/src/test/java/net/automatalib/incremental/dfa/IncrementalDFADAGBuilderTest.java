@@ -15,16 +15,204 @@
  */
 package net.automatalib.incremental.dfa;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.dfa.dag.AbstractIncrementalDFADAGBuilder;
 import net.automatalib.incremental.dfa.dag.IncrementalDFADAGBuilder;
+import net.automatalib.incremental.dfa.dag.IncrementalPCDFADAGBuilder;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 @Test
 public class IncrementalDFADAGBuilderTest extends AbstractIncrementalDFABuilderTest {
 
+    private static final Alphabet<Integer> SNAPSHOT_ALPHABET = Alphabets.integers(0, 2);
+    private static final int SNAPSHOT_WORDS = 100;
+    private static final int LONG_WORD_LENGTH = 100_000;
+
     @Override
     protected <I> IncrementalDFABuilder<I> createIncrementalDFABuilder(Alphabet<I> alphabet) {
         return new IncrementalDFADAGBuilder<>(alphabet);
     }
 
+    @Test
+    public void testSnapshot() throws IOException {
+        // an arbitrary language: the sum of all symbols is divisible by three
+        checkSnapshot(() -> new IncrementalDFADAGBuilder<>(SNAPSHOT_ALPHABET),
+                      w -> w.stream().mapToInt(Integer::intValue).sum() % 3 == 0);
+    }
+
+    @Test
+    public void testSnapshotKindMismatch() throws IOException {
+        final Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                new IncrementalDFADAGBuilder<>(SNAPSHOT_ALPHABET).writeSnapshot(out);
+            }
+
+            final AbstractIncrementalDFADAGBuilder<Integer> pcBuilder =
+                    new IncrementalPCDFADAGBuilder<>(SNAPSHOT_ALPHABET);
+            Assert.assertThrows(IOException.class, () -> pcBuilder.loadSnapshot(file));
+
+            final AbstractIncrementalDFADAGBuilder<Integer> largerBuilder =
+                    new IncrementalDFADAGBuilder<>(Alphabets.integers(0, 3));
+            Assert.assertThrows(IOException.class, () -> largerBuilder.loadSnapshot(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testInsertAll() {
+        final Random random = new Random(42);
+        final Predicate<Word<Integer>> language = w -> w.stream().mapToInt(Integer::intValue).sum() % 3 == 0;
+
+        final IncrementalDFADAGBuilder<Integer> sequential = new IncrementalDFADAGBuilder<>(SNAPSHOT_ALPHABET);
+        final IncrementalDFADAGBuilder<Integer> batched = new IncrementalDFADAGBuilder<>(SNAPSHOT_ALPHABET);
+
+        // mix batched insertions with regular insertions, so that batches are merged into existing confluences
+        for (int round = 0; round < 5; round++) {
+            final long seed = random.nextLong();
+            insertRandomWords(new Random(seed), sequential, language);
+
+            if (round % 2 == 0) {
+                final List<Pair<Word<Integer>, Boolean>> batch = new ArrayList<>(SNAPSHOT_WORDS);
+                final Random batchRandom = new Random(seed);
+                for (int i = 0; i < SNAPSHOT_WORDS; i++) {
+                    final Word<Integer> word = randomWord(batchRandom);
+                    batch.add(Pair.of(word, language.test(word)));
+                }
+                batched.insertAll(batch);
+            } else {
+                insertRandomWords(new Random(seed), batched, language);
+            }
+
+            checkEquivalent(random, sequential, batched);
+            // both builders must have registered the same (minimal) set of states
+            Assert.assertEquals(batched.asGraph().size(), sequential.asGraph().size());
+        }
+    }
+
+    @Test
+    public void testInsertAllLongWord() {
+        final IncrementalDFADAGBuilder<Integer> builder = new IncrementalDFADAGBuilder<>(SNAPSHOT_ALPHABET);
+
+        final WordBuilder<Integer> wb = new WordBuilder<>(LONG_WORD_LENGTH);
+        for (int i = 0; i < LONG_WORD_LENGTH; i++) {
+            wb.append(i % SNAPSHOT_ALPHABET.size());
+        }
+        final Word<Integer> word = wb.toWord();
+
+        // must not exhaust the call stack
+        builder.insertAll(Collections.singletonList(Pair.of(word, true)));
+
+        Assert.assertEquals(builder.lookup(word), Acceptance.TRUE);
+        Assert.assertEquals(builder.lookup(word.prefix(-1)), Acceptance.DONT_KNOW);
+    }
+
+    @Test
+    public void testInsertAllConflict() {
+        final IncrementalDFADAGBuilder<Integer> builder = new IncrementalDFADAGBuilder<>(SNAPSHOT_ALPHABET);
+        final Word<Integer> w1 = Word.fromSymbols(0, 1);
+        final Word<Integer> w2 = Word.fromSymbols(1, 1);
+
+        builder.insert(w1, true);
+        final int size = builder.asGraph().size();
+
+        // conflicts with the stored information
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Arrays.asList(Pair.of(w2, true), Pair.of(w1, false))));
+        // conflicts within the batch
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Arrays.asList(Pair.of(w2, true), Pair.of(w2, false))));
+
+        // the builder remains unchanged
+        Assert.assertEquals(builder.asGraph().size(), size);
+        Assert.assertEquals(builder.lookup(w2), Acceptance.DONT_KNOW);
+
+        builder.insertAll(Arrays.asList(Pair.of(w2, false), Pair.of(Word.epsilon(), true)));
+        Assert.assertEquals(builder.lookup(w1), Acceptance.TRUE);
+        Assert.assertEquals(builder.lookup(w2), Acceptance.FALSE);
+        Assert.assertEquals(builder.lookup(Word.epsilon()), Acceptance.TRUE);
+    }
+
+    /**
+     * Fills a builder with random words, restores a second builder from a snapshot of the first one, and checks that
+     * both builders behave identically, also when inserting further words.
+     */
+    static void checkSnapshot(Supplier<AbstractIncrementalDFADAGBuilder<Integer>> factory,
+                              Predicate<Word<Integer>> language) throws IOException {
+        final Random random = new Random(42);
+        final AbstractIncrementalDFADAGBuilder<Integer> original = factory.get();
+        final AbstractIncrementalDFADAGBuilder<Integer> restored = factory.get();
+
+        insertRandomWords(random, original, language);
+
+        final Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                original.writeSnapshot(out);
+            }
+            restored.loadSnapshot(file);
+
+            Assert.assertThrows(IllegalStateException.class, () -> restored.loadSnapshot(file));
+        } finally {
+            Files.delete(file);
+        }
+
+        checkEquivalent(random, original, restored);
+
+        // the restored register and confluence information must allow for further (consistent) insertions
+        final long seed = random.nextLong();
+        insertRandomWords(new Random(seed), original, language);
+        insertRandomWords(new Random(seed), restored, language);
+
+        checkEquivalent(random, original, restored);
+    }
+
+    private static void insertRandomWords(Random random,
+                                          IncrementalDFABuilder<Integer> builder,
+                                          Predicate<Word<Integer>> language) {
+        for (int i = 0; i < SNAPSHOT_WORDS; i++) {
+            final Word<Integer> word = randomWord(random);
+            builder.insert(word, language.test(word));
+        }
+    }
+
+    private static void checkEquivalent(Random random,
+                                        AbstractIncrementalDFADAGBuilder<Integer> expected,
+                                        AbstractIncrementalDFADAGBuilder<Integer> actual) {
+        Assert.assertEquals(actual.asGraph().size(), expected.asGraph().size());
+
+        for (int i = 0; i < 1000; i++) {
+            final Word<Integer> word = randomWord(random);
+            Assert.assertEquals(actual.lookup(word), expected.lookup(word));
+        }
+    }
+
+    private static Word<Integer> randomWord(Random random) {
+        final int length = random.nextInt(12);
+        final WordBuilder<Integer> wb = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            wb.append(SNAPSHOT_ALPHABET.getSymbol(random.nextInt(SNAPSHOT_ALPHABET.size())));
+        }
+        return wb.toWord();
+    }
+
 }
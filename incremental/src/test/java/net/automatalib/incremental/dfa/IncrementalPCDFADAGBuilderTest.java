@@ -15,8 +15,12 @@
  */
 package net.automatalib.incremental.dfa;
 
+import java.io.IOException;
+import java.util.stream.IntStream;
+
 import net.automatalib.incremental.dfa.dag.IncrementalPCDFADAGBuilder;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
 import org.testng.annotations.Test;
 
 @Test
@@ -27,4 +31,14 @@ public class IncrementalPCDFADAGBuilderTest extends AbstractIncrementalPCDFABuil
         return new IncrementalPCDFADAGBuilder<>(alphabet);
     }
 
+    @Test
+    public void testSnapshot() throws IOException {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        // a prefix-closed language (which requires a sink for rejected words): no two consecutive 2s
+        IncrementalDFADAGBuilderTest.checkSnapshot(() -> new IncrementalPCDFADAGBuilder<>(alphabet),
+                                                   w -> IntStream.range(1, w.length())
+                                                                 .noneMatch(i -> w.getSymbol(i - 1) == 2 &&
+                                                                                 w.getSymbol(i) == 2));
+    }
+
 }
@@ -0,0 +1,141 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.tree.ConcurrentIncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class ConcurrentIncrementalMealyTreeBuilderTest extends AbstractIncrementalMealyBuilderTest {
+
+    private static final int NUM_THREADS = 4;
+    private static final int QUERIES_PER_THREAD = 2000;
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+    }
+
+    @Test
+    public void testConcurrentInsertAndLookup() throws Exception {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(new Random(42), 20, alphabet, Arrays.asList('x', 'y', 'z'));
+        final IncrementalMealyBuilder<Integer, Character> builder = createIncrementalMealyBuilder(alphabet);
+
+        final List<List<Word<Integer>>> queries = new ArrayList<>(NUM_THREADS);
+        final Random random = new Random(1337);
+        for (int t = 0; t < NUM_THREADS; t++) {
+            final List<Word<Integer>> threadQueries = new ArrayList<>(QUERIES_PER_THREAD);
+            for (int i = 0; i < QUERIES_PER_THREAD; i++) {
+                threadQueries.add(randomWord(random, alphabet, 1 + random.nextInt(12)));
+            }
+            queries.add(threadQueries);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (List<Word<Integer>> threadQueries : queries) {
+                futures.add(executor.submit(() -> {
+                    for (Word<Integer> q : threadQueries) {
+                        final Word<Character> expected = target.computeOutput(q);
+                        builder.insert(q, expected);
+                        // our own insertion must be visible immediately
+                        Assert.assertEquals(builder.lookup(q), expected);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (List<Word<Integer>> threadQueries : queries) {
+            for (Word<Integer> q : threadQueries) {
+                Assert.assertTrue(builder.hasDefinitiveInformation(q));
+                Assert.assertEquals(builder.lookup(q), target.computeOutput(q));
+            }
+        }
+        Assert.assertNull(builder.findSeparatingWord(target, alphabet, true));
+    }
+
+    @Test
+    public void testConcurrentConflicts() throws Exception {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+        final Word<Character> input = Word.fromString("abab");
+        final int numThreads = NUM_THREADS * 2;
+
+        for (int round = 0; round < 50; round++) {
+            final IncrementalMealyBuilder<Character, Integer> builder = createIncrementalMealyBuilder(alphabet);
+            final AtomicInteger conflicts = new AtomicInteger();
+            final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+            try {
+                final List<Future<?>> futures = new ArrayList<>(numThreads);
+                for (int t = 0; t < numThreads; t++) {
+                    // all threads agree on the first two outputs, but each thread has a unique third output
+                    final Word<Integer> output = Word.fromSymbols(0, 0, t, 0);
+                    futures.add(executor.submit(() -> {
+                        try {
+                            builder.insert(input, output);
+                        } catch (ConflictException ce) {
+                            conflicts.incrementAndGet();
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            // exactly one thread may succeed
+            Assert.assertEquals(conflicts.get(), numThreads - 1);
+            final Word<Integer> stored = builder.lookup(input);
+            Assert.assertEquals(stored.length(), input.length());
+            Assert.assertEquals(stored.prefix(2), Word.fromSymbols(0, 0));
+        }
+    }
+
+    private static <I> Word<I> randomWord(Random random, Alphabet<I> alphabet, int length) {
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+        }
+        return wb.toWord();
+    }
+}
@@ -15,16 +15,215 @@
  */
 package net.automatalib.incremental.mealy;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.SnapshotFormat;
+import net.automatalib.incremental.dfa.dag.IncrementalDFADAGBuilder;
 import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 @Test
 public class IncrementalMealyDAGBuilderTest extends AbstractIncrementalMealyBuilderTest {
 
+    private static final int LONG_WORD_LENGTH = 100_000;
+
     @Override
     protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
         return new IncrementalMealyDAGBuilder<>(alphabet);
     }
 
+    @Test
+    public void testSnapshot() throws IOException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(random, 20, alphabet, Arrays.asList('x', 'y', 'z'));
+
+        final IncrementalMealyDAGBuilder<Integer, Character> original = new IncrementalMealyDAGBuilder<>(alphabet);
+        final IncrementalMealyDAGBuilder<Integer, Character> restored = new IncrementalMealyDAGBuilder<>(alphabet);
+
+        insertRandomWords(random, original, target);
+
+        final Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                original.writeSnapshot(out);
+            }
+            restored.loadSnapshot(file);
+
+            Assert.assertThrows(IllegalStateException.class, () -> restored.loadSnapshot(file));
+            Assert.assertThrows(IOException.class,
+                                () -> new IncrementalDFADAGBuilder<>(alphabet).loadSnapshot(file));
+        } finally {
+            Files.delete(file);
+        }
+
+        checkEquivalent(random, original, restored);
+
+        // the restored register and confluence information must allow for further (consistent) insertions
+        final long seed = random.nextLong();
+        insertRandomWords(new Random(seed), original, target);
+        insertRandomWords(new Random(seed), restored, target);
+
+        checkEquivalent(random, original, restored);
+    }
+
+    @Test
+    public void testSnapshotAllowedClasses() throws IOException {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final Word<Integer> input = Word.fromSymbols(0, 1);
+        final Word<BigInteger> output = Word.fromSymbols(BigInteger.ONE, BigInteger.TEN);
+
+        final IncrementalMealyDAGBuilder<Integer, BigInteger> original = new IncrementalMealyDAGBuilder<>(alphabet);
+        original.insert(input, output);
+
+        final Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                original.writeSnapshot(out);
+            }
+
+            // BigIntegers are not allowed by default
+            Assert.assertThrows(IOException.class,
+                                () -> new IncrementalMealyDAGBuilder<Integer, BigInteger>(alphabet).loadSnapshot(file));
+
+            final IncrementalMealyDAGBuilder<Integer, BigInteger> restored = new IncrementalMealyDAGBuilder<>(alphabet);
+            restored.loadSnapshot(file, c -> c == BigInteger.class || SnapshotFormat.isDefaultAllowedClass(c));
+            Assert.assertEquals(restored.lookup(input), output);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testInsertAll() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(random, 20, alphabet, Arrays.asList('x', 'y', 'z'));
+
+        final IncrementalMealyDAGBuilder<Integer, Character> sequential = new IncrementalMealyDAGBuilder<>(alphabet);
+        final IncrementalMealyDAGBuilder<Integer, Character> batched = new IncrementalMealyDAGBuilder<>(alphabet);
+
+        // mix batched insertions with regular insertions, so that batches are merged into existing confluences
+        for (int round = 0; round < 5; round++) {
+            final long seed = random.nextLong();
+            insertRandomWords(new Random(seed), sequential, target);
+
+            if (round % 2 == 0) {
+                final List<Pair<Word<Integer>, Word<Character>>> batch = new ArrayList<>();
+                final Random batchRandom = new Random(seed);
+                for (int i = 0; i < 300; i++) {
+                    final Word<Integer> word = randomWord(batchRandom, alphabet);
+                    batch.add(Pair.of(word, target.computeOutput(word)));
+                }
+                batched.insertAll(batch);
+            } else {
+                insertRandomWords(new Random(seed), batched, target);
+            }
+
+            checkEquivalent(random, sequential, batched);
+            // both builders must have registered the same (minimal) set of states
+            Assert.assertEquals(batched.asGraph().size(), sequential.asGraph().size());
+        }
+    }
+
+    @Test
+    public void testInsertAllLongWord() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final IncrementalMealyDAGBuilder<Integer, Character> builder = new IncrementalMealyDAGBuilder<>(alphabet);
+
+        final WordBuilder<Integer> input = new WordBuilder<>(LONG_WORD_LENGTH);
+        final WordBuilder<Character> output = new WordBuilder<>(LONG_WORD_LENGTH);
+        for (int i = 0; i < LONG_WORD_LENGTH; i++) {
+            input.append(i % alphabet.size());
+            output.append((char) ('x' + i % 3));
+        }
+
+        // must not exhaust the call stack
+        builder.insertAll(Collections.singletonList(Pair.of(input.toWord(), output.toWord())));
+
+        Assert.assertEquals(builder.lookup(input.toWord()), output.toWord());
+        Assert.assertEquals(builder.asGraph().size(), LONG_WORD_LENGTH + 1);
+    }
+
+    @Test
+    public void testInsertAllConflict() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final IncrementalMealyDAGBuilder<Character, Character> builder = new IncrementalMealyDAGBuilder<>(alphabet);
+
+        final Word<Character> ab = Word.fromCharSequence("ab");
+        final Word<Character> abc = Word.fromCharSequence("abc");
+
+        builder.insert(ab, Word.fromCharSequence("xy"));
+        final int size = builder.asGraph().size();
+
+        // conflicts with the stored information
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Collections.singletonList(Pair.of(abc,
+                                                                                      Word.fromCharSequence("xzz")))));
+        // conflicts within the batch
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Arrays.asList(Pair.of(Word.fromCharSequence("ca"),
+                                                                          Word.fromCharSequence("xy")),
+                                                                  Pair.of(Word.fromCharSequence("cab"),
+                                                                          Word.fromCharSequence("xzz")))));
+
+        // the builder remains unchanged
+        Assert.assertEquals(builder.asGraph().size(), size);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromCharSequence("c")));
+        Assert.assertFalse(builder.hasDefinitiveInformation(abc));
+
+        builder.insertAll(Collections.singletonList(Pair.of(abc, Word.fromCharSequence("xyz"))));
+        Assert.assertEquals(builder.lookup(abc), Word.fromCharSequence("xyz"));
+    }
+
+    private static void insertRandomWords(Random random,
+                                          IncrementalMealyBuilder<Integer, Character> builder,
+                                          CompactMealy<Integer, Character> target) {
+        for (int i = 0; i < 300; i++) {
+            final Word<Integer> word = randomWord(random, target.getInputAlphabet());
+            builder.insert(word, target.computeOutput(word));
+        }
+    }
+
+    private static void checkEquivalent(Random random,
+                                        IncrementalMealyDAGBuilder<Integer, Character> expected,
+                                        IncrementalMealyDAGBuilder<Integer, Character> actual) {
+        Assert.assertEquals(actual.asGraph().size(), expected.asGraph().size());
+
+        for (int i = 0; i < 1000; i++) {
+            final Word<Integer> word = randomWord(random, expected.getInputAlphabet());
+            Assert.assertEquals(actual.lookup(word), expected.lookup(word));
+            Assert.assertEquals(actual.hasDefinitiveInformation(word), expected.hasDefinitiveInformation(word));
+        }
+    }
+
+    private static Word<Integer> randomWord(Random random, Alphabet<Integer> alphabet) {
+        final int length = random.nextInt(12);
+        final WordBuilder<Integer> wb = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+        }
+        return wb.toWord();
+    }
+
 }
@@ -0,0 +1,111 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import java.util.Collection;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.buchi.ltl.BuchiAutomaton;
+import net.automatalib.modelcheckers.buchi.ltl.LTL2Buchi;
+import net.automatalib.modelcheckers.buchi.ltl.LTLFormula;
+import net.automatalib.modelcheckers.buchi.ltl.LTLParser;
+import net.automatalib.modelchecking.Lasso;
+import net.automatalib.modelchecking.modelchecker.AbstractUnfoldingModelChecker;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * An LTL model checker that runs entirely within the JVM.
+ * <p>
+ * The negation of the given property (see {@link LTLParser} for the supported syntax) is translated into a Büchi
+ * automaton, whose product with the hypothesis is checked for emptiness on-the-fly using a nested depth-first search.
+ * Atomic propositions refer to the labels of the transition that is taken at the current position, which corresponds to
+ * the LTSmin semantics of the LTSmin-based model checkers. Only infinite runs of the hypothesis are considered.
+ * <p>
+ * Contrary to the LTSmin-based model checkers, no external binaries are required and no intermediate files are
+ * written.
+ *
+ * @param <I>
+ *         the input type
+ * @param <A>
+ *         the automaton type
+ * @param <L>
+ *         the lasso type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public abstract class AbstractBuchiLTL<I, A, L extends Lasso<I, ?>>
+        extends AbstractUnfoldingModelChecker<I, A, String, L> {
+
+    /**
+     * Constructs a new AbstractBuchiLTL.
+     *
+     * @param minimumUnfolds
+     *         the minimum number of unfolds.
+     * @param multiplier
+     *         the multiplier.
+     *
+     * @see AbstractUnfoldingModelChecker
+     */
+    protected AbstractBuchiLTL(int minimumUnfolds, double multiplier) {
+        super(minimumUnfolds, multiplier);
+    }
+
+    @Nullable
+    @Override
+    public L findCounterExample(A automaton, Collection<? extends I> inputs, String property)
+            throws ModelCheckingException {
+        final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+        final BuchiAutomaton buchi = LTL2Buchi.translate(LTLFormula.not(LTLParser.parse(property)));
+
+        return findCounterExample(automaton, alphabet, buchi);
+    }
+
+    /**
+     * Finds a lasso of the given automaton that is accepted by the given Büchi automaton.
+     *
+     * @param automaton
+     *         the automaton to check
+     * @param alphabet
+     *         the inputs which should be regarded for checking
+     * @param buchi
+     *         the Büchi automaton of the negated property
+     *
+     * @return the counterexample, or {@code null} if no such counterexample exists
+     */
+    @Nullable
+    protected abstract L findCounterExample(A automaton, Alphabet<I> alphabet, BuchiAutomaton buchi)
+            throws ModelCheckingException;
+
+    public static final class BuilderDefaults {
+
+        private BuilderDefaults() {
+            // prevent instantiation
+        }
+
+        public static int minimumUnfolds() {
+            return 3; // super arbitrary number
+        }
+
+        public static double multiplier() {
+            return 1.0; // quite arbitrary too
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.github.misberner.buildergen.annotations.GenerateBuilder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.buchi.NestedDFS.LassoPath;
+import net.automatalib.modelcheckers.buchi.ltl.BuchiAutomaton;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.modelchecking.ModelCheckerLasso.DFAModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.DFALassoImpl;
+import net.automatalib.util.automata.fsa.DFAs;
+import net.automatalib.words.Alphabet;
+
+/**
+ * An in-JVM LTL model checker for DFAs.
+ * <p>
+ * Like the LTSmin-based model checker for DFAs, this model checker requires the given DFA to be prefix-closed and
+ * rejecting states are not part of the checked system. The label of a transition can be referred to by the identifier
+ * {@value #LETTER}, e.g. {@code [] letter != "b"}.
+ *
+ * @param <I>
+ *         the input type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public class BuchiLTLDFA<I> extends AbstractBuchiLTL<I, DFA<?, I>, DFALasso<I>>
+        implements DFAModelCheckerLasso<I, String> {
+
+    /**
+     * The identifier of the transition labels.
+     */
+    public static final String LETTER = "letter";
+
+    @GenerateBuilder(defaults = AbstractBuchiLTL.BuilderDefaults.class)
+    public BuchiLTLDFA(int minimumUnfolds, double multiplier) {
+        super(minimumUnfolds, multiplier);
+    }
+
+    @Nullable
+    @Override
+    protected DFALasso<I> findCounterExample(DFA<?, I> automaton, Alphabet<I> alphabet, BuchiAutomaton buchi)
+            throws ModelCheckingException {
+        return findCounterExampleInternal(automaton, alphabet, buchi);
+    }
+
+    @Nullable
+    private <S> DFALasso<I> findCounterExampleInternal(DFA<S, I> dfa, Alphabet<I> alphabet, BuchiAutomaton buchi) {
+        if (DFAs.acceptsEmptyLanguage(dfa)) {
+            throw new ModelCheckingException("DFA accepts the empty language, the LTS for such a DFA is not defined.");
+        }
+
+        if (!DFAs.isPrefixClosed(dfa, alphabet)) {
+            throw new ModelCheckingException("DFA is not prefix closed.");
+        }
+
+        final int numStates = dfa.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> stateIDs = dfa.stateIDs();
+        final int[] successors = new int[numStates * numInputs];
+        final String[] letters = new String[numStates * numInputs];
+
+        for (final S s : dfa) {
+            final int offset = stateIDs.getStateId(s) * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                final I input = alphabet.getSymbol(i);
+                final S succ = dfa.getSuccessor(s, input);
+
+                // rejecting states are not part of the LTS
+                if (succ != null && dfa.isAccepting(succ)) {
+                    successors[offset + i] = stateIDs.getStateId(succ);
+                    letters[offset + i] = String.valueOf(input);
+                } else {
+                    successors[offset + i] = IntLTS.UNDEFINED;
+                }
+            }
+        }
+
+        final IntLTS lts = new IntLTS(numStates,
+                                      numInputs,
+                                      stateIDs.getStateId(dfa.getInitialState()),
+                                      successors,
+                                      new String[] {LETTER},
+                                      new String[][] {letters});
+
+        final LassoPath path = NestedDFS.findLasso(lts, buchi);
+
+        if (path == null) {
+            return null;
+        }
+
+        final int length = path.inputs.length;
+        final CompactDFA<I> lasso = new CompactDFA<>(alphabet, length);
+
+        for (int i = 0; i < length; i++) {
+            lasso.addIntState(true);
+        }
+        lasso.setInitialState(0);
+
+        for (int i = 0; i < length; i++) {
+            lasso.setTransition(i, path.inputs[i], i + 1 < length ? i + 1 : path.loopBegin);
+        }
+
+        return new DFALassoImpl<>(lasso, alphabet, computeUnfolds(numStates));
+    }
+}
@@ -0,0 +1,159 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.github.misberner.buildergen.annotations.GenerateBuilder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.buchi.NestedDFS.LassoPath;
+import net.automatalib.modelcheckers.buchi.ltl.BuchiAutomaton;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.modelchecking.ModelCheckerLasso.MealyModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.MealyLassoImpl;
+import net.automatalib.words.Alphabet;
+
+/**
+ * An in-JVM LTL model checker for Mealy machines using synchronous edge semantics.
+ * <p>
+ * The input and output of a transition can be referred to by the identifiers {@value #INPUT} and {@value #OUTPUT},
+ * e.g. {@code [] (input == "a" -> output == "1")}. Transitions whose output is contained in {@link #getSkipOutputs()}
+ * are not part of the checked system.
+ *
+ * @param <I>
+ *         the input type
+ * @param <O>
+ *         the output type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public class BuchiLTLIO<I, O> extends AbstractBuchiLTL<I, MealyMachine<?, I, ?, O>, MealyLasso<I, O>>
+        implements MealyModelCheckerLasso<I, O, String> {
+
+    /**
+     * The identifier of the transition inputs.
+     */
+    public static final String INPUT = "input";
+
+    /**
+     * The identifier of the transition outputs.
+     */
+    public static final String OUTPUT = "output";
+
+    /**
+     * @see #getSkipOutputs()
+     * @see #setSkipOutputs(Collection)
+     */
+    private Collection<? super O> skipOutputs;
+
+    @GenerateBuilder(defaults = AbstractBuchiLTL.BuilderDefaults.class)
+    public BuchiLTLIO(int minimumUnfolds, double multiplier, @Nullable Collection<? super O> skipOutputs) {
+        super(minimumUnfolds, multiplier);
+        this.skipOutputs = skipOutputs == null ? Collections.emptyList() : skipOutputs;
+    }
+
+    @Override
+    public Collection<? super O> getSkipOutputs() {
+        return skipOutputs;
+    }
+
+    @Override
+    public void setSkipOutputs(Collection<? super O> skipOutputs) {
+        this.skipOutputs = skipOutputs;
+    }
+
+    @Nullable
+    @Override
+    protected MealyLasso<I, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
+                                                  Alphabet<I> alphabet,
+                                                  BuchiAutomaton buchi) throws ModelCheckingException {
+        return findCounterExampleInternal(automaton, alphabet, buchi);
+    }
+
+    @Nullable
+    private <S, T> MealyLasso<I, O> findCounterExampleInternal(MealyMachine<S, I, T, O> mealy,
+                                                               Alphabet<I> alphabet,
+                                                               BuchiAutomaton buchi) {
+        final int numStates = mealy.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> stateIDs = mealy.stateIDs();
+        final int[] successors = new int[numStates * numInputs];
+        final String[] inputs = new String[numStates * numInputs];
+        final String[] outputs = new String[numStates * numInputs];
+
+        for (final S s : mealy) {
+            final int offset = stateIDs.getStateId(s) * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                final I input = alphabet.getSymbol(i);
+                final T trans = mealy.getTransition(s, input);
+
+                if (trans != null) {
+                    final O output = mealy.getTransitionOutput(trans);
+                    if (!skipOutputs.contains(output)) {
+                        successors[offset + i] = stateIDs.getStateId(mealy.getSuccessor(trans));
+                        inputs[offset + i] = String.valueOf(input);
+                        outputs[offset + i] = String.valueOf(output);
+                        continue;
+                    }
+                }
+
+                successors[offset + i] = IntLTS.UNDEFINED;
+            }
+        }
+
+        final IntLTS lts = new IntLTS(numStates,
+                                      numInputs,
+                                      stateIDs.getStateId(mealy.getInitialState()),
+                                      successors,
+                                      new String[] {INPUT, OUTPUT},
+                                      new String[][] {inputs, outputs});
+
+        final LassoPath path = NestedDFS.findLasso(lts, buchi);
+
+        if (path == null) {
+            return null;
+        }
+
+        final int length = path.inputs.length;
+        final CompactMealy<I, O> lasso = new CompactMealy<>(alphabet, length);
+
+        for (int i = 0; i < length; i++) {
+            lasso.addIntState();
+        }
+        lasso.setInitialState(0);
+
+        S state = mealy.getInitialState();
+        for (int i = 0; i < length; i++) {
+            final int input = path.inputs[i];
+            final T trans = mealy.getTransition(state, alphabet.getSymbol(input));
+
+            assert trans != null;
+
+            lasso.setTransition(i, input, i + 1 < length ? i + 1 : path.loopBegin, mealy.getTransitionOutput(trans));
+            state = mealy.getSuccessor(trans);
+        }
+
+        return new MealyLassoImpl<>(lasso, alphabet, computeUnfolds(numStates));
+    }
+}
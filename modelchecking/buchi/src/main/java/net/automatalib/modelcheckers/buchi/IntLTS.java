@@ -0,0 +1,194 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.buchi.ltl.BuchiAutomaton;
+import net.automatalib.modelcheckers.buchi.ltl.LTLFormula;
+
+/**
+ * An integer-based, edge-labeled transition system, onto which hypotheses are mapped for model checking.
+ * <p>
+ * Edges are identified by {@code state * numInputs + input}. Each edge is labeled with a value for each of the
+ * {@link #IntLTS(int, int, int, int[], String[], String[][]) identifiers}, which are interned to integers, so that
+ * evaluating the atomic propositions of a {@link BuchiAutomaton} only requires integer comparisons.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+final class IntLTS {
+
+    static final int UNDEFINED = -1;
+    private static final int UNMATCHED = -2;
+
+    private final int numStates;
+    private final int numInputs;
+    private final int initialState;
+    private final int[] successors;
+    private final String[] identifiers;
+    private final List<Map<String, Integer>> dictionaries;
+    private final int[][] labels;
+
+    /**
+     * Constructor.
+     *
+     * @param numStates
+     *         the number of states
+     * @param numInputs
+     *         the number of inputs
+     * @param initialState
+     *         the initial state
+     * @param successors
+     *         the successor of each edge, or {@link #UNDEFINED} if the edge does not exist
+     * @param identifiers
+     *         the identifiers that can be referred to by atomic propositions
+     * @param values
+     *         the value of each identifier (first index) for each edge (second index)
+     */
+    IntLTS(int numStates,
+           int numInputs,
+           int initialState,
+           int[] successors,
+           String[] identifiers,
+           String[][] values) {
+        this.numStates = numStates;
+        this.numInputs = numInputs;
+        this.initialState = initialState;
+        this.successors = successors;
+        this.identifiers = identifiers;
+        this.dictionaries = new ArrayList<>(identifiers.length);
+        this.labels = new int[identifiers.length][];
+
+        for (int i = 0; i < identifiers.length; i++) {
+            final Map<String, Integer> dictionary = new HashMap<>();
+            final String[] edgeValues = values[i];
+            final int[] edgeLabels = new int[edgeValues.length];
+
+            for (int e = 0; e < edgeValues.length; e++) {
+                final String value = edgeValues[e];
+                if (value != null) {
+                    Integer id = dictionary.get(value);
+                    if (id == null) {
+                        id = dictionary.size();
+                        dictionary.put(value, id);
+                    }
+                    edgeLabels[e] = id;
+                } else {
+                    edgeLabels[e] = UNDEFINED;
+                }
+            }
+
+            this.dictionaries.add(dictionary);
+            this.labels[i] = edgeLabels;
+        }
+    }
+
+    int getNumStates() {
+        return numStates;
+    }
+
+    int getNumInputs() {
+        return numInputs;
+    }
+
+    int getInitialState() {
+        return initialState;
+    }
+
+    int getSuccessor(int edge) {
+        return successors[edge];
+    }
+
+    /**
+     * Compiles the labels of the given Büchi automaton into guards over the edge labels of this transition system.
+     *
+     * @param buchi
+     *         the Büchi automaton
+     *
+     * @return the compiled guards, indexed by the states of the Büchi automaton
+     *
+     * @throws ModelCheckingException
+     *         if the Büchi automaton refers to an identifier unknown to this transition system
+     */
+    Guard[] compileGuards(BuchiAutomaton buchi) throws ModelCheckingException {
+        final Guard[] result = new Guard[buchi.size()];
+
+        for (int s = 0; s < result.length; s++) {
+            final List<LTLFormula> literals = buchi.getLabel(s);
+            final int[] identifierIndices = new int[literals.size()];
+            final int[] valueIds = new int[literals.size()];
+            final boolean[] negated = new boolean[literals.size()];
+
+            for (int l = 0; l < literals.size(); l++) {
+                final LTLFormula literal = literals.get(l);
+                final int idx = indexOf(literal.getIdentifier());
+                final Integer valueId = dictionaries.get(idx).get(literal.getValue());
+
+                identifierIndices[l] = idx;
+                // values that are not present in the system are never matched
+                valueIds[l] = valueId == null ? UNMATCHED : valueId;
+                negated[l] = literal.isNegated();
+            }
+
+            result[s] = new Guard(identifierIndices, valueIds, negated);
+        }
+
+        return result;
+    }
+
+    private int indexOf(String identifier) {
+        for (int i = 0; i < identifiers.length; i++) {
+            if (identifiers[i].equals(identifier)) {
+                return i;
+            }
+        }
+        throw new ModelCheckingException(
+                "Unknown identifier '" + identifier + "', expected one of " + Arrays.toString(identifiers));
+    }
+
+    /**
+     * A conjunction of (possibly negated) atomic propositions over the edge labels of an {@link IntLTS}.
+     */
+    final class Guard {
+
+        private final int[] identifierIndices;
+        private final int[] valueIds;
+        private final boolean[] negated;
+
+        Guard(int[] identifierIndices, int[] valueIds, boolean[] negated) {
+            this.identifierIndices = identifierIndices;
+            this.valueIds = valueIds;
+            this.negated = negated;
+        }
+
+        boolean test(int edge) {
+            for (int i = 0; i < identifierIndices.length; i++) {
+                if ((labels[identifierIndices[i]][edge] == valueIds[i]) == negated[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.buchi.IntLTS.Guard;
+import net.automatalib.modelcheckers.buchi.ltl.BuchiAutomaton;
+
+/**
+ * An on-the-fly emptiness check for the product of an {@link IntLTS} and a {@link BuchiAutomaton}, using the nested
+ * depth-first search of Schwoon and Esparza.
+ * <p>
+ * Product states are encoded as {@code ltsState * buchiSize + buchiState} and are only generated when they are
+ * reached by the search. Both searches are implemented iteratively, so that large hypotheses do not overflow the call
+ * stack.
+ *
+ * @author frohme
+ * @see <a href="https://doi.org/10.1007/978-3-540-31980-1_12">A Note on On-the-Fly Verification Algorithms</a>
+ */
+@ParametersAreNonnullByDefault
+final class NestedDFS {
+
+    private static final byte CYAN = 1;
+    private static final byte BLUE = 2;
+    private static final byte RED = 4;
+
+    private final IntLTS lts;
+    private final BuchiAutomaton buchi;
+    private final Guard[] guards;
+    private final int buchiSize;
+    private final int numInputs;
+    private final byte[] colors;
+
+    private final Stack blueStack = new Stack();
+    private final Stack redStack = new Stack();
+
+    private NestedDFS(IntLTS lts, BuchiAutomaton buchi) {
+        this.lts = lts;
+        this.buchi = buchi;
+        this.guards = lts.compileGuards(buchi);
+        this.buchiSize = buchi.size();
+        this.numInputs = lts.getNumInputs();
+
+        final long productSize = (long) lts.getNumStates() * buchiSize;
+        if (productSize > Integer.MAX_VALUE) {
+            throw new ModelCheckingException("Product of hypothesis and Buchi automaton is too large");
+        }
+        this.colors = new byte[(int) productSize];
+    }
+
+    /**
+     * Searches for an accepting lasso in the product of the given transition system and Büchi automaton.
+     *
+     * @param lts
+     *         the transition system
+     * @param buchi
+     *         the Büchi automaton
+     *
+     * @return the inputs of the transition system that constitute the lasso, or {@code null} if the product is empty
+     */
+    @Nullable
+    static LassoPath findLasso(IntLTS lts, BuchiAutomaton buchi) {
+        return new NestedDFS(lts, buchi).blueSearch();
+    }
+
+    @Nullable
+    private LassoPath blueSearch() {
+        final int init = lts.getInitialState() * buchiSize + BuchiAutomaton.INITIAL_STATE;
+        blueStack.push(init);
+        colors[init] |= CYAN;
+
+        while (blueStack.size > 0) {
+            final int top = blueStack.size - 1;
+            final int state = blueStack.states[top];
+            final int succ = nextSuccessor(blueStack, top);
+
+            if (succ >= 0) {
+                final int input = blueStack.lastInputs[top];
+                final byte color = colors[succ];
+
+                if ((color & CYAN) != 0) {
+                    // early cycle detection: a cycle through an accepting state closes on the stack
+                    if (isAccepting(state) || isAccepting(succ)) {
+                        return buildLasso(succ, input, false);
+                    }
+                } else if ((color & BLUE) == 0) {
+                    colors[succ] |= CYAN;
+                    blueStack.push(succ);
+                }
+            } else {
+                if (isAccepting(state)) {
+                    final int target = redSearch(state);
+                    if (target >= 0) {
+                        return buildLasso(target, redStack.lastInputs[redStack.size - 1], true);
+                    }
+                }
+                colors[state] = (byte) ((colors[state] & ~CYAN) | BLUE);
+                blueStack.pop();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Searches for a cycle through the given (accepting) seed. If a cycle is found, the red stack contains the path
+     * from the seed to the returned state on the blue stack, and the last input of the top-most entry of the red stack
+     * is the input of the closing transition.
+     *
+     * @return the state on the blue stack that closes the cycle, or {@code -1} if no cycle exists
+     */
+    private int redSearch(int seed) {
+        redStack.size = 0;
+        redStack.push(seed);
+        colors[seed] |= RED;
+
+        while (redStack.size > 0) {
+            final int top = redStack.size - 1;
+            final int succ = nextSuccessor(redStack, top);
+
+            if (succ >= 0) {
+                final byte color = colors[succ];
+                if ((color & CYAN) != 0) {
+                    return succ;
+                } else if ((color & RED) == 0) {
+                    colors[succ] |= RED;
+                    redStack.push(succ);
+                }
+            } else {
+                redStack.pop();
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the next successor of the stack entry at the given index (and stores the corresponding input in {@link
+     * Stack#lastInputs}), or {@code -1} if all successors have been explored.
+     */
+    private int nextSuccessor(Stack stack, int idx) {
+        final int state = stack.states[idx];
+        final int ltsState = state / buchiSize;
+        final int[] buchiSuccs = buchi.getSuccessors(state % buchiSize);
+        final int numBuchiSuccs = buchiSuccs.length;
+        final int limit = numInputs * numBuchiSuccs;
+
+        int cursor = stack.cursors[idx];
+        while (cursor < limit) {
+            final int input = cursor / numBuchiSuccs;
+            final int edge = ltsState * numInputs + input;
+            final int ltsSucc = lts.getSuccessor(edge);
+
+            if (ltsSucc == IntLTS.UNDEFINED) {
+                // skip all Büchi successors of this input
+                cursor = (input + 1) * numBuchiSuccs;
+                continue;
+            }
+
+            final int buchiSucc = buchiSuccs[cursor % numBuchiSuccs];
+            cursor++;
+
+            if (guards[buchiSucc].test(edge)) {
+                stack.cursors[idx] = cursor;
+                stack.lastInputs[idx] = input;
+                return ltsSucc * buchiSize + buchiSucc;
+            }
+        }
+
+        stack.cursors[idx] = cursor;
+        return -1;
+    }
+
+    private boolean isAccepting(int state) {
+        return buchi.isAccepting(state % buchiSize);
+    }
+
+    private LassoPath buildLasso(int target, int closingInput, boolean includeRedPath) {
+        int loopStart = 0;
+        while (blueStack.states[loopStart] != target) {
+            loopStart++;
+        }
+
+        final int blueLength = blueStack.size - 1;
+        final int redLength = includeRedPath ? redStack.size - 1 : 0;
+        final int[] inputs = new int[blueLength + redLength + 1];
+        final int[] states = new int[inputs.length + 1];
+
+        // the input that leads to the i-th stack entry is stored as the last input of the (i-1)-th entry
+        System.arraycopy(blueStack.lastInputs, 0, inputs, 0, blueLength);
+        System.arraycopy(blueStack.states, 0, states, 0, blueLength + 1);
+        if (includeRedPath) {
+            // the first entry of the red stack is the seed, i.e., the top-most entry of the blue stack
+            System.arraycopy(redStack.lastInputs, 0, inputs, blueLength, redLength);
+            System.arraycopy(redStack.states, 1, states, blueLength + 1, redLength);
+        }
+        inputs[inputs.length - 1] = closingInput;
+        states[states.length - 1] = target;
+
+        // only the states of the transition system are relevant for the normalization
+        for (int i = 0; i < states.length; i++) {
+            states[i] /= buchiSize;
+        }
+
+        return normalize(inputs, states, loopStart);
+    }
+
+    /**
+     * Shortens the given lasso without changing the infinite word it represents: the loop is reduced to its primitive
+     * root and then rotated into the prefix as far as possible. Both transformations are only applied if the resulting
+     * loop closes on the same state of the transition system. Since the transition system is deterministic, the
+     * (infinite) run of the transition system, and hence the labels that have been accepted by the Büchi automaton,
+     * remain unchanged.
+     *
+     * @param inputs
+     *         the inputs of the lasso
+     * @param states
+     *         the states of the transition system along the lasso, where {@code states[i]} denotes the source of {@code
+     *         inputs[i]}, and the last state (the target of the closing transition) equals {@code states[loopBegin]}
+     * @param loopBegin
+     *         the index of the first input of the loop
+     */
+    private static LassoPath normalize(int[] inputs, int[] states, int loopBegin) {
+        final int loopLength = inputs.length - loopBegin;
+
+        int period = 1;
+        while (!hasPeriod(inputs, loopBegin, loopLength, period) || states[loopBegin + period] != states[loopBegin]) {
+            period++;
+        }
+
+        int begin = loopBegin;
+        int end = loopBegin + period;
+        while (begin > 0 && inputs[begin - 1] == inputs[end - 1] && states[begin - 1] == states[end - 1]) {
+            begin--;
+            end--;
+        }
+
+        return new LassoPath(end == inputs.length ? inputs : Arrays.copyOf(inputs, end), begin);
+    }
+
+    private static boolean hasPeriod(int[] inputs, int offset, int length, int period) {
+        if (length % period != 0) {
+            return false;
+        }
+        for (int i = period; i < length; i++) {
+            if (inputs[offset + i] != inputs[offset + i - period]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The result of the search: a sequence of inputs (starting in the initial state of the transition system) whose
+     * suffix starting at {@link #loopBegin} can be repeated infinitely often.
+     */
+    static final class LassoPath {
+
+        final int[] inputs;
+        final int loopBegin;
+
+        LassoPath(int[] inputs, int loopBegin) {
+            this.inputs = inputs;
+            this.loopBegin = loopBegin;
+        }
+    }
+
+    private static final class Stack {
+
+        private int[] states = new int[16];
+        private int[] cursors = new int[16];
+        private int[] lastInputs = new int[16];
+        private int size;
+
+        void push(int state) {
+            if (size == states.length) {
+                final int newCapacity = size * 2;
+                states = Arrays.copyOf(states, newCapacity);
+                cursors = Arrays.copyOf(cursors, newCapacity);
+                lastInputs = Arrays.copyOf(lastInputs, newCapacity);
+            }
+            states[size] = state;
+            cursors[size] = 0;
+            lastInputs[size] = IntLTS.UNDEFINED;
+            size++;
+        }
+
+        void pop() {
+            size--;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi.ltl;
+
+import java.util.List;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A (state-labeled) Büchi automaton as constructed by {@link LTL2Buchi}.
+ * <p>
+ * States are identified by integers ranging from {@code 0} to {@code size() - 1}, where state {@code 0} is the (unique
+ * and unlabeled) initial state. Every other state is labeled with a conjunction of (possibly negated) atomic
+ * propositions, which must hold for the symbol that is read when entering the state.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class BuchiAutomaton {
+
+    public static final int INITIAL_STATE = 0;
+
+    private final int[][] successors;
+    private final List<List<LTLFormula>> labels;
+    private final boolean[] accepting;
+
+    BuchiAutomaton(int[][] successors, List<List<LTLFormula>> labels, boolean[] accepting) {
+        this.successors = successors;
+        this.labels = labels;
+        this.accepting = accepting;
+    }
+
+    public int size() {
+        return successors.length;
+    }
+
+    /**
+     * Returns the successors of the given state. The returned array must not be modified.
+     *
+     * @param state
+     *         the state
+     *
+     * @return the successors of the given state
+     */
+    public int[] getSuccessors(int state) {
+        return successors[state];
+    }
+
+    /**
+     * Returns the (possibly negated) atomic propositions that must hold when entering the given state.
+     *
+     * @param state
+     *         the state
+     *
+     * @return the literals labeling the given state
+     */
+    public List<LTLFormula> getLabel(int state) {
+        return labels.get(state);
+    }
+
+    public boolean isAccepting(int state) {
+        return accepting[state];
+    }
+}
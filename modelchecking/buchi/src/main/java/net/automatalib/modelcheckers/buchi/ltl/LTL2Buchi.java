@@ -0,0 +1,300 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi.ltl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.modelcheckers.buchi.ltl.LTLFormula.Type;
+
+/**
+ * Translates LTL formulae into (degeneralized) Büchi automata.
+ * <p>
+ * The translation uses the tableau construction of Gerth, Peled, Vardi and Wolper to obtain a generalized Büchi
+ * automaton (one acceptance set per until-subformula), which is then degeneralized using the usual counter
+ * construction.
+ *
+ * @author frohme
+ * @see <a href="https://doi.org/10.1007/978-0-387-34892-6_1">Simple On-the-fly Automatic Verification of Linear
+ * Temporal Logic</a>
+ */
+@ParametersAreNonnullByDefault
+public final class LTL2Buchi {
+
+    private static final int INIT = -1;
+
+    private LTL2Buchi() {
+        // prevent instantiation
+    }
+
+    /**
+     * Constructs a Büchi automaton that accepts exactly the infinite words satisfying the given formula.
+     *
+     * @param formula
+     *         the formula
+     *
+     * @return the Büchi automaton for the given formula
+     */
+    public static BuchiAutomaton translate(LTLFormula formula) {
+        final LTLFormula nnf = formula.toNNF();
+        final List<Node> nodes = expand(nnf);
+
+        final List<LTLFormula> untils = new ArrayList<>();
+        collectUntils(nnf, untils);
+
+        return degeneralize(nodes, untils);
+    }
+
+    private static List<Node> expand(LTLFormula formula) {
+        final List<Node> nodes = new ArrayList<>();
+        final Map<List<Set<LTLFormula>>, Node> index = new HashMap<>();
+        final Deque<Node> workList = new ArrayDeque<>();
+
+        final Node start = new Node();
+        start.incoming.add(INIT);
+        start.todo.add(formula);
+        workList.push(start);
+
+        while (!workList.isEmpty()) {
+            final Node node = workList.pop();
+
+            if (node.todo.isEmpty()) {
+                final List<Set<LTLFormula>> key = Arrays.asList(node.old, node.next);
+                final Node existing = index.get(key);
+                if (existing != null) {
+                    existing.incoming.addAll(node.incoming);
+                } else {
+                    node.id = nodes.size();
+                    nodes.add(node);
+                    index.put(key, node);
+                    workList.push(node.successor());
+                }
+                continue;
+            }
+
+            final LTLFormula eta = node.todo.iterator().next();
+            node.todo.remove(eta);
+
+            if (node.old.contains(eta)) {
+                workList.push(node);
+                continue;
+            }
+
+            switch (eta.getType()) {
+                case FALSE:
+                    // contradiction
+                    break;
+                case TRUE:
+                    workList.push(node);
+                    break;
+                case ATOM:
+                    if (!node.old.contains(eta.negateLiteral())) {
+                        node.old.add(eta);
+                        workList.push(node);
+                    }
+                    break;
+                case AND:
+                    node.old.add(eta);
+                    node.addTodo(eta.getLeft());
+                    node.addTodo(eta.getRight());
+                    workList.push(node);
+                    break;
+                case NEXT:
+                    node.old.add(eta);
+                    node.next.add(eta.getLeft());
+                    workList.push(node);
+                    break;
+                case OR:
+                case UNTIL:
+                case RELEASE:
+                    final Node split = node.copy();
+                    node.old.add(eta);
+                    split.old.add(eta);
+
+                    if (eta.getType() == Type.OR) {
+                        node.addTodo(eta.getLeft());
+                        split.addTodo(eta.getRight());
+                    } else if (eta.getType() == Type.UNTIL) {
+                        node.addTodo(eta.getLeft());
+                        node.next.add(eta);
+                        split.addTodo(eta.getRight());
+                    } else {
+                        node.addTodo(eta.getRight());
+                        node.next.add(eta);
+                        split.addTodo(eta.getLeft());
+                        split.addTodo(eta.getRight());
+                    }
+
+                    workList.push(node);
+                    workList.push(split);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Formula is not in negation normal form: " + eta);
+            }
+        }
+
+        return nodes;
+    }
+
+    private static void collectUntils(LTLFormula formula, List<LTLFormula> untils) {
+        if (formula.getType() == Type.UNTIL && !untils.contains(formula)) {
+            untils.add(formula);
+        }
+        if (formula.getLeft() != null) {
+            collectUntils(formula.getLeft(), untils);
+        }
+        if (formula.getRight() != null) {
+            collectUntils(formula.getRight(), untils);
+        }
+    }
+
+    private static BuchiAutomaton degeneralize(List<Node> nodes, List<LTLFormula> untils) {
+        final int numNodes = nodes.size();
+        final int numSets = Math.max(1, untils.size());
+
+        // determine the generalized acceptance condition and the transition structure
+        final boolean[][] acceptance = new boolean[numSets][numNodes];
+        final List<List<Integer>> gbaSuccessors = new ArrayList<>(numNodes + 1);
+        for (int i = 0; i <= numNodes; i++) {
+            gbaSuccessors.add(new ArrayList<>());
+        }
+
+        for (final Node n : nodes) {
+            for (final Integer pred : n.incoming) {
+                gbaSuccessors.get(pred == INIT ? numNodes : pred).add(n.id);
+            }
+            if (untils.isEmpty()) {
+                acceptance[0][n.id] = true;
+            } else {
+                for (int j = 0; j < numSets; j++) {
+                    final LTLFormula until = untils.get(j);
+                    acceptance[j][n.id] = !n.old.contains(until) || n.old.contains(until.getRight());
+                }
+            }
+        }
+
+        // explore the reachable part of the degeneralized automaton, where state (node, counter) is encoded as
+        // node * numSets + counter
+        final Map<Integer, Integer> ids = new HashMap<>();
+        final List<Integer> states = new ArrayList<>();
+        final List<int[]> successors = new ArrayList<>();
+
+        states.add(INIT);
+        for (int i = 0; i < states.size(); i++) {
+            final int state = states.get(i);
+            final List<Integer> succNodes;
+            final int nextCounter;
+
+            if (state == INIT) {
+                succNodes = gbaSuccessors.get(numNodes);
+                nextCounter = 0;
+            } else {
+                final int node = state / numSets;
+                final int counter = state % numSets;
+                succNodes = gbaSuccessors.get(node);
+                nextCounter = acceptance[counter][node] ? (counter + 1) % numSets : counter;
+            }
+
+            final int[] succs = new int[succNodes.size()];
+            for (int j = 0; j < succs.length; j++) {
+                final int succ = succNodes.get(j) * numSets + nextCounter;
+                Integer id = ids.get(succ);
+                if (id == null) {
+                    id = states.size();
+                    ids.put(succ, id);
+                    states.add(succ);
+                }
+                succs[j] = id;
+            }
+            successors.add(succs);
+        }
+
+        final int size = states.size();
+        final int[][] successorArray = successors.toArray(new int[size][]);
+        final List<List<LTLFormula>> labels = new ArrayList<>(size);
+        final boolean[] accepting = new boolean[size];
+
+        labels.add(Collections.emptyList());
+        for (int i = 1; i < size; i++) {
+            final int state = states.get(i);
+            final int node = state / numSets;
+            final int counter = state % numSets;
+            final List<LTLFormula> label = new ArrayList<>();
+
+            for (final LTLFormula f : nodes.get(node).old) {
+                if (f.getType() == Type.ATOM) {
+                    label.add(f);
+                }
+            }
+
+            labels.add(label);
+            accepting[i] = counter == 0 && acceptance[0][node];
+        }
+
+        return new BuchiAutomaton(successorArray, labels, accepting);
+    }
+
+    private static final class Node {
+
+        private final Set<Integer> incoming;
+        private final Set<LTLFormula> todo;
+        private final Set<LTLFormula> old;
+        private final Set<LTLFormula> next;
+        private int id;
+
+        Node() {
+            this(new HashSet<>(), new LinkedHashSet<>(), new HashSet<>(), new HashSet<>());
+        }
+
+        private Node(Set<Integer> incoming, Set<LTLFormula> todo, Set<LTLFormula> old, Set<LTLFormula> next) {
+            this.incoming = incoming;
+            this.todo = todo;
+            this.old = old;
+            this.next = next;
+        }
+
+        void addTodo(LTLFormula formula) {
+            if (!old.contains(formula)) {
+                todo.add(formula);
+            }
+        }
+
+        Node copy() {
+            return new Node(new HashSet<>(incoming),
+                            new LinkedHashSet<>(todo),
+                            new HashSet<>(old),
+                            new HashSet<>(next));
+        }
+
+        Node successor() {
+            final Node result = new Node();
+            result.incoming.add(id);
+            result.todo.addAll(next);
+            return result;
+        }
+    }
+}
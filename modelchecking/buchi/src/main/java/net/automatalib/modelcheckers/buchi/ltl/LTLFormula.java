@@ -0,0 +1,261 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi.ltl;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An (immutable) LTL formula over atomic propositions of the form {@code identifier == "value"}.
+ * <p>
+ * Only the core operators (negation, conjunction, disjunction, next, until and release) are represented explicitly.
+ * Derived operators such as implication, globally or finally are desugared by the {@link LTLParser}. Formulae can be
+ * transformed into negation normal form via {@link #toNNF()}, in which negations only occur directly in front of atomic
+ * propositions (see {@link #isNegated()}).
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class LTLFormula {
+
+    public static final LTLFormula TRUE = new LTLFormula(Type.TRUE, null, null, null, null, false);
+    public static final LTLFormula FALSE = new LTLFormula(Type.FALSE, null, null, null, null, false);
+
+    private final Type type;
+    private final LTLFormula left;
+    private final LTLFormula right;
+    private final String identifier;
+    private final String value;
+    private final boolean negated;
+    private final int hashCode;
+
+    private LTLFormula(Type type,
+                       @Nullable LTLFormula left,
+                       @Nullable LTLFormula right,
+                       @Nullable String identifier,
+                       @Nullable String value,
+                       boolean negated) {
+        this.type = type;
+        this.left = left;
+        this.right = right;
+        this.identifier = identifier;
+        this.value = value;
+        this.negated = negated;
+        this.hashCode = Objects.hash(type, left, right, identifier, value, negated);
+    }
+
+    public static LTLFormula atom(String identifier, String value) {
+        return new LTLFormula(Type.ATOM, null, null, identifier, value, false);
+    }
+
+    public static LTLFormula not(LTLFormula formula) {
+        return new LTLFormula(Type.NOT, formula, null, null, null, false);
+    }
+
+    public static LTLFormula and(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Type.AND, left, right, null, null, false);
+    }
+
+    public static LTLFormula or(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Type.OR, left, right, null, null, false);
+    }
+
+    public static LTLFormula next(LTLFormula formula) {
+        return new LTLFormula(Type.NEXT, formula, null, null, null, false);
+    }
+
+    public static LTLFormula until(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Type.UNTIL, left, right, null, null, false);
+    }
+
+    public static LTLFormula release(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Type.RELEASE, left, right, null, null, false);
+    }
+
+    @Nonnull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the (left) operand of this formula, or {@code null} if this formula is a constant or an atomic
+     * proposition.
+     *
+     * @return the (left) operand
+     */
+    @Nullable
+    public LTLFormula getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the right operand of this formula, or {@code null} if this formula is not a binary formula.
+     *
+     * @return the right operand
+     */
+    @Nullable
+    public LTLFormula getRight() {
+        return right;
+    }
+
+    @Nullable
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    @Nullable
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns whether this formula is a negated atomic proposition. Negated atomic propositions only occur in formulae
+     * in negation normal form.
+     *
+     * @return {@code true} if this formula is a negated atomic proposition, {@code false} otherwise
+     */
+    public boolean isNegated() {
+        return negated;
+    }
+
+    /**
+     * Returns whether this formula is a literal, i.e. a constant or a (possibly negated) atomic proposition.
+     *
+     * @return {@code true} if this formula is a literal, {@code false} otherwise
+     */
+    public boolean isLiteral() {
+        return type == Type.TRUE || type == Type.FALSE || type == Type.ATOM;
+    }
+
+    /**
+     * Returns the equivalent formula in negation normal form.
+     *
+     * @return the formula in negation normal form
+     */
+    public LTLFormula toNNF() {
+        switch (type) {
+            case NOT:
+                return left.negateNNF();
+            case AND:
+                return and(left.toNNF(), right.toNNF());
+            case OR:
+                return or(left.toNNF(), right.toNNF());
+            case NEXT:
+                return next(left.toNNF());
+            case UNTIL:
+                return until(left.toNNF(), right.toNNF());
+            case RELEASE:
+                return release(left.toNNF(), right.toNNF());
+            default:
+                return this;
+        }
+    }
+
+    private LTLFormula negateNNF() {
+        switch (type) {
+            case TRUE:
+                return FALSE;
+            case FALSE:
+                return TRUE;
+            case ATOM:
+                return new LTLFormula(Type.ATOM, null, null, identifier, value, !negated);
+            case NOT:
+                return left.toNNF();
+            case AND:
+                return or(left.negateNNF(), right.negateNNF());
+            case OR:
+                return and(left.negateNNF(), right.negateNNF());
+            case NEXT:
+                return next(left.negateNNF());
+            case UNTIL:
+                return release(left.negateNNF(), right.negateNNF());
+            case RELEASE:
+                return until(left.negateNNF(), right.negateNNF());
+            default:
+                throw new IllegalStateException("Unknown type: " + type);
+        }
+    }
+
+    /**
+     * Returns the negation of the given literal in negation normal form.
+     *
+     * @return the negated literal
+     */
+    LTLFormula negateLiteral() {
+        assert isLiteral();
+        return negateNNF();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final LTLFormula that = (LTLFormula) o;
+        return hashCode == that.hashCode && type == that.type && negated == that.negated &&
+               Objects.equals(left, that.left) && Objects.equals(right, that.right) &&
+               Objects.equals(identifier, that.identifier) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case ATOM:
+                return identifier + (negated ? " != \"" : " == \"") + value + '"';
+            case NOT:
+                return "!(" + left + ')';
+            case AND:
+                return '(' + left.toString() + " && " + right + ')';
+            case OR:
+                return '(' + left.toString() + " || " + right + ')';
+            case NEXT:
+                return "X (" + left + ')';
+            case UNTIL:
+                return '(' + left.toString() + " U " + right + ')';
+            case RELEASE:
+                return '(' + left.toString() + " R " + right + ')';
+            default:
+                throw new IllegalStateException("Unknown type: " + type);
+        }
+    }
+
+    public enum Type {
+        TRUE,
+        FALSE,
+        ATOM,
+        NOT,
+        AND,
+        OR,
+        NEXT,
+        UNTIL,
+        RELEASE
+    }
+}
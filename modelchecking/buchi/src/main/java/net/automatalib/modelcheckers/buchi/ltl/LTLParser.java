@@ -0,0 +1,218 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi.ltl;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.exception.ModelCheckingException;
+
+/**
+ * A recursive descent parser for LTL formulae in the syntax of LTSmin, so that properties can be shared between the
+ * LTSmin-based model checkers and the model checkers of this module.
+ * <p>
+ * The following operators are supported (from lowest to highest precedence):
+ * <ul>
+ * <li>{@code <->} (equivalence, left-associative)</li>
+ * <li>{@code ->} (implication, right-associative)</li>
+ * <li>{@code ||} (disjunction)</li>
+ * <li>{@code &&} (conjunction)</li>
+ * <li>{@code U}, {@code R}, {@code W} (until, release and weak until, right-associative)</li>
+ * <li>{@code !}, {@code X}, {@code []}, {@code <>} (negation, next, globally and finally)</li>
+ * </ul>
+ * Atomic propositions are either the constants {@code true} and {@code false}, or comparisons of the form {@code
+ * identifier == "value"} and {@code identifier != "value"}.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class LTLParser {
+
+    private final String input;
+    private int pos;
+
+    private LTLParser(String input) {
+        this.input = input;
+    }
+
+    /**
+     * Parses the given string into an {@link LTLFormula}.
+     *
+     * @param formula
+     *         the string representation of the formula
+     *
+     * @return the parsed formula
+     *
+     * @throws ModelCheckingException
+     *         if the given string is not a well-formed formula
+     */
+    public static LTLFormula parse(String formula) throws ModelCheckingException {
+        final LTLParser parser = new LTLParser(formula);
+        final LTLFormula result = parser.parseEquivalence();
+        parser.skipWhitespace();
+        if (parser.pos < formula.length()) {
+            throw parser.error("Unexpected input");
+        }
+        return result;
+    }
+
+    private LTLFormula parseEquivalence() {
+        LTLFormula result = parseImplication();
+        while (consume("<->")) {
+            final LTLFormula right = parseImplication();
+            result = LTLFormula.or(LTLFormula.and(result, right),
+                                   LTLFormula.and(LTLFormula.not(result), LTLFormula.not(right)));
+        }
+        return result;
+    }
+
+    private LTLFormula parseImplication() {
+        final LTLFormula left = parseDisjunction();
+        if (consume("->")) {
+            return LTLFormula.or(LTLFormula.not(left), parseImplication());
+        }
+        return left;
+    }
+
+    private LTLFormula parseDisjunction() {
+        LTLFormula result = parseConjunction();
+        while (consume("||")) {
+            result = LTLFormula.or(result, parseConjunction());
+        }
+        return result;
+    }
+
+    private LTLFormula parseConjunction() {
+        LTLFormula result = parseBinaryTemporal();
+        while (consume("&&")) {
+            result = LTLFormula.and(result, parseBinaryTemporal());
+        }
+        return result;
+    }
+
+    private LTLFormula parseBinaryTemporal() {
+        final LTLFormula left = parseUnary();
+        if (consumeKeyword("U")) {
+            return LTLFormula.until(left, parseBinaryTemporal());
+        } else if (consumeKeyword("R")) {
+            return LTLFormula.release(left, parseBinaryTemporal());
+        } else if (consumeKeyword("W")) {
+            // a W b == b R (a || b)
+            final LTLFormula right = parseBinaryTemporal();
+            return LTLFormula.release(right, LTLFormula.or(left, right));
+        }
+        return left;
+    }
+
+    private LTLFormula parseUnary() {
+        if (consume("!")) {
+            return LTLFormula.not(parseUnary());
+        } else if (consume("[]")) {
+            return LTLFormula.release(LTLFormula.FALSE, parseUnary());
+        } else if (consume("<>")) {
+            return LTLFormula.until(LTLFormula.TRUE, parseUnary());
+        } else if (consumeKeyword("X")) {
+            return LTLFormula.next(parseUnary());
+        }
+        return parsePrimary();
+    }
+
+    private LTLFormula parsePrimary() {
+        if (consume("(")) {
+            final LTLFormula result = parseEquivalence();
+            expect(")");
+            return result;
+        } else if (consumeKeyword("true")) {
+            return LTLFormula.TRUE;
+        } else if (consumeKeyword("false")) {
+            return LTLFormula.FALSE;
+        }
+
+        final String identifier = parseWord();
+
+        if (consume("==")) {
+            return LTLFormula.atom(identifier, parseValue());
+        } else if (consume("!=")) {
+            return LTLFormula.not(LTLFormula.atom(identifier, parseValue()));
+        }
+
+        throw error("Expected '==' or '!='");
+    }
+
+    private String parseValue() {
+        skipWhitespace();
+        if (pos < input.length() && input.charAt(pos) == '"') {
+            final int end = input.indexOf('"', pos + 1);
+            if (end < 0) {
+                throw error("Unterminated string literal");
+            }
+            final String result = input.substring(pos + 1, end);
+            pos = end + 1;
+            return result;
+        }
+        return parseWord();
+    }
+
+    private String parseWord() {
+        skipWhitespace();
+        final int start = pos;
+        while (pos < input.length() && isWordCharacter(input.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw error("Expected identifier");
+        }
+        return input.substring(start, pos);
+    }
+
+    private boolean consume(String token) {
+        skipWhitespace();
+        if (input.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consumeKeyword(String keyword) {
+        skipWhitespace();
+        final int end = pos + keyword.length();
+        if (input.startsWith(keyword, pos) && (end == input.length() || !isWordCharacter(input.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!consume(token)) {
+            throw error("Expected '" + token + '\'');
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private ModelCheckingException error(String message) {
+        return new ModelCheckingException(message + " at position " + pos + " in formula: " + input);
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
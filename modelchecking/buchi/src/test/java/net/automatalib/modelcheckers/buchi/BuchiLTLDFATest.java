@@ -0,0 +1,134 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class BuchiLTLDFATest {
+
+    private final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'c');
+
+    private BuchiLTLDFA<String> modelChecker;
+
+    @BeforeMethod
+    public void setUp() {
+        modelChecker = new BuchiLTLDFABuilder<String>().create();
+    }
+
+    @Test
+    public void testFindCounterExample() {
+        final DFA<?, String> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                    .withInitial("q0")
+                                                    .withAccepting("q0")
+                                                    .from("q0")
+                                                    .on("a")
+                                                    .loop()
+                                                    .create();
+
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "true"));
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "[] letter == \"a\""));
+
+        final DFALasso<String> ce = modelChecker.findCounterExample(dfa, alphabet, "letter == \"b\"");
+        Assert.assertNotNull(ce);
+        Assert.assertEquals(ce.getPrefix(), Word.epsilon());
+        Assert.assertEquals(ce.getLoop(), Word.fromLetter("a"));
+        Assert.assertEquals(ce.getUnfolds(), 3);
+        Assert.assertTrue(ce.computeOutput(Word.fromSymbols("a", "a", "a")));
+    }
+
+    @Test
+    public void testRejectingStatesAreSkipped() {
+        // the only infinite run through accepting states is (ab)^omega
+        final DFA<?, String> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                    .withInitial("q0")
+                                                    .withAccepting("q0", "q1")
+                                                    .from("q0")
+                                                    .on("a")
+                                                    .to("q1")
+                                                    .on("c")
+                                                    .to("q2")
+                                                    .from("q1")
+                                                    .on("b")
+                                                    .to("q0")
+                                                    .from("q2")
+                                                    .on("a", "b", "c")
+                                                    .loop()
+                                                    .create();
+
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "[] letter != \"c\""));
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "[] (letter == \"a\" -> X letter == \"b\")"));
+
+        final DFALasso<String> ce = modelChecker.findCounterExample(dfa, alphabet, "<> [] letter == \"a\"");
+        Assert.assertNotNull(ce);
+        Assert.assertEquals(ce.getPrefix().concat(ce.getLoop()), Word.fromSymbols("a", "b"));
+    }
+
+    /**
+     * Test that a {@link ModelCheckingException} is thrown when a {@link DFA} is not prefix-closed.
+     */
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testPrefixClosed() {
+        final DFA<?, String> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                    .withInitial("q0")
+                                                    .withAccepting("q1")
+                                                    .from("q0")
+                                                    .on("a")
+                                                    .to("q1")
+                                                    .create();
+
+        modelChecker.findCounterExample(dfa, alphabet, "true");
+    }
+
+    /**
+     * Test that a {@link ModelCheckingException} is thrown when a {@link DFA} accepts the empty language.
+     */
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testEmptyLanguage() {
+        final DFA<?, String> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                    .withInitial("q0")
+                                                    .from("q0")
+                                                    .on("a", "b")
+                                                    .loop()
+                                                    .create();
+
+        modelChecker.findCounterExample(dfa, alphabet, "true");
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testUnknownIdentifier() {
+        final DFA<?, String> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                    .withInitial("q0")
+                                                    .withAccepting("q0")
+                                                    .from("q0")
+                                                    .on("a")
+                                                    .loop()
+                                                    .create();
+
+        modelChecker.findCounterExample(dfa, alphabet, "input == \"a\"");
+    }
+}
@@ -0,0 +1,119 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import java.util.Collections;
+
+import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class BuchiLTLIOTest {
+
+    private final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+
+    private MealyMachine<?, Character, ?, Character> mealy;
+    private BuchiLTLIO<Character, Character> modelChecker;
+
+    @BeforeMethod
+    public void setUp() {
+        // @formatter:off
+        mealy = AutomatonBuilders.forMealy(new CompactMealy<Character, Character>(alphabet))
+                .withInitial("q0")
+                .from("q0").on('a').withOutput('1').to("q1")
+                .from("q1").on('b').withOutput('2').to("q2")
+                .from("q2").on('c').withOutput('3').to("q0")
+                .create();
+        // @formatter:on
+
+        modelChecker = new BuchiLTLIOBuilder<Character, Character>().create();
+    }
+
+    @Test
+    public void testSatisfiedProperties() {
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "true"));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "X input == \"b\""));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "[] (output == \"1\" -> X output == \"2\")"));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "[] <> output == \"3\""));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "input == \"a\" U input == \"b\""));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "output != \"2\" W input == \"b\""));
+    }
+
+    @Test
+    public void testViolatedProperties() {
+        final MealyLasso<Character, Character> ce1 =
+                modelChecker.findCounterExample(mealy, alphabet, "<> (input == \"a\" && output == \"2\")");
+        Assert.assertNotNull(ce1);
+        Assert.assertEquals(ce1.getPrefix().concat(ce1.getLoop()), Word.fromSymbols('a', 'b', 'c'));
+        Assert.assertEquals(ce1.getOutput(), Word.fromSymbols('1', '2', '3', '1', '2', '3', '1', '2', '3'));
+
+        final MealyLasso<Character, Character> ce2 = modelChecker.findCounterExample(mealy, alphabet, "! output == \"1\"");
+        Assert.assertNotNull(ce2);
+        Assert.assertEquals(ce2.getWord().firstSymbol(), Character.valueOf('a'));
+
+        Assert.assertNotNull(modelChecker.findCounterExample(mealy, alphabet, "<> [] output == \"1\""));
+        Assert.assertNotNull(modelChecker.findCounterExample(mealy, alphabet, "X X X input == \"b\""));
+    }
+
+    @Test
+    public void testLoopWithAlternatingOutputs() {
+        // @formatter:off
+        final MealyMachine<?, Character, ?, Character> alternating =
+                AutomatonBuilders.forMealy(new CompactMealy<Character, Character>(alphabet))
+                        .withInitial("q0")
+                        .from("q0").on('a').withOutput('x').to("q1")
+                        .from("q1").on('a').withOutput('y').to("q0")
+                        .create();
+        // @formatter:on
+
+        final MealyLasso<Character, Character> ce =
+                modelChecker.findCounterExample(alternating, alphabet, "[] (output == \"x\")");
+        Assert.assertNotNull(ce);
+
+        // the loop of the input word is periodic, but it must not be shortened to a loop that does not close on the
+        // same state of the hypothesis
+        Assert.assertEquals(ce.getOutput(), alternating.computeOutput(ce.getWord()));
+        Assert.assertTrue(ce.getOutput().asList().contains('y'));
+        Assert.assertEquals(ce.getLoop().length() % 2, 0);
+    }
+
+    @Test
+    public void testSkipOutputs() {
+        // @formatter:off
+        final MealyMachine<?, Character, ?, Character> branching =
+                AutomatonBuilders.forMealy(new CompactMealy<Character, Character>(alphabet))
+                        .withInitial("q0")
+                        .from("q0").on('a').withOutput('1').loop()
+                        .from("q0").on('b').withOutput('2').loop()
+                        .create();
+        // @formatter:on
+
+        Assert.assertNotNull(modelChecker.findCounterExample(branching, alphabet, "!(input == \"b\")"));
+
+        modelChecker.setSkipOutputs(Collections.singleton('2'));
+        Assert.assertNull(modelChecker.findCounterExample(branching, alphabet, "!(input == \"b\")"));
+    }
+}
@@ -0,0 +1,193 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.modelcheckers.buchi.ltl.BuchiAutomaton;
+import net.automatalib.modelcheckers.buchi.ltl.LTL2Buchi;
+import net.automatalib.modelcheckers.buchi.ltl.LTLFormula;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Cross-checks the Büchi translation and the emptiness check against a direct evaluation of random formulae on random
+ * lassos.
+ *
+ * @author frohme
+ */
+public class NestedDFSTest {
+
+    private static final String[] LETTERS = {"a", "b", "c"};
+    private static final int NUM_FORMULAE = 300;
+    private static final int NUM_WORDS = 20;
+
+    @Test
+    public void testRandomFormulae() {
+        final Random random = new Random(42);
+
+        for (int f = 0; f < NUM_FORMULAE; f++) {
+            final LTLFormula formula = randomFormula(random, 4);
+            final BuchiAutomaton buchi = LTL2Buchi.translate(formula);
+
+            for (int w = 0; w < NUM_WORDS; w++) {
+                final int prefixLength = random.nextInt(3);
+                final int length = prefixLength + 1 + random.nextInt(3);
+                final int[] word = new int[length];
+                for (int i = 0; i < length; i++) {
+                    word[i] = random.nextInt(LETTERS.length);
+                }
+
+                final boolean expected = evaluate(formula, word, prefixLength)[0];
+                final boolean actual = NestedDFS.findLasso(toLTS(word, prefixLength), buchi) != null;
+
+                Assert.assertEquals(actual, expected, formula + " on " + toString(word, prefixLength));
+            }
+        }
+    }
+
+    /**
+     * Creates a transition system whose only infinite run is the given lasso.
+     */
+    private static IntLTS toLTS(int[] word, int loopBegin) {
+        final int length = word.length;
+        final int[] successors = new int[length * LETTERS.length];
+        final String[] labels = new String[length * LETTERS.length];
+
+        for (int s = 0; s < length; s++) {
+            for (int i = 0; i < LETTERS.length; i++) {
+                final int edge = s * LETTERS.length + i;
+                if (word[s] == i) {
+                    successors[edge] = s + 1 < length ? s + 1 : loopBegin;
+                    labels[edge] = LETTERS[i];
+                } else {
+                    successors[edge] = IntLTS.UNDEFINED;
+                }
+            }
+        }
+
+        return new IntLTS(length, LETTERS.length, 0, successors, new String[] {"letter"}, new String[][] {labels});
+    }
+
+    private static LTLFormula randomFormula(Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    return LTLFormula.TRUE;
+                case 1:
+                    return LTLFormula.FALSE;
+                default:
+                    return LTLFormula.atom("letter", LETTERS[random.nextInt(LETTERS.length)]);
+            }
+        }
+
+        final LTLFormula left = randomFormula(random, depth - 1);
+        switch (random.nextInt(6)) {
+            case 0:
+                return LTLFormula.not(left);
+            case 1:
+                return LTLFormula.and(left, randomFormula(random, depth - 1));
+            case 2:
+                return LTLFormula.or(left, randomFormula(random, depth - 1));
+            case 3:
+                return LTLFormula.next(left);
+            case 4:
+                return LTLFormula.until(left, randomFormula(random, depth - 1));
+            default:
+                return LTLFormula.release(left, randomFormula(random, depth - 1));
+        }
+    }
+
+    /**
+     * Evaluates the given formula at every position of the given lasso via fixed-point iteration.
+     */
+    private static boolean[] evaluate(LTLFormula formula, int[] word, int loopBegin) {
+        final int length = word.length;
+        final boolean[] result = new boolean[length];
+
+        switch (formula.getType()) {
+            case TRUE:
+                Arrays.fill(result, true);
+                return result;
+            case FALSE:
+                return result;
+            case ATOM:
+                for (int i = 0; i < length; i++) {
+                    result[i] = LETTERS[word[i]].equals(formula.getValue()) != formula.isNegated();
+                }
+                return result;
+            case NOT: {
+                final boolean[] sub = evaluate(formula.getLeft(), word, loopBegin);
+                for (int i = 0; i < length; i++) {
+                    result[i] = !sub[i];
+                }
+                return result;
+            }
+            case AND:
+            case OR: {
+                final boolean[] left = evaluate(formula.getLeft(), word, loopBegin);
+                final boolean[] right = evaluate(formula.getRight(), word, loopBegin);
+                for (int i = 0; i < length; i++) {
+                    result[i] = formula.getType() == LTLFormula.Type.AND ? left[i] && right[i] : left[i] || right[i];
+                }
+                return result;
+            }
+            case NEXT: {
+                final boolean[] sub = evaluate(formula.getLeft(), word, loopBegin);
+                for (int i = 0; i < length; i++) {
+                    result[i] = sub[i + 1 < length ? i + 1 : loopBegin];
+                }
+                return result;
+            }
+            case UNTIL:
+            case RELEASE: {
+                final boolean[] left = evaluate(formula.getLeft(), word, loopBegin);
+                final boolean[] right = evaluate(formula.getRight(), word, loopBegin);
+                final boolean until = formula.getType() == LTLFormula.Type.UNTIL;
+
+                // least (until) or greatest (release) fixed-point
+                Arrays.fill(result, !until);
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    for (int i = length - 1; i >= 0; i--) {
+                        final boolean next = result[i + 1 < length ? i + 1 : loopBegin];
+                        final boolean value = until ? right[i] || (left[i] && next) : right[i] && (left[i] || next);
+                        if (value != result[i]) {
+                            result[i] = value;
+                            changed = true;
+                        }
+                    }
+                }
+                return result;
+            }
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    private static String toString(int[] word, int loopBegin) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < word.length; i++) {
+            if (i == loopBegin) {
+                sb.append('(');
+            }
+            sb.append(LETTERS[word[i]]);
+        }
+        return sb.append(")^w").toString();
+    }
+}
@@ -0,0 +1,80 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.buchi.ltl;
+
+import net.automatalib.exception.ModelCheckingException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class LTLParserTest {
+
+    private static final LTLFormula A = LTLFormula.atom("letter", "a");
+    private static final LTLFormula B = LTLFormula.atom("letter", "b");
+
+    @Test
+    public void testAtoms() {
+        Assert.assertEquals(LTLParser.parse("true"), LTLFormula.TRUE);
+        Assert.assertEquals(LTLParser.parse(" false "), LTLFormula.FALSE);
+        Assert.assertEquals(LTLParser.parse("letter == \"a\""), A);
+        Assert.assertEquals(LTLParser.parse("letter==a"), A);
+        Assert.assertEquals(LTLParser.parse("letter != \"a\""), LTLFormula.not(A));
+        Assert.assertEquals(LTLParser.parse("(letter == \"a\")"), A);
+    }
+
+    @Test
+    public void testPrecedence() {
+        Assert.assertEquals(LTLParser.parse("! letter == \"a\" && letter == \"b\""),
+                            LTLFormula.and(LTLFormula.not(A), B));
+        Assert.assertEquals(LTLParser.parse("X letter == \"a\" || letter == \"b\""),
+                            LTLFormula.or(LTLFormula.next(A), B));
+        Assert.assertEquals(LTLParser.parse("letter == \"a\" U letter == \"b\" && true"),
+                            LTLFormula.and(LTLFormula.until(A, B), LTLFormula.TRUE));
+        Assert.assertEquals(LTLParser.parse("[] (letter == \"a\" -> X letter == \"b\")"),
+                            LTLFormula.release(LTLFormula.FALSE,
+                                               LTLFormula.or(LTLFormula.not(A), LTLFormula.next(B))));
+        Assert.assertEquals(LTLParser.parse("<> letter == \"a\""), LTLFormula.until(LTLFormula.TRUE, A));
+        Assert.assertEquals(LTLParser.parse("letter == \"a\" R letter == \"b\" R true"),
+                            LTLFormula.release(A, LTLFormula.release(B, LTLFormula.TRUE)));
+    }
+
+    @Test
+    public void testNNF() {
+        final LTLFormula formula = LTLParser.parse("!(letter == \"a\" U X letter != \"b\")");
+        final LTLFormula nnf = formula.toNNF();
+
+        Assert.assertEquals(nnf, LTLFormula.release(LTLFormula.not(A).toNNF(), LTLFormula.next(B)));
+        Assert.assertTrue(nnf.getLeft().isNegated());
+        Assert.assertFalse(nnf.getRight().getLeft().isNegated());
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testMissingComparison() {
+        LTLParser.parse("letter");
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testUnbalancedParentheses() {
+        LTLParser.parse("(letter == \"a\"");
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testTrailingInput() {
+        LTLParser.parse("letter == \"a\" letter == \"b\"");
+    }
+}
@@ -18,17 +18,33 @@ package net.automatalib.modelcheckers.ltsmin;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
 import net.automatalib.AutomataLibSettings;
 import net.automatalib.commons.util.process.ProcessUtil;
 import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
 import net.automatalib.serialization.etf.writer.AbstractETFWriter;
 import net.automatalib.serialization.fsm.parser.AbstractFSMParser;
+import net.automatalib.serialization.fsm.parser.FSMParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,6 +90,12 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
      */
     private final Function<String, I> string2Input;
 
+    /**
+     * @see #getParallelism()
+     * @see #setParallelism(int)
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * Constructs a new AbstractLTSmin.
      *
@@ -87,10 +109,19 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
      */
     protected AbstractLTSmin(boolean keepFiles,
                              Function<String, I> string2Input) throws ModelCheckingException {
+        this(keepFiles, string2Input, true);
+    }
+
+    /**
+     * Constructs a new AbstractLTSmin, which optionally skips the check for the LTSmin binaries (e.g., if the
+     * invocation of the binaries is stubbed, see {@link #runCommandLine(List)}).
+     */
+    AbstractLTSmin(boolean keepFiles, Function<String, I> string2Input, boolean checkVersion)
+            throws ModelCheckingException {
         this.keepFiles = keepFiles;
         this.string2Input = string2Input;
 
-        if (!LTSminUtil.supports(getMinimumRequiredVersion())) {
+        if (checkVersion && !LTSminUtil.supports(getMinimumRequiredVersion())) {
             throw new ModelCheckingException("LTSmin binary could not be detected in the correct version");
         }
     }
@@ -120,6 +151,178 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
         return string2Input;
     }
 
+    /**
+     * Returns the maximum number of formulas that are checked concurrently by {@link #findCounterExamples(Object,
+     * Collection, List)}.
+     *
+     * @return the maximum number of concurrent etf2lts-mc invocations.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of formulas that are checked concurrently by {@link #findCounterExamples(Object,
+     * Collection, List)}.
+     *
+     * @param parallelism
+     *         the maximum number of concurrent etf2lts-mc invocations.
+     *
+     * @throws IllegalArgumentException
+     *         when {@code parallelism < 1}.
+     */
+    public void setParallelism(int parallelism) throws IllegalArgumentException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Converts the FSM file of a counterexample found by LTSmin to the counterexample type of this model checker. The
+     * FSM file must not be deleted by this method.
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}. Subclasses that override {@link
+     * #findCounterExample(Object, Collection, String)} instead (e.g., based on {@link #findCounterExampleFSM(Object,
+     * Collection, String)}) remain functional, but need to override this method as well in order to check several
+     * formulas via {@link #findCounterExamples(Object, Collection, List)}.
+     *
+     * @param fsm
+     *         the FSM file containing the counterexample.
+     * @param hypothesis
+     *         the hypothesis that has been checked.
+     * @param inputs
+     *         the inputs which have been regarded for checking.
+     *
+     * @return the counterexample.
+     *
+     * @throws IOException
+     *         when {@code fsm} can not be read.
+     * @throws FSMParseException
+     *         when {@code fsm} is invalid.
+     */
+    protected R fsm2CounterExample(File fsm, A hypothesis, Collection<? extends I> inputs)
+            throws IOException, FSMParseException {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support FSM conversion");
+    }
+
+    @Nullable
+    @Override
+    public R findCounterExample(A hypothesis, Collection<? extends I> inputs, String property)
+            throws ModelCheckingException {
+        final File fsm = findCounterExampleFSM(hypothesis, inputs, property);
+        return fsm == null ? null : readCounterExample(fsm, hypothesis, inputs);
+    }
+
+    /**
+     * Finds counterexamples for several formulas at once. The hypothesis is written to an ETF file only once, and the
+     * formulas are checked concurrently by at most {@link #getParallelism()} etf2lts-mc processes.
+     *
+     * @see #findCounterExamples(Object, Collection, List, ExecutorService)
+     */
+    @Override
+    public List<R> findCounterExamples(A hypothesis, Collection<? extends I> inputs, List<String> properties)
+            throws ModelCheckingException {
+        if (properties.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, properties.size()));
+
+        try {
+            return findCounterExamples(hypothesis, inputs, properties, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Finds counterexamples for several formulas at once. The hypothesis is written to an ETF file only once, which is
+     * then shared by the etf2lts-mc invocations for each of the formulas. The invocations are submitted to the given
+     * executor, which hence determines how many formulas are checked concurrently.
+     * <p>
+     * If checking any of the formulas fails, the remaining invocations are cancelled and the exception is re-thrown.
+     * <p>
+     * The calling thread blocks until all submitted checks have terminated. Therefore, this method must not be invoked
+     * from a task running in the given executor, if the executor has a bounded number of threads (e.g., one created by
+     * {@link Executors#newFixedThreadPool(int)}): if all threads are occupied by such callers, the submitted checks
+     * are never started and the callers wait forever. In this case, a separate executor should be used for the checks.
+     *
+     * @param hypothesis
+     *         the hypothesis to check
+     * @param inputs
+     *         the inputs which should be regarded for checking
+     * @param properties
+     *         the formulas that should be checked
+     * @param executor
+     *         the executor that runs the individual checks
+     *
+     * @return a list containing at index {@code i} the counterexample for the {@code i}-th formula, or {@code null} if
+     * the {@code i}-th formula holds.
+     */
+    public List<R> findCounterExamples(A hypothesis,
+                                       Collection<? extends I> inputs,
+                                       List<String> properties,
+                                       ExecutorService executor) throws ModelCheckingException {
+        final File etf = writeETF(hypothesis, inputs);
+        final List<R> result;
+
+        try {
+            result = checkETF(etf, hypothesis, inputs, properties, executor);
+        } catch (RuntimeException | Error e) {
+            deleteFiles(e, etf);
+            throw e;
+        }
+
+        deleteFiles(null, etf);
+
+        return result;
+    }
+
+    /**
+     * Checks the given formulas on the given ETF. Returns only after all submitted checks have terminated (either
+     * regularly or due to a cancellation), so that the ETF is no longer accessed once this method returns.
+     */
+    private List<R> checkETF(File etf,
+                             A hypothesis,
+                             Collection<? extends I> inputs,
+                             List<String> properties,
+                             ExecutorService executor) throws ModelCheckingException {
+        final List<ETFCheck> checks = new ArrayList<>(properties.size());
+        final List<Future<R>> futures = new ArrayList<>(properties.size());
+        final CompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+
+        try {
+            for (String property : properties) {
+                final ETFCheck check = new ETFCheck(etf, hypothesis, inputs, property);
+                checks.add(check);
+                futures.add(completionService.submit(check));
+            }
+
+            // wait for the checks in the order of their completion, so that a failure is noticed immediately
+            for (int i = 0; i < futures.size(); i++) {
+                completionService.take().get();
+            }
+
+            final List<R> result = new ArrayList<>(properties.size());
+            for (Future<R> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new ModelCheckingException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(e);
+        } finally {
+            // no-ops for already completed checks
+            futures.forEach(f -> f.cancel(true));
+            // a cancelled check may still be running, wait for it to release the ETF
+            checks.forEach(ETFCheck::awaitTermination);
+        }
+    }
+
     /**
      * Finds a counterexample for the given {@code formula}, and given {@code hypothesis} in FSM format.
      *
@@ -138,119 +341,203 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
     protected final File findCounterExampleFSM(A hypothesis, Collection<? extends I> inputs, String formula)
             throws ModelCheckingException {
 
-        final File etf, gcf, ltl;
+        final File etf = writeETF(hypothesis, inputs);
+        final File fsm;
+
         try {
-            // create the ETF that will contain the LTS of the hypothesis
-            etf = File.createTempFile("automaton2etf", ".etf");
+            fsm = findCounterExampleFSM(etf, formula);
+        } catch (RuntimeException | Error e) {
+            deleteFiles(e, etf);
+            throw e;
+        }
 
-            // create the GCF that will possibly contain the counterexample
-            gcf = File.createTempFile("etf2gcf", ".gcf");
+        deleteFiles(null, etf);
 
-            // create the LTL file that will contain the formula
-            ltl = File.createTempFile("formula", ".ltl");
+        return fsm;
+    }
 
-            // write the formula to the LTL file
-            Files.write(ltl.toPath(), formula.getBytes());
+    private File writeETF(A hypothesis, Collection<? extends I> inputs) throws ModelCheckingException {
+        final File etf;
+        try {
+            // create the ETF that will contain the LTS of the hypothesis
+            etf = File.createTempFile("automaton2etf", ".etf");
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        }
 
+        try {
             // write to the ETF file
             automaton2ETF(hypothesis, inputs, etf);
-
         } catch (IOException ioe) {
-            throw new ModelCheckingException(ioe);
+            final ModelCheckingException e = new ModelCheckingException(ioe);
+            deleteFiles(e, etf);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            deleteFiles(e, etf);
+            throw e;
         }
 
-        // the command lines for the ProcessBuilder
-        final List<String> ltsminCommandLine = Lists.newArrayList(// add the etf2lts-mc binary
-                                                                  LTSminUtil.ETF2LTS_MC,
-                                                                  // add the ETF file that contains the hypothesis
-                                                                  etf.getAbsolutePath(),
-                                                                  // add the LTL formula
-                                                                  "--ltl=" + ltl.getAbsolutePath(),
-                                                                  // write the trace to this file
-                                                                  "--trace=" + gcf.getAbsolutePath(),
-                                                                  // use only one thread (hypotheses are always small)
-                                                                  "--threads=1",
-                                                                  // use LTSmin LTL semantics
-                                                                  "--ltl-semantics=ltsmin",
-                                                                  // do not abort on partial LTSs
-                                                                  "--allow-undefined-edges");
-
-        if (LTSminUtil.isVerbose()) {
-            ltsminCommandLine.add("-v");
+        return etf;
+    }
+
+    private R readCounterExample(File fsm, A hypothesis, Collection<? extends I> inputs)
+            throws ModelCheckingException {
+        final R result;
+        try {
+            result = fsm2CounterExample(fsm, hypothesis, inputs);
+        } catch (IOException | FSMParseException ex) {
+            final ModelCheckingException e = new ModelCheckingException(ex);
+            deleteFiles(e, fsm);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            deleteFiles(e, fsm);
+            throw e;
         }
 
-        ltsminCommandLine.addAll(getExtraCommandLineOptions());
+        // check if we must keep the FSM
+        deleteFiles(null, fsm);
 
-        final int ltsminExitValue = runCommandLine(ltsminCommandLine);
+        return result;
+    }
 
-        // check if we need to delete the ETF
-        if (!keepFiles && !etf.delete()) {
-            throw new ModelCheckingException("Could not delete file: " + etf.getAbsolutePath());
+    /**
+     * Deletes the given intermediate files, unless they should be kept. If a file can not be deleted, a {@link
+     * ModelCheckingException} is thrown after the remaining files have been deleted. If an exception is {@code
+     * pending}, the failure is added to it as a suppressed exception instead, so that the original exception is not
+     * masked.
+     */
+    private void deleteFiles(@Nullable Throwable pending, @Nullable File... files) throws ModelCheckingException {
+        if (keepFiles) {
+            return;
         }
 
-        // check if we need to delete the LTL file
-        if (!keepFiles && !ltl.delete()) {
-            throw new ModelCheckingException("Could not delete file: " + ltl.getAbsolutePath());
+        Throwable failure = pending;
+        for (File file : files) {
+            if (file != null && file.exists() && !file.delete()) {
+                final ModelCheckingException e =
+                        new ModelCheckingException("Could not delete file: " + file.getAbsolutePath());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
         }
 
-        final File fsm;
+        if (pending == null && failure != null) {
+            throw (ModelCheckingException) failure;
+        }
+    }
 
-        if (ltsminExitValue == 1) {
-            // we have found a counterexample
+    /**
+     * Checks the given {@code formula} on the hypothesis contained in the given {@code etf} file. The ETF file is not
+     * modified, so this method may be invoked concurrently for the same ETF file. All intermediate files (but the
+     * returned FSM) are deleted, even if the check fails or is interrupted.
+     */
+    private File findCounterExampleFSM(File etf, String formula) throws ModelCheckingException {
+
+        File gcf = null, ltl = null, fsm = null;
 
+        try {
             try {
-                // create a file for the FSM
-                fsm = File.createTempFile("gcf2fsm", ".fsm");
+                // create the GCF that will possibly contain the counterexample
+                gcf = File.createTempFile("etf2gcf", ".gcf");
+
+                // create the LTL file that will contain the formula
+                ltl = File.createTempFile("formula", ".ltl");
+
+                // write the formula to the LTL file
+                Files.write(ltl.toPath(), formula.getBytes());
+
             } catch (IOException ioe) {
                 throw new ModelCheckingException(ioe);
             }
 
-            final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
-                                                                       LTSminUtil.LTSMIN_CONVERT,
-                                                                       // use the GCF as input
-                                                                       gcf.getAbsolutePath(),
-                                                                       // use the FSM as output
-                                                                       fsm.getAbsolutePath(),
-                                                                       // required option
-                                                                       "--rdwr");
+            // the command lines for the ProcessBuilder
+            final List<String> ltsminCommandLine = Lists.newArrayList(// add the etf2lts-mc binary
+                                                                      LTSminUtil.ETF2LTS_MC,
+                                                                      // add the ETF file that contains the hypothesis
+                                                                      etf.getAbsolutePath(),
+                                                                      // add the LTL formula
+                                                                      "--ltl=" + ltl.getAbsolutePath(),
+                                                                      // write the trace to this file
+                                                                      "--trace=" + gcf.getAbsolutePath(),
+                                                                      // use only one thread (hypotheses are small)
+                                                                      "--threads=1",
+                                                                      // use LTSmin LTL semantics
+                                                                      "--ltl-semantics=ltsmin",
+                                                                      // do not abort on partial LTSs
+                                                                      "--allow-undefined-edges");
 
             if (LTSminUtil.isVerbose()) {
-                convertCommandLine.add("-v");
+                ltsminCommandLine.add("-v");
             }
 
-            final int convertExitValue = runCommandLine(convertCommandLine);
+            ltsminCommandLine.addAll(getExtraCommandLineOptions());
+
+            final int ltsminExitValue = runCommandLine(ltsminCommandLine);
 
-            // check the conversion is successful
-            if (convertExitValue != 0) {
+            if (ltsminExitValue == 1) {
+                // we have found a counterexample
+
+                try {
+                    // create a file for the FSM
+                    fsm = File.createTempFile("gcf2fsm", ".fsm");
+                } catch (IOException ioe) {
+                    throw new ModelCheckingException(ioe);
+                }
+
+                final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
+                                                                           LTSminUtil.LTSMIN_CONVERT,
+                                                                           // use the GCF as input
+                                                                           gcf.getAbsolutePath(),
+                                                                           // use the FSM as output
+                                                                           fsm.getAbsolutePath(),
+                                                                           // required option
+                                                                           "--rdwr");
+
+                if (LTSminUtil.isVerbose()) {
+                    convertCommandLine.add("-v");
+                }
+
+                final int convertExitValue = runCommandLine(convertCommandLine);
+
+                // check the conversion is successful
+                if (convertExitValue != 0) {
+                    final String msg;
+                    if (LOGGER.isDebugEnabled()) {
+                        msg = "Could not convert GCF to FSM, please check LTSmin's debug information to see why.";
+                    } else {
+                        msg = "Could not convert GCF to FSM, to see why, enable debug logging.";
+                    }
+                    throw new ModelCheckingException(msg);
+                }
+            } else if (ltsminExitValue != 0) {
                 final String msg;
                 if (LOGGER.isDebugEnabled()) {
-                    msg = "Could not convert GCF to FSM, please check LTSmin's debug information to see why.";
+                    msg = "Could not model check ETF, please check LTSmin's debug information to see why.";
                 } else {
-                    msg = "Could not convert GCF to FSM, to see why, enable debug logging.";
+                    msg = "Could not model check ETF, to see why, enable debug logging.";
                 }
                 throw new ModelCheckingException(msg);
             }
-        } else if (ltsminExitValue != 0) {
-            final String msg;
-            if (LOGGER.isDebugEnabled()) {
-                msg = "Could not model check ETF, please check LTSmin's debug information to see why.";
-            } else {
-                msg = "Could not model check ETF, to see why, enable debug logging.";
-            }
-            throw new ModelCheckingException(msg);
-        } else {
-            fsm = null;
+        } catch (RuntimeException | Error e) {
+            // this includes the interruption of a cancelled check
+            deleteFiles(e, ltl, gcf, fsm);
+            throw e;
         }
 
-        // check if we must keep the GCF
-        if (!keepFiles && !gcf.delete()) {
-            throw new ModelCheckingException("Could not delete file: " + gcf.getAbsolutePath());
-        }
+        // check if we need to delete the LTL file and the GCF
+        deleteFiles(null, ltl, gcf);
 
         return fsm;
     }
 
-    static int runCommandLine(List<String> commandLine) throws ModelCheckingException {
+    /**
+     * Invokes the given command line and returns the exit value of the process. If the calling thread is interrupted,
+     * the process is destroyed and a {@link ModelCheckingException} is thrown.
+     */
+    int runCommandLine(List<String> commandLine) throws ModelCheckingException {
         final String[] commands = new String[commandLine.size()];
         commandLine.toArray(commands);
         try {
@@ -271,4 +558,52 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
             return false;
         }
     }
+
+    /**
+     * A check of a single formula on a shared ETF, whose termination can be awaited even if its {@link Future} has
+     * been cancelled.
+     */
+    private final class ETFCheck implements Callable<R> {
+
+        private final File etf;
+        private final A hypothesis;
+        private final Collection<? extends I> inputs;
+        private final String property;
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+
+        ETFCheck(File etf, A hypothesis, Collection<? extends I> inputs, String property) {
+            this.etf = etf;
+            this.hypothesis = hypothesis;
+            this.inputs = inputs;
+            this.property = property;
+        }
+
+        @Override
+        @Nullable
+        public R call() throws ModelCheckingException {
+            if (!claimed.compareAndSet(false, true)) {
+                // the check has been abandoned before it was started
+                return null;
+            }
+
+            try {
+                final File fsm = findCounterExampleFSM(etf, property);
+                return fsm == null ? null : readCounterExample(fsm, hypothesis, inputs);
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        /**
+         * Waits until this check has terminated. If the check has not been started yet, it is abandoned instead, i.e.,
+         * it will not access the ETF, even if it is started later on.
+         */
+        void awaitTermination() {
+            if (!claimed.compareAndSet(false, true)) {
+                Uninterruptibles.awaitUninterruptibly(terminated);
+            }
+        }
+    }
 }
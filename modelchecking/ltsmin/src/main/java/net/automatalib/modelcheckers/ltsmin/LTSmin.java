@@ -17,9 +17,12 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 
+import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
 
 /**
@@ -48,6 +51,34 @@ public interface LTSmin<I, A, R> extends ModelChecker<I, A, String, R> {
      */
     void automaton2ETF(A automaton, Collection<? extends I> inputs, File etf) throws IOException;
 
+    /**
+     * Finds counterexamples for several properties on the same automaton.
+     * <p>
+     * The default implementation checks the properties one after another. Implementations may override this method to
+     * share the ETF file of the automaton among the properties and to check them concurrently.
+     *
+     * @param automaton
+     *         the automaton to check the properties on.
+     * @param inputs
+     *         the inputs which should be regarded for checking.
+     * @param properties
+     *         the properties to check.
+     *
+     * @return a list containing at index {@code i} the counterexample for the {@code i}-th property, or {@code null}
+     * if the {@code i}-th property holds.
+     *
+     * @throws ModelCheckingException
+     *         when checking any of the properties fails.
+     */
+    default List<R> findCounterExamples(A automaton, Collection<? extends I> inputs, List<String> properties)
+            throws ModelCheckingException {
+        final List<R> result = new ArrayList<>(properties.size());
+        for (String property : properties) {
+            result.add(findCounterExample(automaton, inputs, property));
+        }
+        return result;
+    }
+
     /**
      * Returns whether intermediate files should be kept, e.g. etfs, gcfs, etc.
      *
@@ -21,11 +21,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.function.Function;
 
-import javax.annotation.Nullable;
-
 import net.automatalib.automata.transout.MealyMachine;
 import net.automatalib.automata.transout.impl.compact.CompactMealy;
-import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelcheckers.ltsmin.LTSminMealy;
 import net.automatalib.modelchecking.Lasso.MealyLasso;
 import net.automatalib.modelchecking.ModelCheckerLasso.MealyModelCheckerLasso;
@@ -106,33 +103,13 @@ public abstract class AbstractLTSminLTLMealy<I, O>
         this.skipOutputs = skipOutputs;
     }
 
-    @Nullable
     @Override
-    public MealyLasso<I, O> findCounterExample(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, String property)
-            throws ModelCheckingException {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        final MealyLasso<I, O> result;
-
-        if (fsm != null) {
-            final CompactMealy<I, O> mealy;
-
-            try {
-                mealy = fsm2Mealy(fsm, automaton, inputs);
-
-                // check if we must keep the FSM
-                if (!isKeepFiles() && !fsm.delete()) {
-                    throw new ModelCheckingException("Could not delete file: " + fsm.getAbsolutePath());
-                }
-            } catch (IOException | FSMParseException e) {
-                throw new ModelCheckingException(e);
-            }
-
-            result = new MealyLassoImpl<>(mealy, mealy.getInputAlphabet(), computeUnfolds(automaton.size()));
-        } else {
-            result = null;
-        }
+    protected MealyLasso<I, O> fsm2CounterExample(File fsm,
+                                                  MealyMachine<?, I, ?, O> hypothesis,
+                                                  Collection<? extends I> inputs)
+            throws IOException, FSMParseException {
+        final CompactMealy<I, O> mealy = fsm2Mealy(fsm, hypothesis, inputs);
 
-        return result;
+        return new MealyLassoImpl<>(mealy, mealy.getInputAlphabet(), computeUnfolds(hypothesis.size()));
     }
 }
@@ -20,12 +20,9 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.function.Function;
 
-import javax.annotation.Nullable;
-
 import com.github.misberner.buildergen.annotations.GenerateBuilder;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
-import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelcheckers.ltsmin.LTSminDFA;
 import net.automatalib.modelchecking.Lasso.DFALasso;
 import net.automatalib.modelchecking.ModelCheckerLasso.DFAModelCheckerLasso;
@@ -62,38 +59,17 @@ public class LTSminLTLDFA<I> extends AbstractLTSminLTL<I, DFA<?, I>, DFALasso<I>
     /**
      * Converts the FSM file to a {@link DFALasso}.
      *
-     * @param automaton
+     * @param hypothesis
      *         the DFA used to compute the number of loop unrolls.
      *
-     * @see AbstractLTSminLTL#findCounterExample(Object, Collection, Object)
+     * @see AbstractLTSminLTL#fsm2CounterExample(File, Object, Collection)
      */
-    @Nullable
     @Override
-    public DFALasso<I> findCounterExample(DFA<?, I> automaton, Collection<? extends I> inputs, String property)
-            throws ModelCheckingException {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        final DFALasso<I> result;
-
-        if (fsm != null) {
-            final CompactDFA<I> dfa;
-
-            try {
-                dfa = FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
-
-                // check if we must keep the FSM
-                if (!isKeepFiles() && !fsm.delete()) {
-                    throw new ModelCheckingException("Could not delete file: " + fsm.getAbsolutePath());
-                }
-            } catch (IOException | FSMParseException e) {
-                throw new ModelCheckingException(e);
-            }
-
-            result = new DFALassoImpl<>(dfa, dfa.getInputAlphabet(), computeUnfolds(automaton.size()));
-        } else {
-            result = null;
-        }
+    protected DFALasso<I> fsm2CounterExample(File fsm, DFA<?, I> hypothesis, Collection<? extends I> inputs)
+            throws IOException, FSMParseException {
+        final CompactDFA<I> dfa =
+                FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
 
-        return result;
+        return new DFALassoImpl<>(dfa, dfa.getInputAlphabet(), computeUnfolds(hypothesis.size()));
     }
 }
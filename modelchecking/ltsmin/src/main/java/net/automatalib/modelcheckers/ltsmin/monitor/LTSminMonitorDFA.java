@@ -20,12 +20,9 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.function.Function;
 
-import javax.annotation.Nullable;
-
 import com.github.misberner.buildergen.annotations.GenerateBuilder;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
-import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelcheckers.ltsmin.AbstractLTSmin;
 import net.automatalib.modelcheckers.ltsmin.LTSminDFA;
 import net.automatalib.serialization.fsm.parser.FSM2DFAParser;
@@ -50,36 +47,20 @@ public class LTSminMonitorDFA<I> extends AbstractLTSminMonitor<I, DFA<?, I>, DFA
     /**
      * Converts the FSM file to a {@link DFA}.
      *
-     * @see AbstractLTSmin#findCounterExample(Object, Collection, Object)
+     * @see AbstractLTSmin#fsm2CounterExample(File, Object, Collection)
      */
-    @Nullable
     @Override
-    public DFA<?, I> findCounterExample(DFA<?, I> automaton, Collection<? extends I> inputs, String property)
-            throws ModelCheckingException {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        try {
-            final CompactDFA<I> result;
-            if (fsm != null) {
-                result = FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
-
-                // check if we must keep the FSM
-                if (!isKeepFiles() && !fsm.delete()) {
-                    throw new ModelCheckingException("Could not delete file: " + fsm.getAbsolutePath());
-                }
+    protected DFA<?, I> fsm2CounterExample(File fsm, DFA<?, I> hypothesis, Collection<? extends I> inputs)
+            throws IOException, FSMParseException {
+        final CompactDFA<I> result =
+                FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
 
-                for (Integer state : result.getStates()) {
-                    final boolean deadlocks = result.getInputAlphabet().stream().noneMatch(
-                            i -> result.getSuccessor(state, i) != null);
-                    result.setAccepting(state, deadlocks);
-                }
-            } else {
-                result = null;
-            }
-
-            return result;
-        } catch (IOException | FSMParseException e) {
-            throw new ModelCheckingException(e);
+        for (Integer state : result.getStates()) {
+            final boolean deadlocks =
+                    result.getInputAlphabet().stream().noneMatch(i -> result.getSuccessor(state, i) != null);
+            result.setAccepting(state, deadlocks);
         }
+
+        return result;
     }
 }
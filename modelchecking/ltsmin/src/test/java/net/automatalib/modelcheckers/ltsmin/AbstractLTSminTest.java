@@ -15,6 +15,11 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import net.automatalib.automata.concepts.DetOutputAutomaton;
 import net.automatalib.automata.concepts.Output;
 import net.automatalib.words.Alphabet;
@@ -88,4 +93,30 @@ public abstract class AbstractLTSminTest<A, R extends Output<String, ?>> {
         R ce = getModelChecker().findCounterExample(automaton, alphabet, falseProperty);
         Assert.assertEquals(counterExample.computeOutput(input), ce.computeOutput(input));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the batch API yields the same counterexamples as checking the properties one after another.
+     */
+    @Test
+    public void testFindCounterExamples() {
+        final List<String> properties = Arrays.asList("true", falseProperty, "true", falseProperty);
+
+        final List<R> sequential = getModelChecker().findCounterExamples(automaton, alphabet, properties);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final List<R> parallel;
+        try {
+            parallel = getModelChecker().findCounterExamples(automaton, alphabet, properties, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (List<R> results : Arrays.asList(sequential, parallel)) {
+            Assert.assertEquals(results.size(), properties.size());
+            Assert.assertNull(results.get(0));
+            Assert.assertNull(results.get(2));
+            Assert.assertEquals(counterExample.computeOutput(input), results.get(1).computeOutput(input));
+            Assert.assertEquals(counterExample.computeOutput(input), results.get(3).computeOutput(input));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import net.automatalib.exception.ModelCheckingException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the file handling and the batch API of {@link AbstractLTSmin}, where the invocations of the LTSmin binaries
+ * are stubbed, so that the tests do not require an LTSmin installation.
+ *
+ * @author frohme
+ */
+public class StubbedLTSminTest {
+
+    private static final String HYPOTHESIS = "hypothesis";
+    private static final List<String> INPUTS = Arrays.asList("a", "b");
+
+    private StubLTSmin modelChecker;
+
+    @BeforeMethod
+    public void setUp() {
+        this.modelChecker = new StubLTSmin();
+    }
+
+    @Test
+    public void testFindCounterExample() {
+        Assert.assertNull(modelChecker.findCounterExample(HYPOTHESIS, INPUTS, StubLTSmin.HOLDS));
+        Assert.assertEquals(modelChecker.findCounterExample(HYPOTHESIS, INPUTS, StubLTSmin.VIOLATED),
+                            StubLTSmin.COUNTEREXAMPLE + HYPOTHESIS);
+
+        checkFilesDeleted();
+    }
+
+    @Test
+    public void testFindCounterExamples() throws InterruptedException {
+        final List<String> properties =
+                Arrays.asList(StubLTSmin.HOLDS, StubLTSmin.VIOLATED, StubLTSmin.HOLDS, StubLTSmin.VIOLATED);
+        final List<String> expected = Arrays.asList(null,
+                                                    StubLTSmin.COUNTEREXAMPLE + HYPOTHESIS,
+                                                    null,
+                                                    StubLTSmin.COUNTEREXAMPLE + HYPOTHESIS);
+
+        Assert.assertEquals(modelChecker.findCounterExamples(HYPOTHESIS, INPUTS, properties), expected);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Assert.assertEquals(modelChecker.findCounterExamples(HYPOTHESIS, INPUTS, properties, executor), expected);
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        // the ETF of the hypothesis is shared by all formulas of a batch
+        Assert.assertEquals(modelChecker.numETFs.get(), 2);
+        checkFilesDeleted();
+    }
+
+    @Test(timeOut = 10000)
+    public void testCancellation() throws InterruptedException {
+        final List<String> properties = Arrays.asList(StubLTSmin.BLOCKS, StubLTSmin.FAILS);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Assert.assertThrows(ModelCheckingException.class,
+                                () -> modelChecker.findCounterExamples(HYPOTHESIS, INPUTS, properties, executor));
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        // the failure of one formula cancels the (blocking) check of the other one
+        Assert.assertEquals(modelChecker.interrupted.getCount(), 0);
+        checkFilesDeleted();
+    }
+
+    @Test
+    public void testFailedCheck() {
+        Assert.assertThrows(ModelCheckingException.class,
+                            () -> modelChecker.findCounterExample(HYPOTHESIS, INPUTS, StubLTSmin.FAILS_UNBLOCKED));
+        checkFilesDeleted();
+    }
+
+    private void checkFilesDeleted() {
+        Assert.assertFalse(modelChecker.files.isEmpty());
+        for (File file : modelChecker.files) {
+            Assert.assertFalse(file.exists(), file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * A model checker, whose "automata" are strings that are written to the ETF as-is, and whose invocations of the
+     * LTSmin binaries are stubbed according to the checked formula.
+     */
+    private static final class StubLTSmin extends AbstractLTSmin<String, String, String> {
+
+        static final String HOLDS = "holds";
+        static final String VIOLATED = "violated";
+        static final String BLOCKS = "blocks";
+        static final String FAILS = "fails";
+        static final String FAILS_UNBLOCKED = "fails-unblocked";
+        static final String COUNTEREXAMPLE = "counterexample of ";
+
+        private final Set<File> files = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private final AtomicInteger numETFs = new AtomicInteger();
+
+        StubLTSmin() {
+            super(false, Function.identity(), false);
+        }
+
+        @Override
+        protected LTSminVersion getMinimumRequiredVersion() {
+            return LTSminVersion.of(3, 0, 0);
+        }
+
+        @Override
+        protected List<String> getExtraCommandLineOptions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void automaton2ETF(String automaton, Collection<? extends String> inputs, File etf)
+                throws IOException {
+            files.add(etf);
+            numETFs.incrementAndGet();
+            write(etf, automaton);
+        }
+
+        @Override
+        protected String fsm2CounterExample(File fsm, String hypothesis, Collection<? extends String> inputs)
+                throws IOException {
+            return read(fsm);
+        }
+
+        @Override
+        int runCommandLine(List<String> commandLine) {
+            try {
+                if (!LTSminUtil.ETF2LTS_MC.equals(commandLine.get(0))) {
+                    // ltsmin-convert
+                    final File gcf = new File(commandLine.get(1));
+                    final File fsm = new File(commandLine.get(2));
+                    files.add(fsm);
+                    write(fsm, read(gcf));
+                    return 0;
+                }
+
+                final File etf = new File(commandLine.get(1));
+                final File ltl = new File(commandLine.get(2).substring("--ltl=".length()));
+                final File gcf = new File(commandLine.get(3).substring("--trace=".length()));
+                files.add(ltl);
+                files.add(gcf);
+
+                switch (read(ltl)) {
+                    case HOLDS:
+                        return 0;
+                    case VIOLATED:
+                        write(gcf, COUNTEREXAMPLE + read(etf));
+                        return 1;
+                    case BLOCKS:
+                        started.countDown();
+                        // like an LTSmin process that does not terminate until it is destroyed
+                        new CountDownLatch(1).await();
+                        throw new AssertionError();
+                    case FAILS:
+                        started.await();
+                        return 2;
+                    default:
+                        return 2;
+                }
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new ModelCheckingException(e);
+            } catch (IOException e) {
+                throw new ModelCheckingException(e);
+            }
+        }
+
+        private static void write(File file, String content) throws IOException {
+            Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String read(File file) throws IOException {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        }
+    }
+}
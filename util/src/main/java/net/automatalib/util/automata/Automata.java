@@ -15,11 +15,14 @@
  */
 package net.automatalib.util.automata;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -28,22 +31,30 @@ import net.automatalib.automata.DeterministicAutomaton;
 import net.automatalib.automata.MutableDeterministic;
 import net.automatalib.automata.UniversalAutomaton;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.graphs.TransitionEdge;
 import net.automatalib.automata.vpda.OneSEVPA;
+import net.automatalib.commons.util.array.ArrayStorage;
 import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.UniversalGraph;
 import net.automatalib.util.automata.cover.Covers;
 import net.automatalib.util.automata.equivalence.CharacterizingSets;
 import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
 import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.RefinementMode;
 import net.automatalib.util.automata.vpda.OneSEVPAUtil;
 import net.automatalib.util.minimizer.Block;
 import net.automatalib.util.minimizer.BlockMap;
 import net.automatalib.util.minimizer.MinimizationResult;
 import net.automatalib.util.minimizer.Minimizer;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers.AutomatonInitialPartitioning;
 import net.automatalib.util.ts.TS;
+import net.automatalib.words.Alphabet;
 import net.automatalib.words.VPDAlphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
 
 @ParametersAreNonnullByDefault
 public class Automata extends TS {
@@ -98,6 +109,62 @@ public class Automata extends TS {
         return output;
     }
 
+    public static <S, I, T, SP, TP, SO, TO, A extends MutableDeterministic<SO, ? super I, TO, ? super SP, ? super TP>> A minimize(
+            UniversalDeterministicAutomaton<S, I, T, SP, TP> automaton,
+            Collection<? extends I> inputs,
+            A output,
+            RefinementMode refinementMode) {
+
+        if (refinementMode == RefinementMode.SEQUENTIAL) {
+            return minimize(automaton, inputs, output);
+        }
+
+        final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+        final PaigeTarjan pt = new PaigeTarjan();
+        // missing transitions are redirected to an artificial sink, which needs to be distinguishable from all states
+        final StateIDs<S> ids = PaigeTarjanInitializers.initDeterministic(pt,
+                                                                          automaton,
+                                                                          alphabet,
+                                                                          AutomatonInitialPartitioning.BY_FULL_SIGNATURE
+                                                                                  .initialClassifier(automaton,
+                                                                                                     alphabet),
+                                                                          new Object());
+        pt.initWorklist(false);
+        pt.computeCoarsestStablePartitionParallel();
+
+        output.clear();
+
+        final S init = automaton.getInitialState();
+        final ArrayStorage<SO> stateMap = new ArrayStorage<>(pt.getNumBlocks());
+        final Deque<S> queue = new ArrayDeque<>();
+
+        stateMap.set(pt.getBlockForState(ids.getStateId(init)).id,
+                     output.addInitialState(automaton.getStateProperty(init)));
+        queue.add(init);
+
+        // states of the same block are equivalent, so the first reached state of a block serves as its representative
+        S rep;
+        while ((rep = queue.poll()) != null) {
+            final SO state = stateMap.get(pt.getBlockForState(ids.getStateId(rep)).id);
+            for (I input : inputs) {
+                final T trans = automaton.getTransition(rep, input);
+                if (trans != null) {
+                    final S succ = automaton.getSuccessor(trans);
+                    final int succBlockId = pt.getBlockForState(ids.getStateId(succ)).id;
+                    SO newSucc = stateMap.get(succBlockId);
+                    if (newSucc == null) {
+                        newSucc = output.addState(automaton.getStateProperty(succ));
+                        stateMap.set(succBlockId, newSucc);
+                        queue.add(succ);
+                    }
+                    output.addTransition(state, input, newSucc, automaton.getTransitionProperty(trans));
+                }
+            }
+        }
+
+        return output;
+    }
+
     public static <S, I, T, SP, TP> UniversalGraph<S, TransitionEdge<I, T>, SP, TransitionEdge.Property<I, TP>> asUniversalGraph(
             UniversalAutomaton<S, I, T, SP, TP> automaton,
             Collection<? extends I> inputs) {
@@ -201,6 +268,11 @@ public class Automata extends TS {
     /**
      * Finds a separating word for two automata. A separating word is a word that exposes a difference (differing state
      * or transition properties, or a transition undefined in only one of the automata) between the two automata.
+     * <p>
+     * The returned word is not necessarily a shortest one. Use {@link
+     * #findShortestSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)} or
+     * {@link #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection,
+     * ForkJoinPool)} if a shortest separating word is required.
      *
      * @param <I>
      *         input symbol type
@@ -219,6 +291,36 @@ public class Automata extends TS {
         return NearLinearEquivalenceTest.findSeparatingWord(reference, other, inputs);
     }
 
+    /**
+     * Finds a shortest separating word for two automata, exploring their product in parallel (see {@link
+     * DeterministicEquivalenceTest#findSeparatingWordParallel(UniversalDeterministicAutomaton,
+     * UniversalDeterministicAutomaton, Collection)}). The parallel work is executed in the given pool.
+     * <p>
+     * Unlike {@link #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)},
+     * this method always returns a shortest separating word (like {@link
+     * #findShortestSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)}).
+     *
+     * @param <I>
+     *         input symbol type
+     * @param reference
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param pool
+     *         the pool executing the parallel work
+     *
+     * @return a shortest separating word, or <tt>null</tt> if no such word could be found.
+     */
+    public static <I> Word<I> findSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                 UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                 Collection<? extends I> inputs,
+                                                 ForkJoinPool pool) {
+        return pool.submit(() -> DeterministicEquivalenceTest.findSeparatingWordParallel(reference, other, inputs))
+                   .join();
+    }
+
     /**
      * Finds a separating word for two states in an automaton. A separating word is a word that exposes a difference
      * (differing state or transition properties, or a transition undefined in only one of the paths) between the two
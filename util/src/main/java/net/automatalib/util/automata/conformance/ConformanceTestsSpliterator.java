@@ -0,0 +1,481 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.google.common.collect.Iterators;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.util.automata.equivalence.SplittingTree;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A {@link Spliterator} over the test words generated by the W method (see {@link WMethodTestsIterator}) or the
+ * partial W method (see {@link WpMethodTestsIterator}), which allows to generate the tests in parallel.
+ * <p>
+ * Each test consists of a prefix (taken from a cover of the automaton), a middle part (a word of length at most {@code
+ * maxDepth}) and a suffix (taken from a characterizing set). The spliterator partitions the index space of all
+ * (middle part, prefix) combinations into contiguous ranges, which are expanded to the respective tests on demand.
+ * Middle parts are decoded from their index (in the order of {@code CollectionsUtil.allTuples(inputs, 0, maxDepth)}),
+ * and the covers, the characterizing sets and the transition structure required for determining the local suffixes of
+ * the Wp method are computed once and shared (read-only) among all spliterators. Hence, splitting is cheap, and the
+ * tests can be consumed via a {@link #stream(boolean) parallel stream} or distributed across independent workers via
+ * {@link #shard(int, int)}. The enumerated tests only depend on the (index) range of a spliterator, so that the shards
+ * of a spliterator enumerate disjoint tests in a deterministic order.
+ * <p>
+ * Note that the order of the tests of the Wp method differs from the one of {@link WpMethodTestsIterator}, as the
+ * tests of both phases are interleaved, whereas the set of tests is the same.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class ConformanceTestsSpliterator<I> implements Spliterator<Word<I>> {
+
+    private final TestSuite<I> suite;
+    private final long fence;
+
+    // the next (middle part, prefix) combination to be expanded, with the middle part as (little-endian) digits
+    private long cell;
+    private final int[] middle;
+    private int middleLength;
+    private int prefix;
+
+    // the (remaining) suffixes of the most recently expanded combination
+    private Word<I> current;
+    private List<Word<I>> suffixes;
+    private int suffixIdx;
+
+    private final WordBuilder<I> wordBuilder = new WordBuilder<>();
+
+    private ConformanceTestsSpliterator(TestSuite<I> suite, long origin, long fence) {
+        this.suite = suite;
+        this.fence = fence;
+        this.cell = origin;
+        this.middle = new int[suite.maxDepth];
+        this.suffixes = Collections.emptyList();
+
+        if (origin < fence) {
+            decode(origin);
+        }
+    }
+
+    /**
+     * Creates a spliterator over the test words generated by the W method, i.e., all words {@code p·m·w}, where
+     * {@code p} is taken from the transition cover, {@code m} is a word of length at most {@code maxDepth} and
+     * {@code w} is taken from the characterizing set of the given automaton. The spliterator yields the same tests in
+     * the same order as {@link WMethodTestsIterator} (also for partial automata, whose transition cover includes the
+     * undefined transitions, see {@link Covers#transitionCoverIterator(net.automatalib.automata.DeterministicAutomaton,
+     * Collection)}).
+     *
+     * @param automaton
+     *         the automaton for which the tests should be generated
+     * @param inputs
+     *         the input symbols to consider
+     * @param maxDepth
+     *         the maximum length of the middle parts
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a spliterator over the test words
+     *
+     * @throws ArithmeticException
+     *         if the number of (middle part, prefix) combinations exceeds the range of {@code long}
+     */
+    public static <I> ConformanceTestsSpliterator<I> wMethod(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                             Collection<? extends I> inputs,
+                                                             int maxDepth) {
+        // use the same (iterator-based) sources as WMethodTestsIterator, so that both yield the same tests. In
+        // particular, the iterator-based transition cover also contains the undefined transitions of partial automata
+        final List<Word<I>> transitionCover = new ArrayList<>(automaton.size() * inputs.size());
+        Iterators.addAll(transitionCover, Covers.transitionCoverIterator(automaton, inputs));
+
+        final List<Word<I>> characterizingSet = new ArrayList<>();
+        Iterators.addAll(characterizingSet, CharacterizingSets.characterizingSetIterator(automaton, inputs));
+
+        final TestSuite<I> suite =
+                new TestSuite<>(inputs, maxDepth, transitionCover, transitionCover.size(), characterizingSet);
+        return new ConformanceTestsSpliterator<>(suite, 0, suite.numCells);
+    }
+
+    /**
+     * Creates a spliterator over the test words generated by the partial W method, i.e., all words {@code p·m·w},
+     * where {@code p} is taken from the state cover and {@code w} from the characterizing set of the given automaton,
+     * as well as all words {@code t·m·w}, where {@code t} is taken from the transition cover (but not the state
+     * cover) and {@code w} from the characterizing set of the state reached by {@code t·m}. In both cases, {@code m}
+     * is a word of length at most {@code maxDepth}.
+     *
+     * @param automaton
+     *         the automaton for which the tests should be generated
+     * @param inputs
+     *         the input symbols to consider
+     * @param maxDepth
+     *         the maximum length of the middle parts
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a spliterator over the test words
+     *
+     * @throws ArithmeticException
+     *         if the number of (middle part, prefix) combinations exceeds the range of {@code long}
+     */
+    public static <S, I> ConformanceTestsSpliterator<I> wpMethod(
+            UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+            Collection<? extends I> inputs,
+            int maxDepth) {
+        final List<Word<I>> stateCover = new ArrayList<>(automaton.size());
+        final List<Word<I>> transitionCover = new ArrayList<>(automaton.size() * inputs.size());
+        Covers.cover(automaton, inputs, stateCover, transitionCover);
+
+        // the prefixes of the first phase precede the ones of the second phase
+        final Set<Word<I>> stateCoverSet = new HashSet<>(stateCover);
+        final List<Word<I>> prefixes = new ArrayList<>(transitionCover.size());
+        prefixes.addAll(stateCover);
+        for (Word<I> t : transitionCover) {
+            if (!stateCoverSet.contains(t)) {
+                prefixes.add(t);
+            }
+        }
+
+        final SplittingTree<S, I> splittingTree = new SplittingTree<>(automaton, inputs);
+        final TestSuite<I> suite = new TestSuite<>(inputs,
+                                                   maxDepth,
+                                                   prefixes,
+                                                   stateCover.size(),
+                                                   splittingTree.getCharacterizingSet());
+        suite.initLocalSuffixes(automaton, splittingTree, stateCover.size());
+
+        return new ConformanceTestsSpliterator<>(suite, 0, suite.numCells);
+    }
+
+    /**
+     * Returns a spliterator over the given shard of the remaining tests of this spliterator, i.e., the remaining
+     * (middle part, prefix) combinations are partitioned into {@code numShards} contiguous ranges of (almost) equal
+     * size. For a given spliterator, the shards enumerate disjoint sets of tests, whose union is the set of remaining
+     * tests. The shards are independent of each other and of this spliterator.
+     *
+     * @param index
+     *         the index of the shard, in the range {@code [0, numShards - 1]}
+     * @param numShards
+     *         the total number of shards
+     *
+     * @return a spliterator over the given shard
+     *
+     * @throws IllegalArgumentException
+     *         if the index is not a valid shard index
+     * @throws IllegalStateException
+     *         if the tests of a (middle part, prefix) combination have only been traversed partially
+     */
+    public ConformanceTestsSpliterator<I> shard(int index, int numShards) {
+        if (numShards <= 0 || index < 0 || index >= numShards) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + numShards);
+        }
+        if (suffixIdx < suffixes.size()) {
+            throw new IllegalStateException("Cannot shard a partially traversed combination");
+        }
+
+        final long range = fence - cell;
+        final long quotient = range / numShards;
+        final long remainder = range % numShards;
+        final long origin = cell + quotient * index + Math.min(index, remainder);
+        final long end = origin + quotient + (index < remainder ? 1 : 0);
+
+        return new ConformanceTestsSpliterator<>(suite, origin, end);
+    }
+
+    /**
+     * Returns a stream of the remaining tests of this spliterator.
+     *
+     * @param parallel
+     *         whether the stream should be parallel
+     *
+     * @return a stream of the remaining tests
+     */
+    public Stream<Word<I>> stream(boolean parallel) {
+        return StreamSupport.stream(this, parallel);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Word<I>> action) {
+        if (suffixIdx == suffixes.size()) {
+            if (cell == fence) {
+                return false;
+            }
+            expand();
+        }
+
+        action.accept(buildTest(suffixes.get(suffixIdx++)));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Word<I>> action) {
+        while (suffixIdx < suffixes.size()) {
+            action.accept(buildTest(suffixes.get(suffixIdx++)));
+        }
+
+        while (cell < fence) {
+            expand();
+            for (Word<I> suffix : suffixes) {
+                action.accept(buildTest(suffix));
+            }
+            suffixIdx = suffixes.size();
+        }
+    }
+
+    @Nullable
+    @Override
+    public ConformanceTestsSpliterator<I> trySplit() {
+        // the tests of a partially traversed combination precede all other remaining tests
+        if (suffixIdx < suffixes.size() || fence - cell < 2) {
+            return null;
+        }
+
+        final long origin = cell;
+        final long mid = origin + (fence - origin) / 2;
+
+        decode(mid);
+        return new ConformanceTestsSpliterator<>(suite, origin, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return (suffixes.size() - suffixIdx) + suite.estimateTests(cell, fence);
+    }
+
+    @Override
+    public int characteristics() {
+        final int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return suite.localSuffixes == null ? characteristics | Spliterator.SIZED | Spliterator.SUBSIZED :
+                characteristics;
+    }
+
+    /**
+     * Sets the current (middle part, prefix) combination to the one of the given index.
+     */
+    private void decode(long index) {
+        final int numInputs = suite.inputs.size();
+        final int numPrefixes = suite.prefixes.size();
+
+        cell = index;
+        prefix = (int) (index % numPrefixes);
+
+        // middle parts are ordered by length first, and there exist numInputs^l middle parts of length l
+        long m = index / numPrefixes;
+        long count = 1;
+        int length = 0;
+        while (m >= count) {
+            m -= count;
+            count *= numInputs;
+            length++;
+        }
+
+        for (int j = 0; j < length; j++) {
+            middle[j] = (int) (m % numInputs);
+            m /= numInputs;
+        }
+        middleLength = length;
+    }
+
+    /**
+     * Expands the current (middle part, prefix) combination and advances to the next one.
+     */
+    private void expand() {
+        final Word<I> prefixWord = suite.prefixes.get(prefix);
+
+        wordBuilder.ensureAdditionalCapacity(prefixWord.size() + middleLength);
+        wordBuilder.append(prefixWord);
+        for (int j = 0; j < middleLength; j++) {
+            wordBuilder.append(suite.inputs.get(middle[j]));
+        }
+        current = wordBuilder.toWord();
+        wordBuilder.clear();
+
+        suffixes = prefix < suite.numGlobalPrefixes ? suite.globalSuffixes : suite.getLocalSuffixes(prefix, middle,
+                                                                                                   middleLength);
+        suffixIdx = 0;
+
+        cell++;
+        if (++prefix == suite.prefixes.size()) {
+            prefix = 0;
+            increment();
+        }
+    }
+
+    private void increment() {
+        final int numInputs = suite.inputs.size();
+
+        for (int j = 0; j < middleLength; j++) {
+            if (++middle[j] < numInputs) {
+                return;
+            }
+            middle[j] = 0;
+        }
+
+        // all middle parts of the current length have been enumerated (which is not the case for the last one)
+        if (middleLength < middle.length) {
+            middleLength++;
+        }
+    }
+
+    private Word<I> buildTest(Word<I> suffix) {
+        if (suffix.isEmpty()) {
+            return current;
+        }
+
+        wordBuilder.ensureAdditionalCapacity(current.size() + suffix.size());
+        final Word<I> word = wordBuilder.append(current).append(suffix).toWord();
+        wordBuilder.clear();
+        return word;
+    }
+
+    /**
+     * The (immutable) data shared among all spliterators of a test suite.
+     */
+    private static final class TestSuite<I> {
+
+        private final List<I> inputs;
+        private final int maxDepth;
+        private final List<Word<I>> prefixes;
+        // the prefixes with an index smaller than this are combined with the global suffixes
+        private final int numGlobalPrefixes;
+        private final List<Word<I>> globalSuffixes;
+        private final long numCells;
+
+        // the state ids reached by the prefixes, the successor ids for each input (state-major, -1 if undefined) and
+        // the lookup of the local suffixes of each state id, if required
+        private int[] prefixStates;
+        private int[] successors;
+        private IntFunction<List<Word<I>>> localSuffixes;
+        private double avgLocalSuffixes;
+
+        TestSuite(Collection<? extends I> inputs,
+                  int maxDepth,
+                  List<Word<I>> prefixes,
+                  int numGlobalPrefixes,
+                  List<Word<I>> globalSuffixes) {
+            this.inputs = new ArrayList<>(inputs);
+            this.maxDepth = maxDepth;
+            this.prefixes = prefixes;
+            this.numGlobalPrefixes = numGlobalPrefixes;
+            // Special case: List of characterizing suffixes may be empty,
+            // but in this case we still need to iterate over the prefixes!
+            this.globalSuffixes =
+                    globalSuffixes.isEmpty() ? Collections.singletonList(Word.epsilon()) : globalSuffixes;
+
+            // there exist numInputs^l middle parts of length l
+            long numMiddleParts = 1;
+            long count = 1;
+            for (int l = 1; l <= maxDepth && count > 0; l++) {
+                count = Math.multiplyExact(count, this.inputs.size());
+                numMiddleParts = Math.addExact(numMiddleParts, count);
+            }
+            this.numCells = Math.multiplyExact(numMiddleParts, prefixes.size());
+        }
+
+        <S> void initLocalSuffixes(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                   SplittingTree<S, I> splittingTree,
+                                   int numStatePrefixes) {
+            final StateIDs<S> stateIds = automaton.stateIDs();
+            final int numStates = automaton.size();
+            final int numInputs = inputs.size();
+
+            this.successors = new int[numStates * numInputs];
+
+            // the local suffixes are computed lazily (and cached) by the splitting tree, which may be queried by the
+            // spliterators of all threads concurrently
+            this.localSuffixes = s -> {
+                final List<Word<I>> suffixes = splittingTree.getStateCharacterizingSet(stateIds.getState(s));
+                return suffixes.isEmpty() ? Collections.singletonList(Word.epsilon()) : suffixes;
+            };
+
+            long totalLocalSuffixes = 0;
+            for (int s = 0; s < numStates; s++) {
+                final S state = stateIds.getState(s);
+                totalLocalSuffixes += Math.max(splittingTree.getStateCharacterizingSetSize(state), 1);
+
+                for (int i = 0; i < numInputs; i++) {
+                    final S succ = automaton.getSuccessor(state, inputs.get(i));
+                    successors[s * numInputs + i] = succ == null ? -1 : stateIds.getStateId(succ);
+                }
+            }
+            this.avgLocalSuffixes = numStates == 0 ? 1 : (double) totalLocalSuffixes / numStates;
+
+            this.prefixStates = new int[prefixes.size()];
+            for (int p = numStatePrefixes; p < prefixes.size(); p++) {
+                final S state = automaton.getState(prefixes.get(p));
+                prefixStates[p] = state == null ? -1 : stateIds.getStateId(state);
+            }
+        }
+
+        List<Word<I>> getLocalSuffixes(int prefix, int[] middle, int middleLength) {
+            final int numInputs = inputs.size();
+            int state = prefixStates[prefix];
+
+            for (int j = 0; j < middleLength && state >= 0; j++) {
+                state = successors[state * numInputs + middle[j]];
+            }
+
+            return state < 0 ? Collections.singletonList(Word.epsilon()) : localSuffixes.apply(state);
+        }
+
+        /**
+         * Returns the (estimated) number of tests of the (middle part, prefix) combinations in the given range.
+         */
+        long estimateTests(long origin, long fence) {
+            final long numGlobalCells = countGlobalCells(fence) - countGlobalCells(origin);
+            final long globalTests = numGlobalCells * globalSuffixes.size();
+
+            if (localSuffixes == null) {
+                return globalTests;
+            }
+
+            return globalTests + (long) ((fence - origin - numGlobalCells) * avgLocalSuffixes);
+        }
+
+        /**
+         * Returns the number of combinations with a global prefix that precede the given index.
+         */
+        private long countGlobalCells(long index) {
+            final int numPrefixes = prefixes.size();
+            if (numPrefixes == 0) {
+                return 0;
+            }
+            return (index / numPrefixes) * numGlobalPrefixes + Math.min(index % numPrefixes, numGlobalPrefixes);
+        }
+    }
+}
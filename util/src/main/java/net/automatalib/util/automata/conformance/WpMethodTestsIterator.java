@@ -29,11 +29,8 @@ import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.commons.util.collections.AbstractThreeLevelIterator;
 import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.commons.util.collections.DelegatingIterator;
-import net.automatalib.commons.util.collections.ReusableIterator;
-import net.automatalib.commons.util.mappings.MutableMapping;
-import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.cover.Covers;
-import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.util.automata.equivalence.SplittingTree;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
 
@@ -56,24 +53,23 @@ public class WpMethodTestsIterator<I> extends DelegatingIterator<Word<I>> {
         super(buildIterators(automaton, alphabet, maxDepth));
     }
 
-    private static <I> Iterator<Word<I>> buildIterators(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
-                                                        Collection<? extends I> inputs,
-                                                        int maxDepth) {
+    private static <S, I> Iterator<Word<I>> buildIterators(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                           Collection<? extends I> inputs,
+                                                           int maxDepth) {
 
         final Set<Word<I>> stateCover = Sets.newHashSetWithExpectedSize(automaton.size());
         final Set<Word<I>> transitionCover = Sets.newHashSetWithExpectedSize(automaton.size() * inputs.size());
 
         Covers.cover(automaton, inputs, stateCover, transitionCover);
 
-        final Iterable<Word<I>> characterizingSet;
-        final Iterator<Word<I>> characterizingIter = CharacterizingSets.characterizingSetIterator(automaton, inputs);
+        // the global and all local suffixes are derived from a single splitting tree
+        final SplittingTree<S, I> splittingTree = new SplittingTree<>(automaton, inputs);
+        final List<Word<I>> characterizingSet = splittingTree.getCharacterizingSet();
 
         // Special case: List of characterizing suffixes may be empty,
         // but in this case we still need to iterate over the prefixes!
-        if (!characterizingIter.hasNext()) {
-            characterizingSet = Collections.singletonList(Word.epsilon());
-        } else {
-            characterizingSet = new ReusableIterator<>(characterizingIter);
+        if (characterizingSet.isEmpty()) {
+            characterizingSet.add(Word.epsilon());
         }
 
         // Phase 1: state cover * middle part * global suffixes
@@ -83,7 +79,7 @@ public class WpMethodTestsIterator<I> extends DelegatingIterator<Word<I>> {
         // Phase 2: transitions (not in state cover) * middle part * local suffixes
         transitionCover.removeAll(stateCover);
         final Iterator<Word<I>> secondIterator = new SecondPhaseIterator<>(automaton,
-                                                                           inputs,
+                                                                           splittingTree,
                                                                            transitionCover,
                                                                            CollectionsUtil.allTuples(inputs,
                                                                                                      0,
@@ -129,22 +125,20 @@ public class WpMethodTestsIterator<I> extends DelegatingIterator<Word<I>> {
             extends AbstractThreeLevelIterator<List<I>, Word<I>, Word<I>, Word<I>> {
 
         private final UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton;
-        private final Collection<? extends I> inputs;
+        private final SplittingTree<S, I> splittingTree;
 
-        private final MutableMapping<S, List<Word<I>>> localSuffixSets;
         private final Iterable<Word<I>> prefixes;
 
         private final WordBuilder<I> wordBuilder = new WordBuilder<>();
 
         SecondPhaseIterator(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
-                            Collection<? extends I> inputs,
+                            SplittingTree<S, I> splittingTree,
                             Iterable<Word<I>> prefixes,
                             Iterable<List<I>> middleParts) {
             super(middleParts.iterator());
 
             this.automaton = automaton;
-            this.inputs = inputs;
-            this.localSuffixSets = automaton.createStaticStateMapping();
+            this.splittingTree = splittingTree;
             this.prefixes = prefixes;
         }
 
@@ -159,14 +153,11 @@ public class WpMethodTestsIterator<I> extends DelegatingIterator<Word<I>> {
             final S tmp = automaton.getState(prefix);
             final S state = automaton.getSuccessor(tmp, middle);
 
-            List<Word<I>> localSuffixes = localSuffixSets.get(state);
+            // the splitting tree caches the local suffixes of each equivalence class
+            final List<Word<I>> localSuffixes = splittingTree.getStateCharacterizingSet(state);
 
-            if (localSuffixes == null) {
-                localSuffixes = Automata.stateCharacterizingSet(automaton, inputs, state);
-                if (localSuffixes.isEmpty()) {
-                    localSuffixes = Collections.singletonList(Word.epsilon());
-                }
-                localSuffixSets.put(state, localSuffixes);
+            if (localSuffixes.isEmpty()) {
+                return Collections.singletonList(Word.<I>epsilon()).iterator();
             }
 
             return localSuffixes.iterator();
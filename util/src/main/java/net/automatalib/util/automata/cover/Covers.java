@@ -27,6 +27,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import com.google.common.collect.Sets;
 import net.automatalib.automata.DeterministicAutomaton;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
 import net.automatalib.commons.util.mappings.MutableMapping;
 import net.automatalib.words.Word;
 
@@ -181,6 +182,13 @@ public final class Covers {
                                      Consumer<? super Word<I>> states,
                                      Consumer<? super Word<I>> transitions) {
 
+        if (automaton instanceof CompactMealy) {
+            @SuppressWarnings("unchecked")
+            final CompactMealy<I, ?> compact = (CompactMealy<I, ?>) automaton;
+            coverCompact(compact, inputs, states, transitions);
+            return;
+        }
+
         MutableMapping<S, Word<I>> reach = automaton.createStaticStateMapping();
 
         Queue<S> bfsQueue = new ArrayDeque<>();
@@ -214,6 +222,62 @@ public final class Covers {
         }
     }
 
+    /**
+     * Specialized version of {@link #cover(DeterministicAutomaton, Collection, Consumer, Consumer)} for {@link
+     * CompactMealy}s, which operates on the integer representation of states and inputs and does not allocate any
+     * transition objects.
+     */
+    private static <I> void coverCompact(CompactMealy<I, ?> automaton,
+                                         Collection<? extends I> inputs,
+                                         Consumer<? super Word<I>> states,
+                                         Consumer<? super Word<I>> transitions) {
+
+        final int numInputs = inputs.size();
+        final int[] inputIndices = new int[numInputs];
+        @SuppressWarnings("unchecked")
+        final I[] inputSymbols = (I[]) new Object[numInputs];
+
+        int i = 0;
+        for (I in : inputs) {
+            inputIndices[i] = automaton.getInputAlphabet().getSymbolIndex(in);
+            inputSymbols[i] = in;
+            i++;
+        }
+
+        @SuppressWarnings("unchecked")
+        final Word<I>[] reach = new Word[automaton.size()];
+        final int[] bfsQueue = new int[automaton.size()];
+        int head = 0;
+        int tail = 0;
+
+        final int init = automaton.getIntInitialState();
+
+        reach[init] = Word.epsilon();
+        bfsQueue[tail++] = init;
+        states.accept(Word.epsilon());
+
+        while (head < tail) {
+            final int curr = bfsQueue[head++];
+            final Word<I> as = reach[curr];
+
+            for (int j = 0; j < numInputs; j++) {
+                final int succ = automaton.getIntSuccessor(curr, inputIndices[j]);
+                if (succ < 0) {
+                    continue;
+                }
+
+                final Word<I> succAs = as.append(inputSymbols[j]);
+
+                if (reach[succ] == null) {
+                    reach[succ] = succAs;
+                    states.accept(succAs);
+                    bfsQueue[tail++] = succ;
+                }
+                transitions.accept(succAs);
+            }
+        }
+    }
+
     /**
      * Computes an incremental state cover for a given automaton, i.e. a cover that only contains the missing sequences
      * for obtaining a complete state cover.
@@ -45,6 +45,10 @@ import net.automatalib.words.Word;
  * A characterizing set for a single state <i>s</i> is a set <i>W</i> of words such that for every state <i>t</i>, there
  * exists a word <i>w &isin; W</i> such that <i>w</i> exposes a difference between <i>s</i> and <i>t</i>, or there
  * exists no such word at all.
+ * <p>
+ * The state-specific characterizing sets are computed independently of each other. If the characterizing sets of many
+ * states of the same automaton are required (e.g., for the Wp-method), a {@link SplittingTree} should be used instead,
+ * which derives all of them from a single partition refinement run.
  *
  * @author Malte Isberner
  */
@@ -16,20 +16,33 @@
 package net.automatalib.util.automata.equivalence;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.function.IntFunction;
+
+import javax.annotation.Nullable;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
 import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
 
 public class DeterministicEquivalenceTest<I> {
 
     private static final int MAP_THRESHOLD = 10000;
+
+    /**
+     * Products of {@link FullIntAbstraction integer abstractions} with at most this many states track visited states
+     * in a dense array, larger ones in an open-addressing hash map.
+     */
+    static final long DENSE_THRESHOLD = 1 << 22;
     private final UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference;
 
     public DeterministicEquivalenceTest(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference) {
@@ -44,6 +57,13 @@ public class DeterministicEquivalenceTest<I> {
     public static <I, S, T, S2, T2> Word<I> findSeparatingWord(UniversalDeterministicAutomaton<S, I, T, ?, ?> reference,
                                                                UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other,
                                                                Collection<? extends I> inputs) {
+        if (reference instanceof FullIntAbstraction && other instanceof FullIntAbstraction) {
+            final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+            return findSeparatingWordInt(reference.fullIntAbstraction(alphabet),
+                                         other.fullIntAbstraction(alphabet),
+                                         alphabet);
+        }
+
         int refSize = reference.size();
         int totalStates = refSize * other.size();
 
@@ -254,6 +274,165 @@ public class DeterministicEquivalenceTest<I> {
         return sep.toWord();
     }
 
+    /**
+     * Finds a separating word for two automata given by their {@link FullIntAbstraction integer abstractions}, which
+     * must share the same (abstracted) inputs.
+     * <p>
+     * This method performs the same breadth-first search on the product of both automata as {@link
+     * #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)} and hence
+     * returns the same (shortest) separating word. However, it works on integers only: The BFS queue, which also stores
+     * the predecessor and input symbol of each discovered product state, consists of {@code int} arrays, and visited
+     * product states are tracked in a dense {@code int} array or (for large products) an open-addressing hash map
+     * with {@code long} keys. Hence, no objects are allocated per visited product state, and the memory consumption
+     * only depends on the number of reachable product states.
+     *
+     * @param reference
+     *         the integer abstraction of the first automaton
+     * @param other
+     *         the integer abstraction of the second automaton
+     * @param symbols
+     *         the mapping from abstracted inputs to input symbols
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a separating word, or {@code null} if the automata are equivalent
+     */
+    @Nullable
+    public static <I> Word<I> findSeparatingWordInt(FullIntAbstraction<?, ?, ?> reference,
+                                                    FullIntAbstraction<?, ?, ?> other,
+                                                    IntFunction<? extends I> symbols) {
+        return findSeparatingWordInt(reference, other, symbols, DENSE_THRESHOLD);
+    }
+
+    @Nullable
+    static <I> Word<I> findSeparatingWordInt(FullIntAbstraction<?, ?, ?> reference,
+                                             FullIntAbstraction<?, ?, ?> other,
+                                             IntFunction<? extends I> symbols,
+                                             long denseThreshold) {
+        final int refInit = reference.getIntInitialState();
+        final int otherInit = other.getIntInitialState();
+
+        if (refInit < 0 || otherInit < 0) {
+            return refInit == otherInit ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(reference.getStateProperty(refInit), other.getStateProperty(otherInit))) {
+            return Word.epsilon();
+        }
+
+        final int numInputs = reference.numInputs();
+        final int refSize = reference.size();
+        final long productSize = (long) refSize * other.size();
+
+        final IntProductQueue queue = new IntProductQueue();
+        final int[] denseVisited = productSize <= denseThreshold ? new int[(int) productSize] : null;
+        final LongIntHashMap sparseVisited = denseVisited == null ? new LongIntHashMap() : null;
+
+        queue.add(refInit, otherInit, -1, -1);
+        if (denseVisited != null) {
+            denseVisited[otherInit * refSize + refInit] = 1;
+        } else {
+            sparseVisited.put(pack(refInit, otherInit), 0);
+        }
+
+        for (int curr = 0; curr < queue.size; curr++) {
+            final int refState = queue.refStates[curr];
+            final int otherState = queue.otherStates[curr];
+
+            for (int i = 0; i < numInputs; i++) {
+                final int refSucc = reference.getSuccessor(refState, i);
+                final int otherSucc = other.getSuccessor(otherState, i);
+
+                if (refSucc < 0 || otherSucc < 0) {
+                    if (refSucc != otherSucc) {
+                        return buildWord(queue, curr, i, symbols);
+                    }
+                    continue;
+                }
+
+                if (!Objects.equals(reference.getTransitionProperty(refState, i),
+                                    other.getTransitionProperty(otherState, i))) {
+                    return buildWord(queue, curr, i, symbols);
+                }
+
+                final boolean discovered;
+                if (denseVisited != null) {
+                    final int succId = otherSucc * refSize + refSucc;
+                    discovered = denseVisited[succId] == 0;
+                    denseVisited[succId] = 1;
+                } else {
+                    discovered = sparseVisited.putIfAbsent(pack(refSucc, otherSucc), queue.size) < 0;
+                }
+
+                if (discovered) {
+                    if (!Objects.equals(reference.getStateProperty(refSucc), other.getStateProperty(otherSucc))) {
+                        return buildWord(queue, curr, i, symbols);
+                    }
+                    queue.add(refSucc, otherSucc, curr, i);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds a shortest separating word for two automata, exploring their product in parallel. Each level of the
+     * breadth-first search is expanded concurrently, and visited product states are tracked in a concurrent bitmap
+     * (or, for larger products, a concurrent hash set). The parallel work is executed in the {@link
+     * java.util.concurrent.ForkJoinPool} of the calling thread, or the common pool if the method is not invoked from
+     * within a {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * The returned word does not depend on the number of threads. However, it may differ from the one returned by
+     * {@link #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)} if
+     * there are several separating words of minimal length.
+     *
+     * @param reference
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest separating word, or {@code null} if the automata are equivalent
+     */
+    @Nullable
+    public static <I> Word<I> findSeparatingWordParallel(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                         UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                         Collection<? extends I> inputs) {
+        final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+        return ParallelEquivalenceTest.findSeparatingWord(reference.fullIntAbstraction(alphabet),
+                                                          other.fullIntAbstraction(alphabet),
+                                                          alphabet,
+                                                          ParallelEquivalenceTest.BITMAP_THRESHOLD);
+    }
+
+    private static long pack(int refState, int otherState) {
+        return ((long) otherState << Integer.SIZE) | refState;
+    }
+
+    private static <I> Word<I> buildWord(IntProductQueue queue,
+                                         int last,
+                                         int lastSym,
+                                         IntFunction<? extends I> symbols) {
+        int length = 1;
+        for (int idx = last; queue.preds[idx] >= 0; idx = queue.preds[idx]) {
+            length++;
+        }
+
+        final WordBuilder<I> sep = new WordBuilder<>(null, length);
+        int index = length - 1;
+        sep.setSymbol(index--, symbols.apply(lastSym));
+
+        for (int idx = last; queue.preds[idx] >= 0; idx = queue.preds[idx]) {
+            sep.setSymbol(index--, symbols.apply(queue.symbols[idx]));
+        }
+
+        return sep.toWord();
+    }
+
     private static final class StatePair<S, S2> {
 
         public final S ref;
@@ -275,4 +454,120 @@ public class DeterministicEquivalenceTest<I> {
             this.symbol = input;
         }
     }
+
+    /**
+     * The BFS queue of the integer-based product search. Entries are never removed, so that the predecessor index and
+     * input symbol of each entry can be used to reconstruct the path leading to it.
+     */
+    private static final class IntProductQueue {
+
+        private static final int DEFAULT_INIT_CAPACITY = 16;
+
+        int[] refStates = new int[DEFAULT_INIT_CAPACITY];
+        int[] otherStates = new int[DEFAULT_INIT_CAPACITY];
+        int[] preds = new int[DEFAULT_INIT_CAPACITY];
+        int[] symbols = new int[DEFAULT_INIT_CAPACITY];
+        int size;
+
+        void add(int refState, int otherState, int pred, int symbol) {
+            if (size == refStates.length) {
+                final int newCapacity = size + (size >> 1);
+                refStates = Arrays.copyOf(refStates, newCapacity);
+                otherStates = Arrays.copyOf(otherStates, newCapacity);
+                preds = Arrays.copyOf(preds, newCapacity);
+                symbols = Arrays.copyOf(symbols, newCapacity);
+            }
+            refStates[size] = refState;
+            otherStates[size] = otherState;
+            preds[size] = pred;
+            symbols[size] = symbol;
+            size++;
+        }
+    }
+
+    /**
+     * A minimal open-addressing (linear probing) hash map from non-negative {@code long} keys to {@code int} values.
+     */
+    static final class LongIntHashMap {
+
+        private static final long EMPTY = -1L;
+        private static final int DEFAULT_INIT_CAPACITY = 1 << 10;
+
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        LongIntHashMap() {
+            this.keys = new long[DEFAULT_INIT_CAPACITY];
+            this.values = new int[DEFAULT_INIT_CAPACITY];
+            this.mask = DEFAULT_INIT_CAPACITY - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void put(long key, int value) {
+            final int slot = findSlot(key);
+            if (keys[slot] == EMPTY) {
+                insert(slot, key, value);
+            } else {
+                values[slot] = value;
+            }
+        }
+
+        /**
+         * Associates the given value with the given key, unless the key is already contained in the map.
+         *
+         * @return the previously associated value, or {@code -1} if the key has been inserted
+         */
+        int putIfAbsent(long key, int value) {
+            final int slot = findSlot(key);
+            if (keys[slot] == EMPTY) {
+                insert(slot, key, value);
+                return -1;
+            }
+            return values[slot];
+        }
+
+        private int findSlot(long key) {
+            int slot = slot(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void insert(int slot, long key, int value) {
+            keys[slot] = key;
+            values[slot] = value;
+            // keep the load factor below 1/2
+            if (++size > (mask >> 1)) {
+                rehash();
+            }
+        }
+
+        private int slot(long key) {
+            final long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private void rehash() {
+            final long[] oldKeys = keys;
+            final int[] oldValues = values;
+            final int newCapacity = oldKeys.length << 1;
+
+            keys = new long[newCapacity];
+            values = new int[newCapacity];
+            mask = newCapacity - 1;
+            Arrays.fill(keys, EMPTY);
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                final long key = oldKeys[i];
+                if (key != EMPTY) {
+                    final int slot = findSlot(key);
+                    keys[slot] = key;
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
 }
@@ -20,6 +20,8 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Queue;
 
+import javax.annotation.Nullable;
+
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.concepts.StateIDs;
@@ -28,6 +30,7 @@ import net.automatalib.commons.util.UnionFindRemSP;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
 
 public class NearLinearEquivalenceTest<I> {
 
@@ -406,6 +409,62 @@ public class NearLinearEquivalenceTest<I> {
         return wb.toWord();
     }
 
+    /**
+     * Finds a separating word for two automata, merging the states of both automata in a concurrent union-find
+     * structure. Each level of the exploration is processed in parallel, using the {@link
+     * java.util.concurrent.ForkJoinPool} of the calling thread, or the common pool if the method is not invoked from
+     * within a {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * Whether a separating word is returned does not depend on the number of threads. However, the returned word
+     * itself may depend on the scheduling and (as for the sequential variant) is not necessarily a shortest one.
+     *
+     * @param target
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a separating word, or {@code null} if the automata are equivalent
+     */
+    @Nullable
+    public static <I> Word<I> findSeparatingWordParallel(UniversalDeterministicAutomaton<?, I, ?, ?, ?> target,
+                                                         UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                         Collection<? extends I> inputs) {
+        return findSeparatingWordParallel(target, other, inputs, false);
+    }
+
+    /**
+     * Finds a separating word for two automata, exploring their states in parallel. See {@link
+     * #findSeparatingWordParallel(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)}.
+     *
+     * @param target
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param ignoreUndefinedTransitions
+     *         flag indicating whether undefined transitions (in either automaton) should be ignored
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a separating word, or {@code null} if the automata are equivalent
+     */
+    @Nullable
+    public static <I> Word<I> findSeparatingWordParallel(UniversalDeterministicAutomaton<?, I, ?, ?, ?> target,
+                                                         UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                         Collection<? extends I> inputs,
+                                                         boolean ignoreUndefinedTransitions) {
+        final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+        return ParallelNearLinearEquivalenceTest.findSeparatingWord(target.fullIntAbstraction(alphabet),
+                                                                    other.fullIntAbstraction(alphabet),
+                                                                    alphabet,
+                                                                    ignoreUndefinedTransitions);
+    }
+
     private static final class Record<S, S2, I> {
 
         private final S state1;
@@ -0,0 +1,319 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest.LongIntHashMap;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A parallel, level-synchronous breadth-first search for separating words on the product of two {@link
+ * FullIntAbstraction integer abstractions}.
+ * <p>
+ * The product states of each BFS level are stored as a sorted array of packed {@code (reference, other)} pairs. A
+ * level is expanded by splitting it into chunks that are processed in parallel, where newly discovered product states
+ * are claimed in a concurrent visited set (a CAS-based bitmap over the product, or a lock-striped hash set for larger
+ * products). The claimed states form the next level. All parallel work is executed via parallel streams, i.e.,
+ * in the {@link java.util.concurrent.ForkJoinPool} of the calling thread (or the common pool).
+ * <p>
+ * A difference discovered while expanding level {@code n} yields a separating word of length {@code n + 1}, hence the
+ * search always completes the current level and picks the difference with the smallest (position, input) index.
+ * Instead of storing a predecessor for each product state, the path to this difference is reconstructed backwards by
+ * searching each previous level for the first transition into the current state. Since the levels are sorted, the
+ * returned (shortest) separating word does not depend on the number of threads or their scheduling.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+final class ParallelEquivalenceTest {
+
+    /**
+     * Products with at most this many states track visited states in a bitmap (of at most 4 MiB), larger ones in a
+     * hash set. The bitmap is allocated for the complete product, whereas the hash set only grows with the reachable
+     * part, which is typically much smaller than the product of two large automata.
+     */
+    static final long BITMAP_THRESHOLD = 1L << 25;
+
+    private static final int CHUNK_SIZE = 1 << 12;
+    private static final long NO_DIFFERENCE = Long.MAX_VALUE;
+
+    private final FullIntAbstraction<?, ?, ?> reference;
+    private final FullIntAbstraction<?, ?, ?> other;
+    private final int numInputs;
+    private final VisitedSet visited;
+
+    private ParallelEquivalenceTest(FullIntAbstraction<?, ?, ?> reference,
+                                    FullIntAbstraction<?, ?, ?> other,
+                                    long bitmapThreshold) {
+        this.reference = reference;
+        this.other = other;
+        this.numInputs = reference.numInputs();
+
+        final long productSize = (long) reference.size() * other.size();
+        this.visited = productSize <= bitmapThreshold ?
+                new ConcurrentBitmap(reference.size(), productSize) :
+                new StripedHashSet();
+    }
+
+    @Nullable
+    static <I> Word<I> findSeparatingWord(FullIntAbstraction<?, ?, ?> reference,
+                                          FullIntAbstraction<?, ?, ?> other,
+                                          IntFunction<? extends I> symbols,
+                                          long bitmapThreshold) {
+        final int refInit = reference.getIntInitialState();
+        final int otherInit = other.getIntInitialState();
+
+        if (refInit < 0 || otherInit < 0) {
+            return refInit == otherInit ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(reference.getStateProperty(refInit), other.getStateProperty(otherInit))) {
+            return Word.epsilon();
+        }
+
+        return new ParallelEquivalenceTest(reference, other, bitmapThreshold).search(refInit, otherInit, symbols);
+    }
+
+    @Nullable
+    private <I> Word<I> search(int refInit, int otherInit, IntFunction<? extends I> symbols) {
+        final List<long[]> levels = new ArrayList<>();
+
+        visited.add(refInit, otherInit);
+        long[] frontier = {pack(refInit, otherInit)};
+
+        while (frontier.length > 0) {
+            levels.add(frontier);
+
+            final long[] level = frontier;
+            final int numChunks = (level.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final long[][] discovered = new long[numChunks][];
+            final AtomicLong difference = new AtomicLong(NO_DIFFERENCE);
+
+            IntStream.range(0, numChunks).parallel().forEach(c -> discovered[c] = expand(level, c, difference));
+
+            final long diff = difference.get();
+            if (diff != NO_DIFFERENCE) {
+                return buildWord(levels, (int) (diff / numInputs), (int) (diff % numInputs), symbols);
+            }
+
+            frontier = concat(discovered);
+            Arrays.parallelSort(frontier);
+        }
+
+        return null;
+    }
+
+    /**
+     * Expands the given chunk of a level, records the smallest (position, input) index of a difference in {@code
+     * difference}, and returns the product states claimed by this chunk.
+     */
+    private long[] expand(long[] level, int chunk, AtomicLong difference) {
+        final int low = chunk * CHUNK_SIZE;
+        final int high = Math.min(low + CHUNK_SIZE, level.length);
+
+        long[] result = new long[16];
+        int size = 0;
+
+        for (int idx = low; idx < high; idx++) {
+            final long code = (long) idx * numInputs;
+
+            // differences of previous chunks cannot be beaten anymore
+            if (code > difference.get()) {
+                break;
+            }
+
+            final int refState = refState(level[idx]);
+            final int otherState = otherState(level[idx]);
+
+            for (int i = 0; i < numInputs; i++) {
+                final int refSucc = reference.getSuccessor(refState, i);
+                final int otherSucc = other.getSuccessor(otherState, i);
+
+                if (refSucc < 0 || otherSucc < 0) {
+                    if (refSucc != otherSucc) {
+                        difference.accumulateAndGet(code + i, Math::min);
+                        break;
+                    }
+                    continue;
+                }
+
+                // the state properties need to be checked for every transition into a new state, not only for the
+                // one that claims it, so that the detected difference does not depend on the thread scheduling
+                if (!Objects.equals(reference.getTransitionProperty(refState, i),
+                                    other.getTransitionProperty(otherState, i)) ||
+                    !Objects.equals(reference.getStateProperty(refSucc), other.getStateProperty(otherSucc))) {
+                    difference.accumulateAndGet(code + i, Math::min);
+                    break;
+                }
+
+                if (visited.add(refSucc, otherSucc)) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2);
+                    }
+                    result[size++] = pack(refSucc, otherSucc);
+                }
+            }
+        }
+
+        return Arrays.copyOf(result, size);
+    }
+
+    private <I> Word<I> buildWord(List<long[]> levels, int idx, int input, IntFunction<? extends I> symbols) {
+        final int depth = levels.size() - 1;
+        final WordBuilder<I> sep = new WordBuilder<>(null, depth + 1);
+        sep.setSymbol(depth, symbols.apply(input));
+
+        long target = levels.get(depth)[idx];
+
+        for (int l = depth; l > 0; l--) {
+            final long[] prev = levels.get(l - 1);
+            final long t = target;
+            final int pred = IntStream.range(0, prev.length)
+                                      .parallel()
+                                      .filter(j -> findInput(prev[j], t) >= 0)
+                                      .findFirst()
+                                      .getAsInt();
+
+            sep.setSymbol(l - 1, symbols.apply(findInput(prev[pred], target)));
+            target = prev[pred];
+        }
+
+        return sep.toWord();
+    }
+
+    /**
+     * Returns the smallest input that leads from the given source to the given target product state, or {@code -1} if
+     * there is no such input.
+     */
+    private int findInput(long source, long target) {
+        final int refState = refState(source);
+        final int otherState = otherState(source);
+
+        for (int i = 0; i < numInputs; i++) {
+            final int refSucc = reference.getSuccessor(refState, i);
+            final int otherSucc = other.getSuccessor(otherState, i);
+            if (refSucc >= 0 && otherSucc >= 0 && pack(refSucc, otherSucc) == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static long[] concat(long[][] arrays) {
+        int size = 0;
+        for (long[] a : arrays) {
+            size += a.length;
+        }
+
+        final long[] result = new long[size];
+        int offset = 0;
+        for (long[] a : arrays) {
+            System.arraycopy(a, 0, result, offset, a.length);
+            offset += a.length;
+        }
+
+        return result;
+    }
+
+    private static long pack(int refState, int otherState) {
+        return ((long) otherState << Integer.SIZE) | refState;
+    }
+
+    private static int refState(long pair) {
+        return (int) pair;
+    }
+
+    private static int otherState(long pair) {
+        return (int) (pair >>> Integer.SIZE);
+    }
+
+    private interface VisitedSet {
+
+        /**
+         * Marks the given product state as visited.
+         *
+         * @return {@code true} if the state has not been visited before, {@code false} otherwise
+         */
+        boolean add(int refState, int otherState);
+    }
+
+    private static final class ConcurrentBitmap implements VisitedSet {
+
+        private final AtomicLongArray words;
+        private final int refSize;
+
+        ConcurrentBitmap(int refSize, long productSize) {
+            this.words = new AtomicLongArray((int) ((productSize + Long.SIZE - 1) >>> 6));
+            this.refSize = refSize;
+        }
+
+        @Override
+        public boolean add(int refState, int otherState) {
+            final long idx = (long) otherState * refSize + refState;
+            final int word = (int) (idx >>> 6);
+            final long mask = 1L << idx;
+
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & mask) != 0) {
+                    return false;
+                }
+            } while (!words.compareAndSet(word, old, old | mask));
+
+            return true;
+        }
+    }
+
+    private static final class StripedHashSet implements VisitedSet {
+
+        private static final int NUM_STRIPES_LOG = 6;
+
+        private final LongIntHashMap[] stripes = new LongIntHashMap[1 << NUM_STRIPES_LOG];
+
+        StripedHashSet() {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new LongIntHashMap();
+            }
+        }
+
+        @Override
+        public boolean add(int refState, int otherState) {
+            final long key = pack(refState, otherState);
+            // use different hash bits than the stripes themselves
+            final int idx = (int) ((key * 0xC2B2AE3D27D4EB4FL) >>> (Long.SIZE - NUM_STRIPES_LOG));
+            final LongIntHashMap stripe = stripes[idx];
+
+            synchronized (stripe) {
+                return stripe.putIfAbsent(key, 0) < 0;
+            }
+        }
+    }
+}
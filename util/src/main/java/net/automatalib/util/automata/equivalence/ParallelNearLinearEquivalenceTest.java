@@ -0,0 +1,245 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.commons.util.ConcurrentUnionFind;
+import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A parallel version of the (Hopcroft-Karp style) near-linear equivalence test of {@link NearLinearEquivalenceTest},
+ * operating on {@link FullIntAbstraction integer abstractions}.
+ * <p>
+ * The pairs of states whose equivalence is assumed (and needs to be verified) are processed level by level. Each
+ * level is split into chunks that are processed in parallel, where the successor pairs are merged in a {@link
+ * ConcurrentUnionFind}. Since a union of two sets succeeds for exactly one thread, each merged pair is scheduled for
+ * verification exactly once, as in the sequential algorithm. All parallel work is executed via parallel streams, i.e.,
+ * in the {@link java.util.concurrent.ForkJoinPool} of the calling thread (or the common pool).
+ * <p>
+ * Whether a separating word is found does not depend on the thread scheduling. The word itself, however, may (just
+ * like the one of the sequential algorithm, it is not necessarily a shortest one).
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+final class ParallelNearLinearEquivalenceTest {
+
+    private static final int CHUNK_SIZE = 1 << 12;
+    private static final long NO_DIFFERENCE = Long.MAX_VALUE;
+
+    private final FullIntAbstraction<?, ?, ?> target;
+    private final FullIntAbstraction<?, ?, ?> other;
+    private final boolean ignoreUndefinedTransitions;
+    private final int numInputs;
+    private final int targetSize;
+    private final IntDisjointSets uf;
+
+    private ParallelNearLinearEquivalenceTest(FullIntAbstraction<?, ?, ?> target,
+                                              FullIntAbstraction<?, ?, ?> other,
+                                              boolean ignoreUndefinedTransitions) {
+        this.target = target;
+        this.other = other;
+        this.ignoreUndefinedTransitions = ignoreUndefinedTransitions;
+        this.numInputs = target.numInputs();
+        this.targetSize = target.size();
+        this.uf = new ConcurrentUnionFind(targetSize + other.size());
+    }
+
+    @Nullable
+    static <I> Word<I> findSeparatingWord(FullIntAbstraction<?, ?, ?> target,
+                                          FullIntAbstraction<?, ?, ?> other,
+                                          IntFunction<? extends I> symbols,
+                                          boolean ignoreUndefinedTransitions) {
+        final int init1 = target.getIntInitialState();
+        final int init2 = other.getIntInitialState();
+
+        if (init1 < 0 || init2 < 0) {
+            return init1 == init2 ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(target.getStateProperty(init1), other.getStateProperty(init2))) {
+            return Word.epsilon();
+        }
+
+        return new ParallelNearLinearEquivalenceTest(target, other, ignoreUndefinedTransitions).search(init1,
+                                                                                                       init2,
+                                                                                                       symbols);
+    }
+
+    @Nullable
+    private <I> Word<I> search(int init1, int init2, IntFunction<? extends I> symbols) {
+        final List<Level> levels = new ArrayList<>();
+
+        uf.link(init1, init2 + targetSize);
+
+        Level level = new Level(1);
+        level.add(pack(init1, init2), -1, -1);
+
+        while (level.size > 0) {
+            levels.add(level);
+
+            final Level curr = level;
+            final int numChunks = (curr.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final Level[] merged = new Level[numChunks];
+            final AtomicLong difference = new AtomicLong(NO_DIFFERENCE);
+
+            IntStream.range(0, numChunks).parallel().forEach(c -> merged[c] = expand(curr, c, difference));
+
+            final long diff = difference.get();
+            if (diff != NO_DIFFERENCE) {
+                return buildWord(levels, (int) (diff / numInputs), (int) (diff % numInputs), symbols);
+            }
+
+            level = Level.concat(merged);
+        }
+
+        return null;
+    }
+
+    /**
+     * Processes the given chunk of a level, records the smallest (position, input) index of a difference in {@code
+     * difference}, and returns the successor pairs that have been merged by this chunk.
+     */
+    private Level expand(Level level, int chunk, AtomicLong difference) {
+        final int low = chunk * CHUNK_SIZE;
+        final int high = Math.min(low + CHUNK_SIZE, level.size);
+        final Level result = new Level(16);
+
+        for (int idx = low; idx < high; idx++) {
+            final long code = (long) idx * numInputs;
+
+            if (code > difference.get()) {
+                break;
+            }
+
+            final long pair = level.pairs[idx];
+            final int state1 = (int) pair;
+            final int state2 = (int) (pair >>> Integer.SIZE);
+
+            for (int i = 0; i < numInputs; i++) {
+                final int succ1 = target.getSuccessor(state1, i);
+                final int succ2 = other.getSuccessor(state2, i);
+
+                if (succ1 < 0 || succ2 < 0) {
+                    if (!ignoreUndefinedTransitions && succ1 != succ2) {
+                        difference.accumulateAndGet(code + i, Math::min);
+                        break;
+                    }
+                    continue;
+                }
+
+                if (!Objects.equals(target.getTransitionProperty(state1, i),
+                                    other.getTransitionProperty(state2, i))) {
+                    difference.accumulateAndGet(code + i, Math::min);
+                    break;
+                }
+
+                if (!uf.union(succ1, succ2 + targetSize)) {
+                    continue;
+                }
+
+                if (!Objects.equals(target.getStateProperty(succ1), other.getStateProperty(succ2))) {
+                    difference.accumulateAndGet(code + i, Math::min);
+                    break;
+                }
+
+                result.add(pack(succ1, succ2), idx, i);
+            }
+        }
+
+        return result;
+    }
+
+    private static <I> Word<I> buildWord(List<Level> levels, int idx, int input, IntFunction<? extends I> symbols) {
+        final int depth = levels.size() - 1;
+        final WordBuilder<I> wb = new WordBuilder<>(null, depth + 1);
+        wb.setSymbol(depth, symbols.apply(input));
+
+        int curr = idx;
+        for (int l = depth; l > 0; l--) {
+            final Level level = levels.get(l);
+            wb.setSymbol(l - 1, symbols.apply(level.symbols[curr]));
+            curr = level.preds[curr];
+        }
+
+        return wb.toWord();
+    }
+
+    private static long pack(int state1, int state2) {
+        return ((long) state2 << Integer.SIZE) | state1;
+    }
+
+    /**
+     * The pairs of a single level, together with the index of their predecessor pair (in the previous level) and the
+     * input symbol leading to them.
+     */
+    private static final class Level {
+
+        long[] pairs;
+        int[] preds;
+        int[] symbols;
+        int size;
+
+        Level(int capacity) {
+            this.pairs = new long[capacity];
+            this.preds = new int[capacity];
+            this.symbols = new int[capacity];
+        }
+
+        void add(long pair, int pred, int symbol) {
+            if (size == pairs.length) {
+                final int newCapacity = size * 2;
+                pairs = Arrays.copyOf(pairs, newCapacity);
+                preds = Arrays.copyOf(preds, newCapacity);
+                symbols = Arrays.copyOf(symbols, newCapacity);
+            }
+            pairs[size] = pair;
+            preds[size] = pred;
+            symbols[size] = symbol;
+            size++;
+        }
+
+        static Level concat(Level[] levels) {
+            int size = 0;
+            for (Level l : levels) {
+                size += l.size;
+            }
+
+            final Level result = new Level(size);
+            for (Level l : levels) {
+                System.arraycopy(l.pairs, 0, result.pairs, result.size, l.size);
+                System.arraycopy(l.preds, 0, result.preds, result.size, l.size);
+                System.arraycopy(l.symbols, 0, result.symbols, result.size, l.size);
+                result.size += l.size;
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,818 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntUnaryOperator;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Word;
+
+/**
+ * A splitting tree (in the sense of Lee and Yannakakis) of a deterministic automaton, computed by a single partition
+ * refinement run.
+ * <p>
+ * Each node of the tree represents a set of states, and each inner node is labeled with a word that exposes a
+ * difference between any two states contained in different children. The leaves of the tree are the equivalence
+ * classes of the automaton, and the word separating two states is the one of the lowest common ancestor of their
+ * leaves.
+ * <p>
+ * The tree is first split according to the given initial suffixes, the state properties and the transitions for single
+ * input symbols. Afterwards, a leaf is split by an input symbol {@code a}, if the {@code a}-successors of its states
+ * lie in different leaves. The resulting children are determined by the child of the lowest common ancestor (of the
+ * leaves of the successors) that contains the respective successor, and the new word is {@code a} followed by the word
+ * of this ancestor (choosing the input that yields the shortest word). Only the leaves containing predecessors of split
+ * leaves are re-examined, so the overall effort (apart from the length of the computed words) corresponds to that of a
+ * Moore-style minimization.
+ * <p>
+ * Since the trace of a word also exposes all differences exposed by its prefixes, a single word may separate the
+ * children of many nodes. Therefore, the characterizing set is not formed by all words of the inner nodes, but is
+ * reduced greedily: the words are considered in order of decreasing length and only kept if they are required to
+ * separate states that are not separated by the previously kept words yet. The characterizing set of a single state
+ * consists of those kept words that split the class of the state (w.r.t. the previously kept words), and hence is a
+ * subset of the global characterizing set, as required by the Wp-method. The state-specific sets are shared by all
+ * equivalent states and are cached, so that repeated queries do not re-compute any separating words.
+ * <p>
+ * Once constructed, the tree may be queried by multiple threads concurrently.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+public final class SplittingTree<S, I> {
+
+    private static final int NO_INPUT = -1;
+
+    private final StateIDs<S> stateIds;
+    private final List<I> inputs;
+
+    // the states of each node are stored in blockData[low[node]], ..., blockData[high[node] - 1]
+    private final int[] blockData;
+    private final int[] posData;
+    private final int[] leafOf;
+
+    private final int[] low;
+    private final int[] high;
+    private final int[] parent;
+    // the children of each node have consecutive IDs and are ordered by their low index
+    private final int[] firstChild;
+    private final int[] numChildren;
+    // the word of an inner node is either stored explicitly, or given by an input and the node whose word follows
+    private final int[] wordInput;
+    private final int[] wordNext;
+    private final int[] wordLength;
+    private final Word<I>[] words;
+    private int numNodes;
+
+    private final List<Word<I>> characterizingSet;
+    // for each leaf, the indices (in the characterizing set) of the words that split the class of its states
+    private final int[][] leafWordIndices;
+    // the (lazily computed) characterizing set of the states of each leaf
+    private final AtomicReferenceArray<List<Word<I>>> stateSets;
+
+    /**
+     * Constructor. Computes the splitting tree of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     */
+    public SplittingTree(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, Collection<? extends I> inputs) {
+        this(automaton, inputs, Collections.emptyList());
+    }
+
+    /**
+     * Constructor. Computes the splitting tree of the given automaton, where the topmost splits are induced by the
+     * given suffixes (as far as they expose differences between states).
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param initialSuffixes
+     *         the suffixes used for the initial splits
+     */
+    @SuppressWarnings("unchecked")
+    public SplittingTree(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                         Collection<? extends I> inputs,
+                         Collection<? extends Word<I>> initialSuffixes) {
+        this.stateIds = automaton.stateIDs();
+        this.inputs = new ArrayList<>(inputs);
+
+        final int numStates = automaton.size();
+        final int maxNodes = Math.max(2 * numStates - 1, 1);
+
+        this.blockData = new int[numStates];
+        this.posData = new int[numStates];
+        this.leafOf = new int[numStates];
+        this.low = new int[maxNodes];
+        this.high = new int[maxNodes];
+        this.parent = new int[maxNodes];
+        this.firstChild = new int[maxNodes];
+        this.numChildren = new int[maxNodes];
+        this.wordInput = new int[maxNodes];
+        this.wordNext = new int[maxNodes];
+        this.wordLength = new int[maxNodes];
+        this.words = new Word[maxNodes];
+        this.leafWordIndices = new int[maxNodes][];
+        this.stateSets = new AtomicReferenceArray<>(maxNodes);
+
+        for (int i = 0; i < numStates; i++) {
+            blockData[i] = i;
+            posData[i] = i;
+        }
+        this.high[0] = numStates;
+        this.parent[0] = -1;
+        this.numNodes = 1;
+
+        this.characterizingSet = new Refinement<>(automaton).run(initialSuffixes);
+    }
+
+    /**
+     * Returns a characterizing set for the automaton. The set starts with the initial suffixes (if any), followed by
+     * the (reduced) words of the inner nodes of the tree.
+     *
+     * @return the characterizing set
+     */
+    public List<Word<I>> getCharacterizingSet() {
+        return new ArrayList<>(characterizingSet);
+    }
+
+    /**
+     * Returns a characterizing set for the given state, i.e., the words of the {@link #getCharacterizingSet()
+     * characterizing set} that separate the state from any states that are not separated from it by the preceding
+     * words. The result is cached, so that it is shared among all equivalent states.
+     *
+     * @param state
+     *         the state
+     *
+     * @return the (unmodifiable) characterizing set for the given state
+     */
+    public List<Word<I>> getStateCharacterizingSet(S state) {
+        final int leaf = leafOf[stateIds.getStateId(state)];
+        final List<Word<I>> cached = stateSets.get(leaf);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // concurrent calls may compute the (equal) set redundantly, but all of them return the first stored one
+        final List<Word<I>> result = computeStateCharacterizingSet(leaf);
+        return stateSets.compareAndSet(leaf, null, result) ? result : stateSets.get(leaf);
+    }
+
+    /**
+     * Returns the size of the {@link #getStateCharacterizingSet(Object) characterizing set} for the given state,
+     * without constructing the set itself.
+     *
+     * @param state
+     *         the state
+     *
+     * @return the size of the characterizing set for the given state
+     */
+    public int getStateCharacterizingSetSize(S state) {
+        return leafWordIndices[leafOf[stateIds.getStateId(state)]].length;
+    }
+
+    /**
+     * Returns a word that exposes a difference between the given states, i.e., the word of the lowest common ancestor
+     * of their leaves.
+     *
+     * @param s1
+     *         the first state
+     * @param s2
+     *         the second state
+     *
+     * @return a separating word, or {@code null} if the states are equivalent
+     */
+    @Nullable
+    public Word<I> findSeparatingWord(S s1, S s2) {
+        final int id1 = stateIds.getStateId(s1);
+        final int id2 = stateIds.getStateId(s2);
+        final int leaf = leafOf[id1];
+
+        if (leaf == leafOf[id2]) {
+            return null;
+        }
+
+        return getWord(findAncestor(leaf, posData[id2]));
+    }
+
+    private List<Word<I>> computeStateCharacterizingSet(int leaf) {
+        final int[] indices = leafWordIndices[leaf];
+        final List<Word<I>> result = new ArrayList<>(indices.length);
+        for (int idx : indices) {
+            result.add(characterizingSet.get(idx));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the lowest ancestor of the given node (or the node itself) whose states contain the given position.
+     */
+    private int findAncestor(int node, int pos) {
+        int curr = node;
+        while (pos < low[curr] || pos >= high[curr]) {
+            curr = parent[curr];
+        }
+        return curr;
+    }
+
+    private Word<I> getWord(int node) {
+        if (words[node] != null) {
+            return words[node];
+        }
+
+        // materialize the chain of uncached words iteratively, to not overflow the call stack
+        final List<Integer> chain = new ArrayList<>();
+        int curr = node;
+        while (words[curr] == null) {
+            chain.add(curr);
+            curr = wordNext[curr];
+        }
+
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            final int n = chain.get(i);
+            words[n] = words[wordNext[n]].prepend(inputs.get(wordInput[n]));
+        }
+
+        return words[node];
+    }
+
+    /**
+     * Splits the given leaf according to the given keys (indexed by the position of the states in {@link #blockData}),
+     * and labels it with the given word.
+     *
+     * @return {@code true} if the leaf has been split, {@code false} if all keys are equal
+     */
+    private boolean split(int leaf, int[] keys, @Nullable Word<I> word, int input, int next) {
+        final int lo = low[leaf];
+        final int hi = high[leaf];
+
+        final int firstKey = keys[lo];
+        int i = lo + 1;
+        while (i < hi && keys[i] == firstKey) {
+            i++;
+        }
+        if (i == hi) {
+            return false;
+        }
+
+        final long[] sorted = new long[hi - lo];
+        for (int j = lo; j < hi; j++) {
+            sorted[j - lo] = ((long) keys[j] << Integer.SIZE) | blockData[j];
+        }
+        Arrays.sort(sorted);
+
+        firstChild[leaf] = numNodes;
+        words[leaf] = word;
+        wordInput[leaf] = input;
+        wordNext[leaf] = next;
+        wordLength[leaf] = word == null ? 1 + wordLength[next] : word.length();
+
+        int child = -1;
+        int currKey = 0;
+        for (int j = 0; j < sorted.length; j++) {
+            final int key = (int) (sorted[j] >>> Integer.SIZE);
+            final int state = (int) sorted[j];
+            final int pos = lo + j;
+
+            if (child < 0 || key != currKey) {
+                if (child >= 0) {
+                    high[child] = pos;
+                }
+                child = numNodes++;
+                currKey = key;
+                low[child] = pos;
+                parent[child] = leaf;
+                numChildren[leaf]++;
+            }
+
+            blockData[pos] = state;
+            posData[state] = pos;
+            leafOf[state] = child;
+        }
+        high[child] = hi;
+
+        return true;
+    }
+
+    /**
+     * The refinement procedure, holding the data that is only required during the construction of the tree.
+     */
+    private final class Refinement<T> {
+
+        private final UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton;
+        private final int numStates;
+        private final int numInputs;
+        // the successor of each state (state-major) for each input, or -1 if undefined
+        private final int[] successors;
+        // the predecessors of each state for each input (input-major), in CSR format
+        private final int[] predOfs;
+        private final int[] preds;
+        // the (dictionary-coded) property of each state and each transition (state-major, -1 if undefined)
+        private final int[] stateProperties;
+        private final int[] transitionProperties;
+        private final int[] keys;
+        // buffers for relabeling the classes of states, see #relabel(int[], int[])
+        private final int[] values;
+        private final int[] order;
+        private final int[] classOfs;
+        private final int[] valueIds;
+        private final int[] valueStamps;
+        private int stamp;
+        // buffers for refining the classes by a selected word, see #refineClasses(int[], Word, int[], int, List[], int)
+        private final int[] previousClasses;
+        private final int[] representatives;
+        private final boolean[] splitClasses;
+        private final int[] traceStates;
+
+        Refinement(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton) {
+            this.automaton = automaton;
+            this.numStates = automaton.size();
+            this.numInputs = inputs.size();
+            this.successors = new int[numStates * numInputs];
+            this.predOfs = new int[numStates * numInputs + 1];
+            this.stateProperties = new int[numStates];
+            this.transitionProperties = new int[numStates * numInputs];
+            this.keys = new int[numStates];
+            this.values = new int[numStates];
+            this.order = new int[numStates];
+            this.classOfs = new int[numStates + 1];
+            this.previousClasses = new int[numStates];
+            this.representatives = new int[numStates];
+            this.splitClasses = new boolean[numStates];
+            this.traceStates = new int[numStates];
+
+            final Map<Object, Integer> stateProps = new HashMap<>();
+            final Map<Object, Integer> transProps = new HashMap<>();
+
+            for (int s = 0; s < numStates; s++) {
+                final S state = stateIds.getState(s);
+                stateProperties[s] = stateProps.computeIfAbsent(automaton.getStateProperty(state),
+                                                                k -> stateProps.size());
+                for (int i = 0; i < numInputs; i++) {
+                    final int idx = s * numInputs + i;
+                    final T trans = automaton.getTransition(state, inputs.get(i));
+                    if (trans == null) {
+                        successors[idx] = -1;
+                        transitionProperties[idx] = -1;
+                    } else {
+                        final int succ = stateIds.getStateId(automaton.getSuccessor(trans));
+                        successors[idx] = succ;
+                        transitionProperties[idx] = transProps.computeIfAbsent(automaton.getTransitionProperty(trans),
+                                                                               k -> transProps.size());
+                        predOfs[i * numStates + succ + 1]++;
+                    }
+                }
+            }
+
+            for (int j = 1; j < predOfs.length; j++) {
+                predOfs[j] += predOfs[j - 1];
+            }
+
+            // values range from -1 (undefined) to the number of property values (or states, for trace ids) - 1
+            final int numValues = Math.max(numStates, Math.max(stateProps.size(), transProps.size())) + 1;
+            this.valueIds = new int[numValues];
+            this.valueStamps = new int[numValues];
+
+            this.preds = new int[predOfs[predOfs.length - 1]];
+            final int[] fill = Arrays.copyOf(predOfs, predOfs.length - 1);
+            for (int s = 0; s < numStates; s++) {
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = successors[s * numInputs + i];
+                    if (succ >= 0) {
+                        preds[fill[i * numStates + succ]++] = s;
+                    }
+                }
+            }
+        }
+
+        List<Word<I>> run(Collection<? extends Word<I>> initialSuffixes) {
+            if (numStates == 0) {
+                return Collections.emptyList();
+            }
+
+            for (Word<I> suffix : initialSuffixes) {
+                final Map<List<Object>, Integer> traces = new HashMap<>();
+                splitLeaves(suffix,
+                            s -> traces.computeIfAbsent(buildTrace(automaton, stateIds.getState(s), suffix),
+                                                        k -> traces.size()));
+            }
+
+            // afterwards, the states of any leaf agree on their state property and on the (existence and) property
+            // of each of their transitions
+            splitLeaves(Word.epsilon(), s -> stateProperties[s]);
+            for (int i = 0; i < numInputs; i++) {
+                final int input = i;
+                splitLeaves(Word.fromLetter(inputs.get(i)), s -> transitionProperties[s * numInputs + input]);
+            }
+
+            refineBySuccessors();
+
+            return reduceCharacterizingSet(initialSuffixes);
+        }
+
+        /**
+         * Greedily selects the words of the inner nodes (in order of decreasing length) whose children are not yet
+         * separated by the traces of the initial suffixes and the previously selected words.
+         */
+        private List<Word<I>> reduceCharacterizingSet(Collection<? extends Word<I>> initialSuffixes) {
+            final List<Word<I>> result = new ArrayList<>(new LinkedHashSet<>(initialSuffixes));
+
+            int numLeaves = 0;
+            final int[] leaves = new int[numNodes];
+            final long[] candidates = new long[numNodes];
+            int numCandidates = 0;
+            for (int node = 0; node < numNodes; node++) {
+                if (numChildren[node] == 0) {
+                    leaves[numLeaves++] = node;
+                } else {
+                    candidates[numCandidates++] = ((long) -wordLength[node] << Integer.SIZE) | node;
+                }
+            }
+            Arrays.sort(candidates, 0, numCandidates);
+
+            // the states are partitioned into classes of states that are not separated by the selected words yet
+            final int[] classes = new int[numStates];
+            int numClasses = 1;
+
+            @SuppressWarnings("unchecked")
+            final List<Integer>[] splittingWords = new List[numLeaves];
+            for (int l = 0; l < numLeaves; l++) {
+                splittingWords[l] = new ArrayList<>();
+            }
+
+            for (int i = 0; i < result.size(); i++) {
+                numClasses = refineClasses(classes, result.get(i), leaves, numLeaves, splittingWords, i);
+            }
+
+            final int[] owner = new int[numStates];
+            final int[] stamp = new int[numStates];
+
+            for (int c = 0; c < numCandidates && numClasses < numLeaves; c++) {
+                final int node = (int) candidates[c];
+                if (!isSeparated(node, classes, owner, stamp, c + 1)) {
+                    final Word<I> word = getWord(node);
+                    result.add(word);
+                    numClasses = refineClasses(classes, word, leaves, numLeaves, splittingWords, result.size() - 1);
+                }
+            }
+
+            for (int l = 0; l < numLeaves; l++) {
+                leafWordIndices[leaves[l]] = splittingWords[l].stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            return result;
+        }
+
+        /**
+         * Checks whether the states of different children of the given node are contained in different classes.
+         */
+        private boolean isSeparated(int node, int[] classes, int[] owner, int[] stamp, int round) {
+            final int first = firstChild[node];
+            for (int child = first; child < first + numChildren[node]; child++) {
+                for (int j = low[child]; j < high[child]; j++) {
+                    final int cls = classes[blockData[j]];
+                    if (stamp[cls] != round) {
+                        stamp[cls] = round;
+                        owner[cls] = child;
+                    } else if (owner[cls] != child) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Refines the given classes according to the trace of the given word, records the word for all leaves whose
+         * class has been split, and returns the new number of classes.
+         */
+        private int refineClasses(int[] classes,
+                                  Word<I> word,
+                                  int[] leaves,
+                                  int numLeaves,
+                                  List<Integer>[] splittingWords,
+                                  int wordIndex) {
+            System.arraycopy(classes, 0, previousClasses, 0, numStates);
+            final int numClasses = refineClassesByTrace(classes, word);
+
+            // a class has been split, if it contains states with different new classes
+            Arrays.fill(representatives, -1);
+            Arrays.fill(splitClasses, false);
+            for (int s = 0; s < numStates; s++) {
+                final int cls = previousClasses[s];
+                if (representatives[cls] < 0) {
+                    representatives[cls] = classes[s];
+                } else if (representatives[cls] != classes[s]) {
+                    splitClasses[cls] = true;
+                }
+            }
+
+            for (int l = 0; l < numLeaves; l++) {
+                if (splitClasses[previousClasses[blockData[low[leaves[l]]]]]) {
+                    splittingWords[l].add(wordIndex);
+                }
+            }
+
+            return numClasses;
+        }
+
+        private int refineClassesByTrace(int[] classes, Word<I> word) {
+            if (word.isEmpty()) {
+                return relabel(classes, stateProperties);
+            }
+
+            final int[] symbols = new int[word.length()];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = inputs.indexOf(word.getSymbol(i));
+            }
+
+            if (Arrays.stream(symbols).anyMatch(i -> i < 0)) {
+                // the word contains symbols that are not part of the considered inputs
+                final Map<List<Object>, Integer> traces = new HashMap<>();
+                for (int s = 0; s < numStates; s++) {
+                    final List<Object> trace = buildTrace(automaton, stateIds.getState(s), word);
+                    values[s] = traces.computeIfAbsent(trace, k -> traces.size());
+                }
+                return relabel(classes, values);
+            }
+
+            final int[] curr = traceStates;
+            for (int s = 0; s < numStates; s++) {
+                curr[s] = s;
+            }
+
+            // extend the classes by the transition and state property of each step (or -1, if the trace has ended)
+            int numClasses = 0;
+            for (int sym : symbols) {
+                for (int s = 0; s < numStates; s++) {
+                    final int state = curr[s];
+                    values[s] = state < 0 ? -1 : transitionProperties[state * numInputs + sym];
+                }
+                relabel(classes, values);
+
+                for (int s = 0; s < numStates; s++) {
+                    final int state = curr[s];
+                    final int succ = state < 0 ? -1 : successors[state * numInputs + sym];
+                    values[s] = succ < 0 ? -1 : stateProperties[succ];
+                    curr[s] = succ;
+                }
+                numClasses = relabel(classes, values);
+            }
+
+            return numClasses;
+        }
+
+        /**
+         * Replaces the class of each state by a (dense) id for the pair of its class and its value, and returns the
+         * number of new classes. Class ids must be smaller than the number of states.
+         */
+        private int relabel(int[] classes, int[] stateValues) {
+            // counting sort of the states by their class, afterwards classOfs[c] holds the end of class c
+            Arrays.fill(classOfs, 0);
+            for (int s = 0; s < numStates; s++) {
+                classOfs[classes[s] + 1]++;
+            }
+            for (int c = 1; c <= numStates; c++) {
+                classOfs[c] += classOfs[c - 1];
+            }
+            for (int s = 0; s < numStates; s++) {
+                order[classOfs[classes[s]]++] = s;
+            }
+
+            int numClasses = 0;
+            int lo = 0;
+            for (int c = 0; c < numStates && lo < numStates; c++) {
+                final int hi = classOfs[c];
+                if (lo == hi) {
+                    continue;
+                }
+                if (stamp == Integer.MAX_VALUE) {
+                    Arrays.fill(valueStamps, 0);
+                    stamp = 0;
+                }
+                stamp++;
+                for (int j = lo; j < hi; j++) {
+                    final int state = order[j];
+                    final int value = stateValues[state] + 1;
+                    if (valueStamps[value] != stamp) {
+                        valueStamps[value] = stamp;
+                        valueIds[value] = numClasses++;
+                    }
+                    classes[state] = valueIds[value];
+                }
+                lo = hi;
+            }
+
+            return numClasses;
+        }
+
+        /**
+         * Splits all current leaves according to the given keys of their states. Different keys must only be assigned
+         * to states that are separated by the given word.
+         */
+        private void splitLeaves(Word<I> word, IntUnaryOperator stateKeys) {
+            final int limit = numNodes;
+
+            for (int node = 0; node < limit; node++) {
+                if (numChildren[node] > 0) {
+                    continue;
+                }
+                for (int j = low[node]; j < high[node]; j++) {
+                    keys[j] = stateKeys.applyAsInt(blockData[j]);
+                }
+                split(node, keys, word, NO_INPUT, -1);
+            }
+        }
+
+        private void refineBySuccessors() {
+            final int maxNodes = low.length;
+            final int[] queue = new int[maxNodes];
+            final boolean[] queued = new boolean[maxNodes];
+            int head = 0;
+            int size = 0;
+
+            for (int node = 0; node < numNodes; node++) {
+                if (numChildren[node] == 0) {
+                    queue[size++] = node;
+                    queued[node] = true;
+                }
+            }
+
+            // the flags ensure that each node is contained in the (circular) queue at most once
+            while (size > 0) {
+                final int leaf = queue[head];
+                head = (head + 1) % maxNodes;
+                size--;
+                queued[leaf] = false;
+
+                if (numChildren[leaf] > 0) {
+                    continue;
+                }
+
+                // among all inputs that split the leaf, choose the one that yields the shortest word
+                int bestInput = -1;
+                int bestLca = -1;
+                for (int i = 0; i < numInputs; i++) {
+                    final int lca = findSuccessorLca(leaf, i);
+                    if (lca >= 0 && (bestLca < 0 || wordLength[lca] < wordLength[bestLca])) {
+                        bestInput = i;
+                        bestLca = lca;
+                    }
+                }
+
+                if (bestLca < 0) {
+                    continue;
+                }
+
+                splitByInput(leaf, bestInput, bestLca);
+
+                for (int c = firstChild[leaf]; c < firstChild[leaf] + numChildren[leaf]; c++) {
+                    if (!queued[c]) {
+                        queued[c] = true;
+                        queue[(head + size++) % maxNodes] = c;
+                    }
+                }
+
+                for (int j = low[leaf]; j < high[leaf]; j++) {
+                    final int state = blockData[j];
+                    for (int k = 0; k < numInputs; k++) {
+                        final int ofs = k * numStates + state;
+                        for (int p = predOfs[ofs]; p < predOfs[ofs + 1]; p++) {
+                            final int predLeaf = leafOf[preds[p]];
+                            if (!queued[predLeaf]) {
+                                queued[predLeaf] = true;
+                                queue[(head + size++) % maxNodes] = predLeaf;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the lowest common ancestor of the leaves containing the successors (for the given input) of the
+         * states of the given leaf, or {@code -1} if all successors are contained in the same leaf (or undefined).
+         */
+        private int findSuccessorLca(int leaf, int input) {
+            final int lo = low[leaf];
+            final int hi = high[leaf];
+
+            // all states of a leaf agree on whether the transition is defined
+            final int firstSucc = successors[blockData[lo] * numInputs + input];
+            if (firstSucc < 0) {
+                return -1;
+            }
+
+            final int firstLeaf = leafOf[firstSucc];
+            int minPos = posData[firstSucc];
+            int maxPos = minPos;
+            boolean uniform = true;
+
+            for (int j = lo + 1; j < hi; j++) {
+                final int succ = successors[blockData[j] * numInputs + input];
+                final int pos = posData[succ];
+                uniform &= leafOf[succ] == firstLeaf;
+                minPos = Math.min(minPos, pos);
+                maxPos = Math.max(maxPos, pos);
+            }
+
+            if (uniform) {
+                return -1;
+            }
+
+            return findAncestor(leafOf[blockData[minPos]], maxPos);
+        }
+
+        /**
+         * Splits the given leaf according to the child of the given node that contains the respective successor.
+         */
+        private void splitByInput(int leaf, int input, int lca) {
+            final int lo = low[leaf];
+            final int hi = high[leaf];
+            final int first = firstChild[lca];
+            final int last = first + numChildren[lca] - 1;
+
+            for (int j = lo; j < hi; j++) {
+                final int pos = posData[successors[blockData[j] * numInputs + input]];
+
+                // binary search for the child of the LCA containing the successor
+                int l = first;
+                int h = last;
+                while (l < h) {
+                    final int mid = (l + h + 1) >>> 1;
+                    if (low[mid] <= pos) {
+                        l = mid;
+                    } else {
+                        h = mid - 1;
+                    }
+                }
+                keys[j] = l;
+            }
+
+            split(leaf, keys, null, input, lca);
+        }
+    }
+
+    static <S, I, T> List<Object> buildTrace(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                             S state,
+                                             Word<I> suffix) {
+        if (suffix.isEmpty()) {
+            Object prop = automaton.getStateProperty(state);
+            return Collections.singletonList(prop);
+        }
+        List<Object> trace = new ArrayList<>(2 * suffix.length());
+
+        S curr = state;
+
+        for (I sym : suffix) {
+            T trans = automaton.getTransition(curr, sym);
+
+            if (trans == null) {
+                break;
+            }
+
+            Object prop = automaton.getTransitionProperty(trans);
+            trace.add(prop);
+
+            curr = automaton.getSuccessor(trans);
+            prop = automaton.getStateProperty(curr);
+            trace.add(prop);
+        }
+
+        return trace;
+    }
+}
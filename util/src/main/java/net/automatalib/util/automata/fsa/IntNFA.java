@@ -0,0 +1,159 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * An immutable, {@code int}-based copy of the transition structure of an {@link NFA}, which allows to compute
+ * successors without traversing (boxed) state collections.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+final class IntNFA {
+
+    final int numStates;
+    final int numInputs;
+    // the successors of state s for input i are succData[succOfs[s*numInputs + i] .. succOfs[s*numInputs + i + 1])
+    final int[] succOfs;
+    final int[] succData;
+    final boolean[] accepting;
+    final int[] initialStates;
+
+    private IntNFA(int numStates,
+                   int numInputs,
+                   int[] succOfs,
+                   int[] succData,
+                   boolean[] accepting,
+                   int[] initialStates) {
+        this.numStates = numStates;
+        this.numInputs = numInputs;
+        this.succOfs = succOfs;
+        this.succData = succData;
+        this.accepting = accepting;
+        this.initialStates = initialStates;
+    }
+
+    /**
+     * Copies the transition structure of the given NFA. The indices of the input symbols are determined by their
+     * position in the given list.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return the {@code int}-based copy of the NFA
+     */
+    static <S, I> IntNFA of(NFA<S, I> nfa, List<? extends I> inputs) {
+        if (nfa instanceof CompactNFA) {
+            @SuppressWarnings("unchecked")
+            final CompactNFA<I> compact = (CompactNFA<I>) nfa;
+            return fromCompact(compact, inputs);
+        }
+        return fromGeneric(nfa, inputs);
+    }
+
+    private static <I> IntNFA fromCompact(CompactNFA<I> nfa, List<? extends I> inputs) {
+        final int numStates = nfa.size();
+        final int numInputs = inputs.size();
+        final Alphabet<I> alphabet = nfa.getInputAlphabet();
+        final int[] inputIndices = new int[numInputs];
+
+        for (int i = 0; i < numInputs; i++) {
+            inputIndices[i] = alphabet.getSymbolIndex(inputs.get(i));
+        }
+
+        final int[] succOfs = new int[numStates * numInputs + 1];
+        final IntBuffer succData = new IntBuffer(numStates * numInputs);
+        final boolean[] accepting = new boolean[numStates];
+
+        int idx = 0;
+        for (int s = 0; s < numStates; s++) {
+            accepting[s] = nfa.isAccepting(s);
+            for (int i = 0; i < numInputs; i++) {
+                succOfs[idx++] = succData.size;
+                nfa.forEachSuccessor(s, inputIndices[i], succData::add);
+            }
+        }
+        succOfs[idx] = succData.size;
+
+        final IntBuffer initial = new IntBuffer(1);
+        nfa.forEachInitialState(initial::add);
+
+        return new IntNFA(numStates, numInputs, succOfs, succData.data, accepting, initial.toArray());
+    }
+
+    private static <S, I> IntNFA fromGeneric(NFA<S, I> nfa, List<? extends I> inputs) {
+        final int numStates = nfa.size();
+        final int numInputs = inputs.size();
+        final StateIDs<S> stateIds = nfa.stateIDs();
+
+        final int[] succOfs = new int[numStates * numInputs + 1];
+        final IntBuffer succData = new IntBuffer(numStates * numInputs);
+        final boolean[] accepting = new boolean[numStates];
+
+        int idx = 0;
+        for (int s = 0; s < numStates; s++) {
+            final S state = stateIds.getState(s);
+            accepting[s] = nfa.isAccepting(state);
+            for (I sym : inputs) {
+                succOfs[idx++] = succData.size;
+                for (S succ : nfa.getSuccessors(state, sym)) {
+                    succData.add(stateIds.getStateId(succ));
+                }
+            }
+        }
+        succOfs[idx] = succData.size;
+
+        final IntBuffer initial = new IntBuffer(1);
+        for (S init : nfa.getInitialStates()) {
+            initial.add(stateIds.getStateId(init));
+        }
+
+        return new IntNFA(numStates, numInputs, succOfs, succData.data, accepting, initial.toArray());
+    }
+
+    private static final class IntBuffer {
+
+        private int[] data;
+        private int size;
+
+        IntBuffer(int capacity) {
+            this.data = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -15,21 +15,19 @@
  */
 package net.automatalib.util.automata.fsa;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+
+import javax.annotation.Nullable;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
-import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.MutableDFA;
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.RefinementMode;
 import net.automatalib.words.Alphabet;
 
 public final class NFAs {
@@ -45,8 +43,110 @@ public final class NFAs {
                                                 Alphabet<I> inputAlphabet,
                                                 boolean partial,
                                                 boolean minimize) {
+        final CompactDFA<I> result = determinize(nfa, inputAlphabet, partial, minimize, Integer.MAX_VALUE);
+        assert result != null;
+        return result;
+    }
+
+    /**
+     * Determinizes the given NFA, unless the resulting DFA (before minimization) exceeds the given number of states.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param partial
+     *         whether the resulting DFA should be partial, i.e., omit the sink state representing the empty subset
+     * @param minimize
+     *         whether the resulting DFA should be minimized
+     * @param maxStates
+     *         the maximum number of states of the DFA constructed by the subset construction
+     *
+     * @return the determinized NFA, or {@code null} if the subset construction was aborted because it exceeded {@code
+     * maxStates} states
+     */
+    @Nullable
+    public static <I> CompactDFA<I> determinize(NFA<?, I> nfa,
+                                                Alphabet<I> inputAlphabet,
+                                                boolean partial,
+                                                boolean minimize,
+                                                int maxStates) {
         CompactDFA<I> result = new CompactDFA<>(inputAlphabet);
-        determinize(nfa, inputAlphabet, result, partial, minimize);
+        if (!SubsetConstruction.determinize(nfa, new ArrayList<>(inputAlphabet), result, partial, maxStates)) {
+            return null;
+        }
+        if (minimize) {
+            // Hopcroft's algorithm is considerably faster, but requires complete automata
+            if (partial) {
+                Automata.invasiveMinimize(result, inputAlphabet);
+            } else {
+                result = HopcroftMinimization.minimizeDFA(result, inputAlphabet);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determinizes the given NFA, exploring the subsets in parallel. The parallel work is executed in the {@link
+     * java.util.concurrent.ForkJoinPool} of the calling thread, or the common pool if the method is not invoked from
+     * within a {@link java.util.concurrent.ForkJoinPool}. The result does not depend on the number of threads, and is
+     * the same as the one of {@link #determinize(NFA, Alphabet, boolean, boolean)}.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param partial
+     *         whether the resulting DFA should be partial, i.e., omit the sink state representing the empty subset
+     * @param minimize
+     *         whether the resulting DFA should be minimized
+     *
+     * @return the determinized NFA
+     */
+    public static <I> CompactDFA<I> determinizeParallel(NFA<?, I> nfa,
+                                                        Alphabet<I> inputAlphabet,
+                                                        boolean partial,
+                                                        boolean minimize) {
+        final CompactDFA<I> result = determinizeParallel(nfa, inputAlphabet, partial, minimize, Integer.MAX_VALUE);
+        assert result != null;
+        return result;
+    }
+
+    /**
+     * Determinizes the given NFA in parallel (see {@link #determinizeParallel(NFA, Alphabet, boolean, boolean)}),
+     * unless the resulting DFA (before minimization) exceeds the given number of states.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param partial
+     *         whether the resulting DFA should be partial, i.e., omit the sink state representing the empty subset
+     * @param minimize
+     *         whether the resulting DFA should be minimized
+     * @param maxStates
+     *         the maximum number of states of the DFA constructed by the subset construction
+     *
+     * @return the determinized NFA, or {@code null} if the subset construction was aborted because it exceeded {@code
+     * maxStates} states
+     */
+    @Nullable
+    public static <I> CompactDFA<I> determinizeParallel(NFA<?, I> nfa,
+                                                        Alphabet<I> inputAlphabet,
+                                                        boolean partial,
+                                                        boolean minimize,
+                                                        int maxStates) {
+        CompactDFA<I> result = ParallelSubsetConstruction.determinize(nfa, inputAlphabet, partial, maxStates);
+        if (result != null && minimize) {
+            if (partial) {
+                Automata.invasiveMinimize(result, inputAlphabet);
+            } else {
+                result = HopcroftMinimization.minimizeDFA(result,
+                                                          inputAlphabet,
+                                                          PruningMode.PRUNE_AFTER,
+                                                          RefinementMode.PARALLEL);
+            }
+        }
         return result;
     }
 
@@ -55,10 +155,42 @@ public final class NFAs {
                                        MutableDFA<?, I> out,
                                        boolean partial,
                                        boolean minimize) {
-        doDeterminize(nfa, inputs, out, partial);
+        determinize(nfa, inputs, out, partial, minimize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Determinizes the given NFA into the given DFA, unless the DFA (before minimization) exceeds the given number of
+     * states. If the determinization is aborted, the given DFA contains the states that have been constructed so far.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputs
+     *         the input symbols to consider
+     * @param out
+     *         the DFA to which the result is written
+     * @param partial
+     *         whether the resulting DFA should be partial, i.e., omit the sink state representing the empty subset
+     * @param minimize
+     *         whether the resulting DFA should be minimized
+     * @param maxStates
+     *         the maximum number of states of the DFA constructed by the subset construction
+     *
+     * @return {@code true} if the determinization was completed, {@code false} if it was aborted because it exceeded
+     * {@code maxStates} states
+     */
+    public static <I> boolean determinize(NFA<?, I> nfa,
+                                          Collection<? extends I> inputs,
+                                          MutableDFA<?, I> out,
+                                          boolean partial,
+                                          boolean minimize,
+                                          int maxStates) {
+        if (!SubsetConstruction.determinize(nfa, new ArrayList<>(inputs), out, partial, maxStates)) {
+            return false;
+        }
         if (minimize) {
             Automata.invasiveMinimize(out, inputs);
         }
+        return true;
     }
 
     public static <I, A extends NFA<?, I> & InputAlphabetHolder<I>> CompactDFA<I> determinize(A nfa) {
@@ -74,72 +206,4 @@ public final class NFAs {
     public static <I> void determinize(NFA<?, I> nfa, Collection<? extends I> inputs, MutableDFA<?, I> out) {
         determinize(nfa, inputs, out, false, true);
     }
-
-    private static <I, SI, SO> void doDeterminize(NFA<SI, I> nfa,
-                                                  Collection<? extends I> inputs,
-                                                  MutableDFA<SO, I> out,
-                                                  boolean partial) {
-
-        Map<BitSet, SO> outStateMap = new HashMap<>();
-        StateIDs<SI> stateIds = nfa.stateIDs();
-
-        Deque<DeterminizeRecord<SI, SO>> stack = new ArrayDeque<>();
-
-        List<SI> initList = new ArrayList<>(nfa.getInitialStates());
-        BitSet initBs = new BitSet();
-        for (SI init : initList) {
-            initBs.set(stateIds.getStateId(init));
-        }
-
-        boolean initAcc = nfa.isAccepting(initList);
-        SO initOut = out.addInitialState(initAcc);
-
-        outStateMap.put(initBs, initOut);
-
-        stack.push(new DeterminizeRecord<>(initList, initOut));
-
-        while (!stack.isEmpty()) {
-            DeterminizeRecord<SI, SO> curr = stack.pop();
-
-            List<SI> inStates = curr.inputStates;
-            SO outState = curr.outputState;
-
-            for (I sym : inputs) {
-                BitSet succBs = new BitSet();
-                List<SI> succList = new ArrayList<>();
-
-                for (SI inState : inStates) {
-                    for (SI succState : nfa.getSuccessors(inState, sym)) {
-                        int succId = stateIds.getStateId(succState);
-                        if (!succBs.get(succId)) {
-                            succBs.set(succId);
-                            succList.add(succState);
-                        }
-                    }
-                }
-
-                if (!partial || !succList.isEmpty()) {
-                    SO outSucc = outStateMap.get(succBs);
-                    if (outSucc == null) {
-                        outSucc = out.addState(nfa.isAccepting(succList));
-                        outStateMap.put(succBs, outSucc);
-                        stack.push(new DeterminizeRecord<>(succList, outSucc));
-                    }
-                    out.setTransition(outState, sym, outSucc);
-                }
-            }
-        }
-
-    }
-
-    private static final class DeterminizeRecord<SI, SO> {
-
-        private final List<SI> inputStates;
-        private final SO outputState;
-
-        DeterminizeRecord(List<SI> inputStates, SO outputState) {
-            this.inputStates = inputStates;
-            this.outputState = outputState;
-        }
-    }
 }
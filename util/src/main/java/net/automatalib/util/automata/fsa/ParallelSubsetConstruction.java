@@ -0,0 +1,354 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A parallel implementation of the subset construction.
+ * <p>
+ * The subsets are explored level by level (i.e., in breadth-first order): the successors of all subsets of the current
+ * level are computed in parallel, and newly discovered subsets are interned in a concurrent index, which assigns them
+ * consecutive IDs. The subsets discovered during one level thus form the (contiguous) ID range of the next level. All
+ * parallel work is executed via parallel streams, i.e., in the {@link java.util.concurrent.ForkJoinPool} of the
+ * calling thread (or the common pool).
+ * <p>
+ * The IDs assigned during the exploration depend on the thread interleaving. Hence, the states of the resulting DFA
+ * are canonically renumbered in breadth-first order (following the order of the input symbols), which yields the same
+ * DFA as the sequential {@link SubsetConstruction}.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+final class ParallelSubsetConstruction {
+
+    private static final int UNDEFINED = -1;
+
+    private final IntNFA nfa;
+    private final int numInputs;
+    private final boolean partial;
+    private final int maxStates;
+
+    private final ConcurrentMap<Subset, Integer> index = new ConcurrentHashMap<>();
+    private final AtomicInteger numSubsets = new AtomicInteger();
+    private final ThreadLocal<Scratch> scratch;
+    // set as soon as a subset is discovered that would exceed the maximum number of states
+    private volatile boolean budgetExceeded;
+
+    // indexed by subset IDs, grown between levels only
+    private int[][] subsets = new int[16][];
+    private boolean[] accepting = new boolean[16];
+    // the successor subset for each subset and input, or UNDEFINED
+    private int[] transitions = new int[16];
+
+    private ParallelSubsetConstruction(IntNFA nfa, boolean partial, int maxStates) {
+        this.nfa = nfa;
+        this.numInputs = nfa.numInputs;
+        this.partial = partial;
+        this.maxStates = maxStates;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(nfa.numStates));
+    }
+
+    /**
+     * Determinizes the given NFA.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param partial
+     *         whether the empty subset should be omitted (resulting in a partial DFA)
+     * @param maxStates
+     *         the maximum number of states of the resulting DFA
+     *
+     * @return the resulting DFA, or {@code null} if the determinization was aborted because the DFA would exceed
+     * {@code maxStates} states
+     */
+    @Nullable
+    static <I> CompactDFA<I> determinize(NFA<?, I> nfa, Alphabet<I> alphabet, boolean partial, int maxStates) {
+        final List<I> inputs = Arrays.asList(alphabet.toArray(newArray(alphabet.size())));
+        return new ParallelSubsetConstruction(IntNFA.of(nfa, inputs), partial, maxStates).run(alphabet);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> I[] newArray(int size) {
+        return (I[]) new Object[size];
+    }
+
+    @Nullable
+    private <I> CompactDFA<I> run(Alphabet<I> alphabet) {
+        if (maxStates < 1) {
+            return null;
+        }
+
+        final Scratch initScratch = scratch.get();
+        initScratch.collect(nfa.initialStates);
+        intern(initScratch.toSubset());
+
+        int levelLow = 0;
+        int levelHigh = 1;
+
+        while (levelLow < levelHigh) {
+            // each subset of the level discovers at most numInputs new subsets, but at most maxStates are stored
+            ensureCapacity(Math.min(levelHigh + (long) (levelHigh - levelLow) * numInputs, maxStates));
+
+            IntStream.range(levelLow, levelHigh).parallel().forEach(this::expand);
+
+            if (budgetExceeded) {
+                return null;
+            }
+
+            levelLow = levelHigh;
+            levelHigh = numSubsets.get();
+        }
+
+        return toDFA(alphabet, levelHigh);
+    }
+
+    private void expand(int subset) {
+        final Scratch s = scratch.get();
+        final int[] states = subsets[subset];
+        final int base = subset * numInputs;
+
+        for (int i = 0; i < numInputs && !budgetExceeded; i++) {
+            s.computeSuccessors(states, i);
+            if (partial && s.len == 0) {
+                transitions[base + i] = UNDEFINED;
+            } else {
+                // only copy the buffer if the subset has not been discovered yet
+                final Integer existing = index.get(s.toProbe());
+                transitions[base + i] = existing != null ? existing : intern(s.toSubset());
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the given subset, assigning a new one if the subset has not been discovered yet. If the new ID
+     * would exceed the maximum number of states, the subset is not stored and {@link #UNDEFINED} is returned.
+     */
+    private int intern(Subset subset) {
+        final Integer result = index.computeIfAbsent(subset, k -> {
+            final int id = numSubsets.getAndIncrement();
+            if (id >= maxStates) {
+                budgetExceeded = true;
+                return null;
+            }
+            subsets[id] = k.states;
+            accepting[id] = isAccepting(k.states);
+            return id;
+        });
+        return result == null ? UNDEFINED : result;
+    }
+
+    private boolean isAccepting(int[] states) {
+        for (int s : states) {
+            if (nfa.accepting[s]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ensureCapacity(long capacity) {
+        if (capacity > subsets.length) {
+            final int newCapacity = (int) Math.min(Math.max(capacity, subsets.length * 2L), Integer.MAX_VALUE - 8);
+            subsets = Arrays.copyOf(subsets, newCapacity);
+            accepting = Arrays.copyOf(accepting, newCapacity);
+        }
+        final long transCapacity = capacity * numInputs;
+        if (transCapacity > transitions.length) {
+            final int newCapacity =
+                    (int) Math.min(Math.max(transCapacity, transitions.length * 2L), Integer.MAX_VALUE - 8);
+            transitions = Arrays.copyOf(transitions, newCapacity);
+        }
+    }
+
+    /**
+     * Creates the resulting DFA, renumbering the subsets in breadth-first order.
+     */
+    private <I> CompactDFA<I> toDFA(Alphabet<I> alphabet, int size) {
+        final int[] order = new int[size];
+        final int[] queue = new int[size];
+        Arrays.fill(order, UNDEFINED);
+
+        // the initial subset always has ID 0
+        order[0] = 0;
+        queue[0] = 0;
+        int head = 0;
+        int tail = 1;
+
+        while (head < tail) {
+            final int curr = queue[head++];
+            final int base = curr * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = transitions[base + i];
+                if (succ != UNDEFINED && order[succ] == UNDEFINED) {
+                    order[succ] = tail;
+                    queue[tail++] = succ;
+                }
+            }
+        }
+
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            result.addIntState(accepting[queue[i]]);
+        }
+        result.setInitialState(0);
+
+        for (int i = 0; i < size; i++) {
+            final int base = queue[i] * numInputs;
+            for (int j = 0; j < numInputs; j++) {
+                final int succ = transitions[base + j];
+                if (succ != UNDEFINED) {
+                    result.setTransition(i, j, order[succ]);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * A subset of NFA states, represented by the first {@code length} cells of a sorted array with a precomputed hash
+     * code. Subsets stored in the index own their (exactly sized) array, whereas lookup keys may refer to a prefix of a
+     * (per-thread) buffer.
+     */
+    private static final class Subset {
+
+        private final int[] states;
+        private final int length;
+        private final int hash;
+
+        Subset(int[] states, int length, int hash) {
+            this.states = states;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Subset)) {
+                return false;
+            }
+            final Subset that = (Subset) o;
+            if (hash != that.hash || length != that.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (states[i] != that.states[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Per-thread buffers for computing successor subsets.
+     */
+    private final class Scratch {
+
+        private final int[] buffer;
+        private final int[] marks;
+        private int epoch;
+        private int len;
+        private int hash;
+
+        Scratch(int numStates) {
+            this.buffer = new int[numStates];
+            this.marks = new int[numStates];
+        }
+
+        void collect(int[] states) {
+            nextEpoch();
+            len = 0;
+            for (int s : states) {
+                if (marks[s] != epoch) {
+                    marks[s] = epoch;
+                    buffer[len++] = s;
+                }
+            }
+            finish();
+        }
+
+        void computeSuccessors(int[] states, int input) {
+            final int[] succOfs = nfa.succOfs;
+            final int[] succData = nfa.succData;
+
+            nextEpoch();
+            len = 0;
+            for (int s : states) {
+                final int idx = s * numInputs + input;
+                for (int k = succOfs[idx]; k < succOfs[idx + 1]; k++) {
+                    final int succ = succData[k];
+                    if (marks[succ] != epoch) {
+                        marks[succ] = epoch;
+                        buffer[len++] = succ;
+                    }
+                }
+            }
+            finish();
+        }
+
+        /**
+         * Returns a subset that refers to the current contents of the buffer, which must only be used for lookups.
+         */
+        Subset toProbe() {
+            return new Subset(buffer, len, hash);
+        }
+
+        Subset toSubset() {
+            return new Subset(Arrays.copyOf(buffer, len), len, hash);
+        }
+
+        private void finish() {
+            Arrays.sort(buffer, 0, len);
+            int h = 1;
+            for (int i = 0; i < len; i++) {
+                h = 31 * h + buffer[i];
+            }
+            hash = h;
+        }
+
+        private void nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.automata.fsa.NFA;
+
+/**
+ * A memory-efficient implementation of the subset construction.
+ * <p>
+ * The transition structure of the NFA is copied into an {@link IntNFA} once, so that no (boxed) state collections
+ * need to be traversed during the construction. Subsets are represented by sorted {@code int} arrays, which are stored
+ * consecutively in a single pool and interned using an open-addressing hash table with precomputed hash codes. The
+ * successor subsets are computed in a scratch buffer that is reused for all subsets, so that only subsets that are
+ * actually new cause any allocation (namely, an amortized growth of the pool).
+ * <p>
+ * The states of the resulting DFA are created in breadth-first order, and the construction can be aborted once a
+ * given number of DFA states is exceeded.
+ *
+ * @author frohme
+ */
+@ParametersAreNonnullByDefault
+final class SubsetConstruction {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int numInputs;
+    private final int[] succOfs;
+    private final int[] succData;
+    private final boolean[] accepting;
+    private final int[] initialStates;
+
+    // the interned subsets: subset d is stored in subsetData[subsetOfs[d] .. subsetOfs[d + 1])
+    private int[] subsetData = new int[INITIAL_CAPACITY];
+    private int[] subsetOfs = new int[INITIAL_CAPACITY + 1];
+    private int[] subsetHashes = new int[INITIAL_CAPACITY];
+    private int numSubsets;
+    // hash table storing subset ids plus one (zero marks an empty slot)
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    // scratch data for computing successor subsets
+    private final int[] scratch;
+    private final int[] marks;
+    private int epoch;
+
+    private SubsetConstruction(IntNFA nfa) {
+        this.numInputs = nfa.numInputs;
+        this.succOfs = nfa.succOfs;
+        this.succData = nfa.succData;
+        this.accepting = nfa.accepting;
+        this.initialStates = nfa.initialStates;
+        this.scratch = new int[nfa.numStates];
+        this.marks = new int[nfa.numStates];
+    }
+
+    /**
+     * Determinizes the given NFA into the given (empty) DFA.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputs
+     *         the input symbols to consider
+     * @param out
+     *         the DFA to which the result is written
+     * @param partial
+     *         whether the empty subset should be omitted (resulting in a partial DFA)
+     * @param maxStates
+     *         the maximum number of states of the resulting DFA
+     *
+     * @return {@code true} if the determinization was completed, {@code false} if it was aborted because the DFA would
+     * exceed {@code maxStates} states
+     */
+    static <SI, I, SO> boolean determinize(NFA<SI, I> nfa,
+                                           List<? extends I> inputs,
+                                           MutableDFA<SO, I> out,
+                                           boolean partial,
+                                           int maxStates) {
+        return new SubsetConstruction(IntNFA.of(nfa, inputs)).run(inputs, out, partial, maxStates);
+    }
+
+    private <I, SO> boolean run(List<? extends I> inputs, MutableDFA<SO, I> out, boolean partial, int maxStates) {
+        if (maxStates < 1) {
+            return false;
+        }
+
+        final List<SO> outStates = new ArrayList<>();
+
+        int len = collect(initialStates);
+        intern(len, hash(len));
+        outStates.add(out.addInitialState(isAccepting(len)));
+
+        // subsets are interned in breadth-first order, hence their ids double as the queue
+        for (int curr = 0; curr < numSubsets; curr++) {
+            final SO outState = outStates.get(curr);
+
+            for (int i = 0; i < numInputs; i++) {
+                len = computeSuccessors(curr, i);
+
+                if (partial && len == 0) {
+                    continue;
+                }
+
+                final int h = hash(len);
+                int succ = lookup(len, h);
+                if (succ < 0) {
+                    if (numSubsets >= maxStates) {
+                        return false;
+                    }
+                    succ = intern(len, h);
+                    outStates.add(out.addState(isAccepting(len)));
+                }
+
+                out.setTransition(outState, inputs.get(i), outStates.get(succ));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the sorted, duplicate-free contents of the given states to the scratch buffer.
+     *
+     * @return the number of states in the scratch buffer
+     */
+    private int collect(int[] states) {
+        nextEpoch();
+        int len = 0;
+        for (int s : states) {
+            if (marks[s] != epoch) {
+                marks[s] = epoch;
+                scratch[len++] = s;
+            }
+        }
+        Arrays.sort(scratch, 0, len);
+        return len;
+    }
+
+    /**
+     * Writes the (sorted) successor subset of the given subset and input to the scratch buffer.
+     *
+     * @return the number of states in the scratch buffer
+     */
+    private int computeSuccessors(int subset, int input) {
+        nextEpoch();
+        int len = 0;
+        final int low = subsetOfs[subset];
+        final int high = subsetOfs[subset + 1];
+
+        for (int j = low; j < high; j++) {
+            final int idx = subsetData[j] * numInputs + input;
+            final int succLow = succOfs[idx];
+            final int succHigh = succOfs[idx + 1];
+
+            for (int k = succLow; k < succHigh; k++) {
+                final int succ = succData[k];
+                if (marks[succ] != epoch) {
+                    marks[succ] = epoch;
+                    scratch[len++] = succ;
+                }
+            }
+        }
+
+        Arrays.sort(scratch, 0, len);
+        return len;
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            epoch = 1;
+        }
+    }
+
+    private boolean isAccepting(int len) {
+        for (int i = 0; i < len; i++) {
+            if (accepting[scratch[i]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int hash(int len) {
+        int h = len;
+        for (int i = 0; i < len; i++) {
+            h = 31 * h + scratch[i];
+        }
+        // spread the bits, as the table index is computed by masking
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Looks up the subset currently stored in the scratch buffer.
+     *
+     * @return the id of the subset, or {@code -1} if it has not been interned yet
+     */
+    private int lookup(int len, int hash) {
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        int entry;
+
+        while ((entry = table[slot]) != 0) {
+            final int subset = entry - 1;
+            if (subsetHashes[subset] == hash && equalsScratch(subset, len)) {
+                return subset;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private boolean equalsScratch(int subset, int len) {
+        final int low = subsetOfs[subset];
+        if (subsetOfs[subset + 1] - low != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (subsetData[low + i] != scratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Interns the subset currently stored in the scratch buffer. Assumes that the subset has not been interned yet.
+     *
+     * @return the id of the new subset
+     */
+    private int intern(int len, int hash) {
+        final int subset = numSubsets++;
+
+        if (subset == subsetHashes.length) {
+            final int newCapacity = subset * 2;
+            subsetHashes = Arrays.copyOf(subsetHashes, newCapacity);
+            subsetOfs = Arrays.copyOf(subsetOfs, newCapacity + 1);
+        }
+
+        final int low = subsetOfs[subset];
+        if (low + len > subsetData.length) {
+            subsetData = Arrays.copyOf(subsetData, Math.max(low + len, subsetData.length * 2));
+        }
+        System.arraycopy(scratch, 0, subsetData, low, len);
+        subsetOfs[subset + 1] = low + len;
+        subsetHashes[subset] = hash;
+
+        // keep the load factor of the table at most 1/2
+        if (numSubsets * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            insert(table, subset, hash);
+        }
+
+        return subset;
+    }
+
+    private void rehash(int capacity) {
+        final int[] newTable = new int[capacity];
+        for (int i = 0; i < numSubsets; i++) {
+            insert(newTable, i, subsetHashes[i]);
+        }
+        this.table = newTable;
+    }
+
+    private static void insert(int[] table, int subset, int hash) {
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = subset + 1;
+    }
+}
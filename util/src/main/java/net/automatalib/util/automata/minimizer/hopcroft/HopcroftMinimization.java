@@ -49,6 +49,10 @@ import net.automatalib.words.Alphabet;
  * Otherwise, pruning can be chosen to be performed on the automaton to be minimized ({@link PruningMode#PRUNE_BEFORE}),
  * or on the calculated state partition ({@link PruningMode#PRUNE_AFTER}). For methods that do not provide a {@code
  * pruningMode} parameter, the default is {@link PruningMode#PRUNE_AFTER}.
+ * <p>
+ * The partition refinement itself can either be performed sequentially, or distributed among multiple threads (see
+ * {@link RefinementMode}). For methods that do not provide a {@code refinementMode} parameter, the default is {@link
+ * RefinementMode#SEQUENTIAL}.
  *
  * @author Malte Isberner
  */
@@ -87,7 +91,28 @@ public final class HopcroftMinimization {
     public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
                                                           Alphabet<I> alphabet,
                                                           PruningMode pruningMode) {
-        return doMinimizeMealy(mealy, alphabet, new CompactMealy.Creator<>(), pruningMode);
+        return minimizeMealy(mealy, alphabet, pruningMode, RefinementMode.SEQUENTIAL);
+    }
+
+    /**
+     * Minimizes the given Mealy machine. The result is returned in the form of a {@link CompactMealy}.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param refinementMode
+     *         the refinement mode (see above)
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                          Alphabet<I> alphabet,
+                                                          PruningMode pruningMode,
+                                                          RefinementMode refinementMode) {
+        return doMinimizeMealy(mealy, alphabet, new CompactMealy.Creator<>(), pruningMode, refinementMode);
     }
 
     /**
@@ -118,13 +143,18 @@ public final class HopcroftMinimization {
     public static <S, I, T, O, A extends MealyMachine<S, I, T, O> & InputAlphabetHolder<I>> CompactMealy<I, O> minimizeMealy(
             A mealy,
             PruningMode pruningMode) {
-        return doMinimizeMealy(mealy, mealy.getInputAlphabet(), new CompactMealy.Creator<>(), pruningMode);
+        return doMinimizeMealy(mealy,
+                               mealy.getInputAlphabet(),
+                               new CompactMealy.Creator<>(),
+                               pruningMode,
+                               RefinementMode.SEQUENTIAL);
     }
 
     private static <S, I, T, O, A extends MutableDeterministic<?, I, ?, Void, O>> A doMinimizeMealy(MealyMachine<S, I, T, O> mealy,
                                                                                                     Alphabet<I> alphabet,
                                                                                                     AutomatonCreator<? extends A, I> creator,
-                                                                                                    PruningMode pruning) {
+                                                                                                    PruningMode pruning,
+                                                                                                    RefinementMode refinement) {
 
         PaigeTarjan pt = new PaigeTarjan();
 
@@ -135,7 +165,7 @@ public final class HopcroftMinimization {
                                                           pruning == PruningMode.PRUNE_BEFORE);
 
         pt.initWorklist(false);
-        pt.computeCoarsestStablePartition();
+        computeCoarsestStablePartition(pt, refinement);
 
         return PaigeTarjanExtractors.toDeterministic(pt,
                                                      creator,
@@ -174,7 +204,28 @@ public final class HopcroftMinimization {
      * @return a minimized version of the specified DFA
      */
     public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa, Alphabet<I> alphabet, PruningMode pruningMode) {
-        return doMinimizeDFA(dfa, alphabet, new CompactDFA.Creator<>(), pruningMode);
+        return minimizeDFA(dfa, alphabet, pruningMode, RefinementMode.SEQUENTIAL);
+    }
+
+    /**
+     * Minimizes the given DFA. The result is returned in the form of a {@link CompactDFA}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param refinementMode
+     *         the refinement mode (see above)
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa,
+                                                Alphabet<I> alphabet,
+                                                PruningMode pruningMode,
+                                                RefinementMode refinementMode) {
+        return doMinimizeDFA(dfa, alphabet, new CompactDFA.Creator<>(), pruningMode, refinementMode);
     }
 
     /**
@@ -204,13 +255,18 @@ public final class HopcroftMinimization {
      */
     public static <S, I, A extends DFA<S, I> & InputAlphabetHolder<I>> CompactDFA<I> minimizeDFA(A dfa,
                                                                                                  PruningMode pruningMode) {
-        return doMinimizeDFA(dfa, dfa.getInputAlphabet(), new CompactDFA.Creator<>(), pruningMode);
+        return doMinimizeDFA(dfa,
+                             dfa.getInputAlphabet(),
+                             new CompactDFA.Creator<>(),
+                             pruningMode,
+                             RefinementMode.SEQUENTIAL);
     }
 
     private static <S, I, A extends MutableDeterministic<?, I, ?, Boolean, Void>> A doMinimizeDFA(DFA<S, I> dfa,
                                                                                                   Alphabet<I> alphabet,
                                                                                                   AutomatonCreator<A, I> creator,
-                                                                                                  PruningMode pruning) {
+                                                                                                  PruningMode pruning,
+                                                                                                  RefinementMode refinement) {
 
         PaigeTarjan pt = new PaigeTarjan();
         UniversalDeterministicAutomaton.FullIntAbstraction<?, Boolean, Void> absDfa = dfa.fullIntAbstraction(alphabet);
@@ -220,7 +276,7 @@ public final class HopcroftMinimization {
                                                           pruning == PruningMode.PRUNE_BEFORE);
 
         pt.initWorklist(false);
-        pt.computeCoarsestStablePartition();
+        computeCoarsestStablePartition(pt, refinement);
 
         return PaigeTarjanExtractors.toDeterministic(pt,
                                                      creator,
@@ -231,6 +287,14 @@ public final class HopcroftMinimization {
                                                      pruning == PruningMode.PRUNE_AFTER);
     }
 
+    private static void computeCoarsestStablePartition(PaigeTarjan pt, RefinementMode refinement) {
+        if (refinement == RefinementMode.PARALLEL) {
+            pt.computeCoarsestStablePartitionParallel();
+        } else {
+            pt.computeCoarsestStablePartition();
+        }
+    }
+
     /**
      * Allows for controlling how automata are pruned during minimization.
      *
@@ -259,4 +323,24 @@ public final class HopcroftMinimization {
         DONT_PRUNE
     }
 
+    /**
+     * Allows for controlling how the coarsest stable partition is computed during minimization. Both modes yield the
+     * same (minimal) result.
+     *
+     * @author frohme
+     */
+    public enum RefinementMode {
+        /**
+         * Compute the partition on the calling thread, using the splitter-based algorithm of Paige/Tarjan (see {@link
+         * PaigeTarjan#computeCoarsestStablePartition()}).
+         */
+        SEQUENTIAL,
+        /**
+         * Distribute the computation of the partition among the threads of the current {@link
+         * java.util.concurrent.ForkJoinPool} (see {@link PaigeTarjan#computeCoarsestStablePartitionParallel()}). This
+         * mode pays off for large automata only.
+         */
+        PARALLEL
+    }
+
 }
@@ -109,6 +109,15 @@ public class PaigeTarjan {
     private Block worklistTail;
     // the head of the 'touched' list
     private Block touchedHead;
+    // the buffer for the states of the current splitter, reused across iterations
+    private int[] splitterBuffer = new int[0];
+    // the current size of the worklist
+    private int worklistSize;
+
+    // statistics
+    private long numSplits;
+    private long numMoves;
+    private int maxWorklistSize;
 
     public void setSize(int numStates, int numInputs) {
         this.numStates = numStates;
@@ -213,6 +222,8 @@ public class PaigeTarjan {
             }
             worklistHead = blocklistHead;
             worklistTail = last;
+            worklistSize = numBlocks;
+            updateMaxWorklistSize();
         } else {
             Block largest = blocklistHead;
             if (largest == null) {
@@ -240,6 +251,14 @@ public class PaigeTarjan {
             worklistTail.nextInWorklist = b;
             worklistTail = b;
         }
+        worklistSize++;
+        updateMaxWorklistSize();
+    }
+
+    private void updateMaxWorklistSize() {
+        if (worklistSize > maxWorklistSize) {
+            maxWorklistSize = worklistSize;
+        }
     }
 
     /**
@@ -249,20 +268,21 @@ public class PaigeTarjan {
         Block curr;
         while ((curr = poll()) != null) {
             int blockRange = curr.high - curr.low;
-            // copy blockData, because #moveLeft() may change its data while we iterate over it
-            // TODO maybe find an implementation that does not need to workaround this concurrent modification
-            int[] blockCopy = new int[blockRange];
-            System.arraycopy(blockData, curr.low, blockCopy, 0, blockRange);
+            // copy blockData, because #moveLeft() may change its data while we iterate over it. The buffer is only
+            // re-allocated if a larger block is encountered
+            int[] splitter = ensureSplitterCapacity(blockRange);
+            System.arraycopy(blockData, curr.low, splitter, 0, blockRange);
             int predOfsBase = predOfsDataLow;
             for (int i = 0; i < numInputs; i++) {
                 for (int j = 0; j < blockRange; j++) {
-                    int state = blockCopy[j];
+                    int state = splitter[j];
                     int predOfsIdx = predOfsBase + state;
                     int predLow = predOfsData[predOfsIdx], predHigh = predOfsData[predOfsIdx + 1];
                     for (int k = predLow; k < predHigh; k++) {
                         int pred = predData[k];
                         moveLeft(pred);
                     }
+                    numMoves += predHigh - predLow;
                 }
                 predOfsBase += numStates;
                 processTouched();
@@ -270,6 +290,53 @@ public class PaigeTarjan {
         }
     }
 
+    private int[] ensureSplitterCapacity(int capacity) {
+        int[] buffer = splitterBuffer;
+        if (buffer.length < capacity) {
+            // grow geometrically, but never beyond the number of states (the maximum size of a block)
+            int newCapacity = Math.max(capacity, Math.min(buffer.length * 2, numStates));
+            buffer = new int[newCapacity];
+            splitterBuffer = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Refines the partition until it stabilizes, distributing the refinement work among multiple threads.
+     * <p>
+     * If the transition structure is deterministic (i.e., each state contained in a block has exactly one successor for
+     * each input symbol), a data-parallel signature refinement is used, which splits all blocks w.r.t. a single input
+     * symbol at once. The parallel work is executed in the {@link java.util.concurrent.ForkJoinPool} of the calling
+     * thread, or the common pool if the method is not invoked from within a {@link java.util.concurrent.ForkJoinPool}.
+     * Otherwise, this method falls back to {@link #computeCoarsestStablePartition()}.
+     * <p>
+     * The resulting partition is the same as the one computed by {@link #computeCoarsestStablePartition()}, however,
+     * the {@link Block#id IDs} of the blocks may differ. The worklist is cleared by this method.
+     */
+    public void computeCoarsestStablePartitionParallel() {
+        if (ParallelSignatureRefinement.refine(this)) {
+            return;
+        }
+        computeCoarsestStablePartition();
+    }
+
+    /**
+     * Replaces the current block list. The worklist and the list of touched blocks are cleared.
+     *
+     * @param blocklistHead
+     *         the head of the new block list
+     * @param numBlocks
+     *         the number of blocks in the new block list
+     */
+    void setBlockList(@Nullable Block blocklistHead, int numBlocks) {
+        this.blocklistHead = blocklistHead;
+        this.numBlocks = numBlocks;
+        this.worklistHead = null;
+        this.worklistTail = null;
+        this.worklistSize = 0;
+        this.touchedHead = null;
+    }
+
     @Nullable
     private Block poll() {
         if (worklistHead == null) {
@@ -281,6 +348,7 @@ public class PaigeTarjan {
         if (worklistHead == null) {
             worklistTail = null;
         }
+        worklistSize--;
 
         return b;
     }
@@ -334,6 +402,7 @@ public class PaigeTarjan {
             return null;
         }
         numBlocks++;
+        numSplits++;
         int spltLow = splt.low, spltHigh = splt.high;
         for (int i = spltLow; i < spltHigh; i++) {
             int state = blockData[i];
@@ -428,6 +497,43 @@ public class PaigeTarjan {
         return numBlocks;
     }
 
+    /**
+     * Retrieves the number of block splits performed by {@link #computeCoarsestStablePartition()} so far.
+     *
+     * @return the number of splits
+     */
+    public long getNumSplits() {
+        return numSplits;
+    }
+
+    /**
+     * Retrieves the number of predecessor states processed (i.e., moved to the touched part of their block) by {@link
+     * #computeCoarsestStablePartition()} so far.
+     *
+     * @return the number of moves
+     */
+    public long getNumMoves() {
+        return numMoves;
+    }
+
+    /**
+     * Retrieves the maximum number of blocks that have simultaneously been contained in the worklist so far.
+     *
+     * @return the peak size of the worklist
+     */
+    public int getMaxWorklistSize() {
+        return maxWorklistSize;
+    }
+
+    /**
+     * Resets the statistics (see {@link #getNumSplits()}, {@link #getNumMoves()}, and {@link #getMaxWorklistSize()}).
+     */
+    public void resetStatistics() {
+        numSplits = 0;
+        numMoves = 0;
+        maxWorklistSize = worklistSize;
+    }
+
     /**
      * Determines how the worklist is managed, i.e., where newly created blocks are inserted.
      *
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
@@ -27,6 +28,7 @@ import net.automatalib.automata.DeterministicAutomaton;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -401,13 +403,13 @@ public final class PaigeTarjanInitializers {
             data[pos] = stateId;
             data[posDataLow + stateId] = pos;
 
-            S state = ids.getState(stateId);
+            // the sink is not a state of the automaton, but loops on every input symbol
+            S state = stateId == sinkId ? null : ids.getState(stateId);
 
             int predOfsBase = predOfsDataLow;
 
             for (int j = 0; j < numInputs; j++) {
-                I sym = inputs.getSymbol(j);
-                S succ = automaton.getSuccessor(state, sym);
+                S succ = state == null ? null : automaton.getSuccessor(state, inputs.getSymbol(j));
                 int succId;
                 if (succ == null) {
                     succId = sinkId;
@@ -503,6 +505,8 @@ public final class PaigeTarjanInitializers {
         int pending = 1;
         boolean partial = false;
 
+        final IntBinaryOperator succIds = successorIds(automaton, inputs, ids, sinkId);
+
         while (pending-- > 0) {
             int stateId;
             if (currFalse < falsePtr) {
@@ -513,36 +517,26 @@ public final class PaigeTarjanInitializers {
                 throw new AssertionError();
             }
 
-            S state = ids.getState(stateId);
-
             int predCountBase = predOfsDataLow;
 
             for (int i = 0; i < numInputs; i++) {
-                I sym = inputs.getSymbol(i);
-                T trans = automaton.getTransition(state, sym);
-                final int succId;
+                final int succId = succIds.applyAsInt(stateId, i);
 
-                if (trans == null) {
-                    succId = sinkId;
+                if (succId == sinkId) {
                     partial = true;
-                } else {
-                    S succ = automaton.getSuccessor(trans);
-                    succId = ids.getStateId(succ);
-
-                    if (blockForState[succId] == null) {
-                        boolean succClass = initialClassification.test(succ);
-                        int succPos;
-                        if (succClass) {
-                            blockForState[succId] = trueBlock;
-                            succPos = --truePtr;
-                        } else {
-                            blockForState[succId] = falseBlock;
-                            succPos = falsePtr++;
-                        }
-                        data[succPos] = succId;
-                        data[posDataLow + succId] = succPos;
-                        pending++;
+                } else if (blockForState[succId] == null) {
+                    boolean succClass = initialClassification.test(ids.getState(succId));
+                    int succPos;
+                    if (succClass) {
+                        blockForState[succId] = trueBlock;
+                        succPos = --truePtr;
+                    } else {
+                        blockForState[succId] = falseBlock;
+                        succPos = falsePtr++;
                     }
+                    data[succPos] = succId;
+                    data[posDataLow + succId] = succPos;
+                    pending++;
                 }
 
                 data[predCountBase + succId]++;
@@ -580,18 +574,9 @@ public final class PaigeTarjanInitializers {
 
         for (int i = 0; i < falsePtr; i++) {
             int stateId = data[i];
-            S state = ids.getState(stateId);
             int predOfsBase = predOfsDataLow;
             for (int j = 0; j < numInputs; j++) {
-                I sym = inputs.getSymbol(j);
-                T trans = automaton.getTransition(state, sym);
-                int succId;
-                if (trans == null) {
-                    succId = sinkId;
-                } else {
-                    S succ = automaton.getSuccessor(trans);
-                    succId = ids.getStateId(succ);
-                }
+                int succId = succIds.applyAsInt(stateId, j);
                 data[--data[predOfsBase + succId]] = stateId;
 
                 predOfsBase += numStatesWithSink;
@@ -600,18 +585,9 @@ public final class PaigeTarjanInitializers {
 
         for (int i = truePtr; i < numStatesWithSink; i++) {
             int stateId = data[i];
-            S state = ids.getState(stateId);
             int predOfsBase = predOfsDataLow;
             for (int j = 0; j < numInputs; j++) {
-                I sym = inputs.getSymbol(j);
-                T trans = automaton.getTransition(state, sym);
-                int succId;
-                if (trans == null) {
-                    succId = sinkId;
-                } else {
-                    S succ = automaton.getSuccessor(trans);
-                    succId = ids.getStateId(succ);
-                }
+                int succId = succIds.applyAsInt(stateId, j);
                 data[--data[predOfsBase + succId]] = stateId;
 
                 predOfsBase += numStatesWithSink;
@@ -630,6 +606,43 @@ public final class PaigeTarjanInitializers {
         return ids;
     }
 
+    /**
+     * Returns a function that maps a (state id, input index) pair of the given automaton to the id of its successor,
+     * or the given sink id if the transition is undefined. For {@link CompactMealy}s, the successors are read directly
+     * from the underlying storage, so that no transition objects need to be allocated.
+     */
+    private static <S, I, T> IntBinaryOperator successorIds(DeterministicAutomaton<S, I, T> automaton,
+                                                            Alphabet<I> inputs,
+                                                            StateIDs<S> ids,
+                                                            int sinkId) {
+        if (automaton instanceof CompactMealy) {
+            final CompactMealy<?, ?> compact = (CompactMealy<?, ?>) automaton;
+            @SuppressWarnings("unchecked")
+            final Alphabet<I> compactInputs = (Alphabet<I>) compact.getInputAlphabet();
+            final int[] inputIndices = new int[inputs.size()];
+
+            for (int i = 0; i < inputIndices.length; i++) {
+                inputIndices[i] = compactInputs.getSymbolIndex(inputs.getSymbol(i));
+            }
+
+            return (stateId, input) -> {
+                if (stateId == sinkId) {
+                    return sinkId;
+                }
+                final int succ = compact.getIntSuccessor(stateId, inputIndices[input]);
+                return succ < 0 ? sinkId : succ;
+            };
+        }
+
+        return (stateId, input) -> {
+            if (stateId == sinkId) {
+                return sinkId;
+            }
+            final T trans = automaton.getTransition(ids.getState(stateId), inputs.getSymbol(input));
+            return trans == null ? sinkId : ids.getStateId(automaton.getSuccessor(trans));
+        };
+    }
+
     /**
      * This enum allows to conveniently specify how the states of a deterministic automaton are initially partitioned
      * when initializing the partition refinement data structure.
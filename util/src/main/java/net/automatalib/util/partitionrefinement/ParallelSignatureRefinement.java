@@ -0,0 +1,325 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * A data-parallel signature refinement on the data structures of a {@link PaigeTarjan} instance.
+ * <p>
+ * Instead of processing splitters one at a time, each refinement step splits <i>all</i> blocks at once according to
+ * the block of the successor w.r.t. a single input symbol. The steps are repeated (cycling through the input symbols)
+ * until no block is split for any of the input symbols anymore. Each step consists of a parallel computation of the
+ * successor blocks and a parallel split of all blocks, where each block is split by sorting its range of the {@link
+ * PaigeTarjan#blockData} array. Since the coarsest stable partition is unique, the result is the same partition as the
+ * one computed by {@link PaigeTarjan#computeCoarsestStablePartition()}.
+ * <p>
+ * This refinement only works for deterministic (and complete) transition structures, i.e., if every state in a block
+ * has exactly one successor for every input symbol. Its worst-case number of steps is linear in the number of states,
+ * but for most practical automata only few steps are necessary.
+ * <p>
+ * All parallel work is executed via parallel streams, i.e., in the {@link java.util.concurrent.ForkJoinPool} of the
+ * calling thread (or the common pool).
+ *
+ * @author frohme
+ */
+final class ParallelSignatureRefinement {
+
+    /**
+     * Block ranges larger than this threshold are sorted using {@link Arrays#parallelSort(long[], int, int)}.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    private final PaigeTarjan pt;
+    private final int numStates;
+    private final int numInputs;
+
+    // the states contained in any block
+    private final int[] members;
+    // the deterministic successor for each input symbol and state (input-major, like the predecessor offsets)
+    private final int[] successors;
+    // the id of the current block of each state
+    private final int[] blockOf;
+    // the blockData range of each block
+    private final int[] blockLow;
+    private final int[] blockHigh;
+    // the signature of each state w.r.t. the currently processed input symbol
+    private final int[] signatures;
+    // buffer for sorting (signature, state) pairs, indexed by blockData positions
+    private final long[] keys;
+
+    private final AtomicInteger numBlocks;
+
+    private ParallelSignatureRefinement(PaigeTarjan pt, int[] members, int[] successors) {
+        this.pt = pt;
+        this.numStates = pt.numStates;
+        this.numInputs = pt.numInputs;
+        this.members = members;
+        this.successors = successors;
+        this.blockOf = new int[numStates];
+        this.blockLow = new int[members.length];
+        this.blockHigh = new int[members.length];
+        this.signatures = new int[numStates];
+        this.numBlocks = new AtomicInteger();
+
+        int maxHigh = 0;
+        for (Block b : pt.blockList()) {
+            if (b.isEmpty()) {
+                continue;
+            }
+            final int id = numBlocks.getAndIncrement();
+            blockLow[id] = b.low;
+            blockHigh[id] = b.high;
+            maxHigh = Math.max(maxHigh, b.high);
+            for (int i = b.low; i < b.high; i++) {
+                blockOf[pt.blockData[i]] = id;
+            }
+        }
+
+        this.keys = new long[maxHigh];
+    }
+
+    /**
+     * Computes the coarsest stable partition of the given data structure, if its transition structure is
+     * deterministic. Otherwise, the data structure is left unmodified.
+     *
+     * @param pt
+     *         the partition refinement data structure
+     *
+     * @return {@code true} if the coarsest stable partition has been computed, {@code false} if the transition
+     * structure is not deterministic
+     */
+    static boolean refine(PaigeTarjan pt) {
+        final int[] members = collectMembers(pt);
+        final int[] successors = computeSuccessors(pt, members);
+
+        if (successors == null) {
+            return false;
+        }
+
+        final ParallelSignatureRefinement refinement = new ParallelSignatureRefinement(pt, members, successors);
+        refinement.computeCoarsestStablePartition();
+        refinement.writeBack();
+
+        return true;
+    }
+
+    private static int[] collectMembers(PaigeTarjan pt) {
+        int size = 0;
+        for (Block b : pt.blockList()) {
+            size += Math.max(b.size(), 0);
+        }
+
+        final int[] result = new int[size];
+        int ptr = 0;
+        for (Block b : pt.blockList()) {
+            for (int i = b.low; i < b.high; i++) {
+                result[ptr++] = pt.blockData[i];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Inverts the predecessor lists of the given data structure. Returns {@code null} if any member state does not have
+     * exactly one successor (within the member states) for each input symbol.
+     */
+    private static int[] computeSuccessors(PaigeTarjan pt, int[] members) {
+        final int numStates = pt.numStates;
+        final int numInputs = pt.numInputs;
+        final int[] predOfsData = pt.predOfsData;
+        final int[] predData = pt.predData;
+        final int predOfsDataLow = pt.predOfsDataLow;
+
+        final boolean[] isMember = new boolean[numStates];
+        for (int s : members) {
+            isMember[s] = true;
+        }
+
+        final int[] result = new int[numInputs * numStates];
+        Arrays.fill(result, -1);
+
+        for (int i = 0; i < numInputs; i++) {
+            final int base = i * numStates;
+            final int predOfsBase = predOfsDataLow + base;
+
+            final long numPreds = IntStream.of(members).parallel().mapToLong(target -> {
+                final int predLow = predOfsData[predOfsBase + target];
+                final int predHigh = predOfsData[predOfsBase + target + 1];
+                for (int k = predLow; k < predHigh; k++) {
+                    final int pred = predData[k];
+                    if (!isMember[pred]) {
+                        return Integer.MAX_VALUE;
+                    }
+                    result[base + pred] = target;
+                }
+                return predHigh - predLow;
+            }).sum();
+
+            // with exactly #members predecessor entries, every member has a successor iff no member has two
+            if (numPreds != members.length || IntStream.of(members).parallel().anyMatch(s -> result[base + s] < 0)) {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    private void computeCoarsestStablePartition() {
+        if (numInputs == 0) {
+            return;
+        }
+
+        int stableInputs = 0;
+        int input = 0;
+
+        while (stableInputs < numInputs) {
+            // a split may render the blocks unstable w.r.t. any input symbol, including the current one
+            if (refineByInput(input)) {
+                stableInputs = 0;
+            } else {
+                stableInputs++;
+            }
+            input = (input + 1) % numInputs;
+        }
+    }
+
+    /**
+     * Splits all blocks according to the current block of their states' successors for the given input symbol.
+     *
+     * @return {@code true} if any block was split, {@code false} otherwise
+     */
+    private boolean refineByInput(int input) {
+        final int base = input * numStates;
+
+        IntStream.of(members).parallel().forEach(s -> signatures[s] = blockOf[successors[base + s]]);
+
+        final int oldNumBlocks = numBlocks.get();
+        IntStream.range(0, oldNumBlocks).parallel().forEach(this::splitBlock);
+
+        return numBlocks.get() != oldNumBlocks;
+    }
+
+    private void splitBlock(int blockId) {
+        final int[] blockData = pt.blockData;
+        final int low = blockLow[blockId];
+        final int high = blockHigh[blockId];
+
+        // blocks with a uniform signature remain unchanged
+        final int firstSig = signatures[blockData[low]];
+        int i = low + 1;
+        while (i < high && signatures[blockData[i]] == firstSig) {
+            i++;
+        }
+        if (i == high) {
+            return;
+        }
+
+        for (int j = low; j < high; j++) {
+            final int state = blockData[j];
+            keys[j] = ((long) signatures[state] << Integer.SIZE) | state;
+        }
+
+        if (high - low > PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(keys, low, high);
+        } else {
+            Arrays.sort(keys, low, high);
+        }
+
+        final int[] posData = pt.posData;
+        final int posDataLow = pt.posDataLow;
+
+        // the first group keeps the ID of the original block
+        int currId = blockId;
+        int currSig = (int) (keys[low] >>> Integer.SIZE);
+
+        for (int j = low; j < high; j++) {
+            final long key = keys[j];
+            final int state = (int) key;
+            final int sig = (int) (key >>> Integer.SIZE);
+
+            if (sig != currSig) {
+                blockHigh[currId] = j;
+                currId = numBlocks.getAndIncrement();
+                currSig = sig;
+                blockLow[currId] = j;
+            }
+
+            blockData[j] = state;
+            posData[posDataLow + state] = j;
+            blockOf[state] = currId;
+        }
+
+        blockHigh[currId] = high;
+    }
+
+    /**
+     * Transfers the computed partition back into the {@link PaigeTarjan} instance. Block IDs are assigned in order of
+     * the smallest contained state, and the states of each block are sorted, so that the result does not depend on the
+     * scheduling of the parallel computation.
+     */
+    private void writeBack() {
+        final int blocks = numBlocks.get();
+        final int[] blockData = pt.blockData;
+        final int[] posData = pt.posData;
+        final int posDataLow = pt.posDataLow;
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            final int low = blockLow[b];
+            final int high = blockHigh[b];
+            Arrays.sort(blockData, low, high);
+            for (int i = low; i < high; i++) {
+                posData[posDataLow + blockData[i]] = i;
+            }
+        });
+
+        final int[] order = new int[blocks];
+        Arrays.fill(order, -1);
+        final int[] sortedMembers = members.clone();
+        Arrays.sort(sortedMembers);
+
+        int nextId = 0;
+        for (int s : sortedMembers) {
+            final int b = blockOf[s];
+            if (order[b] < 0) {
+                order[b] = nextId++;
+            }
+        }
+
+        final Block[] blockForId = new Block[blocks];
+        for (int b = 0; b < blocks; b++) {
+            final int id = order[b];
+            blockForId[id] = new Block(blockLow[b], blockHigh[b], id, null);
+        }
+
+        Block head = null;
+        for (int id = blocks - 1; id >= 0; id--) {
+            blockForId[id].nextBlock = head;
+            head = blockForId[id];
+        }
+
+        final Block[] blockForState = new Block[numStates];
+        for (int s : members) {
+            blockForState[s] = blockForId[order[blockOf[s]]];
+        }
+
+        pt.setBlockForState(blockForState);
+        pt.setBlockList(head, blocks);
+    }
+}
@@ -15,15 +15,19 @@
  */
 package net.automatalib.util.ts.copy;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.automata.MutableAutomaton;
 import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
 import net.automatalib.commons.util.functions.FunctionsUtil;
 import net.automatalib.commons.util.mappings.Mapping;
+import net.automatalib.commons.util.mappings.MutableMapping;
 import net.automatalib.ts.TransitionPredicate;
 import net.automatalib.ts.TransitionSystem;
 import net.automatalib.ts.UniversalTransitionSystem;
@@ -252,6 +256,20 @@ public final class TSCopy {
                                                                                     Function<? super I1, ? extends I2> inputsMapping,
                                                                                     Function<? super SP1, ? extends SP2> spTransform,
                                                                                     Function<? super TP1, ? extends TP2> tpTransform) {
+        if (in instanceof CompactMealy && method == TSTraversalMethod.BREADTH_FIRST) {
+            @SuppressWarnings("unchecked")
+            final CompactMealy<? super I1, ? extends TP1> compact = (CompactMealy<? super I1, ? extends TP1>) in;
+            @SuppressWarnings("unchecked")
+            final Mapping<S1, S2> result = (Mapping<S1, S2>) copyCompactMealyBreadthFirst(compact,
+                                                                                         limit,
+                                                                                         inputs,
+                                                                                         out,
+                                                                                         inputsMapping,
+                                                                                         spTransform,
+                                                                                         tpTransform);
+            return result;
+        }
+
         return copy(method,
                     in,
                     limit,
@@ -336,15 +354,7 @@ public final class TSCopy {
                                                                                    MutableAutomaton<S2, I, T2, ? super SP2, ? super TP2> out,
                                                                                    Function<? super SP1, ? extends SP2> spTransform,
                                                                                    Function<? super TP1, ? extends TP2> tpTransform) {
-        return copy(method,
-                    in,
-                    limit,
-                    inputs,
-                    out,
-                    spTransform,
-                    tpTransform,
-                    x -> true,
-                    TransitionPredicates.alwaysTrue());
+        return copy(method, in, limit, inputs, out, Function.identity(), spTransform, tpTransform);
     }
 
     /**
@@ -418,7 +428,7 @@ public final class TSCopy {
                                                                         Collection<? extends I1> inputs,
                                                                         MutableAutomaton<S2, I2, T2, ? super SP, ? super TP> out,
                                                                         Function<? super I1, ? extends I2> inputsMapping) {
-        return copy(method, in, limit, inputs, out, inputsMapping, x -> true, TransitionPredicates.alwaysTrue());
+        return copy(method, in, limit, inputs, out, inputsMapping, Function.identity(), Function.identity());
     }
 
     /**
@@ -485,7 +495,7 @@ public final class TSCopy {
                                                                    int limit,
                                                                    Collection<? extends I> inputs,
                                                                    MutableAutomaton<S2, I, T2, ? super SP, ? super TP> out) {
-        return copy(method, in, limit, inputs, out, x -> true, TransitionPredicates.alwaysTrue());
+        return copy(method, in, limit, inputs, out, Function.identity());
     }
 
     /**
@@ -518,4 +528,79 @@ public final class TSCopy {
         return copy(method, in, limit, inputs, out, Function.identity(), stateFilter, transFilter);
     }
 
+    /**
+     * Specialized (breadth-first) copy routine for {@link CompactMealy}s that operates on the integer representation
+     * of states and inputs and therefore does not need to allocate any transition objects. The order in which states
+     * are created (and the semantics of the {@code limit} parameter) coincide with {@link TSTraversalMethod#BREADTH_FIRST}.
+     */
+    private static <I1, TP1, S2, I2, SP1, SP2, TP2> Mapping<Integer, S2> copyCompactMealyBreadthFirst(CompactMealy<? super I1, ? extends TP1> in,
+                                                                                                  int limit,
+                                                                                                  Collection<? extends I1> inputs,
+                                                                                                  MutableAutomaton<S2, I2, ?, ? super SP2, ? super TP2> out,
+                                                                                                  Function<? super I1, ? extends I2> inputsMapping,
+                                                                                                  Function<? super SP1, ? extends SP2> spTransform,
+                                                                                                  Function<? super TP1, ? extends TP2> tpTransform) {
+
+        final int numInputs = inputs.size();
+        final int[] inputIndices = new int[numInputs];
+        final List<I2> mappedInputs = new ArrayList<>(numInputs);
+
+        for (I1 sym : inputs) {
+            inputIndices[mappedInputs.size()] = in.getInputAlphabet().getSymbolIndex(sym);
+            mappedInputs.add(inputsMapping.apply(sym));
+        }
+
+        final MutableMapping<Integer, S2> stateMapping = in.createStaticStateMapping();
+        final int init = in.getIntInitialState();
+
+        if (init < 0) {
+            return stateMapping;
+        }
+
+        @SuppressWarnings("unchecked")
+        final S2[] newStates = (S2[]) new Object[in.size()];
+        final int[] bfsQueue = new int[in.size()];
+        int head = 0;
+        int tail = 0;
+
+        newStates[init] = out.addInitialState(spTransform == null ? null : spTransform.apply(null));
+        if (limit != 0) {
+            bfsQueue[tail++] = init;
+        }
+
+        while (head < tail) {
+            final int state = bfsQueue[head++];
+            final S2 newState = newStates[state];
+
+            for (int i = 0; i < numInputs; i++) {
+                final int inputIdx = inputIndices[i];
+                final int succ = in.getIntSuccessor(state, inputIdx);
+
+                if (succ < 0) {
+                    continue;
+                }
+
+                S2 newSucc = newStates[succ];
+                if (newSucc == null) {
+                    newSucc = out.addState(spTransform == null ? null : spTransform.apply(null));
+                    newStates[succ] = newSucc;
+                    if (tail != limit) {
+                        bfsQueue[tail++] = succ;
+                    }
+                }
+
+                final TP2 tp = tpTransform == null ? null : tpTransform.apply(in.getOutput(state, inputIdx));
+                out.addTransition(newState, mappedInputs.get(i), newSucc, tp);
+            }
+        }
+
+        for (int i = 0; i < newStates.length; i++) {
+            if (newStates[i] != null) {
+                stateMapping.put(i, newStates[i]);
+            }
+        }
+
+        return stateMapping;
+    }
+
 }
@@ -0,0 +1,188 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ConformanceTestsSpliteratorTest {
+
+    private static final int MAX_DEPTH = 2;
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 5);
+    private final DFA<?, Integer> dfa = RandomAutomata.randomDFA(new Random(42), 10, alphabet);
+
+    @Test
+    public void testWMethod() {
+        final ConformanceTestsSpliterator<Integer> spliterator =
+                ConformanceTestsSpliterator.wMethod(dfa, alphabet, MAX_DEPTH);
+        final long size = spliterator.getExactSizeIfKnown();
+
+        final List<Word<Integer>> spliteratorWords = spliterator.stream(false).collect(Collectors.toList());
+        final List<Word<Integer>> iteratorWords =
+                Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, MAX_DEPTH));
+
+        Assert.assertEquals(spliteratorWords.size(), size);
+        Assert.assertEquals(spliteratorWords, iteratorWords);
+    }
+
+    @Test
+    public void testWMethodPartial() {
+        final Random random = new Random(42);
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(random, 10, alphabet, Alphabets.characters('a', 'c'));
+
+        // remove some transitions, so that the transition cover contains words leading to undefined states
+        for (Integer s : mealy) {
+            for (Integer i : alphabet) {
+                if (random.nextInt(5) == 0) {
+                    mealy.removeAllTransitions(s, i);
+                }
+            }
+        }
+
+        final ConformanceTestsSpliterator<Integer> spliterator =
+                ConformanceTestsSpliterator.wMethod(mealy, alphabet, MAX_DEPTH);
+        final List<Word<Integer>> spliteratorWords = spliterator.stream(false).collect(Collectors.toList());
+        final List<Word<Integer>> iteratorWords =
+                Lists.newArrayList(new WMethodTestsIterator<>(mealy, alphabet, MAX_DEPTH));
+
+        Assert.assertEquals(spliteratorWords, iteratorWords);
+    }
+
+    @Test
+    public void testWpMethod() {
+        for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+            final ConformanceTestsSpliterator<Integer> spliterator =
+                    ConformanceTestsSpliterator.wpMethod(dfa, alphabet, depth);
+            final List<Word<Integer>> spliteratorWords = spliterator.stream(false).collect(Collectors.toList());
+            final List<Word<Integer>> iteratorWords =
+                    Lists.newArrayList(new WpMethodTestsIterator<>(dfa, alphabet, depth));
+
+            checkTestWords(spliteratorWords, iteratorWords);
+        }
+    }
+
+    @Test
+    public void testParallelStream() throws InterruptedException, ExecutionException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (boolean wp : new boolean[] {false, true}) {
+                final List<Word<Integer>> sequential = createSpliterator(wp).stream(false).collect(Collectors.toList());
+                final List<Word<Integer>> parallel =
+                        pool.submit(() -> createSpliterator(wp).stream(true).collect(Collectors.toList())).get();
+
+                // the spliterator is ordered, so the order is preserved
+                Assert.assertEquals(parallel, sequential);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testShards() {
+        for (boolean wp : new boolean[] {false, true}) {
+            final List<Word<Integer>> sequential = createSpliterator(wp).stream(false).collect(Collectors.toList());
+
+            for (int numShards : new int[] {1, 3, 7, 1000}) {
+                final ConformanceTestsSpliterator<Integer> spliterator = createSpliterator(wp);
+                final List<Word<Integer>> sharded = new ArrayList<>(sequential.size());
+
+                for (int i = 0; i < numShards; i++) {
+                    // shards can be created independently, and must enumerate the same tests on every creation
+                    final List<Word<Integer>> shard =
+                            spliterator.shard(i, numShards).stream(false).collect(Collectors.toList());
+                    Assert.assertEquals(createSpliterator(wp).shard(i, numShards)
+                                                             .stream(false)
+                                                             .collect(Collectors.toList()), shard);
+                    sharded.addAll(shard);
+                }
+
+                Assert.assertEquals(sharded, sequential);
+            }
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        final List<Word<Integer>> sequential = createSpliterator(true).stream(false).collect(Collectors.toList());
+
+        // recursively split the spliterator and traverse the parts in order
+        final List<Word<Integer>> split = new ArrayList<>(sequential.size());
+        traverseSplits(createSpliterator(true), split);
+        Assert.assertEquals(split, sequential);
+
+        // a partially traversed combination prevents further splitting
+        final ConformanceTestsSpliterator<Integer> spliterator = createSpliterator(true);
+        final List<Word<Integer>> traversed = new ArrayList<>(sequential.size());
+
+        Assert.assertTrue(spliterator.tryAdvance(traversed::add));
+        Assert.assertNull(spliterator.trySplit());
+        Assert.assertThrows(IllegalStateException.class, () -> spliterator.shard(0, 2));
+
+        spliterator.forEachRemaining(traversed::add);
+        Assert.assertEquals(traversed, sequential);
+        Assert.assertEquals(spliterator.estimateSize(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidShard() {
+        createSpliterator(false).shard(3, 3);
+    }
+
+    private ConformanceTestsSpliterator<Integer> createSpliterator(boolean wp) {
+        return wp ? ConformanceTestsSpliterator.wpMethod(dfa, alphabet, MAX_DEPTH) :
+                ConformanceTestsSpliterator.wMethod(dfa, alphabet, MAX_DEPTH);
+    }
+
+    private static void traverseSplits(ConformanceTestsSpliterator<Integer> spliterator, List<Word<Integer>> result) {
+        final ConformanceTestsSpliterator<Integer> prefix = spliterator.trySplit();
+
+        if (prefix == null) {
+            spliterator.forEachRemaining(result::add);
+        } else {
+            traverseSplits(prefix, result);
+            traverseSplits(spliterator, result);
+        }
+    }
+
+    private static void checkTestWords(List<Word<Integer>> actual, List<Word<Integer>> expected) {
+        // Order may be different, but that is ok
+        actual.sort(Word.canonicalComparator(Integer::compare));
+        expected.sort(Word.canonicalComparator(Integer::compare));
+
+        Assert.assertEquals(actual, expected);
+    }
+}
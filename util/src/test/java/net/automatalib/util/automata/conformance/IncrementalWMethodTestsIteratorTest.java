@@ -84,7 +84,7 @@ public class IncrementalWMethodTestsIteratorTest {
         mealy.addTransition(q3, 'a', q3, 'x');
         mealy.addTransition(q3, 'b', q3, 'y');
         mealy.addTransition(q3, 'c', q3, 'z');
-        mealy.setTransition(q2, (Character) 'c', q3, mealy.getOutput(q2, 'c'));
+        mealy.setTransition(q2, (Character) 'c', q3, mealy.getOutput(q2, (Character) 'c'));
 
         incIt.update(mealy);
 
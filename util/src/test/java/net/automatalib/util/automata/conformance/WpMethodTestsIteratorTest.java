@@ -29,7 +29,7 @@ import net.automatalib.automata.fsa.DFA;
 import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.commons.util.comparison.CmpUtil;
 import net.automatalib.util.automata.cover.Covers;
-import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.util.automata.equivalence.SplittingTree;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -85,10 +85,11 @@ public class WpMethodTestsIteratorTest {
 
         final List<Word<I>> stateCover = new ArrayList<>(automaton.size());
         final List<Word<I>> transitionCover = new ArrayList<>(automaton.size() * inputs.size());
-        final List<Word<I>> characterizingSet = new ArrayList<>();
+        // the global and local suffixes of the Wp-method are derived from the same splitting tree
+        final SplittingTree<S, I> splittingTree = new SplittingTree<>(automaton, inputs);
+        final List<Word<I>> characterizingSet = splittingTree.getCharacterizingSet();
 
         Covers.cover(automaton, inputs, stateCover, transitionCover);
-        CharacterizingSets.findCharacterizingSet(automaton, inputs, characterizingSet);
 
         assert !stateCover.isEmpty();
         assert !transitionCover.isEmpty();
@@ -110,8 +111,7 @@ public class WpMethodTestsIteratorTest {
                 final Word<I> prefixWithMiddle = prefix.concat(middle);
                 final S s = automaton.getState(prefixWithMiddle);
 
-                final List<Word<I>> suffixes = new ArrayList<>();
-                CharacterizingSets.findCharacterizingSet(automaton, inputs, s, suffixes);
+                final List<Word<I>> suffixes = splittingTree.getStateCharacterizingSet(s);
                 assert !suffixes.isEmpty();
 
                 for (final Word<I> suffix : suffixes) {
@@ -25,6 +25,7 @@ import java.util.Set;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
@@ -146,6 +147,17 @@ public class CoversTest {
         testTransitionCover(dfa, alphabet, Automata.transitionCover(dfa, alphabet));
     }
 
+    @Test
+    public void testCompactMealyCovers() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 5);
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(random, 15, alphabet, Alphabets.characters('a', 'c'));
+
+        testStateCover(mealy, Automata.stateCover(mealy, alphabet));
+        testTransitionCover(mealy, alphabet, Automata.transitionCover(mealy, alphabet));
+    }
+
     private static <S, I> void testStateCover(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
                                               Collection<Word<I>> cover) {
 
@@ -16,11 +16,16 @@
 package net.automatalib.util.automata.equivalence;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.Output;
 import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest.LongIntHashMap;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -72,6 +77,120 @@ public class DeterministicEquivalenceTestTest {
         testEquivalenceInternal(a1, a2, inputAlphabet, false);
     }
 
+    @Test
+    public void testIntAbstractionSparse() {
+        final Alphabet<Integer> inputAlphabet = Alphabets.integers(0, 5);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'f');
+        final CompactMealy<Integer, Character> m1 =
+                RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, outputAlphabet);
+        final CompactMealy<Integer, Character> m2 =
+                RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, outputAlphabet);
+        final CompactDFA<Integer> d1 = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, false);
+        final CompactDFA<Integer> d2 = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, false);
+
+        // the sparse (hash map based) search must yield the same words as the dense one
+        Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWordInt(m1, m1, inputAlphabet, 0));
+        Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWordInt(d1, d1, inputAlphabet, 0));
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordInt(m1, m2, inputAlphabet, 0),
+                            DeterministicEquivalenceTest.findSeparatingWordInt(m1, m2, inputAlphabet));
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordInt(d1, d2, inputAlphabet, 0),
+                            DeterministicEquivalenceTest.findSeparatingWordInt(d1, d2, inputAlphabet));
+    }
+
+    @Test
+    public void testIntAbstractionPartial() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+
+        final CompactDFA<Integer> d1 = new CompactDFA<>(alphabet);
+        final int q0 = d1.addIntInitialState(true);
+        final int q1 = d1.addIntState(true);
+        d1.setTransition(q0, 0, q1);
+        d1.setTransition(q1, 1, q0);
+
+        final CompactDFA<Integer> d2 = new CompactDFA<>(d1);
+        Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWord(d1, d2, alphabet));
+
+        // an undefined transition is separated from a defined one
+        d2.setTransition(q0, 0, q0);
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWord(d1, d2, alphabet), Word.fromSymbols(0, 0));
+
+        final CompactDFA<Integer> d3 = new CompactDFA<>(d1);
+        d3.setAccepting(q1, false);
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWord(d1, d3, alphabet), Word.fromSymbols(0));
+    }
+
+    @Test
+    public void testParallel() {
+        final Alphabet<Integer> inputAlphabet = Alphabets.integers(0, 5);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'f');
+        final CompactMealy<Integer, Character> m1 =
+                RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, outputAlphabet);
+        final CompactMealy<Integer, Character> m2 =
+                RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, outputAlphabet);
+        final CompactDFA<Integer> d1 = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, false);
+        final CompactDFA<Integer> d2 = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE_LARGE, inputAlphabet, false);
+
+        testParallelInternal(m1, m1, inputAlphabet, true);
+        testParallelInternal(m1, m2, inputAlphabet, false);
+        testParallelInternal(d1, new CompactDFA<>(d1), inputAlphabet, true);
+        testParallelInternal(d1, d2, inputAlphabet, false);
+
+        // a difference deep in the product
+        final CompactDFA<Integer> d3 = new CompactDFA<>(d1);
+        final Integer state = d3.getState(Word.fromSymbols(0, 1, 2, 3, 4, 5, 0, 1));
+        d3.setAccepting(state, !d3.isAccepting(state));
+        testParallelInternal(d1, d3, inputAlphabet, false);
+    }
+
+    private <I, M extends UniversalDeterministicAutomaton<?, I, ?, ?, ?> & Output<I, ?>> void testParallelInternal(
+            M a1,
+            M a2,
+            Alphabet<I> alphabet,
+            boolean equivalent) {
+        final UniversalDeterministicAutomaton<?, I, ?, ?, ?> m1 = a1;
+        final UniversalDeterministicAutomaton<?, I, ?, ?, ?> m2 = a2;
+
+        final Word<I> sequential = DeterministicEquivalenceTest.findSeparatingWord(m1, m2, alphabet);
+        final Word<I> parallel = DeterministicEquivalenceTest.findSeparatingWordParallel(m1, m2, alphabet);
+
+        Assert.assertEquals(parallel == null, equivalent);
+
+        if (!equivalent) {
+            Assert.assertEquals(parallel.length(), sequential.length());
+            Assert.assertNotEquals(a1.computeOutput(parallel), a2.computeOutput(parallel));
+        }
+
+        // the result must neither depend on the visited set nor on the number of threads
+        Assert.assertEquals(ParallelEquivalenceTest.findSeparatingWord(m1.fullIntAbstraction(alphabet),
+                                                                       m2.fullIntAbstraction(alphabet),
+                                                                       alphabet,
+                                                                       0),
+                            parallel);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(Automata.findSeparatingWord(m1, m2, alphabet, pool), parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLongIntHashMap() {
+        final LongIntHashMap map = new LongIntHashMap();
+        final int size = 100_000;
+
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals(map.putIfAbsent(((long) i << Integer.SIZE) | (i * 7), i), -1);
+        }
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals(map.putIfAbsent(((long) i << Integer.SIZE) | (i * 7), -i), i);
+        }
+
+        map.put(0L, 42);
+        Assert.assertEquals(map.putIfAbsent(0L, 0), 42);
+    }
+
     private <I, M extends UniversalDeterministicAutomaton<?, I, ?, ?, ?> & Output<I, ?>> void testEquivalenceInternal(M a1,
                                                                                                                       M a2,
                                                                                                                       Alphabet<I> alphabet,
@@ -17,6 +17,7 @@ package net.automatalib.util.automata.equivalence;
 
 import java.util.HashSet;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.random.RandomAutomata;
@@ -37,6 +38,7 @@ public class NearLinearEquivalenceTestTest {
     private static final CompactDFA<Integer> DFA_2;
 
     private static final int AUTOMATON_SIZE = 20;
+    private static final int LARGE_AUTOMATON_SIZE = 50_000;
 
     static {
         ALPHABET = Alphabets.integers(0, 5);
@@ -105,6 +107,47 @@ public class NearLinearEquivalenceTestTest {
         Assert.assertNotEquals(DFA_1.computeOutput(sepWord), DFA_2.computeOutput(sepWord));
     }
 
+    @Test
+    public void testParallel() {
+        Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWordParallel(DFA_1, DFA_1, ALPHABET));
+        Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWordParallel(DFA_1, DFA_1_PARTIAL, ALPHABET, true));
+
+        final Word<Integer> partialSepWord =
+                NearLinearEquivalenceTest.findSeparatingWordParallel(DFA_1, DFA_1_PARTIAL, ALPHABET, false);
+        Assert.assertNotNull(partialSepWord);
+        checkPartialTrace(DFA_1_PARTIAL, partialSepWord);
+
+        final Word<Integer> sepWord =
+                NearLinearEquivalenceTest.findSeparatingWordParallel(DFA_1, DFA_2, new HashSet<>(ALPHABET));
+        Assert.assertNotNull(sepWord);
+        Assert.assertNotEquals(DFA_1.computeOutput(sepWord), DFA_2.computeOutput(sepWord));
+    }
+
+    @Test
+    public void testParallelLarge() throws Exception {
+        final Random r = new Random(42);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(r, LARGE_AUTOMATON_SIZE, ALPHABET, false);
+        final CompactDFA<Integer> dfa2 = new CompactDFA<>(dfa1);
+
+        // a difference deep in the automaton
+        final Integer state = dfa2.getState(Word.fromSymbols(0, 1, 2, 3, 4, 5, 0, 1));
+        dfa2.setAccepting(state, !dfa2.isAccepting(state));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Word<Integer> equal =
+                    pool.submit(() -> NearLinearEquivalenceTest.findSeparatingWordParallel(dfa1, dfa1, ALPHABET)).get();
+            Assert.assertNull(equal);
+
+            final Word<Integer> sepWord =
+                    pool.submit(() -> NearLinearEquivalenceTest.findSeparatingWordParallel(dfa1, dfa2, ALPHABET)).get();
+            Assert.assertNotNull(sepWord);
+            Assert.assertNotEquals(dfa1.computeOutput(sepWord), dfa2.computeOutput(sepWord));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private static <I> void checkPartialTrace(CompactDFA<I> dfa, Word<I> trace) {
 
         Integer iter = dfa.getInitialState();
@@ -0,0 +1,127 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SplittingTreeTest {
+
+    private static final int AUTOMATON_SIZE = 100;
+    private static final Alphabet<Integer> INPUT_ALPHABET = Alphabets.integers(0, 3);
+    private static final Alphabet<Character> OUTPUT_ALPHABET = Alphabets.characters('a', 'b');
+
+    @Test
+    public void testDFA() {
+        // non-minimized, so that the tree contains non-trivial equivalence classes
+        final CompactDFA<Integer> dfa =
+                RandomAutomata.randomDFA(new Random(0), AUTOMATON_SIZE, INPUT_ALPHABET, false);
+        checkSplittingTree(dfa, INPUT_ALPHABET, new SplittingTree<>(dfa, INPUT_ALPHABET));
+    }
+
+    @Test
+    public void testMealy() {
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(new Random(0), AUTOMATON_SIZE, INPUT_ALPHABET, OUTPUT_ALPHABET, false);
+        checkSplittingTree(mealy, INPUT_ALPHABET, new SplittingTree<>(mealy, INPUT_ALPHABET));
+    }
+
+    @Test
+    public void testPartial() {
+        final CompactDFA<Integer> dfa =
+                RandomAutomata.randomDFA(new Random(0), AUTOMATON_SIZE, INPUT_ALPHABET, false);
+        for (int i = 0; i < AUTOMATON_SIZE; i += 7) {
+            dfa.removeAllTransitions(i, INPUT_ALPHABET.getSymbol(i % INPUT_ALPHABET.size()));
+        }
+        checkSplittingTree(dfa, INPUT_ALPHABET, new SplittingTree<>(dfa, INPUT_ALPHABET));
+    }
+
+    @Test
+    public void testInitialSuffixes() {
+        final CompactDFA<Integer> dfa =
+                RandomAutomata.randomDFA(new Random(0), AUTOMATON_SIZE, INPUT_ALPHABET, false);
+        final Word<Integer> suffix = Word.fromSymbols(0, 1, 2, 0);
+        final SplittingTree<Integer, Integer> tree =
+                new SplittingTree<>(dfa, INPUT_ALPHABET, Collections.singletonList(suffix));
+
+        checkSplittingTree(dfa, INPUT_ALPHABET, tree);
+        Assert.assertEquals(tree.getCharacterizingSet().get(0), suffix);
+    }
+
+    @Test
+    public void testTrivial() {
+        final CompactDFA<Integer> dfa = new CompactDFA<>(INPUT_ALPHABET);
+        final SplittingTree<Integer, Integer> emptyTree = new SplittingTree<>(dfa, INPUT_ALPHABET);
+        Assert.assertTrue(emptyTree.getCharacterizingSet().isEmpty());
+
+        final Integer state = dfa.addInitialState(true);
+        for (Integer i : INPUT_ALPHABET) {
+            dfa.addTransition(state, i, state);
+        }
+
+        final SplittingTree<Integer, Integer> tree = new SplittingTree<>(dfa, INPUT_ALPHABET);
+        Assert.assertTrue(tree.getCharacterizingSet().isEmpty());
+        Assert.assertTrue(tree.getStateCharacterizingSet(state).isEmpty());
+        Assert.assertNull(tree.findSeparatingWord(state, state));
+    }
+
+    private static <S, I> void checkSplittingTree(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                  Alphabet<I> alphabet,
+                                                  SplittingTree<S, I> tree) {
+        final List<Word<I>> characterizingSet = tree.getCharacterizingSet();
+
+        for (S s1 : automaton) {
+            final List<Word<I>> stateSet = tree.getStateCharacterizingSet(s1);
+            Assert.assertTrue(characterizingSet.containsAll(stateSet));
+            Assert.assertSame(tree.getStateCharacterizingSet(s1), stateSet);
+            Assert.assertEquals(tree.getStateCharacterizingSetSize(s1), stateSet.size());
+
+            for (S s2 : automaton) {
+                final Word<I> sepWord = tree.findSeparatingWord(s1, s2);
+                final boolean equivalent = Automata.findSeparatingWord(automaton, s1, s2, alphabet) == null;
+
+                Assert.assertEquals(sepWord == null, equivalent);
+
+                if (!equivalent) {
+                    Assert.assertTrue(separates(automaton, s1, s2, sepWord));
+                    Assert.assertTrue(stateSet.stream().anyMatch(w -> separates(automaton, s1, s2, w)));
+                }
+            }
+        }
+    }
+
+    private static <S, I> boolean separates(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                            S s1,
+                                            S s2,
+                                            Word<I> word) {
+        return !SplittingTree.buildTrace(automaton, s1, word).equals(SplittingTree.buildTrace(automaton, s2, word));
+    }
+}
@@ -15,8 +15,16 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.FastNFA;
+import net.automatalib.automata.fsa.impl.FastNFAState;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
@@ -45,4 +53,113 @@ public class NFAsTest {
 
         Assert.assertEquals(dfa.size(), 2);
     }
+
+    public void testDeterminizeRandom() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int n = 0; n < 20; n++) {
+            final CompactNFA<Integer> compact = new CompactNFA<>(alphabet);
+            final FastNFA<Integer> fast = new FastNFA<>(alphabet);
+            final List<FastNFAState> fastStates = new ArrayList<>();
+            final int size = 8;
+
+            for (int i = 0; i < size; i++) {
+                final boolean accepting = random.nextBoolean();
+                compact.addState(accepting);
+                fastStates.add(fast.addState(accepting));
+            }
+            for (int i = 0; i < 2; i++) {
+                final int init = random.nextInt(size);
+                compact.setInitial(init, true);
+                fast.setInitial(fastStates.get(init), true);
+            }
+            for (int i = 0; i < size * 4; i++) {
+                final int src = random.nextInt(size);
+                final int sym = random.nextInt(alphabet.size());
+                final int tgt = random.nextInt(size);
+                compact.addTransition(src, sym, tgt);
+                fast.addTransition(fastStates.get(src), sym, fastStates.get(tgt));
+            }
+
+            for (boolean partial : new boolean[] {false, true}) {
+                for (boolean minimize : new boolean[] {false, true}) {
+                    final CompactDFA<Integer> fromCompact = NFAs.determinize(compact, alphabet, partial, minimize);
+                    final CompactDFA<Integer> fromFast = NFAs.determinize(fast, alphabet, partial, minimize);
+
+                    checkLanguage(random, compact, fromCompact, alphabet);
+                    checkLanguage(random, fast, fromFast, alphabet);
+                    Assert.assertTrue(Automata.testEquivalence(fromCompact, fromFast, alphabet));
+
+                    // the parallel construction yields the same (i.e., identically numbered) DFA
+                    final CompactDFA<Integer> parallel = NFAs.determinizeParallel(fast, alphabet, partial, minimize);
+                    Assert.assertEquals(parallel.size(), fromCompact.size());
+                    Assert.assertTrue(Automata.testEquivalence(parallel, fromCompact, alphabet));
+                    if (!minimize) {
+                        assertIdentical(parallel, fromCompact, alphabet);
+                    }
+                }
+            }
+        }
+    }
+
+    public void testDeterminizeBudget() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final int k = 6;
+
+        // the k-th symbol from the end is a 1, the minimal DFA has 2^k states
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+        final int init = nfa.addInitialState(false);
+        nfa.addTransition(init, 0, init);
+        nfa.addTransition(init, 1, init);
+
+        int prev = nfa.addState(k == 1);
+        nfa.addTransition(init, 1, prev);
+        for (int i = 2; i <= k; i++) {
+            final int next = nfa.addState(i == k);
+            nfa.addTransition(prev, 0, next);
+            nfa.addTransition(prev, 1, next);
+            prev = next;
+        }
+
+        final int expectedSize = 1 << k;
+
+        Assert.assertNull(NFAs.determinize(nfa, alphabet, true, false, expectedSize - 1));
+
+        final CompactDFA<Integer> dfa = NFAs.determinize(nfa, alphabet, true, false, expectedSize);
+        Assert.assertNotNull(dfa);
+        Assert.assertEquals(dfa.size(), expectedSize);
+
+        Assert.assertNull(NFAs.determinizeParallel(nfa, alphabet, true, false, 1));
+        Assert.assertNull(NFAs.determinizeParallel(nfa, alphabet, true, false, expectedSize - 1));
+        final CompactDFA<Integer> parallel = NFAs.determinizeParallel(nfa, alphabet, true, false, expectedSize);
+        Assert.assertNotNull(parallel);
+        Assert.assertEquals(parallel.size(), expectedSize);
+
+        final CompactDFA<Integer> out = new CompactDFA<>(alphabet);
+        Assert.assertFalse(NFAs.determinize(nfa, alphabet, out, false, false, 1));
+        Assert.assertEquals(out.size(), 1);
+    }
+
+    private static <I> void assertIdentical(CompactDFA<I> dfa1, CompactDFA<I> dfa2, Alphabet<I> alphabet) {
+        Assert.assertEquals(dfa1.getIntInitialState(), dfa2.getIntInitialState());
+        for (int s = 0; s < dfa1.size(); s++) {
+            Assert.assertEquals(dfa1.isAccepting(s), dfa2.isAccepting(s));
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertEquals(dfa1.getTransition(s, i), dfa2.getTransition(s, i));
+            }
+        }
+    }
+
+    private static <I> void checkLanguage(Random random, NFA<?, I> nfa, CompactDFA<I> dfa, Alphabet<I> alphabet) {
+        for (int i = 0; i < 100; i++) {
+            final int length = random.nextInt(10);
+            final List<I> symbols = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                symbols.add(alphabet.getSymbol(random.nextInt(alphabet.size())));
+            }
+            final Word<I> word = Word.fromList(symbols);
+            Assert.assertEquals(dfa.accepts(word), nfa.accepts(word), word.toString());
+        }
+    }
 }
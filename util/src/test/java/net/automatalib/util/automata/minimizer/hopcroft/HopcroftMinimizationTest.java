@@ -27,6 +27,7 @@ import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.builders.AutomatonBuilders;
 import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.RefinementMode;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -140,20 +141,30 @@ public class HopcroftMinimizationTest {
                                        DFA<?, I> dfa,
                                        int expectedStateCount,
                                        boolean initiallyConnected) {
-        CompactDFA<I> resultBefore = HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_BEFORE);
-        Assert.assertEquals(resultBefore.size(), expectedStateCount);
-        assertMinimal(resultBefore);
-
-        CompactDFA<I> resultAfter = HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER);
-        Assert.assertEquals(resultAfter.size(), expectedStateCount);
-        assertMinimal(resultAfter);
-
-        CompactDFA<I> resultUnpruned = HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.DONT_PRUNE);
-        if (initiallyConnected) {
-            Assert.assertEquals(resultUnpruned.size(), expectedStateCount);
-            assertMinimal(resultUnpruned);
-        } else {
-            assertAllInequivalent(resultUnpruned, alphabet);
+        for (RefinementMode refinementMode : RefinementMode.values()) {
+            CompactDFA<I> resultBefore =
+                    HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_BEFORE, refinementMode);
+            Assert.assertEquals(resultBefore.size(), expectedStateCount);
+            assertMinimal(resultBefore);
+
+            CompactDFA<I> resultAfter =
+                    HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER, refinementMode);
+            Assert.assertEquals(resultAfter.size(), expectedStateCount);
+            assertMinimal(resultAfter);
+
+            CompactDFA<I> resultUnpruned =
+                    HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.DONT_PRUNE, refinementMode);
+            if (initiallyConnected) {
+                Assert.assertEquals(resultUnpruned.size(), expectedStateCount);
+                assertMinimal(resultUnpruned);
+            } else {
+                assertAllInequivalent(resultUnpruned, alphabet);
+            }
+
+            CompactDFA<I> resultGeneric =
+                    Automata.minimize(dfa, alphabet, new CompactDFA<>(alphabet), refinementMode);
+            Assert.assertEquals(resultGeneric.size(), expectedStateCount);
+            assertMinimal(resultGeneric);
         }
     }
 
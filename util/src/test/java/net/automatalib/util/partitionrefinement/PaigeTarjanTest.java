@@ -15,10 +15,13 @@
  */
 package net.automatalib.util.partitionrefinement;
 
+import java.util.Arrays;
+import java.util.Random;
 import java.util.function.Function;
 
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers.AutomatonInitialPartitioning;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -201,4 +204,148 @@ public class PaigeTarjanTest {
         Assert.assertEquals(mealy.getInitialState(), mealy.getState(Word.fromCharSequence("acaaca")));
         Assert.assertEquals(mealy.computeOutput(Word.fromCharSequence("aca")), Word.fromCharSequence("xxx"));
     }
+
+    @Test
+    public void testParallelRefinement() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int i = 0; i < 10; i++) {
+            final CompactMealy<Integer, Character> complete = createRedundantMealy(random, alphabet, 25, 40, false);
+            final Function<? super Integer, ?> classification =
+                    (s) -> AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES.initialClassifier(complete).apply(s);
+
+            for (boolean prune : new boolean[] {true, false}) {
+                final PaigeTarjan sequential = new PaigeTarjan();
+                final PaigeTarjan parallel = new PaigeTarjan();
+
+                PaigeTarjanInitializers.initCompleteDeterministic(sequential,
+                                                                  complete,
+                                                                  AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                                                  prune);
+                PaigeTarjanInitializers.initCompleteDeterministic(parallel,
+                                                                  complete,
+                                                                  AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                                                  prune);
+                checkParallelRefinement(sequential, parallel);
+            }
+
+            final CompactMealy<Integer, Character> partial = createRedundantMealy(random, alphabet, 25, 40, true);
+            final PaigeTarjan sequential = new PaigeTarjan();
+            final PaigeTarjan parallel = new PaigeTarjan();
+
+            PaigeTarjanInitializers.initDeterministic(sequential, partial, alphabet, classification, 'z');
+            PaigeTarjanInitializers.initDeterministic(parallel, partial, alphabet, classification, 'z');
+            checkParallelRefinement(sequential, parallel);
+        }
+    }
+
+    @Test
+    public void testStatistics() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Character> mealy = createRedundantMealy(random, alphabet, 25, 40, false);
+
+        final PaigeTarjan pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initCompleteDeterministic(pt,
+                                                          mealy,
+                                                          AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                                          false);
+
+        final int initialBlocks = pt.getNumBlocks();
+        pt.initWorklist(false);
+        Assert.assertEquals(pt.getMaxWorklistSize(), initialBlocks - 1);
+
+        pt.computeCoarsestStablePartition();
+
+        Assert.assertEquals(pt.getNumSplits(), pt.getNumBlocks() - initialBlocks);
+        Assert.assertTrue(pt.getNumMoves() > 0);
+        Assert.assertTrue(pt.getMaxWorklistSize() >= initialBlocks - 1);
+        Assert.assertTrue(pt.getMaxWorklistSize() < pt.getNumBlocks());
+
+        pt.resetStatistics();
+        Assert.assertEquals(pt.getNumSplits(), 0);
+        Assert.assertEquals(pt.getNumMoves(), 0);
+        Assert.assertEquals(pt.getMaxWorklistSize(), 0);
+    }
+
+    /**
+     * Creates a Mealy machine that consists of several copies of a random Mealy machine, whose transitions randomly
+     * point into any of the copies. Hence, a lot of states are equivalent.
+     */
+    private static CompactMealy<Integer, Character> createRedundantMealy(Random random,
+                                                                         Alphabet<Integer> alphabet,
+                                                                         int baseSize,
+                                                                         int copies,
+                                                                         boolean partial) {
+        final CompactMealy<Integer, Character> base =
+                RandomAutomata.randomMealy(random, baseSize, alphabet, Arrays.asList('x', 'y'), false);
+        final CompactMealy<Integer, Character> result = new CompactMealy<>(alphabet, baseSize * copies);
+
+        for (int i = 0; i < baseSize * copies; i++) {
+            result.addIntState();
+        }
+        result.setInitialState(base.getIntInitialState());
+
+        for (int c = 0; c < copies; c++) {
+            for (int s = 0; s < baseSize; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    if (partial && random.nextInt(5) == 0) {
+                        continue;
+                    }
+                    final int succ = random.nextInt(copies) * baseSize + base.getIntSuccessor(s, i);
+                    result.setTransition(c * baseSize + s, i, succ, base.getOutput(s, i));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static void checkParallelRefinement(PaigeTarjan sequential, PaigeTarjan parallel) {
+        sequential.initWorklist(false);
+        sequential.computeCoarsestStablePartition();
+
+        parallel.initWorklist(false);
+        parallel.computeCoarsestStablePartitionParallel();
+
+        Assert.assertEquals(parallel.getNumBlocks(), sequential.getNumBlocks());
+
+        // the block IDs may differ, but the partitions must be identical
+        final int[] seqToPar = new int[sequential.getNumBlocks()];
+        final int[] parToSeq = new int[parallel.getNumBlocks()];
+        Arrays.fill(seqToPar, -1);
+        Arrays.fill(parToSeq, -1);
+
+        for (int s = 0; s < sequential.numStates; s++) {
+            final Block seqBlock = sequential.getBlockForState(s);
+            final Block parBlock = parallel.getBlockForState(s);
+
+            if (seqBlock == null) {
+                Assert.assertNull(parBlock);
+                continue;
+            }
+
+            Assert.assertNotNull(parBlock);
+            if (seqToPar[seqBlock.id] < 0) {
+                Assert.assertEquals(parToSeq[parBlock.id], -1);
+                seqToPar[seqBlock.id] = parBlock.id;
+                parToSeq[parBlock.id] = seqBlock.id;
+            } else {
+                Assert.assertEquals(seqToPar[seqBlock.id], parBlock.id);
+            }
+        }
+
+        // the internal data must remain consistent
+        int numBlocks = 0;
+        for (Block b : parallel.blockList()) {
+            Assert.assertEquals(b.id, numBlocks++);
+            for (int i = b.low; i < b.high; i++) {
+                final int state = parallel.blockData[i];
+                Assert.assertSame(parallel.getBlockForState(state), b);
+                Assert.assertEquals(parallel.posData[parallel.posDataLow + state], i);
+            }
+        }
+        Assert.assertEquals(numBlocks, parallel.getNumBlocks());
+    }
 }
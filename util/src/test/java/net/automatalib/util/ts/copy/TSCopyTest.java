@@ -0,0 +1,102 @@
+/* Copyright (C) 2013-2018 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.copy;
+
+import java.util.Random;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.commons.util.mappings.Mapping;
+import net.automatalib.util.automata.predicates.TransitionPredicates;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.ts.traversal.TSTraversal;
+import net.automatalib.util.ts.traversal.TSTraversalMethod;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that the specialized (allocation-free) copy routine for {@link CompactMealy}s behaves exactly like the generic
+ * traversal-based one.
+ *
+ * @author frohme
+ */
+public class TSCopyTest {
+
+    private static final Alphabet<Character> INPUTS = Alphabets.characters('a', 'c');
+    private static final Alphabet<Integer> OUTPUTS = Alphabets.integers(1, 3);
+
+    private static final int SIZE = 20;
+
+    @Test
+    public void testCompactMealyCopy() {
+        final CompactMealy<Character, Integer> mealy = RandomAutomata.randomMealy(new Random(42), SIZE, INPUTS, OUTPUTS);
+
+        checkCopy(mealy, TSTraversal.NO_LIMIT);
+    }
+
+    @Test
+    public void testPartialCompactMealyCopy() {
+        final CompactMealy<Character, Integer> mealy = RandomAutomata.randomMealy(new Random(42), SIZE, INPUTS, OUTPUTS);
+
+        for (Integer s : mealy.getStates()) {
+            if (s % 3 == 0) {
+                mealy.removeAllTransitions(s);
+            }
+        }
+
+        checkCopy(mealy, TSTraversal.NO_LIMIT);
+    }
+
+    @Test
+    public void testLimitedCompactMealyCopy() {
+        final CompactMealy<Character, Integer> mealy = RandomAutomata.randomMealy(new Random(42), SIZE, INPUTS, OUTPUTS);
+
+        checkCopy(mealy, 0);
+        checkCopy(mealy, 1);
+        checkCopy(mealy, SIZE / 2);
+    }
+
+    private static void checkCopy(CompactMealy<Character, Integer> mealy, int limit) {
+        final CompactMealy<Character, Integer> fast = new CompactMealy<>(INPUTS);
+        final CompactMealy<Character, Integer> generic = new CompactMealy<>(INPUTS);
+
+        final Mapping<Integer, Integer> fastMapping =
+                TSCopy.copy(TSTraversalMethod.BREADTH_FIRST, mealy, limit, INPUTS, fast);
+        // the filtered variant always uses the generic traversal
+        final Mapping<Integer, Integer> genericMapping = TSCopy.copy(TSTraversalMethod.BREADTH_FIRST,
+                                                                     mealy,
+                                                                     limit,
+                                                                     INPUTS,
+                                                                     generic,
+                                                                     s -> true,
+                                                                     TransitionPredicates.alwaysTrue());
+
+        Assert.assertEquals(fast.size(), generic.size());
+        Assert.assertEquals(fast.getIntInitialState(), generic.getIntInitialState());
+
+        for (int s = 0; s < fast.size(); s++) {
+            for (int i = 0; i < INPUTS.size(); i++) {
+                Assert.assertEquals(fast.getIntSuccessor(s, i), generic.getIntSuccessor(s, i));
+                Assert.assertEquals(fast.getOutput(s, i), generic.getOutput(s, i));
+            }
+        }
+
+        for (Integer s : mealy.getStates()) {
+            Assert.assertEquals(fastMapping.get(s), genericMapping.get(s));
+        }
+    }
+}